@@ -1,20 +1,21 @@
 package com.example.gruppe9_kabalerobot.CameraView;
 
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.hardware.Camera;
 import android.os.Bundle;
+import android.util.Size;
 import android.view.LayoutInflater;
 import android.view.OrientationEventListener;
 import android.view.Surface;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.camera.camera2.Camera2Config;
 import androidx.camera.core.CameraSelector;
 import androidx.camera.core.CameraXConfig;
+import androidx.camera.core.ImageAnalysis;
 import androidx.camera.core.ImageCapture;
 import androidx.camera.core.ImageCaptureException;
 import androidx.camera.core.ImageProxy;
@@ -25,24 +26,32 @@ import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentTransaction;
 
-import com.example.gruppe9_kabalerobot.Client.Client;
+import com.example.gruppe9_kabalerobot.Client.CapturedFrame;
 import com.example.gruppe9_kabalerobot.R;
+import com.example.gruppe9_kabalerobot.Recognition.RecognizerSelector;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.common.util.concurrent.ListenableFuture;
 
-import java.nio.ByteBuffer;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class CameraFragment extends Fragment implements View.OnClickListener, CameraXConfig.Provider {
 
     //region Fields
 
+    private static final Size LIVE_RESOLUTION = new Size(640, 480);   //Frames of the live video, small enough to find cards in quickly
+
     private PreviewView previewView;
-    private FloatingActionButton imageCaptureButton;
+    private FloatingActionButton imageCaptureButton, liveButton;
+    private TextView liveMove;
     private ImageCapture imageCapture;
+    private ImageAnalysis imageAnalysis;
     private Preview preview;
+    private ExecutorService analysisExecutor;
+    private LiveAnalyzer liveAnalyzer;
+    private boolean live = false;
     private ListenableFuture<ProcessCameraProvider> cameraProviderFuture;
-    private Client c = Client.getInstance();
 
     //endregion
 
@@ -59,6 +68,13 @@ public class CameraFragment extends Fragment implements View.OnClickListener, Ca
         previewView = view.findViewById(R.id.preview);
         imageCaptureButton = view.findViewById(R.id.captureImage);
         imageCaptureButton.setOnClickListener(this);
+        liveButton = view.findViewById(R.id.liveMode);
+        liveButton.setOnClickListener(this);
+        liveMove = view.findViewById(R.id.liveMove);
+
+        analysisExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "live-analysis"));
+        liveAnalyzer = new LiveAnalyzer(analysisExecutor, PhotoSession.of(getActivity()).getEngine(),
+                move -> liveMove.post(() -> liveMove.setText(move)));
         cameraProviderFuture.addListener(() -> {
             try {
                 ProcessCameraProvider cameraProvider = cameraProviderFuture.get();
@@ -79,6 +95,13 @@ public class CameraFragment extends Fragment implements View.OnClickListener, Ca
 
     }
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        if (imageAnalysis != null) imageAnalysis.clearAnalyzer();
+        analysisExecutor.shutdown();
+    }
+
     //endregion
 
     //region OnClick
@@ -88,6 +111,9 @@ public class CameraFragment extends Fragment implements View.OnClickListener, Ca
         if (view == imageCaptureButton) {
             imageCapture.takePicture(ContextCompat.getMainExecutor(getContext()), imageCapturedCallback);
         }
+        else if (view == liveButton) {
+            setLive(!live);
+        }
     }
 
     //endregion
@@ -148,11 +174,43 @@ public class CameraFragment extends Fragment implements View.OnClickListener, Ca
                 }
             };
 
+            // Frames for the live video. Only the latest is kept, so frames are dropped while one is worked on
+            imageAnalysis =
+                    new ImageAnalysis.Builder()
+                            .setTargetResolution(LIVE_RESOLUTION)
+                            .setBackpressureStrategy(ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST)
+                            .build();
+
             orientationEventListener.enable();
 
-            cameraProvider.bindToLifecycle(this, cameraSelector, imageCapture, preview);
+            cameraProvider.bindToLifecycle(this, cameraSelector, imageCapture, imageAnalysis, preview);
+            setLive(live);
         }
 
+    /**
+     * Starts or stops following the game in the live video.
+     * While it is followed, a move is shown every time the board has changed and lies still.
+     * @param on true to follow the game
+     */
+    private void setLive(boolean on) {
+        live = on;
+        liveMove.setVisibility(on ? View.VISIBLE : View.GONE);
+        if (imageAnalysis == null) return;
+        if (on) {
+            liveAnalyzer.reset();
+            liveMove.setText(R.string.live_waiting);
+            imageAnalysis.setAnalyzer(analysisExecutor, liveAnalyzer);
+        } else {
+            imageAnalysis.clearAnalyzer();
+            // How much of the live video was unchanged, and how much was dropped while a frame was recognized
+            if (liveAnalyzer.getChanges().getChecked() > 0) {
+                Toast.makeText(getActivity(), getString(R.string.live_stats,
+                        Math.round(100 * liveAnalyzer.getChanges().getSkipRatio()),
+                        Math.round(100 * liveAnalyzer.getRecognition().getDropRatio())), Toast.LENGTH_SHORT).show();
+            }
+        }
+    }
+
 
     /**
      * Callback when an image have been captured by the user
@@ -161,23 +219,23 @@ public class CameraFragment extends Fragment implements View.OnClickListener, Ca
     private ImageCapture.OnImageCapturedCallback imageCapturedCallback = new ImageCapture.OnImageCapturedCallback() {
         @Override
         public void onCaptureSuccess(@NonNull ImageProxy image) {
+            // Send the JPEG as it is, while the next fragment is shown.
+            // The image is closed when it is written and the ImageFragment has decoded it
+            // The cards are placed as they are found, on the server or on the phone
+            // The photo is kept in the session, so the fragment finds it again if Android makes it again
+            CapturedFrame frame = new CapturedFrame(image.getPlanes()[0].getBuffer(), image::close);
+            PhotoSession session = PhotoSession.of(getActivity());
+            PhotoRecognition photo = new PhotoRecognition(frame, image.getWidth(), image.getHeight(), session.getLastBoard());
+            photo.setCards(RecognizerSelector.getInstance().current().recognize(frame, photo::placeCard));
+            ImageFragment newFragment = ImageFragment.newInstance(session.add(photo));
+
             // Create new fragment and transaction
-            Fragment newFragment = new ImageFragment();
             FragmentTransaction transaction = getActivity().getSupportFragmentManager().beginTransaction();
-            // Set arguments
-
-            Bitmap bitmap = toBitmapImage(image);
-            Bundle args = new Bundle();
-            args.putParcelable("path", bitmap);
-            newFragment.setArguments(args);
             // Replace whatever is in the fragment_container view with this fragment,
             transaction.replace(R.id.fragment_container, newFragment);
             transaction.addToBackStack(null);
             // Commit the transaction
             transaction.commit();
-
-            // Close image to prevent leak
-            image.close();
         }
 
         @Override
@@ -186,19 +244,5 @@ public class CameraFragment extends Fragment implements View.OnClickListener, Ca
         }
     };
 
-    /**
-     * This method converts ImageProxy object to bitmap
-     * This is required such that you can transfer the image
-     * to another fragment
-     * @param image image taken
-     * @return bitmap of that image
-     */
-    private Bitmap toBitmapImage(ImageProxy image) {
-        ByteBuffer buffer = image.getPlanes()[0].getBuffer();
-        byte[] bytes = new byte[buffer.capacity()];
-        buffer.get(bytes);
-        return BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
-    }
-
     //endregion
 }
@@ -37,7 +37,7 @@ public class EditPlacementFragment extends Fragment implements CompoundButton.On
     private boolean isWasteDeck = true;
     private CardPlacement cardPlacement;
     private CardTranslator translator;
-    private SolitaireController solitaireController = new SolitaireController();
+    private SolitaireController solitaireController;
     private boolean error = false;
 
 
@@ -52,7 +52,10 @@ public class EditPlacementFragment extends Fragment implements CompoundButton.On
     }
 
     @Override
-    public void onCreate(@Nullable Bundle savedInstanceState) { super.onCreate(savedInstanceState);}
+    public void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        solitaireController = new SolitaireController(PhotoSession.of(getActivity()).getEngine());
+    }
 
 
     @Override
@@ -244,7 +247,7 @@ public class EditPlacementFragment extends Fragment implements CompoundButton.On
             error = true;
             buildToast();
         }
-        if (value>13 || value<0){
+        if (value>13 || value<1){
             error = true;
             buildToast();
             return null;
@@ -30,6 +30,7 @@ import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 public class ImageFragment extends Fragment implements View.OnClickListener {
 
@@ -43,30 +44,58 @@ public class ImageFragment extends Fragment implements View.OnClickListener {
     private ProgressDialog loadingDialog;
     private Client c = Client.getInstance();
     private int[][] dataArray;
+    private PhotoRecognition photo;                 //The photo and its cards, kept in the PhotoSession, or null if it is gone
     private String suggestedMove;
     private boolean enteredEdit = false;
+    private boolean unreadable = false;             //True if the photo could not be decoded
 
 
     // Card and algorithm
-    private List<CardObj> cardObjList;
-    private CardPlacement cardPlacement;
+    private CardPlacement cardPlacement;            //Placement of the photo, started from the board of the latest photo
     private CardTranslator translator;
     private SolitaireController solitaireController;
 
     //endregion
 
+    private static final String ARG_PHOTO = "photo";   //Number of the photo in the PhotoSession
+
+    public ImageFragment() {
+        //Empty constructor used by the framework
+    }
+
+    /**
+     * Shows a photo kept in the PhotoSession, so the fragment finds it again when Android makes it again
+     * @param photoId the number of the photo, from PhotoSession.add
+     */
+    public static ImageFragment newInstance(int photoId) {
+        Bundle arguments = new Bundle();
+        arguments.putInt(ARG_PHOTO, photoId);
+        ImageFragment fragment = new ImageFragment();
+        fragment.setArguments(arguments);
+        return fragment;
+    }
+
     //region Lifecycle
 
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        PhotoSession session = PhotoSession.of(getActivity());
+        photo = session.get(getArguments().getInt(ARG_PHOTO));
+        if (photo != null) cardPlacement = photo.getCardPlacement();
+        solitaireController = new SolitaireController(session.getEngine());
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        // The photo is kept while the fragment is made again, else the camera has it back if it was never decoded
+        if (!getActivity().isChangingConfigurations()) PhotoSession.of(getActivity()).remove(getArguments().getInt(ARG_PHOTO));
     }
 
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
                              Bundle savedInstanceState) {
-        bitmap = getArguments().getParcelable("path");
-
         View view = inflater.inflate(R.layout.fragment_image, container, false);
 
         imageView = view.findViewById(R.id.imageView);
@@ -79,14 +108,19 @@ public class ImageFragment extends Fragment implements View.OnClickListener {
         backButton.setOnClickListener(this);
         edit.setOnClickListener(this);
 
-        scaledImage = bitmap;
-
         openCV = new OpenCV();
 
         // Set imageview to the picture you have taken
 
         if (rectanglesDrawn!=null) imageView.setImageBitmap(rectanglesDrawn);
-        else imageView.setImageBitmap(scaledImage);
+        else if (scaledImage!=null) imageView.setImageBitmap(scaledImage);
+
+        // The photo is gone if Android closed the app while it was in the background
+        if (photo == null) {
+            Toast.makeText(getActivity(), "Billedet er væk. Tag et nyt billede...", Toast.LENGTH_LONG).show();
+            getActivity().getSupportFragmentManager().popBackStack();
+            return view;
+        }
 
         // Run recognition
         // Check status of AsyncTask before running it, if we are already wait for a message
@@ -109,9 +143,10 @@ public class ImageFragment extends Fragment implements View.OnClickListener {
         if (view == continueToMove) {
 
             if (dataArray != null && dataArray.length != 0){
-                constructCards();
-
-            cardPlacement.sortCards(cardObjList, bitmap.getWidth(), bitmap.getHeight());
+                if (!constructCards()) {
+                    buildUnreadableToast();
+                    return;
+                }
 
             System.out.println("Width of bitmap: " + bitmap.getWidth() + " Height of bitmap: " + bitmap.getHeight());
             if (cardPlacement.getTableau1().size() > 0)
@@ -141,9 +176,7 @@ public class ImageFragment extends Fragment implements View.OnClickListener {
         }
         else if (view == edit){
 
-            if (dataArray != null && dataArray.length != 0) {
-                constructCards();
-                cardPlacement.sortCards(cardObjList, bitmap.getWidth(), bitmap.getHeight());
+            if (dataArray != null && dataArray.length != 0 && constructCards()) {
                 enteredEdit = true;
                 getActivity().getSupportFragmentManager().beginTransaction()
                         .replace(R.id.fragment_container, new EditPlacementFragment(cardPlacement))
@@ -169,7 +202,7 @@ public class ImageFragment extends Fragment implements View.OnClickListener {
     @Override
     public void onStop() {
         super.onStop();
-        loadingDialog.dismiss();
+        if (loadingDialog != null) loadingDialog.dismiss();
     }
 
     @Override
@@ -177,8 +210,9 @@ public class ImageFragment extends Fragment implements View.OnClickListener {
         super.onPause();
         // We have to check if we have entered edit.
         // When replacing fragments onPause is called before change.
-        if (!enteredEdit) getActivity().getSupportFragmentManager().popBackStack();
-        loadingDialog.dismiss();
+        // The fragment is kept when the screen is turned, as it is made again with the photo.
+        if (!enteredEdit && !getActivity().isChangingConfigurations()) getActivity().getSupportFragmentManager().popBackStack();
+        if (loadingDialog != null) loadingDialog.dismiss();
     }
 
     //endregion
@@ -201,24 +235,49 @@ public class ImageFragment extends Fragment implements View.OnClickListener {
         @Override
         protected Void doInBackground(Void... voids) {
 
-            c.sendImage(scaledImage);
+            // The photo is only decoded here, while the server looks for the cards
+            if (scaledImage == null) {
+                bitmap = photo.decode();
+                if (bitmap == null) {
+                    unreadable = true;
+                    cancel(true);
+                    return null;
+                }
+                scaledImage = bitmap;
+                publishProgress();
+            }
 
-            dataArray = c.recieveData();
+            try {
+                dataArray = photo.getCards() != null ? photo.getCards().get() : null;
+            } catch (InterruptedException | ExecutionException e) {
+                e.printStackTrace();
+                dataArray = null;
+            }
 
-            if (dataArray==null){
+            if (dataArray==null || dataArray.length==0){
                 cancel(true);
+                return null;
             }
 
+            photo.finishReceived(dataArray);
+
             rectanglesDrawn = openCV.drawRectangles(scaledImage,dataArray);
 
             return null;
         }
 
+        @Override
+        protected void onProgressUpdate(Void... values) {
+            imageView.setImageBitmap(scaledImage);
+        }
+
         @Override
         protected void onCancelled() {
             super.onCancelled();
+            if (!isAdded()) return;     //The fragment was made again meanwhile
 
-            getActivity().runOnUiThread(() -> {
+            if (unreadable) buildUnreadableToast();
+            else getActivity().runOnUiThread(() -> {
                 Toast.makeText(getActivity(), "Fandt ingen kort. Tag et nyt billede og prøv igen...", Toast.LENGTH_LONG).show();
             });
             loadingDialog.dismiss();
@@ -227,10 +286,12 @@ public class ImageFragment extends Fragment implements View.OnClickListener {
         @Override
         protected void onPostExecute(Void aVoid) {
             super.onPostExecute(aVoid);
+            if (!isAdded()) return;     //The fragment was made again meanwhile
 
             getActivity().runOnUiThread(() -> {
                 imageView.setImageBitmap(rectanglesDrawn);
             });
+            if (photo.isPlaced()) PhotoSession.of(getActivity()).setLastBoard(cardPlacement.getBoard());
 
             loadingDialog.dismiss();
 
@@ -242,19 +303,16 @@ public class ImageFragment extends Fragment implements View.OnClickListener {
     //region Support methods
 
     /**
-     * This method constructs the CardObjList from the data recieved from the python server.
-     * This method also initialises classes regarding Solitaire Framework and Algorithm
+     * This method constructs the CardObjList from the data recieved from the python server, and places the cards.
+     * The placement starts from the board of the latest photo, so it is updated from the cards that changed.
+     * If the cards were placed while they were received, that placement is used.
+     * @return false if the cards could not be placed, as the photo could not be decoded
      */
-    private void constructCards(){
-        solitaireController = new SolitaireController();
-        cardPlacement = new CardPlacement();
-        cardObjList = new ArrayList<>();
-
-        for(int i = 0; i<dataArray.length; i++){
-
-            CardObj cardObj = new CardObj(dataArray[i][0],dataArray[i][1],dataArray[i][4],dataArray[i][5]);
-            cardObjList.add(cardObj);
-        }
+    private boolean constructCards(){
+        if (photo.isPlaced()) return true;
+        if (!photo.place(dataArray)) return false;
+        PhotoSession.of(getActivity()).setLastBoard(cardPlacement.getBoard());
+        return true;
     }
 
     /**
@@ -278,6 +336,13 @@ public class ImageFragment extends Fragment implements View.OnClickListener {
         getActivity().runOnUiThread(() -> Toast.makeText(getActivity(), "Der blev ikke fundet nogle kort og kan derfor ikke fortsætte", Toast.LENGTH_SHORT).show());
     }
 
+    /**
+     * This method builds a toast telling the photo taken could not be read
+     */
+    private void buildUnreadableToast(){
+        getActivity().runOnUiThread(() -> Toast.makeText(getActivity(), "Billedet kunne ikke læses. Tag et nyt billede og prøv igen...", Toast.LENGTH_LONG).show());
+    }
+
     //endregion
 
 
@@ -0,0 +1,202 @@
+package com.example.gruppe9_kabalerobot.CameraView;
+
+import android.graphics.ImageFormat;
+import android.graphics.Rect;
+import android.graphics.YuvImage;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+
+import com.example.gruppe9_kabalerobot.CardPlacement.CardObj;
+import com.example.gruppe9_kabalerobot.CardPlacement.CardPlacement;
+import com.example.gruppe9_kabalerobot.Client.CapturedFrame;
+import com.example.gruppe9_kabalerobot.Framework.controller.CardTranslator;
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireController;
+import com.example.gruppe9_kabalerobot.Framework.solver.SearchEngine;
+import com.example.gruppe9_kabalerobot.Recognition.BoardStabilizer;
+import com.example.gruppe9_kabalerobot.Recognition.FrameBudget;
+import com.example.gruppe9_kabalerobot.Recognition.FrameChangeDetector;
+import com.example.gruppe9_kabalerobot.Recognition.RecognizerSelector;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Follows the game in the live video, and suggests a move every time the board has changed and lies still.
+ *
+ * The frames of ImageAnalysis are YUV at a low resolution. A frame is compressed to a small JPEG and handed to the
+ * recognizer chosen, the same as a photo taken. Only one frame is worked on at a time, so frames arriving meanwhile
+ * are closed at once and the camera keeps only the latest. A frame showing the same table as the latest frame
+ * recognized, by the FrameChangeDetector on its Y plane, is not compressed or recognized, and the cards of the latest
+ * frame stand for it. When the BoardStabilizer finds a new stable board, the move is found on the executor of the
+ * analyzer and handed to the listener.
+ *
+ * The work on the phone, comparing and compressing a frame, has the short FrameBudget of the live video, and a frame
+ * over it is dropped. The recognizer, which may ask the server, has a budget of its own. Cards found after it are
+ * kept for the frames of the same table, but are not offered to the BoardStabilizer for the frame that was sent.
+ */
+public class LiveAnalyzer implements ImageAnalysis.Analyzer {
+    public static final int JPEG_QUALITY = 80;
+    public static final long RECOGNITION_BUDGET_MILLIS = 2000;     //Time from a frame arriving to its cards being found
+
+    /**
+     * Told the move of every new stable board, on the executor of the analyzer
+     */
+    public interface Listener {
+        void onMove(String move);
+    }
+
+    private final Executor executor;
+    private final Listener listener;
+    private final FrameBudget budget = new FrameBudget();                                  //Comparing and compressing on the phone
+    private final FrameBudget recognition = new FrameBudget(RECOGNITION_BUDGET_MILLIS);    //The whole frame, with the recognizer
+    private final BoardStabilizer stabilizer = new BoardStabilizer();
+    private final FrameChangeDetector changes = new FrameChangeDetector();
+    private final CardPlacement placement = new CardPlacement();
+    private final SolitaireController solitaireController;
+    private final ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+    private byte[] nv21 = new byte[0];
+    private volatile int[][] lastCards;         //Cards of the latest frame recognized, also when they came late, or null
+
+    /**
+     * @param executor  The executor the analyzer is set with, which also finds the moves
+     * @param engine    Search engine of the session, shared with the photos taken
+     * @param listener  Told the moves
+     */
+    public LiveAnalyzer(Executor executor, SearchEngine engine, Listener listener) {
+        this.executor = executor;
+        this.listener = listener;
+        solitaireController = new SolitaireController(engine);
+    }
+
+    @Override
+    public void analyze(@NonNull ImageProxy image) {
+        long arrived = SystemClock.elapsedRealtime();
+        if (!recognition.tryStart(arrived)) {
+            image.close();
+            return;
+        }
+        budget.tryStart(arrived);       //Always free, as the frames are analyzed one at a time
+        int width = image.getWidth();
+        int height = image.getHeight();
+        CapturedFrame frame = null;
+        try {
+            if (hasChanged(image)) frame = new CapturedFrame(ByteBuffer.wrap(toJpeg(image)), () -> { });
+        } catch (RuntimeException e) {
+            long now = SystemClock.elapsedRealtime();
+            changes.reset();
+            budget.finish(now);
+            recognition.finish(now);
+            throw e;
+        } finally {
+            image.close();
+        }
+        long compressed = SystemClock.elapsedRealtime();
+        if (!budget.finish(compressed)) {
+            //The phone was too slow for this frame, so a newer frame is compared and sent instead
+            if (frame != null) {
+                frame.release();
+                changes.reset();
+            }
+            recognition.finish(compressed);
+            return;
+        }
+        if (frame == null) {
+            //The table has not changed, so the cards of the latest frame stand for this one
+            recognition.finish(compressed);
+            int[][] cards = lastCards;
+            if (cards != null && stabilizer.offer(cards, width, height)) suggest(cards, width, height);
+            return;
+        }
+
+        try {
+            RecognizerSelector.getInstance().current().recognize(frame, null).whenComplete((cards, error) -> {
+                long now = SystemClock.elapsedRealtime();
+                boolean inTime = recognition.isInTime(now);
+                if (error == null) lastCards = cards;
+                else changes.reset();       //So the next frame is recognized instead
+                recognition.finish(now);
+                if (error == null && inTime && stabilizer.offer(cards, width, height)) executor.execute(() -> suggest(cards, width, height));
+            });
+        } catch (RuntimeException e) {
+            changes.reset();
+            recognition.finish(SystemClock.elapsedRealtime());
+            throw e;
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * Forgets the boards seen, so the board in front of the camera is suggested a move again
+     */
+    public void reset() {
+        stabilizer.reset();
+        changes.reset();
+        lastCards = null;
+    }
+
+    /**
+     * Places the cards of a stable board and finds the move for it
+     */
+    private void suggest(int[][] cards, int width, int height) {
+        List<CardObj> cardObjList = new ArrayList<>();
+        for (int[] card : cards) cardObjList.add(CardObj.fromRow(card));
+        placement.updateCards(cardObjList, width, height);
+        listener.onMove(solitaireController.takeMove(new CardTranslator(placement)));
+    }
+
+    /**
+     * Compares the Y plane of a frame, which is the frame in gray, with the latest frame recognized
+     */
+    private boolean hasChanged(ImageProxy image) {
+        ImageProxy.PlaneProxy luma = image.getPlanes()[0];
+        return changes.hasChanged(luma.getBuffer(), image.getWidth(), image.getHeight(), luma.getRowStride());
+    }
+
+    /**
+     * Compresses a YUV_420_888 frame to JPEG, through NV21 which YuvImage can compress.
+     * The rows and pixels of the planes may have padding, so they are copied one at a time.
+     */
+    private byte[] toJpeg(ImageProxy image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int size = width * height + 2 * (width / 2) * (height / 2);
+        if (nv21.length != size) nv21 = new byte[size];
+
+        ImageProxy.PlaneProxy[] planes = image.getPlanes();
+        ByteBuffer luma = planes[0].getBuffer();
+        int lumaStride = planes[0].getRowStride();
+        for (int row = 0; row < height; row++) {
+            luma.position(row * lumaStride);
+            luma.get(nv21, row * width, width);
+        }
+        ByteBuffer u = planes[1].getBuffer();
+        ByteBuffer v = planes[2].getBuffer();
+        int uStride = planes[1].getRowStride(), uPixel = planes[1].getPixelStride();
+        int vStride = planes[2].getRowStride(), vPixel = planes[2].getPixelStride();
+        int at = width * height;
+        for (int row = 0; row < height / 2; row++) {
+            for (int column = 0; column < width / 2; column++) {
+                nv21[at++] = v.get(row * vStride + column * vPixel);
+                nv21[at++] = u.get(row * uStride + column * uPixel);
+            }
+        }
+
+        jpeg.reset();
+        new YuvImage(nv21, ImageFormat.NV21, width, height, null).compressToJpeg(new Rect(0, 0, width, height), JPEG_QUALITY, jpeg);
+        return jpeg.toByteArray();
+    }
+
+    /**
+     * Getters for LiveAnalyzer class
+     */
+    public FrameBudget getBudget() { return budget; }
+    public FrameBudget getRecognition() { return recognition; }
+    public FrameChangeDetector getChanges() { return changes; }
+}
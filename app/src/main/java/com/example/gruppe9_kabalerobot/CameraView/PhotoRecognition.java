@@ -0,0 +1,109 @@
+package com.example.gruppe9_kabalerobot.CameraView;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import com.example.gruppe9_kabalerobot.CardPlacement.CardObj;
+import com.example.gruppe9_kabalerobot.CardPlacement.CardPlacement;
+import com.example.gruppe9_kabalerobot.Client.CapturedFrame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A photo taken and the search for its cards, kept in the PhotoSession so it outlives the ImageFragment showing it,
+ * such as when the screen is turned and the fragment is made again.
+ * The cards are placed while they are received, so they are ready when the whole reply is in.
+ * Send the photo with placeCard as the callback, and hand the future to setCards.
+ */
+public class PhotoRecognition {
+    private CapturedFrame frame;                    //The photo as taken, released once it is decoded
+    private Bitmap bitmap;                          //The photo decoded, or null
+    private volatile CompletableFuture<int[][]> cards;  //Cards found, sent when the photo was taken
+    private final List<CardObj> receivedCards = new ArrayList<>();  //Cards placed while the reply was received
+    private final CardPlacement cardPlacement;      //Placement of this photo, started from the board of the latest photo
+    private boolean placed = false;                 //True once cardPlacement holds the cards of this photo
+
+    /**
+     * @param frame the photo taken, held until it is decoded for the screen
+     * @param width width of the photo, as it is decoded
+     * @param height height of the photo, as it is decoded
+     * @param previous the board of the latest photo placed, so only the changed cards are placed, or null
+     */
+    public PhotoRecognition(CapturedFrame frame, int width, int height, CardPlacement.Board previous) {
+        this.frame = frame;
+        cardPlacement = new CardPlacement(previous);
+        cardPlacement.beginUpdate(width, height);
+    }
+
+    /**
+     * Places a card of the reply as soon as it is read, called on the thread of the recognizer
+     * @param card the card as x, y, width, height, value and suit, and the confidence if it has one
+     */
+    public synchronized void placeCard(int[] card) {
+        CardObj cardObj = CardObj.fromRow(card);
+        receivedCards.add(cardObj);
+        cardPlacement.addCard(cardObj);
+    }
+
+    /**
+     * Decodes the photo the first time, and lets the camera have it back
+     * @return the photo, or null if it could not be decoded
+     */
+    public synchronized Bitmap decode() {
+        if (bitmap == null && frame != null) {
+            byte[] jpeg = frame.toByteArray();
+            release();
+            bitmap = BitmapFactory.decodeByteArray(jpeg, 0, jpeg.length);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Finishes the placement of the cards received, if they are every card of the reply
+     * @param dataArray the whole reply
+     * @return true if the placement holds the cards of this photo
+     */
+    public synchronized boolean finishReceived(int[][] dataArray) {
+        // The cards were matched with the latest photo while they came in, so only the layout is left
+        if (!placed && receivedCards.size() == dataArray.length) {
+            cardPlacement.finishUpdate();
+            placed = true;
+        }
+        return placed;
+    }
+
+    /**
+     * Places the cards of the reply, unless they were placed while they were received
+     * @param dataArray the whole reply
+     * @return false if the cards could not be placed, as the photo could not be decoded
+     */
+    public synchronized boolean place(int[][] dataArray) {
+        if (placed) return true;
+        if (bitmap == null) return false;
+        List<CardObj> cardObjList = new ArrayList<>();
+        for (int[] card : dataArray) cardObjList.add(CardObj.fromRow(card));
+        cardPlacement.updateCards(cardObjList, bitmap.getWidth(), bitmap.getHeight());
+        placed = true;
+        return true;
+    }
+
+    /**
+     * Lets the camera have the photo back, if it was never decoded
+     */
+    public synchronized void release() {
+        if (frame != null) {
+            frame.release();
+            frame = null;
+        }
+    }
+
+    /**
+     * Getters and setters for PhotoRecognition class
+     */
+    public CompletableFuture<int[][]> getCards() { return cards; }
+    public void setCards(CompletableFuture<int[][]> cards) { this.cards = cards; }
+    public CardPlacement getCardPlacement() { return cardPlacement; }
+    public synchronized boolean isPlaced() { return placed; }
+}
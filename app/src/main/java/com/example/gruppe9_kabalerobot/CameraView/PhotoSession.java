@@ -0,0 +1,70 @@
+package com.example.gruppe9_kabalerobot.CameraView;
+
+import android.util.SparseArray;
+
+import androidx.fragment.app.FragmentActivity;
+import androidx.lifecycle.ViewModel;
+import androidx.lifecycle.ViewModelProvider;
+
+import com.example.gruppe9_kabalerobot.CardPlacement.CardPlacement;
+import com.example.gruppe9_kabalerobot.Framework.solver.LookaheadSearch;
+import com.example.gruppe9_kabalerobot.Framework.solver.SearchEngine;
+
+/**
+ * Kept by the activity while photos of the game are taken, so the placement of a photo can start from the board
+ * of the photo before. The photos whose cards are looked for are kept here too, by a number the ImageFragment
+ * has in its arguments, so a fragment made again by Android finds its photo. Only used on the UI thread,
+ * except the search engine, which is shared by every screen finding a move so its table is made once.
+ */
+public class PhotoSession extends ViewModel {
+    private CardPlacement.Board lastBoard;      //Board of the latest photo placed, or null
+    private final SparseArray<PhotoRecognition> photos = new SparseArray<>();
+    private int nextId = 0;
+    private final SearchEngine engine = new LookaheadSearch();     //Finds the moves, one search at a time
+
+    /**
+     * The session of the activity, made the first time it is asked for
+     */
+    public static PhotoSession of(FragmentActivity activity) {
+        return new ViewModelProvider(activity, new ViewModelProvider.NewInstanceFactory()).get(PhotoSession.class);
+    }
+
+    /**
+     * Keeps a photo until it is removed
+     * @return the number to find it by
+     */
+    public int add(PhotoRecognition photo) {
+        photos.put(nextId, photo);
+        return nextId++;
+    }
+
+    /**
+     * @return the photo kept by the number, or null if it was removed or the app was closed by Android meanwhile
+     */
+    public PhotoRecognition get(int id) {
+        return photos.get(id);
+    }
+
+    /**
+     * Forgets a photo, letting the camera have it back if it was never decoded
+     */
+    public void remove(int id) {
+        PhotoRecognition photo = photos.get(id);
+        if (photo == null) return;
+        photos.remove(id);
+        photo.release();
+    }
+
+    @Override
+    protected void onCleared() {
+        for (int i = 0; i < photos.size(); i++) photos.valueAt(i).release();
+        photos.clear();
+    }
+
+    /**
+     * Getters and setters for PhotoSession class
+     */
+    public CardPlacement.Board getLastBoard() { return lastBoard; }
+    public void setLastBoard(CardPlacement.Board lastBoard) { this.lastBoard = lastBoard; }
+    public SearchEngine getEngine() { return engine; }
+}
@@ -4,7 +4,11 @@ package com.example.gruppe9_kabalerobot.CardPlacement;
  * Class to act as an Card, with the information of where it is on a matrix
  */
 public class CardObj {
+    public static final int CONFIDENCE = 6;         //Index of the confidence in a row of a detector
+    public static final int CERTAIN = 100;          //Confidence of a card given without one, such as by the server
+
     private int x, y, value, suit;
+    private int confidence = CERTAIN;
 
     public CardObj(int x, int y, int value, int suit){
         this.x = x;
@@ -13,6 +17,21 @@ public class CardObj {
         this. value = value;
     }
 
+    /**
+     * @param confidence how sure the detector is of the card, in percent
+     */
+    public CardObj(int x, int y, int value, int suit, int confidence){
+        this(x, y, value, suit);
+        this.confidence = confidence;
+    }
+
+    /**
+     * Makes a card from a row of x, y, width, height, value and suit, and the confidence if the row has one
+     */
+    public static CardObj fromRow(int[] row) {
+        return new CardObj(row[0], row[1], row[4], row[5], row.length > CONFIDENCE ? row[CONFIDENCE] : CERTAIN);
+    }
+
     /**
      * Getters and setters
      */
@@ -32,4 +51,5 @@ public class CardObj {
 
     public int getSuit() { return suit; }
     public int getValue() { return value; }
+    public int getConfidence() { return confidence; }
 }
\ No newline at end of file
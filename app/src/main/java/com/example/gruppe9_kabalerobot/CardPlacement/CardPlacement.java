@@ -1,338 +1,335 @@
 package com.example.gruppe9_kabalerobot.CardPlacement;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
-
+/**
+ * Class to hold where the recognized cards of a photo lie in the game: the waste, the foundations and the seven tableaus.
+ * The lists are kept and cleared between photos, so a placement can be reused for every frame.
+ * A placement also remembers where every card of the latest photo lay, so the next photo of the same game
+ * only has to place the cards that changed, see updateCards. That memory can be handed to a new placement as a Board,
+ * so every photo can have a placement of its own.
+ */
 public class CardPlacement  {
+    public static final int TABLEAUS = LayoutEngine.COLUMNS;
+    private static final int DECK_SIZE = 52;
+    private static final double MOVE_TOLERANCE = 0.25;  //Distance a card can move and still be in its place, in column widths
+    private static final int MAX_CHANGED = 6;           //More changed cards than this, and the photo is placed from scratch
 
     private List<CardObj> coordinates = new ArrayList<>();
     private boolean wastePile = false;
     private List<CardObj> waste = new ArrayList<>();
     private List<CardObj> foundations = new ArrayList<>();
-    private List<Integer> hiddenCards = new ArrayList<>(7);
-    private List<CardObj> tableau1 = new ArrayList<>();
-    private List<CardObj> tableau2 = new ArrayList<>();
-    private List<CardObj> tableau3 = new ArrayList<>();
-    private List<CardObj> tableau4 = new ArrayList<>();
-    private List<CardObj> tableau5 = new ArrayList<>();
-    private List<CardObj> tableau6 = new ArrayList<>();
-    private List<CardObj> tableau7 = new ArrayList<>();
+    private final int[] hidden = new int[TABLEAUS];                 //Amount of hidden cards in every tableau
+    private final List<Integer> hiddenCards = new HiddenCardsView(); //The hidden cards as a list, changes write to the array
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final List<CardObj>[] tableaus = new List[TABLEAUS];
+    private final LayoutEngine layout;
+    private final int[] firstEntry = new int[DECK_SIZE + 1]; //Remembered cards of every kind lie from firstEntry[id] to firstEntry[id + 1]
+    private final int[] nextEntry = new int[DECK_SIZE];
+    private int[] entrySlot = new int[0];               //Slot and center of every card remembered from the latest photo
+    private int[] entryX = new int[0];
+    private int[] entryY = new int[0];
+    private boolean[] taken = new boolean[0];           //Remembered cards already matched in the new photo
+    private int[] known = new int[0];                   //Slot of every card of the new photo kept from the latest photo
+    private int[] placedX = new int[0];                 //Center of every card of the new photo when it was placed
+    private int[] placedY = new int[0];
+    private boolean remembered = false;
+    private double lastWidth, lastHeight;
+    private List<CardObj> incoming;                     //Cards of the update in progress
+    private double updateWidth, updateHeight;
+    private boolean matching;                           //True if the cards of the update are matched with the latest photo
+    private double tolerance, drift;
+    private int same, changed;
 
 
     public CardPlacement(){
-        for (int i = 0; i <7 ; i++) {
-            hiddenCards.add(0);
+        this(null);
+    }
+
+    /**
+     * A placement starting from the board of an earlier photo, so updateCards only has to place the cards that changed
+     * @param previous  the board of the latest photo of the game, or null to start from scratch
+     */
+    public CardPlacement(Board previous){
+        for (int i = 0; i < TABLEAUS; i++) {
+            tableaus[i] = new ArrayList<>();
         }
+        if (previous == null) {
+            layout = new LayoutEngine();
+            return;
+        }
+        layout = new LayoutEngine(previous.layout);
+        int count = previous.entrySlot.length;
+        ensureCapacity(count);
+        System.arraycopy(previous.firstEntry, 0, firstEntry, 0, firstEntry.length);
+        System.arraycopy(previous.entrySlot, 0, entrySlot, 0, count);
+        System.arraycopy(previous.entryX, 0, entryX, 0, count);
+        System.arraycopy(previous.entryY, 0, entryY, 0, count);
+        lastWidth = previous.width;
+        lastHeight = previous.height;
+        remembered = true;
     }
+
     /**
-     * Method that sorts the cards
+     * Method that sorts the cards, replacing the cards of an earlier photo
      */
     public void sortCards(List<CardObj> coordinates, double screenWidth, double screenHeight){
 
         this.coordinates = coordinates;
-        sort(screenWidth,screenHeight);
+        clear();
+        int[] slots = layout.classify(coordinates, screenWidth, screenHeight);
+        sort(slots);
+        ensureCapacity(coordinates.size());
+        for (int i = 0; i < coordinates.size(); i++) {
+            placedX[i] = coordinates.get(i).getX();
+            placedY[i] = coordinates.get(i).getY();
+        }
+        remember(slots, screenWidth, screenHeight);
     }
 
-    private void sort(double screenWidth, double screenHeight) {
-
-        for(CardObj obj: coordinates){
+    /**
+     * Sorts the cards of a new photo of the same game, placing only the cards that changed since the latest photo.
+     * A card lying within a quarter column of where it was placed keeps its place, and the rest are placed
+     * on the layout found for the latest photo. Backs are always placed again, as they can not be told apart.
+     * If there is no latest photo, the size differs, more cards changed than stayed, or the cards that stayed have moved
+     * half the tolerance on average since they were placed, the camera or the game is taken to have moved
+     * and the photo is sorted from scratch.
+     *
+     * @return  True if only the changed cards were placed, false if the photo was sorted from scratch
+     */
+    public boolean updateCards(List<CardObj> coordinates, double screenWidth, double screenHeight) {
+        beginUpdate(screenWidth, screenHeight);
+        for (CardObj obj : coordinates) addCard(obj);
+        this.incoming = coordinates;
+        return finishUpdate();
+    }
 
-            if(obj.getY()<screenHeight*0.3){
-                if(obj.getX()<=screenWidth*(1.0/7.0)){
-                    if(obj.getSuit() == 0) wastePile = true;
-                }
-                else if(obj.getX()<=screenWidth*(2.0/7.0) && obj.getSuit()!=0){
-                    waste.add(obj);
-                }
-                else if (obj.getX()<=screenWidth*(4.0/7.0) && obj.getX()>screenWidth*(2.0/7.0) && obj.getSuit()!=0){
-                    foundations.add(obj);
-                }
-                else if (obj.getX()<=screenWidth*(5.0/7.0) && obj.getX()>screenWidth*(4.0/7.0)&& obj.getSuit()!=0){
-                    foundations.add(obj);
-                }
-                else if (obj.getX()<=screenWidth*(6.0/7.0) && obj.getX()>screenWidth*(5.0/7.0)&& obj.getSuit()!=0){
-                    foundations.add(obj);
-                }
-                else if (obj.getX()<=screenWidth && obj.getX()>screenWidth*(6.0/7.0) && obj.getSuit()!=0){
-                    foundations.add(obj);
-                }
+    /**
+     * Starts an update like updateCards, for cards handed over one at a time with addCard while they are received.
+     * The placement is not changed until finishUpdate is called.
+     */
+    public void beginUpdate(double screenWidth, double screenHeight) {
+        incoming = new ArrayList<>();
+        updateWidth = screenWidth;
+        updateHeight = screenHeight;
+        matching = remembered && screenWidth == lastWidth && screenHeight == lastHeight;
+        tolerance = MOVE_TOLERANCE * screenWidth / TABLEAUS;
+        same = 0;
+        changed = 0;
+        drift = 0;
+        if (matching) Arrays.fill(taken, false);
+    }
 
-            }
-            else {
-                if(obj.getX()<=screenWidth*(1.0/7.0)){
-                    if(obj.getSuit() == 0) hiddenCards.add(0, hiddenCards.get(0)+1);
-                    else tableau1.add(obj);
-                }
-                else if (obj.getX()<=screenWidth*(2.0/7.0) && obj.getX()>screenWidth*(1.0/7.0)){
-                    if(obj.getSuit() == 0) hiddenCards.add(1, hiddenCards.get(1)+1);
-                    else tableau2.add(obj);
-                }
-                else if (obj.getX()<=screenWidth*(3.0/7.0) && obj.getX()>screenWidth*(2.0/7.0)){
-                    if(obj.getSuit() == 0) hiddenCards.add(2, hiddenCards.get(2)+1);
-                    else tableau3.add(obj);
-                }
-                else if (obj.getX()<=screenWidth*(4.0/7.0) && obj.getX()>screenWidth*(3.0/7.0)){
-                    if(obj.getSuit() == 0) hiddenCards.add(3, hiddenCards.get(3)+1);
-                    else tableau4.add(obj);
-                }
-                else if (obj.getX()<=screenWidth*(5.0/7.0) && obj.getX()>screenWidth*(4.0/7.0)) {
-                    if(obj.getSuit() == 0) hiddenCards.add(4, hiddenCards.get(4)+1);
-                    else tableau5.add(obj);
-                }
-                else if (obj.getX()<=screenWidth*(6.0/7.0) && obj.getX()>screenWidth*(5.0/7.0)){
-                    if(obj.getSuit() == 0) hiddenCards.add(5, hiddenCards.get(5)+1);
-                    else tableau6.add(obj);
-                }
-                else if (obj.getX()<=screenWidth && obj.getX()>screenWidth*(6.0/7.0)){
-                    if(obj.getSuit() == 0) hiddenCards.add(6, hiddenCards.get(6)+1);
-                    else tableau7.add(obj);
-                }
-            }
+    /**
+     * Adds a card of the update started by beginUpdate, finding it in the latest photo at once
+     */
+    public void addCard(CardObj obj) {
+        int i = incoming.size();
+        incoming.add(obj);
+        ensureCapacity(i + 1);
+        known[i] = LayoutEngine.UNPLACED;
+        placedX[i] = obj.getX();
+        placedY[i] = obj.getY();
+        int id = idOf(obj);
+        if (!matching || id < 0) return;
+        int entry = nearestEntry(id, obj, tolerance);
+        if (entry >= 0) {
+            taken[entry] = true;
+            known[i] = entrySlot[entry];
+            placedX[i] = entryX[entry];
+            placedY[i] = entryY[entry];
+            drift += Math.hypot(obj.getX() - entryX[entry], obj.getY() - entryY[entry]);
+            same++;
+        } else {
+            changed++;
         }
     }
 
-
     /**
-     * This method create to threads that sort the stacks for their y-value.
+     * Places the cards added since beginUpdate, see updateCards
+     *
+     * @return  True if only the changed cards were placed, false if the photo was sorted from scratch
      */
-    private void sortStacks(){
-
-        compareY(tableau1,0);
-        Collections.reverse(tableau1);
-        compareY(tableau2,1);
-        Collections.reverse(tableau2);
-        compareY(tableau3,2);
-        Collections.reverse(tableau3);
-
-        compareY(tableau4,3);
-        Collections.reverse(tableau4);
-        compareY(tableau5,4);
-        Collections.reverse(tableau5);
-        compareY(tableau6,5);
-        Collections.reverse(tableau6);
-        compareY(tableau7,6);
-        Collections.reverse(tableau7);
+    public boolean finishUpdate() {
+        List<CardObj> cards = incoming;
+        incoming = null;
+        if (!matching || changed > MAX_CHANGED || changed > same || drift > same * tolerance / 2) {
+            sortCards(cards, updateWidth, updateHeight);
+            return false;
+        }
 
+        this.coordinates = cards;
+        clear();
+        layout.placeRemaining(cards, known);
+        sort(known);
+        remember(known, updateWidth, updateHeight);
+        return true;
     }
 
-
     /**
-     * This method finds out which stack the cards from the arraylist coordinates are going to.
+     * Removes every card, keeping the lists for the next photo
      */
-    private void stacks(){
-        ArrayList<CardObj> test = new ArrayList<>(coordinates);
-        for (CardObj x: test ) {
-            if (waste.contains(x) || foundations.contains(x)) {
-                coordinates.remove(x);
-            }
+    public void clear() {
+        wastePile = false;
+        waste.clear();
+        foundations.clear();
+        for (int i = 0; i < TABLEAUS; i++) {
+            hidden[i] = 0;
+            tableaus[i].clear();
         }
-        compareX(coordinates);
-
-        int stackNumber = 1;
-
-        for (int i = 0; i < coordinates.size() ; i++) {
+    }
 
-            if (i == 0) {
-                stackList(stackNumber,i);
-                continue;
-            }
-            if (stackNumber == 7){
-                stackList(stackNumber,i);
-                continue;
-            }
-            //Checks if the X coordinate is inside of 10% else it is going to the next stack.
-            int indexCheck = coordinates.get(i).getX();
-            int upperTail = (int) (coordinates.get(i-1).getX()*1.1);
-            int lowerTail = (int) (coordinates.get(i-1).getX()*0.9);
-
-            if ( indexCheck >= lowerTail  &&
-                    indexCheck <= upperTail ){
-                stackList(stackNumber,i);
-
-            } else {
-                stackNumber++;
-                stackList(stackNumber,i);
+    /**
+     * Puts every card in its place, found by the LayoutEngine from the positions of the cards.
+     * The cards are handled once each, from the top of the photo down, so the card furthest back in a tableau comes first.
+     * The waste is ordered from left to right, so the card on top is last.
+     */
+    private void sort(int[] slots) {
+        int count = coordinates.size();
+        int[] order = layout.orderFromTop();
+
+        for (int k = 0; k < count; k++) {
+            int i = order[k];
+            CardObj obj = coordinates.get(i);
+            switch (slots[i]) {
+                case LayoutEngine.STOCK:
+                    wastePile = true;
+                    break;
+                case LayoutEngine.WASTE:
+                    waste.add(obj);
+                    break;
+                case LayoutEngine.FOUNDATION:
+                    foundations.add(obj);
+                    break;
+                case LayoutEngine.IGNORED:
+                    break;
+                default:
+                    if (obj.getSuit() == 0) hidden[slots[i]]++;
+                    else tableaus[slots[i]].add(obj);
             }
         }
+        if (waste.size() > 1) Collections.sort(waste, (a, o2) -> Integer.compare(a.getX(), o2.getX()));
     }
 
     /**
-     * Method to find out which stack the card should be added to.
-     * @param stackNumber Is a variable that tells which stack the card is going in
-     * @param i tells the index of from the coordinate array that we wants to add to the stack.
+     * Finds the remembered card of the same kind lying nearest the card, not further away than the tolerance.
+     * A card can be remembered more than once, as the same card can be recognized twice, such as at both corners.
+     *
+     * @return  Index of the remembered card, or -1 if there is none
      */
-    private void stackList(int stackNumber, int i) {
-        switch (stackNumber) {
-            case 1:
-                tableau1.add(coordinates.get(i));
-                break;
-            case 2:
-                tableau2.add(coordinates.get(i));
-                break;
-            case 3:
-                tableau3.add(coordinates.get(i));
-                break;
-            case 4:
-                tableau4.add(coordinates.get(i));
-                break;
-            case 5:
-                tableau5.add(coordinates.get(i));
-                break;
-            case 6:
-                tableau6.add(coordinates.get(i));
-                break;
-            case 7:
-                tableau7.add(coordinates.get(i));
-                break;
+    private int nearestEntry(int id, CardObj obj, double tolerance) {
+        int nearest = -1;
+        double best = tolerance;
+        for (int e = firstEntry[id]; e < firstEntry[id + 1]; e++) {
+            if (taken[e]) continue;
+            double distance = Math.hypot(obj.getX() - entryX[e], obj.getY() - entryY[e]);
+            if (distance <= best) {
+                best = distance;
+                nearest = e;
+            }
         }
+        return nearest;
     }
 
-
     /**
-     * Extra card is at index 0 after run of this method
-     * This finds the upperrow, the extra cards and the winning stack
+     * Remembers the slot and placed center of every card turned up, grouped by kind, for the next call to updateCards
      */
-    private void upperRow(double screenWidth, double screenHeight){
-
-        compareY(coordinates,-1);
-        Collections.reverse(coordinates);
-
-        List<Integer> upperList = new ArrayList<>();
-
-
-        for (CardObj obj:coordinates) {
-            if (obj.getY()<=screenHeight*0.2){
-
-            }
+    private void remember(int[] slots, double screenWidth, double screenHeight) {
+        int count = coordinates.size();
+        Arrays.fill(firstEntry, 0);
+        for (int i = 0; i < count; i++) {
+            int id = idOf(coordinates.get(i));
+            if (id >= 0) firstEntry[id + 1]++;
         }
-
-        compareX(waste);
-
-        if(doesWasteExist()){
-            //Lower- and upperTail are +/- 10% of the y-coordinat
-            int lowerTail = (int) (waste.get(0).getY()*0.9);
-            int upperTail = (int) (waste.get(0).getY()*1.1);
-            for (int i = 1; i < waste.size() ; i++) {
-                if( waste.get(i).getY() >= lowerTail && waste.get(i).getY() <= upperTail) {
-                    foundations.add(waste.get(i));
-                }
-            }
-            waste.subList(1, waste.size()).clear();
-            coordinates.remove(waste);
+        for (int id = 0; id < DECK_SIZE; id++) {
+            firstEntry[id + 1] += firstEntry[id];
+            nextEntry[id] = firstEntry[id];
         }
-        else {
-            int lowerTail = (int) (waste.get(0).getY()*0.9);
-            int upperTail = (int) (waste.get(0).getY()*1.1);
-            for (int i = 0; i < waste.size() ; i++) {
-                if( waste.get(i).getY() >= lowerTail && waste.get(i).getY() <= upperTail) {
-                    foundations.add(waste.get(i));
-                }
-            }
-            waste.clear();
-            coordinates.remove(foundations);
+        for (int i = 0; i < count; i++) {
+            int id = idOf(coordinates.get(i));
+            if (id < 0) continue;
+            int e = nextEntry[id]++;
+            entrySlot[e] = slots[i];
+            entryX[e] = placedX[i];
+            entryY[e] = placedY[i];
         }
+        lastWidth = screenWidth;
+        lastHeight = screenHeight;
+        remembered = true;
     }
 
     /**
-     * Checks if we have a waste stack or not
-     * @return true or false
+     * The cards of the latest photo as they were placed, to start the placement of the next photo from
+     * @return the board, which later photos placed here do not change, or null if no photo has been placed
      */
-    private boolean doesWasteExist(){
-
-        //Checks the distance between waste index 1 and 2 are bigger than the uppertail.
-        int upperTail = (int) (waste.get(0).getX()*1.2);
-        return (waste.get(1).getX() - waste.get(0).getX()) >= upperTail;
+    public Board getBoard() {
+        return remembered ? new Board(this) : null;
     }
 
-    /**
-     * Sort the arraylist for x
-     * @param list the given list that i want to sort
-     */
-    private void  compareX(List<CardObj> list){
-        Collections.sort(list, (a, o2) -> Integer.compare(a.getX(), o2.getX()));
+    private void ensureCapacity(int count) {
+        if (known.length >= count) return;
+        int size = Math.max(count, 2 * known.length);
+        known = Arrays.copyOf(known, size);
+        placedX = Arrays.copyOf(placedX, size);
+        placedY = Arrays.copyOf(placedY, size);
+        entrySlot = Arrays.copyOf(entrySlot, size);
+        entryX = Arrays.copyOf(entryX, size);
+        entryY = Arrays.copyOf(entryY, size);
+        taken = Arrays.copyOf(taken, size);
     }
 
     /**
-     * Sort the arraylist for y
-     * @param list the given list that i want to sort
+     * Finds the place of a card in the deck, or -1 for a back or a card that is not in the deck
      */
-    private void compareY(List<CardObj> list, int hiddenCardIndex ) {
-        Collections.sort(list, (o1, o2) -> Integer.compare(o1.getY(), o2.getY()));
-
-        int hiddenCount = 0;
-        if (hiddenCardIndex != -1) {
-            for (int i = 0; i < list.size(); i++) {
-                if (list.get(i).getSuit() == 0) {
-                    hiddenCount++;
-                    list.remove(i);
-                    i--;
-                }
-            }
-            hiddenCards.set(hiddenCardIndex,hiddenCount);
-        }
+    private static int idOf(CardObj obj) {
+        if (obj.getSuit() < 1 || obj.getSuit() > 4 || obj.getValue() < 1 || obj.getValue() > 13) return -1;
+        return (obj.getSuit() - 1) * 13 + obj.getValue() - 1;
     }
 
     /**
      * Getter for hiddencards
-     * @return the hiddencards
+     * @return the hiddencards, changes to the list change the placement
      */
     public List<Integer> getHiddenCards() { return hiddenCards; }
-    public void setHiddenCards(List<Integer> hiddenCards) { this.hiddenCards = hiddenCards; }
+    public void setHiddenCards(List<Integer> hiddenCards) {
+        for (int i = 0; i < TABLEAUS; i++) hidden[i] = i < hiddenCards.size() ? hiddenCards.get(i) : 0;
+    }
 
     /**
      * Getter and setters for tableaus
      */
+    public List<CardObj> getTableau(int index) { return tableaus[index]; }
+    public void setTableau(int index, List<CardObj> cardObjs) { tableaus[index] = cardObjs; }
 
+    public List<CardObj> getTableau1() { return tableaus[0]; }
+    public void setTableau1(List<CardObj> cardObjs) { tableaus[0] = cardObjs; }
 
+    public List<CardObj> getTableau2() { return tableaus[1]; }
+    public void setTableau2(List<CardObj> cardObjs) { tableaus[1] = cardObjs; }
 
-    public List<CardObj> getTableau1() {
-        return tableau1;
-    }
-    public void setTableau1(List<CardObj> cardObjs) { this.tableau1 = cardObjs; }
+    public List<CardObj> getTableau3() { return tableaus[2]; }
+    public void setTableau3(List<CardObj> cardObjs) { tableaus[2] = cardObjs; }
 
-    public List<CardObj> getTableau2() {
-        return tableau2;
-    }
-    public void setTableau2(List<CardObj> cardObjs) { this.tableau2 = cardObjs; }
+    public List<CardObj> getTableau4() { return tableaus[3]; }
+    public void setTableau4(List<CardObj> cardObjs) { tableaus[3] = cardObjs; }
 
-    public List<CardObj> getTableau3() {
-        return tableau3;
-    }
-    public void setTableau3(List<CardObj> cardObjs) { this.tableau3 = cardObjs; }
+    public List<CardObj> getTableau5() { return tableaus[4]; }
+    public void setTableau5(List<CardObj> cardObjs) { tableaus[4] = cardObjs; }
 
-    public List<CardObj> getTableau4() {
-        return tableau4;
-    }
-    public void setTableau4(List<CardObj> cardObjs) { this.tableau4 = cardObjs; }
+    public List<CardObj> getTableau6() { return tableaus[5]; }
+    public void setTableau6(List<CardObj> cardObjs) { tableaus[5] = cardObjs; }
 
-    public List<CardObj> getTableau5() {
-        return tableau5;
-    }
-    public void setTableau5(List<CardObj> cardObjs) { this.tableau5 = cardObjs; }
-
-    public List<CardObj> getTableau6() {
-        return tableau6;
-    }
-    public void setTableau6(List<CardObj> cardObjs) { this.tableau6 = cardObjs; }
-
-    public List<CardObj> getTableau7() {
-        return tableau7;
-    }
-    public void setTableau7(List<CardObj> cardObjs) { this.tableau7 = cardObjs; }
+    public List<CardObj> getTableau7() { return tableaus[6]; }
+    public void setTableau7(List<CardObj> cardObjs) { tableaus[6] = cardObjs; }
 
     public ArrayList<List<CardObj>> getTableaus() {
-        ArrayList<List<CardObj>> tableaus = new ArrayList<>();
-        tableaus.add(tableau1);
-        tableaus.add(tableau2);
-        tableaus.add(tableau3);
-        tableaus.add(tableau4);
-        tableaus.add(tableau5);
-        tableaus.add(tableau6);
-        tableaus.add(tableau7);
-        return tableaus;
+        ArrayList<List<CardObj>> list = new ArrayList<>(TABLEAUS);
+        Collections.addAll(list, tableaus);
+        return list;
     }
 
     /**
@@ -359,4 +356,45 @@ public class CardPlacement  {
     public void setWastePile(boolean wastePile) {
         this.wastePile = wastePile;
     }
-}
\ No newline at end of file
+
+    /**
+     * Where every card of a photo was placed, and the layout found for it, copied so it can be handed between threads
+     */
+    public static final class Board {
+        private final double width, height;
+        private final int[] firstEntry;
+        private final int[] entrySlot;
+        private final int[] entryX;
+        private final int[] entryY;
+        private final LayoutEngine layout;
+
+        private Board(CardPlacement placement) {
+            int count = placement.firstEntry[DECK_SIZE];
+            width = placement.lastWidth;
+            height = placement.lastHeight;
+            firstEntry = placement.firstEntry.clone();
+            entrySlot = Arrays.copyOf(placement.entrySlot, count);
+            entryX = Arrays.copyOf(placement.entryX, count);
+            entryY = Arrays.copyOf(placement.entryY, count);
+            layout = new LayoutEngine(placement.layout);
+        }
+    }
+
+    /**
+     * The amount of hidden cards of every tableau, seen as a list of fixed size
+     */
+    private class HiddenCardsView extends AbstractList<Integer> {
+        @Override
+        public Integer get(int index) { return hidden[index]; }
+
+        @Override
+        public Integer set(int index, Integer value) {
+            int previous = hidden[index];
+            hidden[index] = value;
+            return previous;
+        }
+
+        @Override
+        public int size() { return TABLEAUS; }
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.gruppe9_kabalerobot.CardPlacement;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds where every recognized card lies in the layout of the game, from the centers of the cards alone.
+ *
+ * The cards are split into the upper row and the tableaus at the largest gap in height, and the tableau cards are
+ * clustered into columns at the gaps in width. The columns then give the skew of the photo, which is turned away before
+ * the cards are clustered again. Finally the columns are placed on a grid of seven, found from the distances between them,
+ * so a missing column or a photo not filling the screen does not move the other columns.
+ * Every step sorts the cards once, so the layout is found in O(n log n).
+ * The arrays are kept between photos, so an engine used for every frame does not allocate once it has seen the most cards.
+ * When the camera has not moved since the latest photo, the layout found for it can be used to place single cards.
+ */
+public class LayoutEngine {
+    public static final int COLUMNS = 7;
+    public static final int STOCK = 7;          //Slot of the pile of cards left to draw
+    public static final int WASTE = 8;          //Slot of the turned cards next to the stock
+    public static final int FOUNDATION = 9;     //Slot of the foundations
+    public static final int IGNORED = -1;       //Slot of a card that does not belong anywhere
+    public static final int UNPLACED = -2;      //Slot of a card left to placeRemaining
+
+    private static final double COLUMN_GAP = 0.5;   //Gap in X that starts a new column, in nominal column widths
+    private static final double ROW_GAP = 0.08;     //Least gap in Y between the upper row and the tableaus, in image heights
+    private static final double ROW_LIMIT = 0.5;    //The gap between the rows lies above this, in image heights
+    private static final double UPPER_ROW = 0.3;    //Line between the rows when no gap is found, in image heights
+    private static final double MIN_SLOPE = 0.005;  //Skew too small to be worth turning
+    private static final double MAX_SLOPE = 0.36;   //Skew too large to be trusted, about 20 degrees
+
+    private double[] xs = new double[0];        //Center of every card, turned so the columns stand straight
+    private double[] ys = new double[0];
+    private int[] cluster = new int[0];         //Column cluster of every card, -1 for the upper row
+    private int[] slots = new int[0];           //Slot of every card
+    private int[] orderX = new int[0];          //Cards sorted by X
+    private int[] orderY = new int[0];          //Cards sorted by Y, from the top of the photo down
+    private long[] keys = new long[0];          //Sort keys, the coordinate with the index of the card in the low bits
+    private double[] centers = new double[COLUMNS];     //Mean X of every cluster
+    private int[] counts = new int[COLUMNS];            //Amount of cards in every cluster
+    private double[] meanYs = new double[COLUMNS];      //Sums used to find the slope of every cluster
+    private double[] sumXY = new double[COLUMNS];
+    private double[] sumYY = new double[COLUMNS];
+    private int clusters;                       //Amount of column clusters found
+    private double gridPitch;                   //Distance between two columns
+    private int gridBase;                       //Column of the first cluster
+    private double slope;                       //Skew of the latest photo, X moved per Y
+    private double split;                       //Height between the rows of the latest photo, after it is straightened
+    private double pitch;                       //Nominal distance between two columns of the latest photo
+    private double middleX, middleY;            //Middle of the latest photo, which it is turned around
+
+    public LayoutEngine() {
+    }
+
+    /**
+     * A layout engine that knows the layout of the latest photo of another, so placeRemaining can be used at once
+     */
+    LayoutEngine(LayoutEngine latest) {
+        centers = latest.centers.clone();
+        counts = new int[centers.length];
+        meanYs = new double[centers.length];
+        sumXY = new double[centers.length];
+        sumYY = new double[centers.length];
+        clusters = latest.clusters;
+        gridPitch = latest.gridPitch;
+        gridBase = latest.gridBase;
+        slope = latest.slope;
+        split = latest.split;
+        pitch = latest.pitch;
+        middleX = latest.middleX;
+        middleY = latest.middleY;
+    }
+
+    /**
+     * Finds the slot of every card
+     *
+     * @param cards     Recognized cards, with their centers in pixels
+     * @param width     Width of the photo
+     * @param height    Height of the photo
+     * @return          Slot of every card: a tableau from 0 to 6, STOCK, WASTE, FOUNDATION or IGNORED.
+     *                  The array is reused by the next call, and may be longer than the list of cards.
+     */
+    public int[] classify(List<CardObj> cards, double width, double height) {
+        int n = cards.size();
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            xs[i] = cards.get(i).getX();
+            ys[i] = cards.get(i).getY();
+        }
+        pitch = width / COLUMNS;
+        middleX = width / 2;
+        middleY = height / 2;
+
+        //First look at the photo as it is, to find the columns and from them the skew
+        split = findRowSplit(n, height);
+        clusterColumns(n, split, pitch);
+        slope = findSlope(n);
+        if (slope != 0) {
+            straighten(n, middleX, middleY);
+            split = findRowSplit(n, height);
+            clusterColumns(n, split, pitch);
+        }
+        fitGrid(pitch);
+
+        for (int i = 0; i < n; i++) {
+            boolean back = cards.get(i).getSuit() == 0;
+            if (cluster[i] >= 0) slots[i] = columnOfCluster(cluster[i]);
+            else slots[i] = upperSlot(columnOf(xs[i], pitch), back);
+        }
+        return slots;
+    }
+
+    /**
+     * Places the cards not placed yet on the layout found by the latest classify, without looking for the layout again.
+     * Only meant for a photo taken from where the latest one was, as the skew, the rows and the columns are not checked.
+     *
+     * @param cards     Recognized cards of the new photo, with their centers in pixels
+     * @param known     Slot of every card already placed, or UNPLACED. The slots of the cards not placed are filled in.
+     */
+    public void placeRemaining(List<CardObj> cards, int[] known) {
+        int n = cards.size();
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            xs[i] = cards.get(i).getX();
+            ys[i] = cards.get(i).getY();
+        }
+        if (slope != 0) straighten(n, middleX, middleY);
+        sortBy(ys, n, orderY);
+
+        for (int i = 0; i < n; i++) {
+            if (known[i] != UNPLACED) continue;
+            int column = columnOf(xs[i], pitch);
+            known[i] = ys[i] > split ? column : upperSlot(column, cards.get(i).getSuit() == 0);
+        }
+    }
+
+    /**
+     * Returns the cards of the latest photo sorted from the top of the photo, after the skew is turned away
+     *
+     * @return  Indexes of the cards, from the top down. The array is reused by the next call to classify or placeRemaining.
+     */
+    public int[] orderFromTop() {
+        return orderY;
+    }
+
+    /**
+     * Returns the skew found in the latest photo, as the X moved per Y along a column
+     */
+    public double getSlope() { return slope; }
+
+    /**
+     * Finds the height between the upper row and the tableaus, at the largest gap between two cards in the upper half of the photo
+     */
+    private double findRowSplit(int n, double height) {
+        double split = UPPER_ROW * height;
+        double bestGap = ROW_GAP * height;
+        sortBy(ys, n, orderY);
+        for (int i = 1; i < n; i++) {
+            double above = ys[orderY[i - 1]];
+            double below = ys[orderY[i]];
+            double middle = (above + below) / 2;
+            if (below - above >= bestGap && middle <= ROW_LIMIT * height) {
+                bestGap = below - above;
+                split = middle;
+            }
+        }
+        return split;
+    }
+
+    /**
+     * Clusters the cards below the split into columns, starting a new column at every gap in X wider than COLUMN_GAP
+     */
+    private void clusterColumns(int n, double split, double pitch) {
+        sortBy(xs, n, orderX);
+        clusters = 0;
+        double previous = 0;
+        for (int k = 0; k < n; k++) {
+            int i = orderX[k];
+            if (ys[i] <= split) {
+                cluster[i] = -1;
+                continue;
+            }
+            if (clusters == 0 || xs[i] - previous > COLUMN_GAP * pitch) {
+                if (clusters == centers.length) growClusters();
+                centers[clusters] = 0;
+                counts[clusters] = 0;
+                clusters++;
+            }
+            cluster[i] = clusters - 1;
+            centers[clusters - 1] += xs[i];
+            counts[clusters - 1]++;
+            previous = xs[i];
+        }
+        for (int c = 0; c < clusters; c++) centers[c] /= counts[c];
+    }
+
+    /**
+     * Finds the skew as the median of the slopes of the columns with more than one card, 0 if it is too small or too large
+     */
+    private double findSlope(int n) {
+        for (int c = 0; c < clusters; c++) {
+            meanYs[c] = 0;
+            sumXY[c] = 0;
+            sumYY[c] = 0;
+        }
+        for (int i = 0; i < n; i++) if (cluster[i] >= 0) meanYs[cluster[i]] += ys[i];
+        for (int c = 0; c < clusters; c++) meanYs[c] /= counts[c];
+        for (int i = 0; i < n; i++) {
+            int c = cluster[i];
+            if (c < 0) continue;
+            sumXY[c] += (xs[i] - centers[c]) * (ys[i] - meanYs[c]);
+            sumYY[c] += (ys[i] - meanYs[c]) * (ys[i] - meanYs[c]);
+        }
+
+        //The slopes are kept in meanYs, which is not needed any more
+        int found = 0;
+        for (int c = 0; c < clusters; c++) {
+            if (counts[c] > 1 && sumYY[c] > 0) meanYs[found++] = sumXY[c] / sumYY[c];
+        }
+        if (found == 0) return 0;
+        Arrays.sort(meanYs, 0, found);
+        double median = found % 2 == 1 ? meanYs[found / 2] : (meanYs[found / 2 - 1] + meanYs[found / 2]) / 2;
+        return Math.abs(median) < MIN_SLOPE || Math.abs(median) > MAX_SLOPE ? 0 : median;
+    }
+
+    /**
+     * Turns the centers around the middle of the photo, so the columns stand straight
+     */
+    private void straighten(int n, double middleX, double middleY) {
+        double length = Math.sqrt(1 + slope * slope);
+        for (int i = 0; i < n; i++) {
+            double x = xs[i] - middleX;
+            double y = ys[i] - middleY;
+            xs[i] = middleX + (x - slope * y) / length;
+            ys[i] = middleY + (slope * x + y) / length;
+        }
+    }
+
+    /**
+     * Places the clusters on a grid of seven columns. The distance between two columns is found from the clusters,
+     * and the grid is moved to where the clusters lie closest to the nominal columns of the photo.
+     */
+    private void fitGrid(double pitch) {
+        gridPitch = pitch;
+        gridBase = 0;
+        if (clusters == 0) return;
+
+        if (clusters > 1) {
+            int steps = 0;
+            for (int c = 1; c < clusters; c++) steps += Math.max(1, (int) Math.round((centers[c] - centers[c - 1]) / pitch));
+            gridPitch = (centers[clusters - 1] - centers[0]) / steps;
+        }
+        int span = columnOfCluster(clusters - 1) - gridBase;
+        double bestError = Double.MAX_VALUE;
+        for (int base = 0; base <= Math.max(0, COLUMNS - 1 - span); base++) {
+            double error = 0;
+            for (int c = 0; c < clusters; c++) {
+                double offset = Math.round((centers[c] - centers[0]) / gridPitch);
+                error += Math.abs(centers[c] / pitch - 0.5 - (base + offset));
+            }
+            if (error < bestError) {
+                bestError = error;
+                gridBase = base;
+            }
+        }
+    }
+
+    private int columnOfCluster(int c) {
+        return clamp(gridBase + (int) Math.round((centers[c] - centers[0]) / gridPitch));
+    }
+
+    /**
+     * Finds the column of an X coordinate, on the grid of the clusters, or the nominal columns if there are none
+     */
+    private int columnOf(double x, double pitch) {
+        if (clusters == 0) return clamp((int) Math.floor(x / pitch));
+        return clamp(gridBase + (int) Math.round((x - centers[0]) / gridPitch));
+    }
+
+    /**
+     * Finds the slot of a card in the upper row: the stock is the back in the first column, the waste the cards next to it
+     */
+    private static int upperSlot(int column, boolean back) {
+        if (back) return column == 0 ? STOCK : IGNORED;
+        return column <= 1 ? WASTE : FOUNDATION;
+    }
+
+    private static int clamp(int column) { return Math.max(0, Math.min(COLUMNS - 1, column)); }
+
+    /**
+     * Sorts the first n cards by the given coordinate, by packing the coordinate and the index into one long
+     */
+    private void sortBy(double[] values, int n, int[] order) {
+        for (int i = 0; i < n; i++) keys[i] = (long) Math.floor(values[i] * 256) << 20 | i;
+        Arrays.sort(keys, 0, n);
+        for (int i = 0; i < n; i++) order[i] = (int) (keys[i] & 0xFFFFF);
+    }
+
+    private void growClusters() {
+        int size = centers.length * 2;
+        centers = Arrays.copyOf(centers, size);
+        counts = Arrays.copyOf(counts, size);
+        meanYs = new double[size];
+        sumXY = new double[size];
+        sumYY = new double[size];
+    }
+
+    private void ensureCapacity(int n) {
+        if (xs.length >= n) return;
+        xs = new double[n];
+        ys = new double[n];
+        cluster = new int[n];
+        slots = new int[n];
+        orderX = new int[n];
+        orderY = new int[n];
+        keys = new long[n];
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A captured JPEG, kept in the buffer the camera wrote it to and shared by the upload and the screen showing it.
+ * Every user retains the frame and releases it when done, and the camera image is closed when the last one lets go,
+ * so the bytes are written to the socket without being copied or compressed again.
+ */
+public class CapturedFrame {
+    private final ByteBuffer jpeg;
+    private final Runnable onRelease;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    /**
+     * Creates a frame held once, by the caller
+     *
+     * @param jpeg          The JPEG, from the position to the limit of the buffer
+     * @param onRelease     Closes the camera image, run once when the frame is released by every user
+     */
+    public CapturedFrame(ByteBuffer jpeg, Runnable onRelease) {
+        this.jpeg = jpeg.slice();
+        this.onRelease = onRelease;
+    }
+
+    /**
+     * Holds the frame for one more user, who has to release it
+     *
+     * @return  This frame
+     */
+    public CapturedFrame retain() {
+        while (true) {
+            int count = references.get();
+            if (count == 0) throw new IllegalStateException("The frame is already released");
+            if (references.compareAndSet(count, count + 1)) return this;
+        }
+    }
+
+    /**
+     * Lets go of the frame, closing the camera image if this was the last user
+     */
+    public void release() {
+        int count = references.decrementAndGet();
+        if (count < 0) {
+            references.incrementAndGet();
+            throw new IllegalStateException("The frame is released more times than it is held");
+        }
+        if (count == 0) onRelease.run();
+    }
+
+    /**
+     * Returns the JPEG as a new view of the buffer, so every user has its own position. Only valid while the frame is held.
+     */
+    public ByteBuffer getJpeg() {
+        if (references.get() == 0) throw new IllegalStateException("The frame is already released");
+        return jpeg.duplicate();
+    }
+
+    /**
+     * Copies the JPEG, for decoders that need an array
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[jpeg.remaining()];
+        getJpeg().get(bytes);
+        return bytes;
+    }
+
+    public int size() { return jpeg.remaining(); }
+
+    public boolean isReleased() { return references.get() == 0; }
+}
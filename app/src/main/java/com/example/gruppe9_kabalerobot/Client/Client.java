@@ -1,45 +1,50 @@
 package com.example.gruppe9_kabalerobot.Client;
 
 import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.ColorMatrix;
+import android.graphics.ColorMatrixColorFilter;
+import android.graphics.Paint;
+
+import com.example.gruppe9_kabalerobot.Recognition.Recognizer;
 
 import org.opencv.android.Utils;
 import org.opencv.core.Mat;
 
-import java.io.BufferedOutputStream;
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.InetAddress;
-import java.net.Socket;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
- * This class is a singleton which handles connections using Socket.
+ * This class is a singleton which handles the connection to the python server, using a ConnectionManager
+ * that connects again when the connection is lost, and keeps the images taken meanwhile until it is back.
+ * Images are sent without waiting for the earlier replies, and every image gets its own future.
+ * The size and quality of every image is chosen by an UploadPolicy, from how fast and how well the latest ones went.
  */
-public class Client {
+public class Client implements Recognizer {
 
     //region Fields
 
-    private Socket socket;
-
-    private final int serverPort = 8888; //FIXME: Change to fit server
-    private final String server_ip = "192.168.0.19"; //FIXME: Change to fit server with your own IP-Address
+    public static final String DEFAULT_HOST = "192.168.0.19";  //Used until setServer is called, the app sets it from the resources
+    public static final int DEFAULT_PORT = 8888;
+    private final long targetMillis = 1500;     //Time wanted from taking a photo to having its cards
 
     private static Client instance;
-    private BufferedReader reader;
-    private ByteArrayOutputStream stream;
-    private BufferedOutputStream output;
+    private final ConnectionManager connection = new ConnectionManager(new ConnectionConfig(DEFAULT_HOST, DEFAULT_PORT));
+    private final ExecutorService encoder = Executors.newSingleThreadExecutor(); //Scales photos, off the UI thread
+    private volatile UploadPolicy policy = new UploadPolicy(UploadProfile.LEVELS, targetMillis, 2);
 
     //endregion
 
     /**
-     * Basic constructor
+     * Basic constructor, the connection is made when the server is set or the first image is sent
      */
     private Client(){
-        new Thread(new ClientThread()).start();
     }
 
     /**
@@ -54,113 +59,204 @@ public class Client {
     }
 
     /**
-     * This method sends an image to python server.
+     * This method sends an image to python server, as a JPEG framed by the Protocol, with the current UploadProfile.
+     * The image is queued if the connection is not up yet, or is being made again.
      * @param imageToSend bitmap of the image
+     * @return future of the cards found in the coordinates of the bitmap, as a 2D int array.
+     * It fails if the server does not answer within the timeout, or the image is dropped from a full queue.
      */
-    public void sendImage(Bitmap imageToSend) {
-
-        try{
-            imageToSend.compress(Bitmap.CompressFormat.JPEG, 100, stream);
+    public CompletableFuture<int[][]> sendImage(Bitmap imageToSend) {
+        connection.start();
+        UploadProfile profile = policy.current();
+        long start = System.nanoTime();
+        Scaled scaled = scale(imageToSend, profile);
+        return measure(send(scaled, null), profile, start);
+    }
 
-            byte[] byteArray = stream.toByteArray();
+    /**
+     * This method sends a captured JPEG to python server with the current UploadProfile.
+     * With the original profile the JPEG is sent as it is, without decoding and compressing it again,
+     * otherwise it is scaled down on a background thread first.
+     * The frame is held until it is written or scaled, and released after that.
+     * @param frame the JPEG from the camera
+     * @return future of the cards found in the coordinates of the photo taken, as a 2D int array.
+     * It fails if the server does not answer within the timeout, or the image is dropped from a full queue.
+     */
+    public CompletableFuture<int[][]> sendImage(CapturedFrame frame) {
+        return sendImage(frame, null);
+    }
 
-            output.write((Integer.toString(stream.size())).getBytes());
-            output.flush();
-            Thread.sleep(200);
-            output.write(byteArray);
-            output.flush();
-            stream.reset();
-        }
-        catch (IOException | InterruptedException e1){
-            e1.printStackTrace();
+    /**
+     * This method sends a captured JPEG like sendImage(frame), and hands every card found to a callback
+     * as soon as it is read, so the cards can be placed while the rest of the reply is on its way.
+     * @param frame the JPEG from the camera
+     * @param onCard run on the network thread for every card, in the coordinates of the photo taken, or null.
+     * The array is reused for the next card, so it must be copied to be kept.
+     * @return future of all the cards found, as a 2D int array
+     */
+    public CompletableFuture<int[][]> sendImage(CapturedFrame frame, Consumer<int[]> onCard) {
+        connection.start();
+        UploadProfile profile = policy.current();
+        long start = System.nanoTime();
+        frame.retain();
+        if (profile.isOriginal()) {
+            return measure(connection.send(frame.getJpeg(), frame::release, onCard), profile, start);
         }
+        CompletableFuture<Scaled> scaled = CompletableFuture.supplyAsync(() -> {
+            try {
+                return scale(frame.toByteArray(), profile);
+            } finally {
+                frame.release();
+            }
+        }, encoder);
+        return measure(scaled.thenCompose(result -> send(result, onCard)), profile, start);
+    }
 
+    /**
+     * Finds the cards of a photo on the python server, see sendImage
+     */
+    @Override
+    public CompletableFuture<int[][]> recognize(CapturedFrame frame, Consumer<int[]> onCard) {
+        return sendImage(frame, onCard);
+    }
 
+    /**
+     * Sets how photos are sent, such as UploadPolicy.fixed to always use one profile
+     */
+    public void setUploadPolicy(UploadPolicy policy) {
+        this.policy = policy;
+    }
+
+    public UploadPolicy getUploadPolicy() {
+        return policy;
     }
 
     /**
-     * This method recieves data, using busy waiting.
-     * @return 2D int array of data from server
+     * Decodes a JPEG and compresses it again with the profile.
+     * Every second line is skipped while decoding, as long as the photo is still at least the size of the profile.
      */
-    public int[][] recieveData() {
+    private static Scaled scale(byte[] jpeg, UploadProfile profile) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(jpeg, 0, jpeg.length, options);
+        int width = options.outWidth;
+        int height = options.outHeight;
+        double scale = profile.scaleFor(width, height);
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = 1;
+        while (scale * options.inSampleSize * 2 <= 1) options.inSampleSize *= 2;
+        return scale(BitmapFactory.decodeByteArray(jpeg, 0, jpeg.length, options), width, height, profile);
+    }
 
-        try {
-            String fromServer, result="";
-            while ((fromServer=reader.readLine())!=null) {
-                System.out.println("Recieved: " + fromServer);
-                result += fromServer;
+    private static Scaled scale(Bitmap full, UploadProfile profile) {
+        return scale(full, full.getWidth(), full.getHeight(), profile);
+    }
 
-                // If recieved empty list, return null
-                if (fromServer.contains("[]")){
-                    return null;
-                }
+    /**
+     * Scales a bitmap to the size of the profile and compresses it
+     * @param bitmap the photo, possibly decoded smaller than it was taken
+     * @param width width of the photo as taken
+     * @param height height of the photo as taken
+     */
+    private static Scaled scale(Bitmap bitmap, int width, int height, UploadProfile profile) {
+        double scale = profile.scaleFor(width, height);
+        int scaledWidth = (int) Math.round(width * scale);
+        int scaledHeight = (int) Math.round(height * scale);
+        if (bitmap.getWidth() != scaledWidth || bitmap.getHeight() != scaledHeight) {
+            bitmap = Bitmap.createScaledBitmap(bitmap, scaledWidth, scaledHeight, true);
+        }
+        if (profile.isGrayscale()) {
+            Bitmap gray = Bitmap.createBitmap(scaledWidth, scaledHeight, Bitmap.Config.ARGB_8888);
+            ColorMatrix matrix = new ColorMatrix();
+            matrix.setSaturation(0);
+            Paint paint = new Paint();
+            paint.setColorFilter(new ColorMatrixColorFilter(matrix));
+            new Canvas(gray).drawBitmap(bitmap, 0, 0, paint);
+            bitmap = gray;
+        }
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        bitmap.compress(Bitmap.CompressFormat.JPEG, profile.getQuality(), stream);
+        return new Scaled(ByteBuffer.wrap(stream.toByteArray()), (double) scaledWidth / width);
+    }
 
-                // The last element of that data will be two square brackets
-                else if (fromServer.contains("]")){
-                    return stringToIntArrays(result);
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+    /**
+     * Sends a scaled photo, mapping the cards found back to the photo as taken, also those handed to the callback
+     */
+    private CompletableFuture<int[][]> send(Scaled scaled, Consumer<int[]> onCard) {
+        Consumer<int[]> mapped = onCard;
+        if (onCard != null && scaled.scale != 1) {
+            int[] full = new int[Protocol.FIELDS];
+            mapped = card -> {
+                System.arraycopy(card, 0, full, 0, Protocol.FIELDS);
+                UploadProfile.toFullResolution(full, scaled.scale);
+                onCard.accept(full);
+            };
         }
-        return null;
+        return connection.send(scaled.jpeg, null, mapped).thenApply(cards -> UploadProfile.toFullResolution(cards, scaled.scale));
     }
 
     /**
-     * This method converts the data stream we recieve into a 2D int array
-     * @param result server result
-     * @return 2D int array of data
+     * Tells the UploadPolicy how long the upload took and how many cards were found, when it is done
      */
-    public int[][] stringToIntArrays(String result){
-        String s = result.replaceAll("[\\[\\]]", " ").replaceAll("\\s+", " ");
-        System.out.println("with replace " + s);
-        String[] splitString = s.trim().split(" ");
-        int[] intArray = Arrays.stream(splitString).mapToInt(Integer::parseInt).toArray();
-        int[][] newIntArray = new int[intArray.length/6][6];
-        int j=0;
+    private CompletableFuture<int[][]> measure(CompletableFuture<int[][]> cards, UploadProfile profile, long start) {
+        UploadPolicy used = policy;
+        cards.whenComplete((found, error) ->
+                used.record(profile, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), found == null ? -1 : found.length));
+        return cards;
+    }
 
-        for (int i=0; i < intArray.length; i+=6){
-            for (int k=0; k<6; k++){
-                newIntArray[j][k] = intArray[k+i];
-                if (k==5){
-                    j++;
-                }
-            }
+    /**
+     * A compressed photo, with the scale it has compared to the photo taken
+     */
+    private static class Scaled {
+        final ByteBuffer jpeg;
+        final double scale;
+
+        Scaled(ByteBuffer jpeg, double scale) {
+            this.jpeg = jpeg;
+            this.scale = scale;
         }
-        System.out.println(Arrays.deepToString(newIntArray));
-        return newIntArray;
     }
 
     /**
-     * This method closes all streams and therefore connection to the server
+     * Sets the server to connect to, and starts connecting. An earlier connection is closed.
+     * @param host name or address of the python server
+     * @param port port of the python server
      */
-    public void closeAllStreams() {
-        try {
-            reader.close();
-            output.close();
-            stream.close();
-        }catch (IOException e){
-            System.out.println("WARING! Could not close streams" + e.getMessage());
-        }
+    public void setServer(String host, int port) {
+        ConnectionConfig current = connection.getConfig();
+        connection.setConfig(new ConnectionConfig(host, port, current.getTimeoutMillis(), current.getMinBackoffMillis(),
+                current.getMaxBackoffMillis(), current.getHealthCheckMillis(), current.getQueueCapacity()));
+        connection.start();
     }
 
     /**
-     * This class is a basic ClientThread which implements runnable
-     * This class is being used when creating the single instance of Client.
+     * Sets where the server is and how the connection to it is kept, and starts connecting
      */
-    class ClientThread implements Runnable {
-        @Override
-        public void run() {
-            try {
-                InetAddress serverAddr = InetAddress.getByName(server_ip);
-                socket = new Socket(serverAddr, serverPort);
-                stream = new ByteArrayOutputStream();
-                output = new BufferedOutputStream(socket.getOutputStream());
-                reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            } catch (IOException e1) {
-                e1.printStackTrace();
-            }
-        }
+    public void setConnectionConfig(ConnectionConfig config) {
+        connection.setConfig(config);
+        connection.start();
+    }
+
+    /**
+     * Future of the connection, completed when it is up
+     */
+    public CompletableFuture<Void> getConnected() {
+        return connection.getConnected();
+    }
+
+    /**
+     * Timings and counts of the connection, such as how long it took to connect and how often it was lost
+     */
+    public ConnectionMetrics getConnectionMetrics() {
+        return connection.getMetrics();
+    }
+
+    /**
+     * This method closes the connection to the server for good, failing the images not answered
+     */
+    public void closeAllStreams() {
+        connection.close();
     }
 
 }
@@ -0,0 +1,88 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+/**
+ * Where the python server is, and how the ConnectionManager keeps the connection to it
+ */
+public class ConnectionConfig {
+    public static final long DEFAULT_TIMEOUT_MILLIS = 10000;
+    public static final long DEFAULT_MIN_BACKOFF_MILLIS = 250;
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 30000;
+    public static final long DEFAULT_HEALTH_CHECK_MILLIS = 15000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    private final String host;              //Name or address of the server
+    private final int port;                 //Port of the server
+    private final long timeoutMillis;       //Time to connect, and time for the reply to every image
+    private final long minBackoffMillis;    //Wait before the first try to connect again
+    private final long maxBackoffMillis;    //Longest wait between tries, the wait is doubled up to this after every failed try
+    private final long healthCheckMillis;   //Time without replies before the connection is checked, 0 to never check it
+    private final int queueCapacity;        //Images kept while the connection is down, the oldest is dropped when it is full
+
+    /**
+     * Constructor with the default timeouts, backoff, health check and queue
+     *
+     * @param host  Name or address of the server
+     * @param port  Port of the server
+     */
+    public ConnectionConfig(String host, int port) {
+        this(host, port, DEFAULT_TIMEOUT_MILLIS, DEFAULT_MIN_BACKOFF_MILLIS, DEFAULT_MAX_BACKOFF_MILLIS,
+                DEFAULT_HEALTH_CHECK_MILLIS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructor for ConnectionConfig
+     *
+     * @param host                  Name or address of the server
+     * @param port                  Port of the server
+     * @param timeoutMillis         Time to connect, and time for the reply to every image from when it is sent
+     * @param minBackoffMillis      Wait before the first try to connect again, at least 1
+     * @param maxBackoffMillis      Longest wait between two tries to connect
+     * @param healthCheckMillis     Time without replies before the server is asked if it is there, 0 to never ask
+     * @param queueCapacity         Images kept while the connection is down, at least 1
+     */
+    public ConnectionConfig(String host, int port, long timeoutMillis, long minBackoffMillis, long maxBackoffMillis,
+                            long healthCheckMillis, int queueCapacity) {
+        if (host == null || host.isEmpty()) throw new IllegalArgumentException("There must be a host");
+        if (port < 1 || port > 65535) throw new IllegalArgumentException("No port " + port);
+        if (timeoutMillis < 1) throw new IllegalArgumentException("timeoutMillis must be at least 1");
+        if (minBackoffMillis < 1) throw new IllegalArgumentException("minBackoffMillis must be at least 1");
+        if (maxBackoffMillis < minBackoffMillis) throw new IllegalArgumentException("maxBackoffMillis can not be below minBackoffMillis");
+        if (healthCheckMillis < 0) throw new IllegalArgumentException("healthCheckMillis can not be negative");
+        if (queueCapacity < 1) throw new IllegalArgumentException("queueCapacity must be at least 1");
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+        this.minBackoffMillis = minBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.healthCheckMillis = healthCheckMillis;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Finds the wait before the next try to connect
+     *
+     * @param failures  Tries that have failed in a row
+     * @return          The minimum backoff doubled for every failure, up to the maximum
+     */
+    public long backoffMillis(int failures) {
+        long delay = minBackoffMillis;
+        for (int i = 0; i < failures && delay < maxBackoffMillis; i++) delay *= 2;
+        return Math.min(delay, maxBackoffMillis);
+    }
+
+    /**
+     * Getters for ConnectionConfig class
+     */
+    public String getHost() { return host; }
+    public int getPort() { return port; }
+    public long getTimeoutMillis() { return timeoutMillis; }
+    public long getMinBackoffMillis() { return minBackoffMillis; }
+    public long getMaxBackoffMillis() { return maxBackoffMillis; }
+    public long getHealthCheckMillis() { return healthCheckMillis; }
+    public int getQueueCapacity() { return queueCapacity; }
+
+    @Override
+    public String toString() {
+        return host + ":" + port;
+    }
+}
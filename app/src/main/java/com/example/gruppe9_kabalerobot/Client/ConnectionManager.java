@@ -0,0 +1,327 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a connection to the python server up for as long as the app runs.
+ *
+ * A NioClient can not be used again once its connection is lost, so the manager makes a new one whenever the connection
+ * is lost, the server is restarted or could not be reached, waiting longer after every try that fails, as set by the
+ * ConnectionConfig. While the connection is down the images sent are kept in a bounded queue, and written in order as
+ * soon as it is up again. When the queue is full the oldest image is dropped, as a newer photo of the game is worth more.
+ * A connection with no replies for a while is checked with an empty image, and closed if that is not answered in time,
+ * so a server that hangs or a network that is gone without the socket knowing is found too.
+ * The timings of every connection are counted, and read as ConnectionMetrics.
+ */
+public class ConnectionManager implements Closeable {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "connection-manager");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();  //Images waiting for the connection, guarded by this
+    private ConnectionConfig config;
+    private NioClient connection;                   //The connection up or being made, null while waiting to try again
+    private boolean up = false;
+    private boolean started = false;
+    private boolean closed = false;
+    private boolean pinging = false;
+    private CompletableFuture<Void> upFuture = new CompletableFuture<>();
+    private ScheduledFuture<?> healthCheck;
+    private long lastReply;                         //System.nanoTime of the latest reply or connect
+
+    //Metrics
+    private int failures = 0;                       //Tries to connect that failed in a row
+    private int connects, failedAttempts, lostConnections, healthChecks, failedHealthChecks, dropped;
+    private long lastConnectMillis = -1, totalConnectMillis, totalDownNanos;
+    private long downSince = -1;                    //System.nanoTime when the connection went down, -1 while it is up
+
+    public ConnectionManager(ConnectionConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Starts connecting in the background. Calling it again does nothing.
+     */
+    public synchronized void start() {
+        if (started || closed) return;
+        started = true;
+        scheduleHealthCheck();
+        connect();
+    }
+
+    /**
+     * Moves to another server, or other timings. The current connection is closed and a new one made at once,
+     * the images queued are kept, and images waiting for a reply on the old connection fail.
+     */
+    public synchronized void setConfig(ConnectionConfig config) {
+        this.config = config;
+        if (!started || closed) return;
+        NioClient old = connection;
+        connection = null;
+        if (old != null) {
+            lostDown(old);
+            old.close();
+        }
+        failures = 0;
+        scheduleHealthCheck();
+        connect();
+    }
+
+    public synchronized ConnectionConfig getConfig() { return config; }
+
+    /**
+     * Sends an image to the server, or queues it until the connection is up.
+     * Cancelling the future takes the image out of the queue, or skips its reply if it is sent already.
+     *
+     * @param jpeg      The compressed image, read from the position to the limit of the buffer
+     * @param written   Run once when the image is written, dropped or will not be written, or null
+     * @return          Future completed with the cards found. It fails if the image is dropped from a full queue,
+     *                  if the connection is lost before the reply, or if the reply is not back within the timeout.
+     */
+    public CompletableFuture<int[][]> send(ByteBuffer jpeg, Runnable written) {
+        return send(jpeg, written, null);
+    }
+
+    /**
+     * Sends an image like send(jpeg, written), handing every card found to a callback as soon as it is read
+     *
+     * @param onCard    Run for every card in the order of the reply, or null. The array is reused for the next card.
+     */
+    public CompletableFuture<int[][]> send(ByteBuffer jpeg, Runnable written, Consumer<int[]> onCard) {
+        Pending pending = new Pending(jpeg, written, onCard);
+        Pending oldest = null;
+        synchronized (this) {
+            if (closed) {
+                pending.fail(new ClosedChannelException());
+                return pending.future;
+            }
+            if (up && !connection.isClosed()) {
+                forward(pending, connection);
+            } else {
+                if (queue.size() >= config.getQueueCapacity()) {
+                    oldest = queue.poll();
+                    dropped++;
+                }
+                queue.add(pending);
+            }
+        }
+        if (oldest != null) oldest.fail(new IOException("Dropped while the connection was down, as newer images were sent"));
+        pending.future.whenComplete((cards, error) -> {
+            if (pending.future.isCancelled()) cancelled(pending);
+        });
+        return pending.future;
+    }
+
+    public CompletableFuture<int[][]> send(ByteBuffer jpeg) {
+        return send(jpeg, null);
+    }
+
+    /**
+     * Future completed when the connection is up, at once if it is up now. It fails if the manager is closed.
+     */
+    public synchronized CompletableFuture<Void> getConnected() { return upFuture; }
+
+    public synchronized boolean isConnected() { return up; }
+
+    /**
+     * Counts how the connection has been until now
+     */
+    public synchronized ConnectionMetrics getMetrics() {
+        long down = totalDownNanos + (downSince >= 0 ? System.nanoTime() - downSince : 0);
+        return new ConnectionMetrics(up, connects, failedAttempts, lostConnections, healthChecks, failedHealthChecks,
+                lastConnectMillis, totalConnectMillis, TimeUnit.NANOSECONDS.toMillis(down), queue.size(), dropped);
+    }
+
+    /**
+     * Closes the connection for good, failing the images queued and those waiting for a reply
+     */
+    @Override
+    public void close() {
+        NioClient last;
+        ArrayDeque<Pending> left;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            up = false;
+            last = connection;
+            connection = null;
+            left = new ArrayDeque<>(queue);
+            queue.clear();
+            upFuture.completeExceptionally(new ClosedChannelException());
+        }
+        scheduler.shutdownNow();
+        if (last != null) last.close();
+        for (Pending pending : left) pending.fail(new ClosedChannelException());
+    }
+
+    /**
+     * Makes a new connection, called with the lock held
+     */
+    private void connect() {
+        NioClient client = new NioClient(config.getHost(), config.getPort(), config.getTimeoutMillis());
+        connection = client;
+        long start = System.nanoTime();
+        client.getConnected().thenRun(() -> connected(client, start));
+        client.getClosed().thenAccept(cause -> lost(client, cause));
+        client.connect();
+    }
+
+    private synchronized void connected(NioClient client, long start) {
+        if (client != connection || closed) return;
+        long now = System.nanoTime();
+        up = true;
+        failures = 0;
+        connects++;
+        lastConnectMillis = TimeUnit.NANOSECONDS.toMillis(now - start);
+        totalConnectMillis += lastConnectMillis;
+        if (downSince >= 0) totalDownNanos += now - downSince;
+        downSince = -1;
+        lastReply = now;
+        upFuture.complete(null);
+
+        //Send what was taken while the connection was down, in order
+        Pending pending;
+        while ((pending = queue.poll()) != null) forward(pending, client);
+    }
+
+    private synchronized void lost(NioClient client, IOException cause) {
+        if (client != connection || closed) return;
+        connection = null;
+        if (up) {
+            lostConnections++;
+            lostDown(client);
+        } else {
+            failures++;
+            failedAttempts++;
+        }
+        long delay = config.backoffMillis(failures);
+        System.out.println("Connection to " + config + " lost: " + cause.getMessage() + ", trying again in " + delay + " ms");
+        scheduler.schedule(this::reconnect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Marks the connection as down, called with the lock held
+     */
+    private void lostDown(NioClient client) {
+        if (!up) return;
+        up = false;
+        pinging = false;
+        if (downSince < 0) downSince = System.nanoTime();
+        upFuture = new CompletableFuture<>();
+    }
+
+    private synchronized void reconnect() {
+        if (closed || connection != null) return;
+        connect();
+    }
+
+    /**
+     * Sends an image on the connection, called with the lock held
+     */
+    private void forward(Pending pending, NioClient client) {
+        if (pending.future.isDone()) {
+            pending.written();
+            return;
+        }
+        CompletableFuture<int[][]> reply = client.send(pending.jpeg, pending::written, pending.onCard);
+        pending.reply = reply;
+        reply.whenComplete((cards, error) -> {
+            if (error == null) {
+                replied();
+                pending.future.complete(cards);
+            } else {
+                pending.future.completeExceptionally(error);
+            }
+        });
+    }
+
+    private void cancelled(Pending pending) {
+        boolean queued;
+        CompletableFuture<int[][]> reply;
+        synchronized (this) {
+            queued = queue.remove(pending);
+            reply = pending.reply;
+        }
+        if (queued) pending.written();
+        if (reply != null) reply.cancel(false);
+    }
+
+    private synchronized void replied() {
+        lastReply = System.nanoTime();
+    }
+
+    private void scheduleHealthCheck() {
+        if (healthCheck != null) healthCheck.cancel(false);
+        healthCheck = null;
+        long period = config.getHealthCheckMillis();
+        if (period > 0) healthCheck = scheduler.scheduleWithFixedDelay(this::checkHealth, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Asks the server if it is there, with an empty image, when nothing has been answered for a while.
+     * If it is not answered within the timeout the connection is closed, and made again.
+     */
+    private void checkHealth() {
+        NioClient client;
+        synchronized (this) {
+            if (!up || pinging || System.nanoTime() - lastReply < TimeUnit.MILLISECONDS.toNanos(config.getHealthCheckMillis())) return;
+            client = connection;
+            pinging = true;
+            healthChecks++;
+        }
+        client.send(ByteBuffer.allocate(0)).whenComplete((cards, error) -> {
+            synchronized (this) {
+                if (client != connection) return;
+                pinging = false;
+                if (error == null) {
+                    lastReply = System.nanoTime();
+                    return;
+                }
+                failedHealthChecks++;
+            }
+            client.close();
+        });
+    }
+
+    /**
+     * An image sent through the manager, with the future given to the sender
+     */
+    private static class Pending {
+        final ByteBuffer jpeg;
+        final Consumer<int[]> onCard;
+        final CompletableFuture<int[][]> future = new CompletableFuture<>();
+        volatile CompletableFuture<int[][]> reply;      //Future of the NioClient, once the image is sent
+        private Runnable written;
+
+        Pending(ByteBuffer jpeg, Runnable written, Consumer<int[]> onCard) {
+            this.jpeg = jpeg;
+            this.written = written;
+            this.onCard = onCard;
+        }
+
+        /**
+         * Tells the sender the buffer is not used any more, once
+         */
+        synchronized void written() {
+            Runnable callback = written;
+            written = null;
+            if (callback != null) callback.run();
+        }
+
+        void fail(IOException cause) {
+            future.completeExceptionally(cause);
+            written();
+        }
+    }
+}
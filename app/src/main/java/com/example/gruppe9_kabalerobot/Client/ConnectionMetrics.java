@@ -0,0 +1,67 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+/**
+ * How the connection to the server has been, as counted by the ConnectionManager at one moment
+ */
+public class ConnectionMetrics {
+    private final boolean connected;
+    private final int connects;             //Connections made, the first one included
+    private final int failedAttempts;       //Tries to connect that failed
+    private final int lostConnections;      //Connections lost after they were up, failed health checks included
+    private final int healthChecks;
+    private final int failedHealthChecks;
+    private final long lastConnectMillis;   //Time the latest connection took to make, -1 before the first
+    private final long totalConnectMillis;  //Time spent making every connection that was made
+    private final long downMillis;          //Time spent without a connection after it was first up, the current outage included
+    private final int queued;               //Images waiting for the connection now
+    private final int dropped;              //Images dropped because the queue was full
+
+    ConnectionMetrics(boolean connected, int connects, int failedAttempts, int lostConnections, int healthChecks,
+                      int failedHealthChecks, long lastConnectMillis, long totalConnectMillis, long downMillis,
+                      int queued, int dropped) {
+        this.connected = connected;
+        this.connects = connects;
+        this.failedAttempts = failedAttempts;
+        this.lostConnections = lostConnections;
+        this.healthChecks = healthChecks;
+        this.failedHealthChecks = failedHealthChecks;
+        this.lastConnectMillis = lastConnectMillis;
+        this.totalConnectMillis = totalConnectMillis;
+        this.downMillis = downMillis;
+        this.queued = queued;
+        this.dropped = dropped;
+    }
+
+    /**
+     * Connections made again after the first one
+     */
+    public int getReconnects() { return Math.max(0, connects - 1); }
+
+    /**
+     * Average time it took to make a connection, -1 before the first
+     */
+    public double getAverageConnectMillis() {
+        return connects == 0 ? -1 : (double) totalConnectMillis / connects;
+    }
+
+    /**
+     * Getters for ConnectionMetrics class
+     */
+    public boolean isConnected() { return connected; }
+    public int getConnects() { return connects; }
+    public int getFailedAttempts() { return failedAttempts; }
+    public int getLostConnections() { return lostConnections; }
+    public int getHealthChecks() { return healthChecks; }
+    public int getFailedHealthChecks() { return failedHealthChecks; }
+    public long getLastConnectMillis() { return lastConnectMillis; }
+    public long getDownMillis() { return downMillis; }
+    public int getQueued() { return queued; }
+    public int getDropped() { return dropped; }
+
+    @Override
+    public String toString() {
+        return (connected ? "connected" : "down") + ", " + connects + " connects, " + failedAttempts + " failed, "
+                + lostConnections + " lost, connect " + lastConnectMillis + " ms, down " + downMillis + " ms, "
+                + queued + " queued, " + dropped + " dropped";
+    }
+}
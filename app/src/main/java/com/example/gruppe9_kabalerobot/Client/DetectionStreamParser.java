@@ -0,0 +1,120 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the replies of the Protocol from the bytes as they come off the socket, one card at a time.
+ *
+ * The bytes can be fed in pieces of any size, also splitting a header or an int, and every card is told to the
+ * listener as soon as its last byte is read, so the cards can be handled while the rest of the reply is on its way.
+ * Every card is decoded into the same int array, so nothing is allocated while reading.
+ */
+public class DetectionStreamParser {
+
+    /**
+     * Told about the replies as they are read
+     */
+    public interface Listener {
+        /**
+         * The header of a reply is read
+         *
+         * @param id        Id of the image the reply is for
+         * @param count     Amount of cards that follow
+         */
+        void onReply(int id, int count);
+
+        /**
+         * A card of the reply is read
+         *
+         * @param index     Index of the card in the reply
+         * @param card      The card as x, y, width, height, value and suit. The array is reused for the next card,
+         *                  so it must be copied to be kept.
+         */
+        void onDetection(int id, int index, int[] card);
+
+        /**
+         * Every card of the reply is read
+         */
+        void onReplyEnd(int id);
+    }
+
+    private static final int VERSION = 0, ID = 1, COUNT = 2, FIELD = 3;   //What is read next
+
+    private final Listener listener;
+    private final int[] card = new int[Protocol.FIELDS];
+    private int state = VERSION;
+    private int value;                  //Int being read, when it is split between two pieces
+    private int valueBytes = 0;         //Bytes of the int read so far
+    private int id, count, index, field;
+
+    public DetectionStreamParser(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Reads every byte from the position to the limit of the buffer, telling the listener what is complete
+     */
+    public void feed(ByteBuffer in) throws IOException {
+        while (in.hasRemaining()) {
+            if (state == VERSION) {
+                Protocol.readVersion(in.get());
+                state = ID;
+                continue;
+            }
+            if (!readInt(in)) return;
+            switch (state) {
+                case ID:
+                    id = value;
+                    state = COUNT;
+                    break;
+                case COUNT:
+                    count = Protocol.checkLength(value, Protocol.MAX_CARDS);
+                    index = 0;
+                    field = 0;
+                    listener.onReply(id, count);
+                    if (count == 0) end();
+                    else state = FIELD;
+                    break;
+                default:
+                    card[field++] = value;
+                    if (field == Protocol.FIELDS) {
+                        field = 0;
+                        listener.onDetection(id, index++, card);
+                        if (index == count) end();
+                    }
+            }
+        }
+    }
+
+    /**
+     * True if no reply is read in part
+     */
+    public boolean isIdle() {
+        return state == VERSION;
+    }
+
+    private void end() {
+        state = VERSION;
+        listener.onReplyEnd(id);
+    }
+
+    /**
+     * Reads a big-endian int, all at once when the buffer has it, or byte by byte across pieces
+     *
+     * @return  True if the int is read into value, false if the buffer ran out first
+     */
+    private boolean readInt(ByteBuffer in) {
+        if (valueBytes == 0 && in.remaining() >= 4) {
+            value = in.getInt();
+            return true;
+        }
+        while (valueBytes < 4 && in.hasRemaining()) {
+            value = value << 8 | (in.get() & 0xff);
+            valueBytes++;
+        }
+        if (valueBytes < 4) return false;
+        valueBytes = 0;
+        return true;
+    }
+}
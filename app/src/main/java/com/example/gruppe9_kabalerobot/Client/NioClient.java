@@ -0,0 +1,379 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A connection to the python server on a non-blocking SocketChannel, driven by a single selector thread.
+ *
+ * Every image gets an id and a future, completed with the cards found when the reply with that id is back.
+ * Images can be sent before the connection is up and before the earlier replies are back, and are written in order
+ * as soon as the channel is ready, the header and the image in one gathering write straight from the buffer of the image.
+ * Replies are read by a DetectionStreamParser as the bytes arrive, so every card can be handed to the sender
+ * before the whole reply is in, and the read buffer never has to hold more than what one read gave.
+ * A request without a reply within the timeout fails with a TimeoutException.
+ * A cancelled request is not sent, or its reply is skipped if it was sent already.
+ * When the connection is lost or closed, every request not answered fails, and the client can not be used again.
+ */
+public class NioClient implements Closeable {
+    private static final int INPUT_SIZE = 4096;     //Size of the buffer replies are read into
+
+    private final String host;
+    private final int port;
+    private final long timeoutNanos;
+    private final CompletableFuture<Void> connected = new CompletableFuture<>();
+    private final CompletableFuture<IOException> lost = new CompletableFuture<>();  //Completed with the cause when the client is closed
+    private final Queue<Request> outbound = new ConcurrentLinkedQueue<>();     //Requests not written yet
+    private final Map<Integer, Request> inFlight = new HashMap<>();             //Requests written, only used by the selector thread
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final ByteBuffer input = ByteBuffer.allocate(INPUT_SIZE);
+    private final DetectionStreamParser parser = new DetectionStreamParser(new ReplyReader());
+    private Request writing;                        //Request written in part, it is finished before the next is started
+    private volatile Selector selector;
+    private volatile boolean closed = false;
+    private Thread thread;
+    int sendBufferSize = 0;                         //Bytes the socket may hold unsent, 0 for the default of the system, set before connecting
+
+    /**
+     * @param host              Name or address of the server
+     * @param port              Port of the server
+     * @param timeoutMillis     Time to connect, and time for the reply to every image from when it is sent
+     */
+    public NioClient(String host, int port, long timeoutMillis) {
+        this.host = host;
+        this.port = port;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Starts connecting to the server, on the selector thread. Calling it again returns the same future.
+     *
+     * @return  Future completed when the connection is up, or failed if it could not be made within the timeout
+     */
+    public synchronized CompletableFuture<Void> connect() {
+        if (thread != null || closed) return connected;
+        try {
+            selector = Selector.open();
+        } catch (IOException e) {
+            closed = true;
+            connected.completeExceptionally(e);
+            lost.complete(e);
+            return connected;
+        }
+        thread = new Thread(this::run, "nio-client");
+        thread.setDaemon(true);
+        thread.start();
+        return connected;
+    }
+
+    /**
+     * Sends an image to the server. The bytes are read from the position to the limit of the buffer when the channel
+     * is ready, so the buffer must not be changed until the future is done.
+     *
+     * @param jpeg  The compressed image
+     * @return      Future completed with the cards found, one array of Protocol.FIELDS ints for every card
+     */
+    public CompletableFuture<int[][]> send(ByteBuffer jpeg) {
+        return send(jpeg, null);
+    }
+
+    /**
+     * Sends an image to the server, telling when the buffer is not used any more. That can be before the future is done,
+     * when the reply is not back yet, or after it, when a request that timed out is still being written.
+     *
+     * @param jpeg      The compressed image, read from the position to the limit of the buffer
+     * @param written   Run once on the selector thread, when the image is written or will not be written, or null
+     * @return          Future completed with the cards found, one array of Protocol.FIELDS ints for every card
+     */
+    public CompletableFuture<int[][]> send(ByteBuffer jpeg, Runnable written) {
+        return send(jpeg, written, null);
+    }
+
+    /**
+     * Sends an image to the server, handing every card found to a callback as soon as it is read,
+     * before the rest of the reply is in
+     *
+     * @param jpeg      The compressed image, read from the position to the limit of the buffer
+     * @param written   Run once on the selector thread, when the image is written or will not be written, or null
+     * @param onCard    Run on the selector thread for every card in the order of the reply, or null.
+     *                  The array is reused for the next card, so it must be copied to be kept.
+     * @return          Future completed with the cards found, once the whole reply is read
+     */
+    public CompletableFuture<int[][]> send(ByteBuffer jpeg, Runnable written, Consumer<int[]> onCard) {
+        Request request = new Request(nextId.getAndIncrement(), jpeg, System.nanoTime() + timeoutNanos, written, onCard);
+        outbound.add(request);
+        if (closed) failOutbound(new ClosedChannelException());
+        else if (selector != null) selector.wakeup();
+        return request.future;
+    }
+
+    /**
+     * Future of the connection, completed when it is up
+     */
+    public CompletableFuture<Void> getConnected() { return connected; }
+
+    /**
+     * Future completed with the reason, when the connection is closed, lost or could not be made.
+     * Every request not answered has failed by then.
+     */
+    public CompletableFuture<IOException> getClosed() { return lost; }
+
+    public boolean isClosed() { return closed; }
+
+    /**
+     * Closes the connection, failing every request not answered
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (thread == null) {
+            connected.completeExceptionally(new ClosedChannelException());
+            failOutbound(new ClosedChannelException());
+            lost.complete(new ClosedChannelException());
+        } else {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * The selector loop, connecting, writing the requests and reading the replies until the connection is closed or lost
+     */
+    private void run() {
+        IOException failure = null;
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (sendBufferSize > 0) channel.setOption(StandardSocketOptions.SO_SNDBUF, sendBufferSize);
+            long connectDeadline = System.nanoTime() + timeoutNanos;
+            SelectionKey key = channel.register(selector, SelectionKey.OP_CONNECT);
+            InetSocketAddress address = new InetSocketAddress(host, port);
+            if (address.isUnresolved()) throw new UnknownHostException(host);
+            if (channel.connect(address)) connected(key);
+
+            while (!closed) {
+                boolean ready = selector.select(selectTimeout(connectDeadline)) > 0;
+                selector.selectedKeys().clear();
+                if (!connected.isDone()) {
+                    if (ready && key.isConnectable() && channel.finishConnect()) {
+                        connected(key);
+                    } else {
+                        if (System.nanoTime() - connectDeadline > 0) throw new SocketTimeoutException("Could not connect to " + host + ":" + port);
+                        continue;
+                    }
+                }
+                if (ready && key.isReadable()) read(channel);
+                write(channel);
+                key.interestOps(writing != null || !outbound.isEmpty() ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+                expire();
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            shutdown(channel, failure != null ? failure : new ClosedChannelException());
+        }
+    }
+
+    private void connected(SelectionKey key) {
+        key.interestOps(SelectionKey.OP_READ);
+        connected.complete(null);
+    }
+
+    /**
+     * Writes the requests waiting, until every request is written or the socket can not take more
+     */
+    private void write(SocketChannel channel) throws IOException {
+        while (true) {
+            if (writing == null) {
+                writing = outbound.poll();
+                if (writing == null) return;
+                if (writing.future.isDone()) {
+                    //Cancelled or timed out before it was sent
+                    writing.written();
+                    writing = null;
+                    continue;
+                }
+                inFlight.put(writing.id, writing);
+            }
+            channel.write(writing.buffers);
+            //The header is checked too, as an empty image has nothing left to write once the header is begun
+            if (writing.buffers[0].hasRemaining() || writing.buffers[1].hasRemaining()) return;
+            writing.written();
+            writing = null;
+        }
+    }
+
+    /**
+     * Reads what the server has sent, handing it all to the parser, which completes the requests of every whole reply
+     */
+    private void read(SocketChannel channel) throws IOException {
+        if (channel.read(input) < 0) throw new EOFException("The server closed the connection");
+        input.flip();
+        parser.feed(input);
+        input.clear();
+    }
+
+    /**
+     * Collects the cards of the reply being read for its request, and tells its callback about every card
+     */
+    private class ReplyReader implements DetectionStreamParser.Listener {
+        private Request request;        //Request of the reply being read, null if nobody waits for it
+        private int[][] cards;
+
+        @Override
+        public void onReply(int id, int count) {
+            request = inFlight.get(id);
+            if (request != null && request.future.isDone()) request = null;
+            cards = request != null ? new int[count][] : null;
+        }
+
+        @Override
+        public void onDetection(int id, int index, int[] card) {
+            if (request != null && request.future.isDone()) request = null;    //Cancelled or timed out while it was read
+            if (request == null) return;
+            cards[index] = card.clone();
+            if (request.onCard == null) return;
+            try {
+                request.onCard.accept(card);
+            } catch (RuntimeException e) {
+                //A callback that fails fails its own request, not the connection
+                request.future.completeExceptionally(e);
+                request = null;
+            }
+        }
+
+        @Override
+        public void onReplyEnd(int id) {
+            inFlight.remove(id);
+            if (request != null) request.future.complete(cards);
+            request = null;
+            cards = null;
+        }
+    }
+
+    /**
+     * Fails the requests past their deadline, and forgets those already done
+     */
+    private void expire() {
+        long now = System.nanoTime();
+        Iterator<Request> requests = inFlight.values().iterator();
+        while (requests.hasNext()) {
+            Request request = requests.next();
+            if (request.future.isDone() || request.expire(now, timeoutNanos)) requests.remove();
+        }
+        for (Request request : outbound) request.expire(now, timeoutNanos);
+        if (writing != null) writing.expire(now, timeoutNanos);
+    }
+
+    /**
+     * Finds how long the loop can wait before it has to wake up for a timeout
+     *
+     * @return  Milliseconds to wait, or 0 to wait until woken up
+     */
+    private long selectTimeout(long connectDeadline) {
+        long next = connectDeadline;
+        boolean found = !connected.isDone();
+        for (Request request : inFlight.values()) {
+            if (!found || request.deadline - next < 0) next = request.deadline;
+            found = true;
+        }
+        for (Request request : outbound) {
+            if (!found || request.deadline - next < 0) next = request.deadline;
+            found = true;
+        }
+        if (!found) return 0;
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(next - System.nanoTime()) + 1);
+    }
+
+    private void shutdown(SocketChannel channel, IOException cause) {
+        closed = true;
+        connected.completeExceptionally(cause);
+        if (writing != null) {
+            writing.future.completeExceptionally(cause);
+            writing.written();
+        }
+        for (Request request : inFlight.values()) request.future.completeExceptionally(cause);
+        inFlight.clear();
+        failOutbound(cause);
+        try {
+            if (channel != null) channel.close();
+            selector.close();
+        } catch (IOException e) {
+            System.out.println("WARNING! Could not close the connection " + e.getMessage());
+        }
+        lost.complete(cause);
+    }
+
+    private void failOutbound(IOException cause) {
+        Request request;
+        while ((request = outbound.poll()) != null) {
+            request.future.completeExceptionally(cause);
+            request.written();
+        }
+    }
+
+    /**
+     * An image to send, with the header in front of it and the future of its reply
+     */
+    private static class Request {
+        final int id;
+        final ByteBuffer[] buffers;
+        final long deadline;
+        final CompletableFuture<int[][]> future = new CompletableFuture<>();
+        final Consumer<int[]> onCard;
+        private Runnable written;
+
+        Request(int id, ByteBuffer jpeg, long deadline, Runnable written, Consumer<int[]> onCard) {
+            this.id = id;
+            this.deadline = deadline;
+            this.written = written;
+            this.onCard = onCard;
+            ByteBuffer header = ByteBuffer.allocate(Protocol.HEADER);
+            Protocol.putImageHeader(header, id, jpeg.remaining());
+            header.flip();
+            buffers = new ByteBuffer[]{header, jpeg.duplicate()};
+        }
+
+        /**
+         * Tells the sender the buffer is not used any more, once
+         */
+        void written() {
+            Runnable callback = written;
+            written = null;
+            if (callback != null) callback.run();
+        }
+
+        /**
+         * Fails the request if it is past its deadline
+         *
+         * @return  True if the request is done
+         */
+        boolean expire(long now, long timeoutNanos) {
+            if (now - deadline >= 0) {
+                future.completeExceptionally(new TimeoutException("No reply to image " + id + " within "
+                        + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms"));
+            }
+            return future.isDone();
+        }
+    }
+}
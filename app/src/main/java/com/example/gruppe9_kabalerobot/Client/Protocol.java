@@ -0,0 +1,49 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The binary protocol spoken with the python server.
+ *
+ * Every message starts with a header of HEADER bytes: the version byte, the id of the request and a length,
+ * both 4 byte big-endian ints.
+ *  - An image is the header, with the amount of bytes of the JPEG as the length, and the JPEG.
+ *  - A reply is the header, with the id of the image and the amount of cards found as the length, and for every card
+ *    FIELDS 4 byte big-endian ints: x, y, width, height, value and suit.
+ *  - An image of no bytes is a health check, and is answered right away with no cards.
+ * As the length is sent first, the server reads exactly one message without waiting for the sender to pause,
+ * and the reply is read directly into ints without parsing text. The id lets several images be sent before the first
+ * reply is back, and a reply nobody waits for any more be skipped.
+ * Only the side of the client is here. Replies are read by the DetectionStreamParser, and the side of the server
+ * is in the tests, so the protocol can be tested against a stand-in server on the JVM.
+ */
+public class Protocol {
+    public static final byte VERSION = 3;               //Version 1 was the image size as text and the cards as a printed list, 2 had no ids
+    public static final int HEADER = 9;                 //Bytes of the header: version, id and length
+    public static final int FIELDS = 6;                 //Ints sent for every card
+    public static final int MAX_CARDS = 1024;           //Most cards accepted in a reply
+
+    private Protocol() {
+        //Only static methods
+    }
+
+    /**
+     * Puts the header of an image into the buffer, to be written in front of the JPEG
+     *
+     * @param id        Id of the request, returned in the reply
+     * @param length    Amount of bytes of the JPEG
+     */
+    public static void putImageHeader(ByteBuffer header, int id, int length) {
+        header.put(VERSION).putInt(id).putInt(length);
+    }
+
+    static void readVersion(byte version) throws IOException {
+        if (version != VERSION) throw new IOException("Unsupported protocol version " + version + ", expected " + VERSION);
+    }
+
+    static int checkLength(int length, int max) throws IOException {
+        if (length < 0 || length > max) throw new IOException("Invalid length " + length + ", the most is " + max);
+        return length;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+/**
+ * Chooses the UploadProfile of the next photo from how the latest uploads went.
+ *
+ * The time from sending a photo to having its cards is averaged, and a smaller photo is sent while the average is above
+ * the target, and a larger one while it is well below. The server does not tell how sure it is of the cards, so the
+ * amount of cards found stands in for it: when a smaller photo finds clearly fewer cards than the larger photo before it,
+ * the larger profile is used again, and the smaller one is not tried until REFRESH more photos have been sent.
+ * The policy is used from both the UI thread and the network thread, so every method is synchronized.
+ */
+public class UploadPolicy {
+    static final double RTT_WEIGHT = 0.3;   //Weight of the latest round trip in the average
+    static final double FAST = 0.5;         //Below this part of the target, a larger photo is sent
+    static final double CARDS_LOST = 0.8;   //Finding fewer than this part of the cards found before is too few
+    static final int REFRESH = 20;          //Photos sent before the smaller profiles are tried again
+
+    private final UploadProfile[] levels;
+    private final long targetMillis;
+    private int level;
+    private int smallestAllowed;            //Index of the smallest profile allowed
+    private double averageMillis = -1;      //Average round trip at the current level, -1 before the first
+    private int referenceCards = -1;        //Cards found by the largest profile used lately
+    private int referenceLevel;
+    private int sinceRefresh = 0;
+
+    /**
+     * @param levels        Profiles to choose between, from the largest photo to the smallest
+     * @param targetMillis  Longest time wanted from sending a photo to having its cards
+     * @param startLevel    Index of the profile used first
+     */
+    public UploadPolicy(UploadProfile[] levels, long targetMillis, int startLevel) {
+        if (levels.length == 0) throw new IllegalArgumentException("There must be at least one profile");
+        if (startLevel < 0 || startLevel >= levels.length) throw new IllegalArgumentException("No profile " + startLevel);
+        this.levels = levels.clone();
+        this.targetMillis = targetMillis;
+        this.level = startLevel;
+        this.smallestAllowed = levels.length - 1;
+        this.referenceLevel = levels.length;
+    }
+
+    /**
+     * A policy that always sends photos with the same profile
+     */
+    public static UploadPolicy fixed(UploadProfile profile) {
+        return new UploadPolicy(new UploadProfile[]{profile}, Long.MAX_VALUE, 0);
+    }
+
+    /**
+     * Returns the profile to send the next photo with
+     */
+    public synchronized UploadProfile current() {
+        return levels[level];
+    }
+
+    /**
+     * Records how an upload went, and moves to another profile if it is needed
+     *
+     * @param profile       Profile the photo was sent with
+     * @param millis        Time from sending the photo to having its cards, or to the failure
+     * @param cardsFound    Amount of cards found, or -1 if the upload failed
+     */
+    public synchronized void record(UploadProfile profile, long millis, int cardsFound) {
+        int used = indexOf(profile);
+        if (used < 0) return;
+
+        if (++sinceRefresh >= REFRESH) {
+            sinceRefresh = 0;
+            smallestAllowed = levels.length - 1;
+            referenceLevel = levels.length;
+        }
+
+        if (cardsFound >= 0) {
+            if (used <= referenceLevel) {
+                referenceCards = cardsFound;
+                referenceLevel = used;
+            } else if (cardsFound < CARDS_LOST * referenceCards) {
+                //The smaller photo loses cards, so go back to a larger one
+                smallestAllowed = used - 1;
+                if (level > smallestAllowed) changeLevel(smallestAllowed);
+                return;
+            }
+        }
+        if (used != level) return;
+
+        averageMillis = averageMillis < 0 ? millis : averageMillis + RTT_WEIGHT * (millis - averageMillis);
+        if (averageMillis > targetMillis && level < smallestAllowed) changeLevel(level + 1);
+        else if (averageMillis < FAST * targetMillis && level > 0) changeLevel(level - 1);
+    }
+
+    private void changeLevel(int next) {
+        level = next;
+        averageMillis = -1;
+    }
+
+    private int indexOf(UploadProfile profile) {
+        for (int i = 0; i < levels.length; i++) if (levels[i] == profile) return i;
+        return -1;
+    }
+
+    /**
+     * Getters for UploadPolicy class
+     */
+    public synchronized int getLevel() { return level; }
+    public synchronized double getAverageMillis() { return averageMillis; }
+}
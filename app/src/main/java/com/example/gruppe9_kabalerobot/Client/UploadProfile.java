@@ -0,0 +1,86 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+/**
+ * How a photo is sent to the server: the size of its long edge, the JPEG quality and whether it is sent in gray.
+ * The cards found in a smaller photo are mapped back to the coordinates of the photo as taken, so CardPlacement
+ * does not see the difference.
+ */
+public final class UploadProfile {
+    public static final UploadProfile ORIGINAL = new UploadProfile(0, 100, false);
+
+    /**
+     * The profiles UploadPolicy chooses between, from the largest photo to the smallest
+     */
+    public static final UploadProfile[] LEVELS = {
+            ORIGINAL,
+            new UploadProfile(2560, 90, false),
+            new UploadProfile(1920, 85, false),
+            new UploadProfile(1440, 80, false),
+            new UploadProfile(1080, 75, false)
+    };
+
+    private final int longEdge;
+    private final int quality;
+    private final boolean grayscale;
+
+    /**
+     * @param longEdge      Largest width or height sent in pixels, 0 to keep the size of the photo
+     * @param quality       JPEG quality from 0 to 100
+     * @param grayscale     True to send the photo in gray
+     */
+    public UploadProfile(int longEdge, int quality, boolean grayscale) {
+        if (longEdge < 0) throw new IllegalArgumentException("The long edge can not be negative: " + longEdge);
+        if (quality < 0 || quality > 100) throw new IllegalArgumentException("The quality is from 0 to 100, not " + quality);
+        this.longEdge = longEdge;
+        this.quality = quality;
+        this.grayscale = grayscale;
+    }
+
+    /**
+     * True if the photo is sent as the camera took it, so the JPEG does not have to be decoded
+     */
+    public boolean isOriginal() { return longEdge == 0 && !grayscale; }
+
+    /**
+     * Finds the scale a photo is sent in
+     *
+     * @return  Size of the photo sent compared to the photo taken, never above 1
+     */
+    public double scaleFor(int width, int height) {
+        int longest = Math.max(width, height);
+        if (longEdge == 0 || longest <= longEdge) return 1;
+        return (double) longEdge / longest;
+    }
+
+    /**
+     * Maps the cards found in a scaled photo back to the photo as taken
+     *
+     * @param cards     Cards found, as x, y, width, height, value and suit. The array is changed and returned.
+     * @param scale     Scale the photo was sent in
+     */
+    public static int[][] toFullResolution(int[][] cards, double scale) {
+        if (scale == 1) return cards;
+        for (int[] card : cards) toFullResolution(card, scale);
+        return cards;
+    }
+
+    /**
+     * Maps one card found in a scaled photo back to the photo as taken, changing the array
+     */
+    public static void toFullResolution(int[] card, double scale) {
+        if (scale == 1) return;
+        for (int k = 0; k < 4; k++) card[k] = (int) Math.round(card[k] / scale);
+    }
+
+    /**
+     * Getters for UploadProfile class
+     */
+    public int getLongEdge() { return longEdge; }
+    public int getQuality() { return quality; }
+    public boolean isGrayscale() { return grayscale; }
+
+    @Override
+    public String toString() {
+        return (longEdge == 0 ? "full size" : longEdge + " px") + ", quality " + quality + (grayscale ? ", gray" : "");
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.gruppe9_kabalerobot.Framework.controller;
+
+import com.example.gruppe9_kabalerobot.Framework.model.Card;
+import com.example.gruppe9_kabalerobot.Framework.model.Foundation;
+import com.example.gruppe9_kabalerobot.Framework.model.Tableau;
+
+import java.util.List;
+
+/**
+ * Lookup tables of where every card of a position lies, built once so the rules of MoveAlgorithm do not have to search the tableaus.
+ *
+ * The tableaus are numbered in the order of the list given, and a set of tableaus is a bit mask with bit n for tableau n.
+ * Each card of the deck has a mask of the tableaus it is visible in and a mask of the tableaus it is the top card of.
+ * When several tableaus match a rule, the lowest bit is the tableau the rules would have found first.
+ */
+class BoardIndex {
+    private static final int SUITS = 4;
+    private static final int VALUES = 15;   //Values 0 to 14, so the cards above a King and below an Ace can be looked up
+
+    private final List<Tableau> tableaus;
+    private final int[] visibleMask = new int[SUITS * VALUES];  //Tableaus the card is visible in
+    private final int[] topMask = new int[SUITS * VALUES];      //Tableaus the card is the top card of
+    private final int[] secondSuitMask = new int[SUITS];        //Tableaus with the card under the top card of the suit
+    private final boolean[] foundationTop = new boolean[SUITS * VALUES];
+    private int hiddenMask;                                     //Tableaus with hidden cards
+
+    /**
+     * Constructor for BoardIndex
+     *
+     * @param tableaus      The tableaus, in the order the rules look through them
+     * @param foundations   The foundations
+     */
+    BoardIndex(List<Tableau> tableaus, List<Foundation> foundations) {
+        this.tableaus = tableaus;
+        for (int pile = 0; pile < tableaus.size(); pile++) {
+            Tableau tableau = tableaus.get(pile);
+            List<Card> cards = tableau.getVisibleCards();
+            int bit = 1 << pile;
+            if (tableau.countHiddenCards() > 0) hiddenMask |= bit;
+            for (Card card : cards) {
+                int id = id(card);
+                if (id >= 0) visibleMask[id] |= bit;
+            }
+            if (cards.size() > 0) {
+                int id = id(cards.get(cards.size() - 1));
+                if (id >= 0) topMask[id] |= bit;
+            }
+            if (cards.size() > 1) {
+                int suit = cards.get(cards.size() - 2).getSuit();
+                if (suit >= 0 && suit < SUITS) secondSuitMask[suit] |= bit;
+            }
+        }
+        for (Foundation foundation : foundations) {
+            if (foundation.countCards() > 0) {
+                int id = id(foundation.peekCard());
+                if (id >= 0) foundationTop[id] = true;
+            }
+        }
+    }
+
+    /**
+     * Finds the tableaus whose top card the given card can be placed on, one higher and of the other color
+     *
+     * @param card  Card to place
+     * @return      Mask of the tableaus
+     */
+    int topsAccepting(Card card) {
+        if (id(card) < 0) return 0;
+        int value = card.getValue() + 1;
+        return topMask(card.getSuit() + 1, value) | topMask(card.getSuit() + 3, value);
+    }
+
+    /**
+     * Finds the tableaus holding a visible card that can be placed on the given card, one lower and of the other color
+     *
+     * @param card  Card to place upon
+     * @return      Mask of the tableaus
+     */
+    int pilesHoldingAcceptedBy(Card card) {
+        if (id(card) < 0) return 0;
+        int value = card.getValue() - 1;
+        return visibleMask(card.getSuit() + 1, value) | visibleMask(card.getSuit() + 3, value);
+    }
+
+    /**
+     * Finds the tableaus holding the card as a visible card
+     */
+    int pilesHolding(int suit, int value) {
+        int id = id(suit, value);
+        return id < 0 ? 0 : visibleMask[id];
+    }
+
+    /**
+     * Finds the tableaus holding a visible card of the value, of any suit
+     */
+    int pilesHoldingValue(int value) {
+        int mask = 0;
+        for (int suit = 0; suit < SUITS; suit++) mask |= pilesHolding(suit, value);
+        return mask;
+    }
+
+    /**
+     * Finds the tableaus with a top card of the value, of any suit
+     */
+    int topsWithValue(int value) {
+        int mask = 0;
+        for (int suit = 0; suit < SUITS; suit++) mask |= topMask(suit, value);
+        return mask;
+    }
+
+    /**
+     * Finds the tableaus with at least two visible cards, where the card under the top card is of the suit
+     */
+    int pilesWithSecondSuit(int suit) {
+        return suit >= 0 && suit < SUITS ? secondSuitMask[suit] : 0;
+    }
+
+    /**
+     * Controls if the card is the top card of a foundation
+     */
+    boolean isFoundationTop(int suit, int value) {
+        int id = id(suit, value);
+        return id >= 0 && foundationTop[id];
+    }
+
+    /**
+     * Returns the top card of a tableau found with one of the masks
+     *
+     * @param pile  Number of the tableau
+     * @return      Its top card
+     */
+    Card topCard(int pile) {
+        List<Card> cards = tableaus.get(pile).getVisibleCards();
+        return cards.get(cards.size() - 1);
+    }
+
+    /**
+     * Returns the number of the first tableau in a mask
+     */
+    static int first(int mask) { return Integer.numberOfTrailingZeros(mask); }
+
+    /**
+     * Getters for BoardIndex class
+     */
+    int getHiddenMask() { return hiddenMask; }
+
+    private int topMask(int suit, int value) {
+        int id = id(suit % SUITS, value);
+        return id < 0 ? 0 : topMask[id];
+    }
+
+    private int visibleMask(int suit, int value) {
+        int id = id(suit % SUITS, value);
+        return id < 0 ? 0 : visibleMask[id];
+    }
+
+    private static int id(Card card) { return id(card.getSuit(), card.getValue()); }
+
+    private static int id(int suit, int value) {
+        if (suit < 0 || suit >= SUITS || value < 0 || value >= VALUES) return -1;
+        return suit * VALUES + value;
+    }
+}
@@ -42,16 +42,15 @@ public class CardTranslator {
     }
 
     /**
-     * Creates instances of Cards for every CardObj there is
+     * Finds the Card for every CardObj there is. A CardObj that is not a card of the deck is left out.
      *
      * @param cardObjs  List of CardObj's
      * @return          A list of Card's
      */
     private List<Card> translateCardList(List<CardObj> cardObjs) {
-        List<Card> cards = new ArrayList<>();
+        List<Card> cards = new ArrayList<>(cardObjs.size());
         for(CardObj cardObj : cardObjs) {
-            Card card = new Card(cardObj.getSuit()-1, cardObj.getValue());
-            cards.add(card);
+            if (Card.isValid(cardObj.getSuit()-1, cardObj.getValue())) cards.add(Card.of(cardObj.getSuit()-1, cardObj.getValue()));
         }
         return cards;
     }
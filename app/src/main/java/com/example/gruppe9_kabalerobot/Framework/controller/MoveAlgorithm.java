@@ -4,6 +4,8 @@ import com.example.gruppe9_kabalerobot.Framework.model.Card;
 import com.example.gruppe9_kabalerobot.Framework.model.Foundation;
 import com.example.gruppe9_kabalerobot.Framework.model.PreviousState;
 import com.example.gruppe9_kabalerobot.Framework.model.Tableau;
+import com.example.gruppe9_kabalerobot.Framework.solver.Move;
+import com.example.gruppe9_kabalerobot.Framework.solver.SearchEngine;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -19,6 +21,9 @@ public class MoveAlgorithm {
     private Card wasteCard;
     private boolean wastePile;
     private int moveChosen;
+    private SolitaireLogic game;
+    private SearchEngine engine;    //Search engine to rank the moves, null to use the rules of moveChooser
+    private BoardIndex board;       //Where every card lies, so the rules do not have to search the tableaus
 
     /**
      * Constructor for the move Algorithm
@@ -26,11 +31,24 @@ public class MoveAlgorithm {
      * @param game  The current game
      */
     public MoveAlgorithm(SolitaireLogic game) {
+        this(game, null);
+    }
+
+    /**
+     * Constructor for the move Algorithm, that lets a search engine choose the move instead of the rules of moveChooser
+     *
+     * @param game      The current game
+     * @param engine    Search engine to rank the moves, null to use the rules of moveChooser
+     */
+    public MoveAlgorithm(SolitaireLogic game, SearchEngine engine) {
+        this.game = game;
+        this.engine = engine;
         this.tableaus = Arrays.asList(game.getTableau());       //Get list of tableau
         this.foundations = Arrays.asList(game.getFoundation()); //Get list of foundations
         this.wasteCard = game.getWaste().lookAtTop();               //Get the top card of waste (1-card rule)
         this.wastePile = game.getWaste().isWastePilePresent();       //Get if there is a wastepile to draw from or not
         Collections.sort(tableaus,Tableau.HiddenCardsCompare);  //Sort the cards after how many hidden cards is in the tableau
+        this.board = new BoardIndex(tableaus, foundations);     //Index the cards in the sorted order
     }
 
     /**
@@ -47,11 +65,33 @@ public class MoveAlgorithm {
         if(preState == null) latestMove = 0;
         else latestMove = preState.getMove();
 
-        bestMove = moveChooser(latestMove);
+        if (engine == null) bestMove = moveChooser(latestMove);
+        else bestMove = searchChooser(latestMove);
 
         return bestMove;
     }
 
+    /**
+     * Chooses the move to be instructed to the user, by letting the search engine rank every legal move.
+     * The move chosen is the place of the move in the ranking, so a position seen before gets the next best move.
+     */
+    private String searchChooser(int latestMove) {
+        String bestMove = checkWin();
+        if (!bestMove.equals("")) {
+            moveChosen = 0;
+            return bestMove;
+        }
+
+        List<Move> moves = engine.rankMoves(game);
+        if (latestMove < moves.size()) {
+            moveChosen = latestMove + 1;
+            return moves.get(latestMove).toInstruction();
+        }
+        moveChosen = latestMove;
+        if (latestMove == 0) return "Der kunne ikke findes noget muligt træk for denne position";
+        else return "Der kunne ikke findes noget nyt træk for denne position af spillet";
+    }
+
     /**
      * Chooses the move to be instructed to the user, by selecting the first viable move possible
      */
@@ -175,18 +215,10 @@ public class MoveAlgorithm {
     public String checkAce() {
 
 
-        for (Tableau tableau : tableaus) {
-            List<Card> visibleCards = tableau.getVisibleCards();
-
-            //Check if first visible card in tableau is es
-            if(visibleCards.size() > 0) {
-                Card card = visibleCards.get(visibleCards.size() - 1);
+        //Check if first visible card in tableau is es
+        int aces = board.topsWithValue(1);
+        if (aces != 0) return "Ryk " + board.topCard(BoardIndex.first(aces)).toString() + " til en tom grundbunke";
 
-                if (card.getValue() == 1) {
-                    return "Ryk " + card.toString() + " til en tom grundbunke";
-                }
-            }
-        }
         if (wasteCard != null && wasteCard.getValue() == 1) return "Ryk " + wasteCard.toString() + " til en tom grundbunke";
         return "";
     }
@@ -318,28 +350,18 @@ public class MoveAlgorithm {
             if (foundation.countCards() > 0) {  //If there is a card in the foundation
                 Card foundationCard = foundation.peekCard(); //Set current possible card
 
-                for (Tableau tableau : tableaus) {
-                    List<Card> tableauCards = tableau.getVisibleCards();
-                    //Check if possible to place card
-                    if (tableauCards.size() != 0 &&
-                            tableauCards.get(tableauCards.size() - 1).getValue() - 1 == foundationCard.getValue()
-                            && tableauCards.get(tableauCards.size() - 1).getSuit() % 2 != foundationCard.getSuit() % 2) { //Check if possible to move card from foundation to tableau
-                        //Check if it opens up possibilities
-                        //First check tableaus
-                        for (Tableau otherTableau : tableaus) {
-                            if (tableau != otherTableau) {
-                                for (Card card : otherTableau.getVisibleCards()) {
-                                    if (card.getValue() == foundationCard.getValue() - 1 && card.getSuit() % 2 != foundationCard.getSuit() % 2) {
-                                        return "Ryk " + foundationCard.toString() + " fra grundbunken ned på rækken med " + tableauCards.get(tableauCards.size() - 1).toString();
-                                    }
-                                }
-                            }
-                        }
-                        //Then check waste
-                        if (wasteCard != null && wasteCard.getValue() == foundationCard.getValue() - 1 && wasteCard.getSuit() % 2 != foundationCard.getSuit() % 2) {
-                            return "Ryk " + foundationCard.toString() + " fra grundbunken ned på rækken med " + tableauCards.get(tableauCards.size() - 1).toString();
-                        }
+                //Tableaus the card can be moved to, and tableaus with a card that could then be put on it
+                int targets = board.topsAccepting(foundationCard);
+                int openers = board.pilesHoldingAcceptedBy(foundationCard);
+                boolean wasteOpens = wasteCard != null && wasteCard.getValue() == foundationCard.getValue() - 1 && wasteCard.getSuit() % 2 != foundationCard.getSuit() % 2;
+
+                while (targets != 0) {
+                    int pile = BoardIndex.first(targets);
+                    //Check if it opens up possibilities, first in the other tableaus and then in the waste
+                    if ((openers & ~(1 << pile)) != 0 || wasteOpens) {
+                        return "Ryk " + foundationCard.toString() + " fra grundbunken ned på rækken med " + board.topCard(pile).toString();
                     }
+                    targets &= targets - 1; //Next tableau
                 }
             }
         }
@@ -357,19 +379,14 @@ public class MoveAlgorithm {
             if (tableau.getVisibleCards().size() != 0) {
                 Card card = tableau.getTopCard();
 
-                for (Foundation foundation : foundations) {
+                //check first if card can be moved to foundation
+                if (board.isFoundationTop(card.getSuit(), card.getValue() - 1)) {
 
-                    //check first if card can be moved to foundation
-                    if (foundation.countCards() > 0 &&
-                            card.getValue() == foundation.peekCard().getValue() + 1 &&
-                            card.getSuit() == foundation.peekCard().getSuit()) {
-
-                        //If creating empty space, controls King is there to replace or next card in foundation is able to be put up aswell
-                        if (tableau.getVisibleCards().size() - 1 != 0 || tableau.countHiddenCards() != 0 || //Is card left behind
-                                checkForMoveableCardFromValue(13) || //Is there a king to take the space
-                                checkForMoveableCardFromSuitAndValue(card.getSuit(), card.getValue() + 1)) { //Is the card needed for another card
-                            return "Flyt " + card.toString() + " til grundbunken med dens kulør";
-                        }
+                    //If creating empty space, controls King is there to replace or next card in foundation is able to be put up aswell
+                    if (tableau.getVisibleCards().size() - 1 != 0 || tableau.countHiddenCards() != 0 || //Is card left behind
+                            checkForMoveableCardFromValue(13) || //Is there a king to take the space
+                            checkForMoveableCardFromSuitAndValue(card.getSuit(), card.getValue() + 1)) { //Is the card needed for another card
+                        return "Flyt " + card.toString() + " til grundbunken med dens kulør";
                     }
                 }
             }
@@ -394,11 +411,9 @@ public class MoveAlgorithm {
      * @return True if card has been found
      */
     private boolean checkForMoveableCardFromValue(int value) {
-        boolean result = false;
-        for (Tableau tableau : tableaus) {
-            result = tableau.searchForMoveableCardByValue(value) && !(value == 13 && tableau.countHiddenCards() == 0); //True if card found and it isn't a King on an empty space
-            if (result) break;
-        }
+        int piles = board.pilesHoldingValue(value);
+        if (value == 13) piles &= board.getHiddenMask(); //A King on an empty space does not count
+        boolean result = piles != 0;
         return result || wasteCard != null && (wasteCard.getValue() == value); //returns true if found in tableau or in waste
     }
 
@@ -410,11 +425,7 @@ public class MoveAlgorithm {
      * @return True if card has been found
      */
     private boolean checkForMoveableCardFromSuitAndValue(int suit, int value) {
-        boolean result = false;
-        for (Tableau tableau : tableaus) {
-            result = tableau.searchForMoveableCardBySuitAndValue(suit, value);
-            if (result) break;
-        }
+        boolean result = board.pilesHolding(suit, value) != 0;
         return result || wasteCard != null && (wasteCard.getSuit() == suit && wasteCard.getValue() == value); //returns true if found in tableau or in waste
     }
 
@@ -424,21 +435,19 @@ public class MoveAlgorithm {
      * @return Instructions for player
      */
     public String moveTableau() {
-        List<Card> cards, cards2;
-
-        for (Tableau tableau : tableaus) {
-            cards = tableau.getVisibleCards();
-            for (Tableau tableau2 : tableaus) {
-                cards2 = tableau2.getVisibleCards();
-
-                //Hvis en af bunkerne er tomme er der ingen grund til at sammenligne dem
-                if (cards != cards2 && cards.size() > 0 && cards2.size() > 0) {
-                    //Hvis der er mere end ét kort tilstæde i byggestablen og det nederste kort passer på det øverste kort i en anden byggestabel, ryk alle de synlige kort fra byggestablen over til den anden byggestabel
-                    if (cards.get(0).getValue() == cards2.get(cards2.size() - 1).getValue() - 1
-                            && cards.get(0).getSuit() % 2 != cards2.get(cards2.size() - 1).getSuit() % 2) {
-                        if (cards.size() == 1) return "Tag " + cards.get(0) + ", og placer den på " + cards2.get(cards2.size() - 1).toString();
-                        else return "Tag alle de synlige kort fra byggestablen hvor det bagerste kort er " + cards.get(0) + ", og placer dem på " + cards2.get(cards2.size() - 1).toString();
-                    }
+        List<Card> cards;
+
+        for (int pile = 0; pile < tableaus.size(); pile++) {
+            cards = tableaus.get(pile).getVisibleCards();
+
+            //Hvis bunken er tom er der ingen grund til at sammenligne den
+            if (cards.size() > 0) {
+                //Hvis det nederste kort passer på det øverste kort i en anden byggestabel, ryk alle de synlige kort fra byggestablen over til den anden byggestabel
+                int targets = board.topsAccepting(cards.get(0)) & ~(1 << pile);
+                if (targets != 0) {
+                    Card target = board.topCard(BoardIndex.first(targets));
+                    if (cards.size() == 1) return "Tag " + cards.get(0) + ", og placer den på " + target.toString();
+                    else return "Tag alle de synlige kort fra byggestablen hvor det bagerste kort er " + cards.get(0) + ", og placer dem på " + target.toString();
                 }
             }
 
@@ -457,22 +466,18 @@ public class MoveAlgorithm {
      * @return Instructions for player
      */
     public String typeStreak() {
-        List<Card> cards, cards2;
+        List<Card> cards;
             for (Tableau tableau : tableaus) {
                 cards = tableau.getVisibleCards();
 
-                for (Tableau tableau2 : tableaus) {
-                    cards2 = tableau2.getVisibleCards();
-
-                    //Hvis en af bunkerne er tomme er der ingen grund til at sammenligne dem
-                    if (cards.size() - 1 >= 0 && cards2.size() - 2 >= 0) {
+                //Hvis bunken er tom er der ingen grund til at sammenligne den
+                if (cards.size() - 1 >= 0) {
+                    Card card = cards.get(cards.size() - 1);
 
-                        //Hvis øverste kort i tableu passer med anden tableus øverste kort lig den på hvis "typerne" passer ellers vent
-                        if (cards.get(cards.size() - 1).getValue() == cards2.get(cards2.size() - 1).getValue() - 1 && cards.get(cards.size() - 1).getSuit() % 2 != cards2.get(cards2.size() - 1).getSuit() % 2) {
-                            if (cards2.size() - 2 >= 0 && cards.get(cards.size() - 1).getSuit() == cards2.get(cards2.size() - 2).getSuit()) {
-                                return "Tag " + cards.get(cards.size() - 1) + " og placer kortet på " + cards2.get(cards2.size() - 1).toString();
-                            }
-                        }
+                    //Hvis øverste kort i tableu passer med anden tableus øverste kort lig den på hvis "typerne" passer ellers vent
+                    int targets = board.topsAccepting(card) & board.pilesWithSecondSuit(card.getSuit());
+                    if (targets != 0) {
+                        return "Tag " + card + " og placer kortet på " + board.topCard(BoardIndex.first(targets)).toString();
                     }
                 }
 
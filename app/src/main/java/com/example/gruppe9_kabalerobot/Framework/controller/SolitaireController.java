@@ -2,15 +2,29 @@ package com.example.gruppe9_kabalerobot.Framework.controller;
 
 import com.example.gruppe9_kabalerobot.Framework.model.PreviousState;
 import com.example.gruppe9_kabalerobot.Framework.model.PreviousStatesContainer;
+import com.example.gruppe9_kabalerobot.Framework.solver.SearchEngine;
+import com.example.gruppe9_kabalerobot.Framework.solver.SolveResult;
+import com.example.gruppe9_kabalerobot.Framework.solver.Solver;
 
 /**
  * Controller class to access and run the game.
  */
 public class SolitaireController {
     private PreviousStatesContainer prevStates;
+    private SearchEngine engine;    //Search engine used by MoveAlgorithm, null to use its rules
 
     public SolitaireController() {
-         this.prevStates = PreviousStatesContainer.getInstance();
+         this(null);
+    }
+
+    /**
+     * Constructor for a controller that lets a search engine find the moves
+     *
+     * @param engine    Search engine used to rank moves, null to use the rules of MoveAlgorithm
+     */
+    public SolitaireController(SearchEngine engine) {
+        this.prevStates = PreviousStatesContainer.getInstance();
+        this.engine = engine;
     }
 
     /**
@@ -24,13 +38,27 @@ public class SolitaireController {
         SolitaireLogic game = new SolitaireLogic();
         translator.insertCards(game);
         //Find move suggestion
-        MoveAlgorithm moveAlgo = new MoveAlgorithm(game);
-        String moveSuggestion = moveAlgo.getBestMove(prevStates.getLatestSolutionToState(game.getGameState()));
+        long stateKey = game.getStateKey();
+        MoveAlgorithm moveAlgo = new MoveAlgorithm(game, engine);
+        String moveSuggestion = moveAlgo.getBestMove(prevStates.getLatestSolutionToState(stateKey));
         //Save and return suggestion
-        prevStates.addPreviousMove(new PreviousState(game.getGameState(), moveAlgo.getMoveChosen()));
+        prevStates.addPreviousMove(new PreviousState(stateKey, moveAlgo.getMoveChosen()));
         return moveSuggestion;
     }
 
+    /**
+     * Takes a full CardTranslator and solves the whole game from the position, to find out if it can be won
+     *
+     * @param translator    Instance of CardTranslator, needs cards to work
+     * @param solver        Solver to use, can be cancelled from another thread while solving
+     * @return              Outcome of the solver, with the moves to win if a win was found
+     */
+    public SolveResult solve(CardTranslator translator, Solver solver) {
+        SolitaireLogic game = new SolitaireLogic();
+        translator.insertCards(game);
+        return solver.solve(game);
+    }
+
     /**
      * Resets the PreviousStateController, so no knowledge of previous moves should be remembered
      */
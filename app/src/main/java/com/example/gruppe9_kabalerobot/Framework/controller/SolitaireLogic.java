@@ -4,8 +4,8 @@ import com.example.gruppe9_kabalerobot.Framework.model.Card;
 import com.example.gruppe9_kabalerobot.Framework.model.Foundation;
 import com.example.gruppe9_kabalerobot.Framework.model.Tableau;
 import com.example.gruppe9_kabalerobot.Framework.model.Waste;
+import com.example.gruppe9_kabalerobot.Framework.solver.CompactState;
 
-import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,10 +13,21 @@ import java.util.List;
  * Class to illustrate a game of Solitaire
  */
 public class SolitaireLogic {
+    private static final int PARTS = 13;    //7 tableaus, 4 foundations, the waste and its list of known cards
+
     private Waste waste;
     private Tableau[] tableau;
     private Foundation[] foundation;
 
+    //Cache of the key and text of the game state, used until one of the parts of the game changes
+    private final Object[] cachedParts = new Object[PARTS];    //The parts the cache was made from
+    private final int[] cachedMods = new int[PARTS];           //Amount of changes of each part, when the cache was made
+    private final int[] cachedSizes = new int[PARTS];          //Amount of cards in each part, when the cache was made
+    private final StringBuilder builder = new StringBuilder(); //Reused to render the text of the game state
+    private long stateKey;
+    private boolean stateKeyCached;
+    private String gameState;
+
     /**
      * Constructor for the controller
      */
@@ -30,32 +41,92 @@ public class SolitaireLogic {
     }
 
     /**
-     * A printet version of the current game state
+     * A key for the current game state, used to remember the moves made from it.
+     * Two games with the same cards in the same places have the same key, also if the order of the tableaus differ.
+     * The key is only calculated again when the game has changed.
+     *
+     * @return  64 bit hash of the game state
+     */
+    public long getStateKey() {
+        if (!isCacheCurrent() || !stateKeyCached) {
+            stateKey = CompactState.fromLogic(this).getHash();
+            stateKeyCached = true;
+        }
+        return stateKey;
+    }
+
+    /**
+     * A printet version of the tableaus of the current game state, the amount of hidden cards on the first line and the top cards on the second.
+     * The text is only rendered again when the game has changed.
      */
     public String getGameState() {
-        //Waste
-        String wasteNfoundation, shownWaste = "";
-//        for(Card c : waste.getKnownCards()) { shownWaste += c.shortString() + "|"; }
-        if(waste.getKnownCards().size() != 0) {
-            shownWaste += waste.getKnownCards().get(waste.getKnownCards().size() - 1).shortString();
-        } else shownWaste += "Emp ";
-        //Foundation
-        String foundationString = "";
-        for(int i = 0 ; i < foundation.length ; i++){
-            foundationString += foundation[i].countCards() > 0 ? foundation[i].peekCard().shortString()+ " " : "Emp ";
+        if (!isCacheCurrent() || gameState == null) {
+            builder.setLength(0);
+            for(int i = 0 ; i < tableau.length ; i++) {
+                builder.append(' ').append(tableau[i].countHiddenCards()).append("  ");
+            }
+            builder.append('\n');
+            for(int i = 0 ; i < tableau.length ; i++) {
+                builder.append(tableau[i].getVisibleCards().size() == 0 ? "Emp" : tableau[i].getTopCard().shortString()).append(' ');
+            }
+            gameState = builder.toString();
         }
-        wasteNfoundation = waste.isWastePilePresent() ? "W" : "Emp";
-        wasteNfoundation += "|"+ shownWaste + "     " + foundationString;
-        System.out.println(wasteNfoundation);
-        //Tableau
-        String tableauLengths = "";
-        String tableauValues = "";
-        for(int i = 0 ; i < tableau.length ; i++) {
-            tableauLengths += " " + tableau[i].countHiddenCards() + "  ";
-            tableauValues += tableau[i].getVisibleCards().size() == 0 ? "Emp " : tableau[i].getTopCard().shortString() + " " ;
+        return gameState;
+    }
+
+    /**
+     * Prints the full game state to the console, with the waste and foundations above the tableaus. Only meant for debugging.
+     */
+    public void printGameState() {
+        StringBuilder line = new StringBuilder(waste.isWastePilePresent() ? "W" : "Emp").append('|');
+        line.append(waste.lookAtTop() != null ? waste.lookAtTop().shortString() : "Emp ").append("     ");
+        for(int i = 0 ; i < foundation.length ; i++){
+            line.append(foundation[i] != null && foundation[i].countCards() > 0 ? foundation[i].peekCard().shortString() + " " : "Emp ");
         }
+        System.out.println(line);
+        System.out.println(getGameState());
+    }
 
-        return (tableauLengths + "\n" + tableauValues);
+    /**
+     * Checks if the cached key and text still show the game, by comparing every part of the game to when the cache was made.
+     * If the game has changed the cache is cleared, and the parts are remembered for the new cache.
+     *
+     * @return  True if the cache can be used
+     */
+    private boolean isCacheCurrent() {
+        boolean current = true;
+        for (int i = 0 ; i < PARTS ; i++) {
+            Object part;
+            int mods, size;
+            if (i < 7) {
+                part = tableau[i];
+                mods = tableau[i].getModCount();
+                size = tableau[i].getVisibleCards().size();
+            } else if (i < 11) {
+                part = foundation[i - 7];
+                mods = part != null ? foundation[i - 7].getModCount() : 0;
+                size = part != null ? foundation[i - 7].countCards() : 0;
+            } else if (i == 11) {
+                part = waste;
+                mods = waste.getModCount();
+                size = waste.isWastePilePresent() ? 1 : 0;
+            } else {
+                part = waste.getKnownCards();
+                mods = 0;
+                size = part != null ? waste.getKnownCards().size() : 0;
+            }
+            if (cachedParts[i] != part || cachedMods[i] != mods || cachedSizes[i] != size) {
+                cachedParts[i] = part;
+                cachedMods[i] = mods;
+                cachedSizes[i] = size;
+                current = false;
+            }
+        }
+        if (!current) {
+            stateKeyCached = false;
+            gameState = null;
+        }
+        return current;
     }
 
     /**
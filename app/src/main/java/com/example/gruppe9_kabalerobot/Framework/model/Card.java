@@ -1,11 +1,25 @@
 package com.example.gruppe9_kabalerobot.Framework.model;
 
 /**
- * Class to act as a playing card from a normal deck of cards
+ * Class to act as a playing card from a normal deck of cards.
+ * There is exactly one instance of every card, found with Card.of, so cards can be compared with == and cost nothing to hand out.
  */
-public class Card {
-    private int suit;   //What suit that card is: Heart, spade, etc.
-    private int value;  //What value it has, from ace to king (1-13)
+public final class Card {
+    public static final int SUITS = 4;
+    public static final int VALUES = 13;
+    public static final int DECK_SIZE = SUITS * VALUES;
+
+    private static final Card[] DECK = new Card[DECK_SIZE];  //Every card, found by its id
+
+    static {
+        for (int id = 0; id < DECK_SIZE; id++) DECK[id] = new Card(id / VALUES, id % VALUES + 1);
+    }
+
+    private final int suit;             //What suit that card is: Heart, spade, etc.
+    private final int value;            //What value it has, from ace to king (1-13)
+    private final int id;               //Place of the card in the deck, from 0 to 51
+    private final String fullName;      //Text of toString, made once
+    private final String shortName;     //Text of shortString, made once
 
     /***
      * Constructor for the Card object. A playing card.
@@ -13,9 +27,46 @@ public class Card {
      * @param suit a numerical value of suit, 0 to 3
      * @param value a numerical value of the card from 1 to 13.
      */
-    public Card (int suit, int value) {
+    private Card (int suit, int value) {
         this.suit = suit;
         this.value = value;
+        this.id = suit * VALUES + value - 1;
+        this.fullName = makeString();
+        this.shortName = makeShortString();
+    }
+
+    /**
+     * Returns the card of the given suit and value
+     *
+     * @param suit  A numerical value of suit, 0 to 3
+     * @param value A numerical value of the card from 1 to 13
+     * @return      The one instance of the card
+     */
+    public static Card of(int suit, int value) {
+        if (!isValid(suit, value)) throw new IllegalArgumentException("No card with suit " + suit + " and value " + value);
+        return DECK[suit * VALUES + value - 1];
+    }
+
+    /**
+     * Returns the card with the given id
+     *
+     * @param id    Place of the card in the deck, from 0 to 51
+     * @return      The one instance of the card
+     */
+    public static Card byId(int id) {
+        if (id < 0 || id >= DECK_SIZE) throw new IllegalArgumentException("No card with id " + id);
+        return DECK[id];
+    }
+
+    /**
+     * Controls if the suit and value make a card of the deck
+     *
+     * @param suit  A numerical value of suit
+     * @param value A numerical value of the card
+     * @return      True if suit is 0 to 3 and value is 1 to 13
+     */
+    public static boolean isValid(int suit, int value) {
+        return suit >= 0 && suit < SUITS && value >= 1 && value <= VALUES;
     }
 
     /***
@@ -31,10 +82,8 @@ public class Card {
                 return "Spar";
             case 2:
                 return "Ruder";
-            case 3:
-                return "Klør";
             default:
-                return "[Fejl i læsning af kulør]";
+                return "Klør";
         }
     }
 
@@ -43,7 +92,16 @@ public class Card {
      *
      * @return Full description of the card
      */
-    public String toString() {
+    public String toString() { return fullName; }
+
+    /**
+     * A method to give a short print of the card
+     *
+     * @return  Short description of the card
+     */
+    public String shortString() { return shortName; }
+
+    private String makeString() {
         switch(value){
             case 1:
                 return readSuit() + " Es";
@@ -58,12 +116,7 @@ public class Card {
         }
     }
 
-    /**
-     * A method to give a short print of the card
-     *
-     * @return  Short description of the card
-     */
-    public String shortString() {
+    private String makeShortString() {
         switch (value) {
             case 1:
                 return "Ac" + readSuit().charAt(0);
@@ -81,11 +134,9 @@ public class Card {
     }
 
     /**
-     * Getters and Setters for Card class
+     * Getters for Card class
      */
     public int getSuit() { return this.suit; }
-    public void setSuit(int suit) { this.suit = suit; }
-
     public int getValue() { return this.value; }
-    public void setValue(int value) { this.value = value; }
-}
\ No newline at end of file
+    public int getId() { return this.id; }
+}
@@ -8,6 +8,7 @@ import java.util.List;
  */
 public class Foundation {
     private List<Card> cards = new ArrayList<>();
+    private int modCount;   //Amount of changes, used to know when a cached state is old
 
     public Foundation() {} //Default constructor
     public Foundation(Card card) { cards.add(card); } //Constructor with top card
@@ -22,14 +23,18 @@ public class Foundation {
             Card lastcard = peekCard();
             if(card.getSuit() != lastcard.getSuit() || card.getValue() != (lastcard.getValue() + 1))
                 System.out.println("Cannot add card to deck");
-            else
+            else {
                 cards.add(card);
+                modCount++;
+            }
         }
         else { //If it is the first card in the Foundation
             if(card.getValue() != 1)
                 System.out.println("Cannot add non-aces to empty foundation");
-            else
+            else {
                 cards.add(card);
+                modCount++;
+            }
         }
     }
 
@@ -40,6 +45,7 @@ public class Foundation {
      */
     public  void setForcedCard(Card card){
         cards.add(card);
+        modCount++;
     }
 
     /**
@@ -47,7 +53,10 @@ public class Foundation {
      *
      * @return  Card instance to be removed from Foundation
      */
-    public Card takeCard() { return cards.remove(cards.size()-1); }
+    public Card takeCard() {
+        modCount++;
+        return cards.remove(cards.size()-1);
+    }
 
     /**
      * Returns the card on the top of the foundation
@@ -76,4 +85,11 @@ public class Foundation {
             return peekCard().getValue() == 13;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the amount of changes made to the Foundation, used by SolitaireLogic to know when its cached state is old
+     *
+     * @return  Amount of changes
+     */
+    public int getModCount() { return modCount; }
+}
@@ -1,26 +1,26 @@
 package com.example.gruppe9_kabalerobot.Framework.model;
 
 /**
- * Class to act as a save state, by saving a picture (String) of a previous state and what move was made at that state
+ * Class to act as a save state, by saving a key of a previous state and what move was made at that state
  */
 public class PreviousState {
-    private String state;   //Saved image of game state
+    private long stateKey;  //Key of saved game state, from SolitaireLogic.getStateKey
     private int move;       //Move made on saved game state
 
     /**
      * Constructor for a saved state
      *
-     * @param state Game state
-     * @param move  Integer reference to latest move provided by MoveAlgorithm
+     * @param stateKey  Key of the game state
+     * @param move      Integer reference to latest move provided by MoveAlgorithm
      */
-    public PreviousState(String state, int move) {
-        this.state = state;
+    public PreviousState(long stateKey, int move) {
+        this.stateKey = stateKey;
         this.move = move;
     }
 
     /**
      * Getters for PreviousState class
      */
-    public String getState() { return state; }
+    public long getStateKey() { return stateKey; }
     public int getMove() { return move; }
-}
\ No newline at end of file
+}
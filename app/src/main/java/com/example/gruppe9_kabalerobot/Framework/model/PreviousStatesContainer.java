@@ -1,13 +1,22 @@
 package com.example.gruppe9_kabalerobot.Framework.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
- * Container for instances of PreviousState class
+ * Container for instances of PreviousState class.
+ * The states are found by their key, and when there are more than MAX_STATES the state used the longest time ago is forgotten.
+ * The container is used from both the UI thread and background tasks, so every method is synchronized.
  */
 public class PreviousStatesContainer {
-    private List<PreviousState> previousStates = new ArrayList<PreviousState>();
+    public static final int MAX_STATES = 1024;
+
+    private final Map<Long, PreviousState> previousStates = new LinkedHashMap<Long, PreviousState>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, PreviousState> eldest) {
+            return size() > MAX_STATES;
+        }
+    };
     private static PreviousStatesContainer singleton = null;
 
     private PreviousStatesContainer() {
@@ -19,38 +28,40 @@ public class PreviousStatesContainer {
      *
      * @return  Current instance of class
      */
-    public static PreviousStatesContainer getInstance() {
+    public static synchronized PreviousStatesContainer getInstance() {
         if(singleton == null) singleton = new PreviousStatesContainer();
         return singleton;
     }
 
     /**
-     * Adds an instance of PreviousState to list, to act as a memory of the game being played
+     * Adds an instance of PreviousState, to act as a memory of the game being played.
+     * Replaces the earlier state with the same key, so only the latest move for a state is kept.
+     *
      * @param preState  Class with saved game state and latest move proposed for that state
      */
-    public void addPreviousMove(PreviousState preState) {
-        previousStates.add(preState);
+    public synchronized void addPreviousMove(PreviousState preState) {
+        previousStates.put(preState.getStateKey(), preState);
     }
 
     /**
-     * Resets the memory by creating a fresh ArrayList
+     * Resets the memory
      */
-    public void resetMemory() {
-        this.previousStates = new ArrayList<>();
+    public synchronized void resetMemory() {
+        previousStates.clear();
     }
 
     /**
-     * Compares current state of game to ealier game states
+     * Finds the latest move made from a state
      *
-     * @param currState String of current state of game
-     * @return          Latest solution for that state
+     * @param stateKey  Key of current state of game, from SolitaireLogic.getStateKey
+     * @return          Latest solution for that state, null if the state has not been seen
      */
-    public PreviousState getLatestSolutionToState(String currState) {
-        PreviousState state = null;
-
-        for (PreviousState preState : previousStates) {
-            if(currState.equals(preState.getState())){ state = preState; }
-        }
-        return state;
+    public synchronized PreviousState getLatestSolutionToState(long stateKey) {
+        return previousStates.get(stateKey);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the amount of states remembered
+     */
+    public synchronized int size() { return previousStates.size(); }
+}
@@ -10,6 +10,7 @@ import java.util.List;
 public class Tableau {
     private int hiddenCards;                                //Amount of hidden cards in Tableau
     private List<Card> visibleCards = new ArrayList<>();    //List of Card instances
+    private int modCount;                                   //Amount of changes, used to know when a cached state is old
 
     /**
      * Constructor for Tableau class
@@ -46,11 +47,14 @@ public class Tableau {
             Card lastCard = visibleCards.get(visibleCards.size() - 1);
             if (lastCard.getSuit() % 2 == card.getSuit() % 2 || card.getValue() != (lastCard.getValue() - 1))
                 System.out.println("Wrong card type, cannot stack hiddenCards of the same color, or of higher value");
-            else
+            else {
                 visibleCards.add(card);
+                modCount++;
+            }
         }
         else {
             visibleCards.add(card);
+            modCount++;
         }
     }
 
@@ -94,6 +98,13 @@ public class Tableau {
      */
     public Card getTopCard() { return visibleCards.get(visibleCards.size() - 1); }
 
+    /**
+     * Returns the amount of changes made to the Tableau, used by SolitaireLogic to know when its cached state is old
+     *
+     * @return  Amount of changes
+     */
+    public int getModCount() { return modCount; }
+
     /**
      * Comparator methods to sort the cards after how many hidden cards is in the Tableau
      */
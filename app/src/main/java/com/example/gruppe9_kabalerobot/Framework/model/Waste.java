@@ -9,6 +9,7 @@ import java.util.List;
 public class Waste {
     private boolean wastePilePresent;   //Boolean to mark if there is a pile of cards to take a card from
     private List<Card> knownCards;      //List of known cards
+    private int modCount;               //Amount of changes, used to know when a cached state is old
 
     /**
      * Constructor for Waste class
@@ -26,7 +27,10 @@ public class Waste {
      *
      * @param cards List of Card to be added
      */
-    public void addListToKnown(List<Card> cards) { knownCards = cards; }
+    public void addListToKnown(List<Card> cards) {
+        knownCards = cards;
+        modCount++;
+    }
 
     /**
      * Getter for list of cards, from the pile of known cards in Waste
@@ -48,5 +52,15 @@ public class Waste {
      * @return  True if there are cards to be revealed
      */
     public boolean isWastePilePresent() { return wastePilePresent;}
-    public void setWastePile(boolean status) { this.wastePilePresent = status; }
+    public void setWastePile(boolean status) {
+        this.wastePilePresent = status;
+        modCount++;
+    }
+
+    /**
+     * Returns the amount of changes made to the Waste, used by SolitaireLogic to know when its cached state is old
+     *
+     * @return  Amount of changes
+     */
+    public int getModCount() { return modCount; }
 }
\ No newline at end of file
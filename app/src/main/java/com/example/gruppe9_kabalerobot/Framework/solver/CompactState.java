@@ -0,0 +1,689 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireLogic;
+import com.example.gruppe9_kabalerobot.Framework.model.Card;
+import com.example.gruppe9_kabalerobot.Framework.model.Foundation;
+import com.example.gruppe9_kabalerobot.Framework.model.Tableau;
+import com.example.gruppe9_kabalerobot.Framework.model.Waste;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A game of Solitaire packed into a single byte array, so the search can make and undo millions of moves without allocating.
+ *
+ * Cards are stored as ids from 0 to 51 (suit * 13 + value - 1), cards that have not been seen are stored as UNKNOWN.
+ * Every tableau holds all of its cards from the bottom up, where the first cards are hidden.
+ * A hidden card can be UNKNOWN or, when the hidden cards have been guessed, a real card.
+ * Moves are encoded as ints, see the move methods at the bottom.
+ */
+public class CompactState {
+    public static final int TABLEAUS = 7;
+    public static final int SUITS = 4;
+    public static final int DECK_SIZE = 52;
+    public static final int UNKNOWN = 52;       //Id of a card that has not been seen
+    public static final int PILE_CAPACITY = 32; //Maximum amount of cards in a tableau
+    public static final int MAX_MOVES = 512;    //Maximum amount of moves generateMoves can return
+    static final int CARD_IDS = UNKNOWN + 1;
+
+    //Move types
+    public static final int FLIP = 0;
+    public static final int TABLEAU_TO_FOUNDATION = 1;
+    public static final int WASTE_TO_FOUNDATION = 2;
+    public static final int WASTE_TO_TABLEAU = 3;
+    public static final int TABLEAU_TO_TABLEAU = 4;
+    public static final int FOUNDATION_TO_TABLEAU = 5;
+    public static final int DRAW = 6;
+    public static final int REDEAL = 7;
+
+    //Layout of the byte array
+    private static final int PILES = 0;
+    private static final int PILE_LENGTH = PILES + TABLEAUS * PILE_CAPACITY;
+    private static final int HIDDEN = PILE_LENGTH + TABLEAUS;
+    private static final int FOUNDATION = HIDDEN + TABLEAUS;
+    private static final int STOCK_LENGTH = FOUNDATION + SUITS;
+    private static final int WASTE_LENGTH = STOCK_LENGTH + 1;
+    private static final int STOCK = WASTE_LENGTH + 1;
+    private static final int WASTE = STOCK + DECK_SIZE;
+    private static final int SIZE = WASTE + DECK_SIZE;
+
+    private final byte[] data = new byte[SIZE];
+    private int hiddenCount;        //Sum of hidden cards, kept up to date for the Evaluator
+    private int foundationCount;    //Sum of cards in the foundations, kept up to date for the Evaluator
+    private final long[] pileHash = new long[TABLEAUS]; //Zobrist hash of every tableau
+    private long pileSum;           //Sum of the mixed hashes of the tableaus
+    private long hash;              //Zobrist hash of the foundations and waste, kept up to date by every move
+
+    private static final Zobrist KEYS = new Zobrist();
+
+    /**
+     * Constructor for an empty state, use fromLogic to make a state of a game
+     */
+    public CompactState() {}
+
+    /**
+     * Makes a compact state of a game. Cards that are not seen in the game, ergo the hidden cards and the cards in the waste pile, are UNKNOWN.
+     * A tableau with more cards than PILE_CAPACITY has its hidden cards cut down to fit.
+     *
+     * @param game  The game to copy
+     * @return      New state of the game
+     */
+    public static CompactState fromLogic(SolitaireLogic game) {
+        CompactState state = new CompactState();
+        byte[] data = state.data;
+        int seen = 0;
+
+        Tableau[] tableaus = game.getTableau();
+        for (int t = 0; t < TABLEAUS; t++) {
+            List<Card> visible = tableaus[t].getVisibleCards();
+            int shown = Math.min(visible.size(), PILE_CAPACITY);
+            int hidden = Math.max(0, Math.min(tableaus[t].countHiddenCards(), PILE_CAPACITY - shown));
+            int base = PILES + t * PILE_CAPACITY;
+            for (int i = 0; i < hidden; i++) data[base + i] = UNKNOWN;
+            for (int i = 0; i < shown; i++) data[base + hidden + i] = (byte) idOf(visible.get(i));
+            data[PILE_LENGTH + t] = (byte) (hidden + shown);
+            data[HIDDEN + t] = (byte) hidden;
+            state.hiddenCount += hidden;
+            seen += hidden + shown;
+        }
+
+        for (Foundation foundation : game.getFoundation()) {
+            int id = foundation == null ? UNKNOWN : idOf(foundation.peekCard());
+            if (id != UNKNOWN && valueOf(id) > data[FOUNDATION + suitOf(id)]) {
+                data[FOUNDATION + suitOf(id)] = (byte) valueOf(id);
+            }
+        }
+        for (int suit = 0; suit < SUITS; suit++) {
+            state.foundationCount += data[FOUNDATION + suit];
+            seen += data[FOUNDATION + suit];
+        }
+
+        //Cards not seen anywhere are either in the waste pile, or under the top card of the waste if there is no pile
+        Waste waste = game.getWaste();
+        List<Card> known = waste.getKnownCards() != null ? waste.getKnownCards() : new ArrayList<Card>();
+        int unseen = Math.max(0, DECK_SIZE - seen - known.size());
+        if (waste.isWastePilePresent()) {
+            int stockLength = Math.max(1, unseen);
+            for (int i = 0; i < stockLength; i++) data[STOCK + i] = UNKNOWN;
+            data[STOCK_LENGTH] = (byte) stockLength;
+            unseen = 0;
+        }
+        int wasteLength = Math.min(DECK_SIZE, unseen + known.size());
+        for (int i = 0; i < wasteLength; i++) {
+            int knownIndex = i - (wasteLength - known.size());
+            data[WASTE + i] = (byte) (knownIndex < 0 ? UNKNOWN : idOf(known.get(knownIndex)));
+        }
+        data[WASTE_LENGTH] = (byte) wasteLength;
+        state.computeHash();
+        return state;
+    }
+
+    /**
+     * Makes a game of Solitaire from this state.
+     * Turned cards that are UNKNOWN are counted as hidden cards, and guessed hidden cards are forgotten.
+     *
+     * @return  New game
+     */
+    public SolitaireLogic toLogic() {
+        SolitaireLogic game = new SolitaireLogic();
+
+        List<Integer> hiddenCards = new ArrayList<>();
+        List<List<Card>> tableaus = new ArrayList<>();
+        for (int t = 0; t < TABLEAUS; t++) {
+            int hidden = pileHidden(t);
+            List<Card> visible = new ArrayList<>();
+            for (int i = hidden; i < pileLength(t); i++) {
+                int id = pileCard(t, i);
+                if (id == UNKNOWN) hidden++;
+                else visible.add(toCard(id));
+            }
+            hiddenCards.add(hidden);
+            tableaus.add(visible);
+        }
+        game.setTableaus(hiddenCards, tableaus);
+
+        List<Card> foundations = new ArrayList<>();
+        for (int suit = 0; suit < SUITS; suit++) {
+            if (foundationValue(suit) > 0) foundations.add(toCard(cardId(suit, foundationValue(suit))));
+        }
+        game.setFoundations(foundations);
+
+        List<Card> known = new ArrayList<>();
+        int wasteTop = wasteTop();
+        if (wasteTop != -1 && wasteTop != UNKNOWN) known.add(toCard(wasteTop));
+        game.setWaste(new Waste(data[STOCK_LENGTH] > 0, known));
+        return game;
+    }
+
+    /**
+     * Makes a copy of this state
+     */
+    public CompactState copy() {
+        CompactState copy = new CompactState();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Overwrites this state with another state, without allocating
+     *
+     * @param other The state to copy
+     */
+    public void copyFrom(CompactState other) {
+        System.arraycopy(other.data, 0, data, 0, SIZE);
+        System.arraycopy(other.pileHash, 0, pileHash, 0, TABLEAUS);
+        hiddenCount = other.hiddenCount;
+        foundationCount = other.foundationCount;
+        pileSum = other.pileSum;
+        hash = other.hash;
+    }
+
+    /**
+     * Puts a card in the place of an UNKNOWN card, used when guessing the hidden cards
+     *
+     * @param tableau   Index of the tableau, -1 for the waste pile and -2 for the turned cards of the waste
+     * @param index     Index of the card, from the bottom
+     * @param id        Id of the card
+     */
+    public void setUnknownCard(int tableau, int index, int id) {
+        int position = tableau == -1 ? STOCK + index : tableau == -2 ? WASTE + index : PILES + tableau * PILE_CAPACITY + index;
+        if (data[position] != UNKNOWN) throw new IllegalArgumentException("Card is already known");
+        data[position] = (byte) id;
+        computeHash();
+    }
+
+    /**
+     * Counts the places holding an UNKNOWN card, in the tableaus, the waste pile and the turned waste
+     */
+    public int countUnknownCards() {
+        int count = 0;
+        for (int t = 0; t < TABLEAUS; t++) {
+            for (int i = 0; i < pileLength(t); i++) {
+                if (pileCard(t, i) == UNKNOWN) count++;
+            }
+        }
+        for (int i = 0; i < data[STOCK_LENGTH]; i++) {
+            if (data[STOCK + i] == UNKNOWN) count++;
+        }
+        for (int i = 0; i < data[WASTE_LENGTH]; i++) {
+            if (data[WASTE + i] == UNKNOWN) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the cards of the deck not seen anywhere in the state, ergo the cards the UNKNOWN places can hold
+     *
+     * @param unseen    Array of at least DECK_SIZE to write the ids into
+     * @return          Amount of ids written
+     */
+    public int findUnseenCards(int[] unseen) {
+        boolean[] seen = new boolean[DECK_SIZE];
+        for (int t = 0; t < TABLEAUS; t++) {
+            for (int i = 0; i < pileLength(t); i++) {
+                if (isKnown(pileCard(t, i))) seen[pileCard(t, i)] = true;
+            }
+        }
+        for (int suit = 0; suit < SUITS; suit++) {
+            for (int value = 1; value <= foundationValue(suit); value++) seen[cardId(suit, value)] = true;
+        }
+        for (int i = 0; i < data[STOCK_LENGTH]; i++) {
+            if (isKnown(data[STOCK + i])) seen[data[STOCK + i]] = true;
+        }
+        for (int i = 0; i < data[WASTE_LENGTH]; i++) {
+            if (isKnown(data[WASTE + i])) seen[data[WASTE + i]] = true;
+        }
+        int count = 0;
+        for (int id = 0; id < DECK_SIZE; id++) {
+            if (!seen[id]) unseen[count++] = id;
+        }
+        return count;
+    }
+
+    /**
+     * Puts cards in the places of the UNKNOWN cards, the tableaus from the bottom first, then the waste pile and the turned waste.
+     * If there are fewer cards than UNKNOWN places, the last places stay UNKNOWN.
+     *
+     * @param cards Ids of the cards to put in
+     * @param count Amount of cards to use from the array
+     */
+    public void fillUnknownCards(int[] cards, int count) {
+        int next = 0;
+        for (int t = 0; t < TABLEAUS && next < count; t++) {
+            for (int i = 0; i < pileLength(t) && next < count; i++) {
+                int position = PILES + t * PILE_CAPACITY + i;
+                if (data[position] == UNKNOWN) data[position] = (byte) cards[next++];
+            }
+        }
+        for (int i = 0; i < data[STOCK_LENGTH] && next < count; i++) {
+            if (data[STOCK + i] == UNKNOWN) data[STOCK + i] = (byte) cards[next++];
+        }
+        for (int i = 0; i < data[WASTE_LENGTH] && next < count; i++) {
+            if (data[WASTE + i] == UNKNOWN) data[WASTE + i] = (byte) cards[next++];
+        }
+        computeHash();
+    }
+
+    /**
+     * Finds every legal move from the current position, without allocating.
+     * Moves that can only lead back to an earlier position, like moving a King between empty spaces, are left out.
+     *
+     * @param moves     Array to write the moves into
+     * @param offset    Index in the array to write the first move
+     * @return          Amount of moves written, at most MAX_MOVES
+     */
+    public int generateMoves(int[] moves, int offset) {
+        int count = offset;
+        int emptySpace = findEmptySpace();
+        int wasteTop = wasteTop();
+
+        //Turn hidden cards
+        for (int t = 0; t < TABLEAUS; t++) {
+            if (pileLength(t) > 0 && pileLength(t) == pileHidden(t)) moves[count++] = encode(FLIP, t, t, 0, 0);
+        }
+        //To foundation
+        for (int t = 0; t < TABLEAUS; t++) {
+            int top = top(t);
+            if (top != -1 && fitsFoundation(top)) moves[count++] = encode(TABLEAU_TO_FOUNDATION, t, 0, 1, top);
+        }
+        if (isKnown(wasteTop) && fitsFoundation(wasteTop)) moves[count++] = encode(WASTE_TO_FOUNDATION, 0, 0, 1, wasteTop);
+        //Waste to tableau
+        if (isKnown(wasteTop)) {
+            for (int t = 0; t < TABLEAUS; t++) {
+                int top = top(t);
+                if (top != -1 && fitsOn(wasteTop, top)) moves[count++] = encode(WASTE_TO_TABLEAU, 0, t, 1, wasteTop);
+            }
+            if (emptySpace != -1 && valueOf(wasteTop) == 13) moves[count++] = encode(WASTE_TO_TABLEAU, 0, emptySpace, 1, wasteTop);
+        }
+        //Tableau to tableau
+        for (int t = 0; t < TABLEAUS; t++) {
+            int length = pileLength(t);
+            for (int index = runStart(t); index < length; index++) {
+                int card = pileCard(t, index);
+                //Only split a stack if the card left behind can go to the foundation
+                if (index > pileHidden(t) && !fitsFoundation(pileCard(t, index - 1))) continue;
+
+                for (int target = 0; target < TABLEAUS; target++) {
+                    int top = top(target);
+                    if (target != t && top != -1 && fitsOn(card, top)) {
+                        moves[count++] = encode(TABLEAU_TO_TABLEAU, t, target, length - index, card);
+                    }
+                }
+                if (emptySpace != -1 && valueOf(card) == 13 && index > 0) {
+                    moves[count++] = encode(TABLEAU_TO_TABLEAU, t, emptySpace, length - index, card);
+                }
+            }
+        }
+        //Foundation to tableau
+        for (int suit = 0; suit < SUITS; suit++) {
+            if (foundationValue(suit) < 2) continue;
+            int card = cardId(suit, foundationValue(suit));
+            for (int t = 0; t < TABLEAUS; t++) {
+                int top = top(t);
+                if (top != -1 && fitsOn(card, top)) moves[count++] = encode(FOUNDATION_TO_TABLEAU, 0, t, 1, card);
+            }
+        }
+        //Waste pile, turning an unseen card onto another unseen card shows nothing new
+        int stockLength = data[STOCK_LENGTH];
+        if (stockLength > 0) {
+            if (wasteTop != UNKNOWN || data[STOCK + stockLength - 1] != UNKNOWN) moves[count++] = encode(DRAW, 0, 0, 1, 0);
+        } else if (data[WASTE_LENGTH] > 1 && isWasteKnown()) {
+            moves[count++] = encode(REDEAL, 0, 0, data[WASTE_LENGTH], 0);
+        }
+        return count - offset;
+    }
+
+    /**
+     * Makes the move on this state
+     *
+     * @param move  Move found by generateMoves on this state
+     */
+    public void apply(int move) {
+        int from = moveFrom(move), to = moveTo(move), count = moveCount(move), card = moveCard(move);
+        switch (moveType(move)) {
+            case FLIP:
+                setHidden(from, pileHidden(from) - 1);
+                break;
+            case TABLEAU_TO_FOUNDATION:
+                popPile(from);
+                setFoundation(suitOf(card), valueOf(card));
+                break;
+            case WASTE_TO_FOUNDATION:
+                pop(WASTE_LENGTH, WASTE, KEYS.waste);
+                setFoundation(suitOf(card), valueOf(card));
+                break;
+            case WASTE_TO_TABLEAU:
+                pop(WASTE_LENGTH, WASTE, KEYS.waste);
+                pushPile(to, card);
+                break;
+            case TABLEAU_TO_TABLEAU:
+                movePile(from, to, count);
+                break;
+            case FOUNDATION_TO_TABLEAU:
+                setFoundation(suitOf(card), valueOf(card) - 1);
+                pushPile(to, card);
+                break;
+            case DRAW:
+                push(WASTE_LENGTH, WASTE, KEYS.waste, pop(STOCK_LENGTH, STOCK, KEYS.stock));
+                break;
+            case REDEAL:
+                for (int i = 0; i < count; i++) push(STOCK_LENGTH, STOCK, KEYS.stock, pop(WASTE_LENGTH, WASTE, KEYS.waste));
+                break;
+        }
+    }
+
+    /**
+     * Takes back a move made with apply
+     *
+     * @param move  The latest move made on this state
+     */
+    public void undo(int move) {
+        int from = moveFrom(move), to = moveTo(move), count = moveCount(move), card = moveCard(move);
+        switch (moveType(move)) {
+            case FLIP:
+                setHidden(from, pileHidden(from) + 1);
+                break;
+            case TABLEAU_TO_FOUNDATION:
+                setFoundation(suitOf(card), valueOf(card) - 1);
+                pushPile(from, card);
+                break;
+            case WASTE_TO_FOUNDATION:
+                setFoundation(suitOf(card), valueOf(card) - 1);
+                push(WASTE_LENGTH, WASTE, KEYS.waste, card);
+                break;
+            case WASTE_TO_TABLEAU:
+                popPile(to);
+                push(WASTE_LENGTH, WASTE, KEYS.waste, card);
+                break;
+            case TABLEAU_TO_TABLEAU:
+                movePile(to, from, count);
+                break;
+            case FOUNDATION_TO_TABLEAU:
+                popPile(to);
+                setFoundation(suitOf(card), valueOf(card));
+                break;
+            case DRAW:
+                push(STOCK_LENGTH, STOCK, KEYS.stock, pop(WASTE_LENGTH, WASTE, KEYS.waste));
+                break;
+            case REDEAL:
+                for (int i = 0; i < count; i++) push(WASTE_LENGTH, WASTE, KEYS.waste, pop(STOCK_LENGTH, STOCK, KEYS.stock));
+                break;
+        }
+    }
+
+    /**
+     * Translates an encoded move into a Move, must be called before the move is applied
+     *
+     * @param move  Encoded move found by generateMoves on this state
+     * @return      The move as an instance of Move
+     */
+    public Move toMove(int move) {
+        int to = moveTo(move);
+        int target = top(to);
+        Card card = moveType(move) == FLIP || moveType(move) >= DRAW ? null : toCard(moveCard(move));
+        Card targetCard = target == -1 ? null : toCard(target);
+
+        switch (moveType(move)) {
+            case FLIP:
+                return new Move(Move.Type.FLIP, moveFrom(move), moveFrom(move), 0, null, null);
+            case TABLEAU_TO_FOUNDATION:
+                return new Move(Move.Type.TABLEAU_TO_FOUNDATION, moveFrom(move), -1, 1, card, null);
+            case WASTE_TO_FOUNDATION:
+                return new Move(Move.Type.WASTE_TO_FOUNDATION, -1, -1, 1, card, null);
+            case WASTE_TO_TABLEAU:
+                return new Move(Move.Type.WASTE_TO_TABLEAU, -1, to, 1, card, targetCard);
+            case TABLEAU_TO_TABLEAU:
+                return new Move(Move.Type.TABLEAU_TO_TABLEAU, moveFrom(move), to, moveCount(move), card, targetCard);
+            case FOUNDATION_TO_TABLEAU:
+                return new Move(Move.Type.FOUNDATION_TO_TABLEAU, -1, to, 1, card, targetCard);
+            case DRAW:
+                return new Move(Move.Type.DRAW, -1, -1, 0, null, null);
+            default:
+                return new Move(Move.Type.REDEAL, -1, -1, moveCount(move), null, null);
+        }
+    }
+
+    //region Support methods
+
+    /**
+     * Calculates the Zobrist hash of the state from scratch, moves keep it up to date without this
+     *
+     * @return  The hash, same as getHash
+     */
+    long computeHash() {
+        pileSum = 0;
+        for (int t = 0; t < TABLEAUS; t++) {
+            long h = KEYS.hidden[pileHidden(t)];
+            for (int i = 0; i < pileLength(t); i++) h ^= KEYS.pile[i * CARD_IDS + pileCard(t, i)];
+            pileHash[t] = h;
+            pileSum += Zobrist.mix(h);
+        }
+        hash = 0;
+        for (int suit = 0; suit < SUITS; suit++) hash ^= KEYS.foundation[suit * 14 + foundationValue(suit)];
+        for (int i = 0; i < data[STOCK_LENGTH]; i++) hash ^= KEYS.stock[i * CARD_IDS + data[STOCK + i]];
+        for (int i = 0; i < data[WASTE_LENGTH]; i++) hash ^= KEYS.waste[i * CARD_IDS + data[WASTE + i]];
+        return getHash();
+    }
+
+    //The methods below are the only ones changing the state after it is made, and keep the hash up to date
+
+    private void pushPile(int tableau, int card) {
+        int length = pileLength(tableau);
+        data[PILES + tableau * PILE_CAPACITY + length] = (byte) card;
+        data[PILE_LENGTH + tableau] = (byte) (length + 1);
+        setPileHash(tableau, pileHash[tableau] ^ KEYS.pile[length * CARD_IDS + card]);
+    }
+
+    private void popPile(int tableau) {
+        int length = pileLength(tableau) - 1;
+        data[PILE_LENGTH + tableau] = (byte) length;
+        setPileHash(tableau, pileHash[tableau] ^ KEYS.pile[length * CARD_IDS + pileCard(tableau, length)]);
+    }
+
+    private void movePile(int from, int to, int count) {
+        int fromLength = pileLength(from), toLength = pileLength(to);
+        int fromStart = PILES + from * PILE_CAPACITY + fromLength - count;
+        long fromHash = pileHash[from], toHash = pileHash[to];
+        for (int i = 0; i < count; i++) {
+            int card = data[fromStart + i];
+            fromHash ^= KEYS.pile[(fromLength - count + i) * CARD_IDS + card];
+            toHash ^= KEYS.pile[(toLength + i) * CARD_IDS + card];
+        }
+        System.arraycopy(data, fromStart, data, PILES + to * PILE_CAPACITY + toLength, count);
+        data[PILE_LENGTH + from] = (byte) (fromLength - count);
+        data[PILE_LENGTH + to] = (byte) (toLength + count);
+        setPileHash(from, fromHash);
+        setPileHash(to, toHash);
+    }
+
+    private void setHidden(int tableau, int hidden) {
+        hiddenCount += hidden - pileHidden(tableau);
+        setPileHash(tableau, pileHash[tableau] ^ KEYS.hidden[pileHidden(tableau)] ^ KEYS.hidden[hidden]);
+        data[HIDDEN + tableau] = (byte) hidden;
+    }
+
+    private void setFoundation(int suit, int value) {
+        foundationCount += value - foundationValue(suit);
+        hash ^= KEYS.foundation[suit * 14 + foundationValue(suit)] ^ KEYS.foundation[suit * 14 + value];
+        data[FOUNDATION + suit] = (byte) value;
+    }
+
+    /**
+     * The hash of a tableau is mixed before it is added to the hash of the state, so the order of the tableaus does not matter
+     */
+    private void setPileHash(int tableau, long newHash) {
+        pileSum += Zobrist.mix(newHash) - Zobrist.mix(pileHash[tableau]);
+        pileHash[tableau] = newHash;
+    }
+
+    /**
+     * Puts a card on top of the waste pile or the turned waste
+     */
+    private void push(int lengthIndex, int start, long[] keys, int card) {
+        int length = data[lengthIndex];
+        data[start + length] = (byte) card;
+        data[lengthIndex] = (byte) (length + 1);
+        hash ^= keys[length * CARD_IDS + card];
+    }
+
+    /**
+     * Takes the top card of the waste pile or the turned waste
+     */
+    private int pop(int lengthIndex, int start, long[] keys) {
+        int length = data[lengthIndex] - 1;
+        int card = data[start + length];
+        data[lengthIndex] = (byte) length;
+        hash ^= keys[length * CARD_IDS + card];
+        return card;
+    }
+
+    /**
+     * Checks if the card can be placed on the target in a tableau, ergo one lower and of the other colour
+     */
+    private static boolean fitsOn(int card, int target) {
+        return isKnown(card) && isKnown(target)
+                && valueOf(card) == valueOf(target) - 1 && suitOf(card) % 2 != suitOf(target) % 2;
+    }
+
+    /**
+     * Checks if the card is the next card on the foundation of its suit
+     */
+    private boolean fitsFoundation(int card) {
+        return isKnown(card) && data[FOUNDATION + suitOf(card)] == valueOf(card) - 1;
+    }
+
+    private static boolean isKnown(int card) { return card >= 0 && card < DECK_SIZE; }
+
+    /**
+     * Checks if every card in the waste is known, the waste is only turned over when the cards coming up can be judged
+     */
+    private boolean isWasteKnown() {
+        for (int i = 0; i < data[WASTE_LENGTH]; i++) {
+            if (data[WASTE + i] == UNKNOWN) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Finds the index of the card in the back of the longest moveable run of turned cards at the top of the tableau
+     */
+    private int runStart(int tableau) {
+        int index = pileLength(tableau) - 1;
+        if (index < pileHidden(tableau) || !isKnown(pileCard(tableau, index))) return pileLength(tableau);
+        while (index > pileHidden(tableau) && fitsOn(pileCard(tableau, index), pileCard(tableau, index - 1))) index--;
+        return index;
+    }
+
+    /**
+     * Finds the first tableau without cards
+     *
+     * @return  Index of the empty tableau, -1 if none
+     */
+    private int findEmptySpace() {
+        for (int t = 0; t < TABLEAUS; t++) {
+            if (pileLength(t) == 0) return t;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the turned top card of a tableau, -1 if it is empty, hidden or UNKNOWN
+     */
+    private int top(int tableau) {
+        int length = pileLength(tableau);
+        if (length == 0 || length == pileHidden(tableau)) return -1;
+        int card = pileCard(tableau, length - 1);
+        return isKnown(card) ? card : -1;
+    }
+
+    //endregion
+
+    //region Getters
+
+    public int pileLength(int tableau) { return data[PILE_LENGTH + tableau]; }
+    public int pileHidden(int tableau) { return data[HIDDEN + tableau]; }
+    public int pileCard(int tableau, int index) { return data[PILES + tableau * PILE_CAPACITY + index]; }
+    public int foundationValue(int suit) { return data[FOUNDATION + suit]; }
+    public int stockLength() { return data[STOCK_LENGTH]; }
+    public int wasteLength() { return data[WASTE_LENGTH]; }
+
+    /**
+     * Returns the top card of the waste, -1 if the waste is empty
+     */
+    public int wasteTop() { return data[WASTE_LENGTH] > 0 ? data[WASTE + data[WASTE_LENGTH] - 1] : -1; }
+
+    /**
+     * Returns the 64 bit Zobrist hash of the state. Equal states have equal hashes, also if the tableaus are in another order.
+     */
+    public long getHash() { return pileSum ^ hash; }
+
+    public int countHiddenCards() { return hiddenCount; }
+    public int countFoundationCards() { return foundationCount; }
+
+    public int countEmptySpaces() {
+        int count = 0;
+        for (int t = 0; t < TABLEAUS; t++) {
+            if (pileLength(t) == 0) count++;
+        }
+        return count;
+    }
+
+    public boolean isWasteUnknown() { return wasteTop() == UNKNOWN; }
+    public boolean isWon() { return foundationCount == DECK_SIZE; }
+
+    /**
+     * Two states are equal if they have the same cards in the same places, places after the end of a pile are not compared
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof CompactState)) return false;
+        byte[] other = ((CompactState) o).data;
+        for (int i = PILE_LENGTH; i < STOCK; i++) {
+            if (data[i] != other[i]) return false;
+        }
+        for (int t = 0; t < TABLEAUS; t++) {
+            if (!rangeEquals(other, PILES + t * PILE_CAPACITY, data[PILE_LENGTH + t])) return false;
+        }
+        return rangeEquals(other, STOCK, data[STOCK_LENGTH]) && rangeEquals(other, WASTE, data[WASTE_LENGTH]);
+    }
+
+    private boolean rangeEquals(byte[] other, int from, int length) {
+        for (int i = from; i < from + length; i++) {
+            if (data[i] != other[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() { return Long.hashCode(getHash()); }
+
+    //endregion
+
+    //region Cards and moves
+
+    public static int cardId(int suit, int value) { return suit * 13 + value - 1; }
+    public static int suitOf(int id) { return id / 13; }
+    public static int valueOf(int id) { return id % 13 + 1; }
+
+    /**
+     * Returns the id of a card, UNKNOWN if the card is null. The ids are the same as Card.getId.
+     */
+    public static int idOf(Card card) { return card == null ? UNKNOWN : card.getId(); }
+
+    public static Card toCard(int id) { return Card.byId(id); }
+
+    /**
+     * Packs a move into an int: type in bits 0-3, from in 4-7, to in 8-11, count in 12-17 and card in 18-23
+     */
+    static int encode(int type, int from, int to, int count, int card) {
+        return type | from << 4 | to << 8 | count << 12 | card << 18;
+    }
+
+    public static int moveType(int move) { return move & 0xF; }
+    public static int moveFrom(int move) { return move >>> 4 & 0xF; }
+    public static int moveTo(int move) { return move >>> 8 & 0xF; }
+    public static int moveCount(int move) { return move >>> 12 & 0x3F; }
+    public static int moveCard(int move) { return move >>> 18 & 0x3F; }
+
+    //endregion
+}
@@ -0,0 +1,15 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+/**
+ * Scoring function used by the search engine to compare positions. A higher score is a better position.
+ */
+public interface Evaluator {
+
+    /**
+     * Scores a position
+     *
+     * @param state The position to score
+     * @return      Score of the position, higher is better
+     */
+    int evaluate(CompactState state);
+}
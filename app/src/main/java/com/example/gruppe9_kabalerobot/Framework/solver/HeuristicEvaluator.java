@@ -0,0 +1,24 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+/**
+ * Default scoring function. Rewards turned hidden cards the most, since they decide if a game can be won,
+ * then cards in the foundations and empty spaces.
+ */
+public class HeuristicEvaluator implements Evaluator {
+    public static final int WIN_SCORE = 10000;
+
+    private static final int HIDDEN_CARD = -20;      //Per hidden card left in the tableaus
+    private static final int FOUNDATION_CARD = 10;   //Per card in the foundations
+    private static final int EMPTY_SPACE = 4;        //Per empty space in the tableaus
+    private static final int NEW_WASTE_CARD = 2;     //If a new card in the waste is to be seen
+
+    @Override
+    public int evaluate(CompactState state) {
+        if (state.isWon()) return WIN_SCORE;
+
+        return HIDDEN_CARD * state.countHiddenCards()
+                + FOUNDATION_CARD * state.countFoundationCards()
+                + EMPTY_SPACE * state.countEmptySpaces()
+                + (state.isWasteUnknown() ? NEW_WASTE_CARD : 0);
+    }
+}
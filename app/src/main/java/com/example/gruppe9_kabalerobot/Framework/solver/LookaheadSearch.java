@@ -0,0 +1,124 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireLogic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Search engine that looks several moves ahead with an iterative deepening depth first search.
+ * Every legal move is scored by the best position reachable after it, found within the depth and time limits of the SearchConfig.
+ * The searches of an instance run one at a time, so one instance can be shared by the screens of the app,
+ * and its transposition table is kept between the moves of a game.
+ */
+public class LookaheadSearch implements SearchEngine {
+    final SearchConfig config;
+    final Evaluator evaluator;
+    final TranspositionTable table;     //Positions already scored, null if turned off in the SearchConfig
+    private final SearchWorker worker;  //Searches the moves one after another
+
+    private boolean depthLimited;   //True if the latest iteration was stopped by the depth and not the end of the game
+    private long nodeCount;         //Positions visited by the latest search
+    private long tableHits;         //Positions of the latest search found in the transposition table
+    private int completedDepth;     //Deepest iteration the latest search finished
+
+    /**
+     * Constructor with the default limits and scoring function
+     */
+    public LookaheadSearch() {
+        this(new SearchConfig(), new HeuristicEvaluator());
+    }
+
+    /**
+     * Constructor for LookaheadSearch
+     *
+     * @param config    Depth and time limits of the search
+     * @param evaluator Scoring function for positions
+     */
+    public LookaheadSearch(SearchConfig config, Evaluator evaluator) {
+        this.config = config;
+        this.evaluator = evaluator;
+        this.table = config.getTableMegabytes() > 0 ? new TranspositionTable(config.getTableMegabytes()) : null;
+        this.worker = new SearchWorker(config, evaluator, table);
+    }
+
+    @Override
+    public synchronized List<Move> rankMoves(SolitaireLogic game) {
+        CompactState state = CompactState.fromLogic(game);
+        int[] buffer = new int[CompactState.MAX_MOVES];
+        int moveCount = state.generateMoves(buffer, 0);
+        int[] moves = Arrays.copyOf(buffer, moveCount);
+
+        long deadline = config.isDeterministic() ? Long.MAX_VALUE : System.nanoTime() + config.getTimeBudgetMillis() * 1000000L;
+        nodeCount = 0;
+        tableHits = 0;
+        completedDepth = 0;
+        if (table != null) table.newSearch();
+
+        for (int depth = 1; depth <= config.getMaxDepth() && moveCount > 1; depth++) {
+            depthLimited = false;
+            int[] scores = new int[moveCount];
+            boolean finished = scoreMoves(state, moves, depth, deadline, scores);
+            //The first iteration only looks one move ahead and is always used
+            if (!finished && depth > 1) break;
+
+            moves = sortByScore(moves, scores);
+            completedDepth = depth;
+            if (!depthLimited || !finished) break; //Looking deeper will not change anything
+        }
+
+        List<Move> ranked = new ArrayList<>(moveCount);
+        for (int move : moves) ranked.add(state.toMove(move));
+        return ranked;
+    }
+
+    /**
+     * Scores every root move by searching to the given depth
+     *
+     * @param state     Position the moves are made from, is the same when returned
+     * @param moves     Encoded moves to score
+     * @param depth     Amount of moves to look ahead
+     * @param deadline  System.nanoTime() when the search has to stop
+     * @param scores    Filled with the score of each move
+     * @return          False if the deadline was passed before every move was scored
+     */
+    boolean scoreMoves(CompactState state, int[] moves, int depth, long deadline, int[] scores) {
+        worker.start(deadline);
+        for (int i = 0; i < moves.length; i++) {
+            if (worker.timeUp && depth > 1) break;
+            scores[i] = worker.scoreMove(state, moves[i], depth);
+        }
+        collect(worker);
+        return !worker.timeUp;
+    }
+
+    /**
+     * Adds the statistics of a worker to the latest search
+     */
+    void collect(SearchWorker worker) {
+        nodeCount += worker.nodeCount;
+        tableHits += worker.tableHits;
+        depthLimited |= worker.depthLimited;
+    }
+
+    /**
+     * Sorts the moves after their score, highest first. Moves with the same score keep their order.
+     */
+    private int[] sortByScore(int[] moves, int[] scores) {
+        Integer[] order = new Integer[moves.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(scores[b], scores[a]));
+
+        int[] sorted = new int[moves.length];
+        for (int i = 0; i < order.length; i++) sorted[i] = moves[order[i]];
+        return sorted;
+    }
+
+    /**
+     * Getters for statistics of the latest search
+     */
+    public long getNodeCount() { return nodeCount; }
+    public long getTableHits() { return tableHits; }
+    public int getCompletedDepth() { return completedDepth; }
+}
@@ -0,0 +1,47 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+/**
+ * Settings for the MonteCarloEvaluator
+ */
+public class MonteCarloConfig {
+    public static final int DEFAULT_SAMPLES = 64;
+    public static final int DEFAULT_MAX_ROLLOUT_MOVES = 400;
+
+    private final int samples;          //Amount of guesses of the unseen cards, every move is played out once per guess
+    private final long seed;            //Seed for the guesses and the play outs
+    private final int threads;          //Amount of threads sharing the samples
+    private final int maxRolloutMoves;  //Longest play out, a play out that does not win within this is lost
+
+    /**
+     * Constructor with the default settings, using every core of the device
+     */
+    public MonteCarloConfig() {
+        this(DEFAULT_SAMPLES, System.nanoTime(), Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_ROLLOUT_MOVES);
+    }
+
+    /**
+     * Constructor for MonteCarloConfig. The same seed and samples give the same result, whatever the amount of threads.
+     *
+     * @param samples           Amount of guesses of the unseen cards, at least 1
+     * @param seed              Seed for the guesses and play outs
+     * @param threads           Amount of threads, at least 1
+     * @param maxRolloutMoves   Longest play out, at least 1
+     */
+    public MonteCarloConfig(int samples, long seed, int threads, int maxRolloutMoves) {
+        if (samples < 1) throw new IllegalArgumentException("samples must be at least 1");
+        if (threads < 1) throw new IllegalArgumentException("threads must be at least 1");
+        if (maxRolloutMoves < 1) throw new IllegalArgumentException("maxRolloutMoves must be at least 1");
+        this.samples = samples;
+        this.seed = seed;
+        this.threads = threads;
+        this.maxRolloutMoves = maxRolloutMoves;
+    }
+
+    /**
+     * Getters for MonteCarloConfig class
+     */
+    public int getSamples() { return samples; }
+    public long getSeed() { return seed; }
+    public int getThreads() { return threads; }
+    public int getMaxRolloutMoves() { return maxRolloutMoves; }
+}
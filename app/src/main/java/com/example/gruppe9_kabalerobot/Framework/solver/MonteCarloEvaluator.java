@@ -0,0 +1,235 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireLogic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Search engine that ranks the moves by how often they lead to a won game, when the unseen cards are guessed.
+ *
+ * Every sample deals the unseen cards, the deck minus every recognized card, into the hidden places and the waste pile.
+ * Each legal move is then made on the deal and the game is played out with a fast random policy.
+ * Every move is played out on the same deals, so the moves are compared on equal terms.
+ *
+ * The samples are shared between threads. Every sample has its own random generator made from the seed and its number,
+ * so the result does not depend on the amount of threads or the order they finish in.
+ */
+public class MonteCarloEvaluator implements SearchEngine {
+    private static final long SAMPLE_SEED_STEP = 0x9E3779B97F4A7C15L;
+    private static final int RANDOM_MOVE_PERCENT = 20;  //Chance of not taking a foundation move or flip in a play out
+
+    private final MonteCarloConfig config;
+    private ExecutorService executor;   //Made the first time more than one thread is needed
+    private double[] winRates = new double[0];
+
+    /**
+     * Constructor with the default settings
+     */
+    public MonteCarloEvaluator() {
+        this(new MonteCarloConfig());
+    }
+
+    /**
+     * Constructor for MonteCarloEvaluator
+     *
+     * @param config    Settings for the sampling
+     */
+    public MonteCarloEvaluator(MonteCarloConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public List<Move> rankMoves(SolitaireLogic game) {
+        CompactState root = CompactState.fromLogic(game);
+        int[] rootMoves = new int[CompactState.MAX_MOVES];
+        int moveCount = root.generateMoves(rootMoves, 0);
+        int[] wins = countWins(root, Arrays.copyOf(rootMoves, moveCount));
+
+        //Sort by wins, moves with the same amount of wins keep their order
+        Integer[] order = new Integer[moveCount];
+        for (int i = 0; i < moveCount; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(wins[b], wins[a]));
+
+        List<Move> ranked = new ArrayList<>(moveCount);
+        double[] rates = new double[moveCount];
+        for (int i = 0; i < moveCount; i++) {
+            ranked.add(root.toMove(rootMoves[order[i]]));
+            rates[i] = (double) wins[order[i]] / config.getSamples();
+        }
+        winRates = rates;
+        return ranked;
+    }
+
+    /**
+     * Plays out every move on every sample
+     *
+     * @param root  Position the moves are made from
+     * @param moves The moves to compare
+     * @return      Amount of won play outs for every move
+     */
+    private int[] countWins(CompactState root, int[] moves) {
+        int[] wins = new int[moves.length];
+        if (moves.length == 0) return wins;
+
+        int threads = Math.min(config.getThreads(), config.getSamples());
+        if (threads == 1) return new SampleTask(root, moves, 0, config.getSamples()).call();
+
+        List<Future<int[]>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            int from = (int) ((long) config.getSamples() * i / threads);
+            int to = (int) ((long) config.getSamples() * (i + 1) / threads);
+            futures.add(getExecutor().submit(new SampleTask(root, moves, from, to)));
+        }
+        try {
+            for (Future<int[]> future : futures) {
+                int[] taskWins = future.get();
+                for (int i = 0; i < wins.length; i++) wins[i] += taskWins[i];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (Future<int[]> future : futures) future.cancel(true);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Play out failed", e.getCause());
+        }
+        return wins;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(config.getThreads(), runnable -> {
+                Thread thread = new Thread(runnable, "MonteCarloEvaluator");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Stops the threads of the evaluator, it can still be used afterwards but will start new threads
+     */
+    public synchronized void shutdown() {
+        if (executor != null) executor.shutdownNow();
+        executor = null;
+    }
+
+    /**
+     * Returns the share of won play outs for every move of the latest rankMoves, in the order of the ranked moves
+     */
+    public double[] getWinRates() { return winRates.clone(); }
+
+    /**
+     * Plays out every move on a range of the samples, with its own states and buffers so it can run beside other tasks
+     */
+    private class SampleTask implements Callable<int[]> {
+        private final CompactState root;
+        private final int[] rootMoves;
+        private final int from, to;     //Range of sample numbers
+
+        private final CompactState sample = new CompactState();
+        private final CompactState state = new CompactState();
+        private final int[] moves = new int[CompactState.MAX_MOVES];
+        private final int[] unseenCards = new int[CompactState.DECK_SIZE];   //Unseen cards of the root, in order
+        private final int[] unseen = new int[CompactState.DECK_SIZE];        //Unseen cards, shuffled for the current sample
+
+        SampleTask(CompactState root, int[] rootMoves, int from, int to) {
+            this.root = root;
+            this.rootMoves = rootMoves;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public int[] call() {
+            int[] wins = new int[rootMoves.length];
+            int unseenCount = root.findUnseenCards(unseenCards);
+
+            for (int s = from; s < to && !Thread.currentThread().isInterrupted(); s++) {
+                SplittableRandom random = new SplittableRandom(config.getSeed() + s * SAMPLE_SEED_STEP);
+                sample.copyFrom(root);
+                System.arraycopy(unseenCards, 0, unseen, 0, unseenCount);
+                for (int i = unseenCount - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int id = unseen[i];
+                    unseen[i] = unseen[j];
+                    unseen[j] = id;
+                }
+                sample.fillUnknownCards(unseen, unseenCount);
+
+                for (int m = 0; m < rootMoves.length; m++) {
+                    state.copyFrom(sample);
+                    state.apply(rootMoves[m]);
+                    if (playOut(state, random)) wins[m]++;
+                }
+            }
+            return wins;
+        }
+
+        /**
+         * Plays the game with a fast policy: mostly flips and foundation moves when there are any,
+         * else a random move, where drawing from the waste pile is only done when nothing else can be done.
+         *
+         * @return  True if the game was won
+         */
+        private boolean playOut(CompactState state, SplittableRandom random) {
+            int last = -1;
+            int progress = progressOf(state), idle = 0;
+
+            for (int step = 0; step < config.getMaxRolloutMoves(); step++) {
+                if (state.isWon()) return true;
+                int count = state.generateMoves(moves, 0);
+                int move = pickMove(count, last, random);
+                if (move == -1) return false;
+
+                state.apply(move);
+                last = move;
+                //Give up when the waste has been gone through twice without anything happening
+                int newProgress = progressOf(state);
+                if (newProgress != progress) {
+                    progress = newProgress;
+                    idle = 0;
+                } else if (++idle > 2 * (state.stockLength() + state.wasteLength()) + CompactState.TABLEAUS * 2) {
+                    return false;
+                }
+            }
+            return state.isWon();
+        }
+
+        private int pickMove(int count, int last, SplittableRandom random) {
+            if (count == 0) return -1;
+            //Flips and foundation moves come first from generateMoves
+            if (CompactState.moveType(moves[0]) <= CompactState.WASTE_TO_FOUNDATION && random.nextInt(100) >= RANDOM_MOVE_PERCENT) {
+                return moves[0];
+            }
+            int playable = 0, draw = -1;
+            for (int i = 0; i < count; i++) {
+                if (isPlayable(moves[i], last)) moves[playable++] = moves[i];
+                else if (CompactState.moveType(moves[i]) >= CompactState.DRAW) draw = moves[i];
+            }
+            return playable > 0 ? moves[random.nextInt(playable)] : draw;
+        }
+
+        /**
+         * Moves a play out may choose at random. Drawing is left for when nothing else can be done,
+         * and moves from the foundation or moving cards straight back are left out so play outs do not go in circles.
+         */
+        private boolean isPlayable(int move, int last) {
+            int type = CompactState.moveType(move);
+            if (type >= CompactState.DRAW || type == CompactState.FOUNDATION_TO_TABLEAU) return false;
+            return !(type == CompactState.TABLEAU_TO_TABLEAU && CompactState.moveType(last) == CompactState.TABLEAU_TO_TABLEAU
+                    && CompactState.moveFrom(move) == CompactState.moveTo(last) && CompactState.moveTo(move) == CompactState.moveFrom(last));
+        }
+
+        private int progressOf(CompactState state) {
+            return state.countFoundationCards() * 64 - state.countHiddenCards() * 2 + state.countEmptySpaces();
+        }
+    }
+}
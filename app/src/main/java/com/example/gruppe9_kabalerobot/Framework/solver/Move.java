@@ -0,0 +1,95 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import com.example.gruppe9_kabalerobot.Framework.model.Card;
+
+/**
+ * Class to act as a single legal move in a game of Solitaire, as found by a SearchEngine
+ */
+public class Move {
+
+    /**
+     * The different kinds of moves the search engine can suggest
+     */
+    public enum Type {
+        FLIP,                   //Turn the top hidden card of a tableau
+        TABLEAU_TO_FOUNDATION,  //Top card of a tableau to its foundation
+        WASTE_TO_FOUNDATION,    //Top card of waste to its foundation
+        WASTE_TO_TABLEAU,       //Top card of waste to a tableau
+        TABLEAU_TO_TABLEAU,     //One or more cards from a tableau to another tableau
+        FOUNDATION_TO_TABLEAU,  //Top card of a foundation back down to a tableau
+        DRAW,                   //Turn a new card from the waste pile
+        REDEAL                  //Turn the waste over to make a new waste pile
+    }
+
+    private final Type type;
+    private final int from;     //Index of the tableau the cards are taken from, -1 if none
+    private final int to;       //Index of the tableau the cards are put on, -1 if none
+    private final int count;    //Amount of cards moved
+    private final Card card;    //The card being moved, for runs the card in the back of the run
+    private final Card target;  //The card it is placed upon, null if empty space or foundation
+
+    /**
+     * Constructor for Move
+     *
+     * @param type      Kind of move
+     * @param from      Index of tableau cards are taken from, -1 if none
+     * @param to        Index of tableau cards are put on, -1 if none
+     * @param count     Amount of cards moved
+     * @param card      The moved card
+     * @param target    The card it is placed upon, null if none
+     */
+    public Move(Type type, int from, int to, int count, Card card, Card target) {
+        this.type = type;
+        this.from = from;
+        this.to = to;
+        this.count = count;
+        this.card = card;
+        this.target = target;
+    }
+
+    /**
+     * Translates the move into instructions for the user
+     *
+     * @return  Instructions to the user
+     */
+    public String toInstruction() {
+        switch (type) {
+            case FLIP:
+                return "Vend et kort fra en mulig byggestabel";
+            case TABLEAU_TO_FOUNDATION:
+            case WASTE_TO_FOUNDATION:
+                if (card.getValue() == 1) return "Ryk " + card.toString() + " til en tom grundbunke";
+                return "Flyt " + card.toString() + " til grundbunken med dens kulør";
+            case WASTE_TO_TABLEAU:
+                if (target == null) return "Flyt " + card.toString() + " til et tomt felt";
+                return "Tag " + card.toString() + " og placer kortet på " + target.toString();
+            case TABLEAU_TO_TABLEAU:
+                if (target == null) {
+                    if (count == 1) return "Flyt " + card.toString() + " til et tomt felt";
+                    return "Flyt " + card.toString() + " og kortene der ligger på den til et tomt felt";
+                }
+                if (count == 1) return "Tag " + card.toString() + ", og placer den på " + target.toString();
+                return "Tag " + card.toString() + " og kortene der ligger på den, og placer dem på " + target.toString();
+            case FOUNDATION_TO_TABLEAU:
+                return "Ryk " + card.toString() + " fra grundbunken ned på rækken med " + target.toString();
+            case DRAW:
+                return "Vend et kort fra bunken";
+            case REDEAL:
+                return "Vend bunken om og start forfra";
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * Getters for Move class
+     */
+    public Type getType() { return type; }
+    public int getFrom() { return from; }
+    public int getTo() { return to; }
+    public int getCount() { return count; }
+    public Card getCard() { return card; }
+    public Card getTarget() { return target; }
+
+    public String toString() { return toInstruction(); }
+}
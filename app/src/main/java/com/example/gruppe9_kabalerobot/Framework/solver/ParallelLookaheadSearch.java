@@ -0,0 +1,107 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Search engine that looks ahead like LookaheadSearch, but scores the root moves at the same time on a ForkJoinPool.
+ * Every root move is a task with its own copy of the position, and all tasks share one transposition table,
+ * so a position reached under two root moves is only searched once. Idle threads steal the waiting root moves.
+ *
+ * With a deterministic SearchConfig the moves are ranked exactly as the serial LookaheadSearch ranks them,
+ * for any amount of threads. The Evaluator is called from several threads at once, so it has to be thread safe.
+ */
+public class ParallelLookaheadSearch extends LookaheadSearch {
+    private final ForkJoinPool pool;
+    private SearchWorker[] workers = new SearchWorker[0];  //One per root move, kept between searches
+
+    /**
+     * Constructor with the default limits and scoring function, using every processor
+     */
+    public ParallelLookaheadSearch() {
+        this(new SearchConfig(), new HeuristicEvaluator(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for ParallelLookaheadSearch
+     *
+     * @param config        Depth and time limits of the search
+     * @param evaluator     Thread safe scoring function for positions
+     * @param parallelism   Amount of threads searching at the same time, at least 1
+     */
+    public ParallelLookaheadSearch(SearchConfig config, Evaluator evaluator, int parallelism) {
+        super(config, evaluator);
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @Override
+    boolean scoreMoves(CompactState state, int[] moves, int depth, long deadline, int[] scores) {
+        if (workers.length < moves.length) {
+            SearchWorker[] grown = new SearchWorker[moves.length];
+            System.arraycopy(workers, 0, grown, 0, workers.length);
+            for (int i = workers.length; i < grown.length; i++) grown[i] = new SearchWorker(config, evaluator, table);
+            workers = grown;
+        }
+
+        RootTask[] tasks = new RootTask[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            workers[i].start(deadline);
+            tasks[i] = new RootTask(workers[i], state.copy(), moves[i], depth, deadline);
+        }
+        pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+
+        boolean finished = true;
+        for (int i = 0; i < moves.length; i++) {
+            scores[i] = tasks[i].score;
+            collect(workers[i]);
+            if (workers[i].timeUp) finished = false;
+        }
+        return finished;
+    }
+
+    /**
+     * Stops the threads of the pool, the engine can not be used afterwards
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Returns the amount of threads searching at the same time
+     */
+    public int getParallelism() { return pool.getParallelism(); }
+
+    /**
+     * Scores a single root move on its own copy of the position
+     */
+    private static class RootTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SearchWorker worker;
+        private final CompactState state;
+        private final int move;
+        private final int depth;
+        private final long deadline;
+        private int score;
+
+        RootTask(SearchWorker worker, CompactState state, int move, int depth, long deadline) {
+            this.worker = worker;
+            this.state = state;
+            this.move = move;
+            this.depth = depth;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void compute() {
+            //A move started after the deadline is not needed, except in the first iteration which is always used
+            if (depth > 1 && System.nanoTime() > deadline) {
+                worker.timeUp = true;
+                return;
+            }
+            score = worker.scoreMove(state, move, depth);
+        }
+    }
+}
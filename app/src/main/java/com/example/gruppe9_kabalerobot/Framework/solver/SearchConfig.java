@@ -0,0 +1,68 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+/**
+ * Limits for how far and for how long a search engine looks ahead
+ */
+public class SearchConfig {
+    public static final int DEFAULT_MAX_DEPTH = 8;
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 40;
+
+    private final int maxDepth;             //Maximum amount of moves looked ahead
+    private final long timeBudgetMillis;    //Time the search is allowed to use, in milliseconds
+    private final int tableMegabytes;       //Memory for the transposition table, 0 for no table
+    private final boolean deterministic;    //True if the time budget is ignored, so every search of a position gives the same result
+
+    /**
+     * Constructor with the default limits, which keeps a suggestion well under 50 ms on a phone
+     */
+    public SearchConfig() {
+        this(DEFAULT_MAX_DEPTH, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * Constructor for SearchConfig
+     *
+     * @param maxDepth          Maximum amount of moves looked ahead, at least 1
+     * @param timeBudgetMillis  Time the search is allowed to use, in milliseconds
+     */
+    public SearchConfig(int maxDepth, long timeBudgetMillis) {
+        this(maxDepth, timeBudgetMillis, TranspositionTable.DEFAULT_MEGABYTES);
+    }
+
+    /**
+     * Constructor for SearchConfig
+     *
+     * @param maxDepth          Maximum amount of moves looked ahead, at least 1
+     * @param timeBudgetMillis  Time the search is allowed to use, in milliseconds
+     * @param tableMegabytes    Memory for the transposition table, 0 to search without one
+     */
+    public SearchConfig(int maxDepth, long timeBudgetMillis, int tableMegabytes) {
+        this(maxDepth, timeBudgetMillis, tableMegabytes, false);
+    }
+
+    /**
+     * Constructor for SearchConfig. A deterministic search always goes to maxDepth, and only uses transposition table entries
+     * searched to exactly the depth needed, so the result does not depend on timing or on the order positions are searched in.
+     *
+     * @param maxDepth          Maximum amount of moves looked ahead, at least 1
+     * @param timeBudgetMillis  Time the search is allowed to use, in milliseconds, ignored if deterministic
+     * @param tableMegabytes    Memory for the transposition table, 0 to search without one
+     * @param deterministic     True to give the same result every time, for any amount of threads
+     */
+    public SearchConfig(int maxDepth, long timeBudgetMillis, int tableMegabytes, boolean deterministic) {
+        if (maxDepth < 1) throw new IllegalArgumentException("maxDepth must be at least 1");
+        if (tableMegabytes < 0) throw new IllegalArgumentException("tableMegabytes can not be negative");
+        this.maxDepth = maxDepth;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.tableMegabytes = tableMegabytes;
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * Getters for SearchConfig class
+     */
+    public int getMaxDepth() { return maxDepth; }
+    public long getTimeBudgetMillis() { return timeBudgetMillis; }
+    public int getTableMegabytes() { return tableMegabytes; }
+    public boolean isDeterministic() { return deterministic; }
+}
@@ -0,0 +1,19 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireLogic;
+
+import java.util.List;
+
+/**
+ * A search engine that can find and rank the legal moves of a game of Solitaire
+ */
+public interface SearchEngine {
+
+    /**
+     * Finds every legal move from the position and ranks them
+     *
+     * @param game  The current game, is not changed
+     * @return      List of legal moves, best move first. Empty if there are no moves
+     */
+    List<Move> rankMoves(SolitaireLogic game);
+}
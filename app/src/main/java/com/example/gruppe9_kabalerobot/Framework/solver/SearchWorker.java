@@ -0,0 +1,105 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+/**
+ * The depth first search of a single thread, used by LookaheadSearch and by every task of ParallelLookaheadSearch.
+ * The transposition table may be shared between workers, everything else belongs to the worker.
+ */
+class SearchWorker {
+    static final int MOVE_COST = 1;                     //Subtracted per move, so shorter ways to the same position are preferred
+    private static final int TIME_CHECK_INTERVAL = 256; //Amount of positions visited between each look at the clock
+
+    private final Evaluator evaluator;
+    private final TranspositionTable table; //Positions already scored, null if not used
+    private final boolean exactHits;        //True if only table entries searched to exactly the same depth are used
+    private final int[] moveBuffer;         //Moves of every ply, ply n starts at n * MAX_MOVES
+
+    private long deadline;          //System.nanoTime() when the search has to stop
+    boolean timeUp;                 //True when the deadline has been passed
+    boolean depthLimited;           //True if a search was stopped by the depth and not the end of the game
+    long nodeCount;                 //Positions visited since start
+    long tableHits;                 //Positions found in the transposition table since start
+
+    /**
+     * Constructor for SearchWorker
+     *
+     * @param config    Depth limit of the search, and whether it is deterministic
+     * @param evaluator Scoring function for positions
+     * @param table     Transposition table, null to search without one
+     */
+    SearchWorker(SearchConfig config, Evaluator evaluator, TranspositionTable table) {
+        this.evaluator = evaluator;
+        this.table = table;
+        this.exactHits = config.isDeterministic();
+        this.moveBuffer = new int[(config.getMaxDepth() + 1) * CompactState.MAX_MOVES];
+    }
+
+    /**
+     * Resets the statistics and flags before a new search
+     *
+     * @param deadline  System.nanoTime() when the search has to stop
+     */
+    void start(long deadline) {
+        this.deadline = deadline;
+        timeUp = false;
+        depthLimited = false;
+        nodeCount = 0;
+        tableHits = 0;
+    }
+
+    /**
+     * Scores a move by the best position reachable after it
+     *
+     * @param state Position the move is made from, is the same when returned
+     * @param move  Encoded move
+     * @param depth Amount of moves to look ahead, counting the move itself
+     * @return      Score of the best position found
+     */
+    int scoreMove(CompactState state, int move, int depth) {
+        state.apply(move);
+        int score = search(state, depth - 1, 1) - MOVE_COST;
+        state.undo(move);
+        return score;
+    }
+
+    /**
+     * Finds the score of the best position reachable within the given amount of moves
+     *
+     * @param state Position to search from, is the same when returned
+     * @param depth Amount of moves left to look ahead
+     * @param ply   Amount of moves made from the root, decides where in the move buffer the moves are kept
+     * @return      Score of the best position found
+     */
+    private int search(CompactState state, int depth, int ply) {
+        if (++nodeCount % TIME_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) timeUp = true;
+
+        if (table != null && depth > 0) {
+            long result = table.probe(state.getHash());
+            int tableDepth = TranspositionTable.depthOf(result);
+            if (result != TranspositionTable.MISS && (exactHits ? tableDepth == depth : tableDepth >= depth)) {
+                tableHits++;
+                depthLimited = true; //The table does not know if the position was searched to the end, so expect it was not
+                return TranspositionTable.scoreOf(result);
+            }
+        }
+
+        int best = evaluator.evaluate(state);
+        if (state.isWon()) return best;
+        if (depth == 0) {
+            depthLimited = true;
+            return best;
+        }
+        int offset = ply * CompactState.MAX_MOVES;
+        int end = offset + state.generateMoves(moveBuffer, offset);
+        for (int i = offset; i < end; i++) {
+            if (timeUp) break;
+            int move = moveBuffer[i];
+            state.apply(move);
+            int score = search(state, depth - 1, ply + 1) - MOVE_COST;
+            state.undo(move);
+            if (score > best) best = score;
+        }
+        //A search stopped by the clock has not seen every move, so it is not stored
+        if (table != null && !timeUp) table.store(state.getHash(), best, depth);
+        return best;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of the Solver, with the moves to win the game if one was found
+ */
+public class SolveResult {
+
+    /**
+     * The possible outcomes of solving a position
+     */
+    public enum Status {
+        WINNABLE,         //A way to win was found, and no cards were guessed, so it wins the real game
+        LIKELY_WINNABLE,  //Some guesses of the unseen cards could be won, see getWinRate
+        NOT_WINNABLE,     //Every sample was searched to the end without a win
+        UNKNOWN,          //The time or node budget ran out before an answer was found
+        CANCELLED         //The solver was stopped with cancel
+    }
+
+    private final Status status;
+    private final List<Move> moves;     //Moves to win the game or the first guess won, empty unless a win was found
+    private final boolean exact;        //True if no cards had to be guessed, so the answer holds for the real game
+    private final int samples;          //Amount of guesses of the unseen cards searched
+    private final int winningSamples;   //Amount of those guesses that could be won
+    private final long nodes;           //Positions visited
+    private final long elapsedMillis;   //Time used
+
+    /**
+     * Constructor for SolveResult
+     *
+     * @param status            Outcome of the search
+     * @param moves             Moves to win, empty if none
+     * @param exact             True if no cards were guessed
+     * @param samples           Amount of guesses searched
+     * @param winningSamples    Amount of guesses won
+     * @param nodes             Positions visited
+     * @param elapsedMillis     Time used, in milliseconds
+     */
+    public SolveResult(Status status, List<Move> moves, boolean exact, int samples, int winningSamples, long nodes, long elapsedMillis) {
+        this.status = status;
+        this.moves = Collections.unmodifiableList(moves);
+        this.exact = exact;
+        this.samples = samples;
+        this.winningSamples = winningSamples;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Returns the speed of the solver, used to size the budget for a device
+     *
+     * @return  Positions visited per second
+     */
+    public long getNodesPerSecond() {
+        return nodes * 1000 / Math.max(1, elapsedMillis);
+    }
+
+    /**
+     * Returns the part of the guesses searched that could be won, from 0 to 1
+     */
+    public double getWinRate() {
+        return samples == 0 ? 0 : (double) winningSamples / samples;
+    }
+
+    /**
+     * Getters for SolveResult class
+     */
+    public Status getStatus() { return status; }
+    public List<Move> getMoves() { return moves; }
+    public boolean isExact() { return exact; }
+    public int getSamples() { return samples; }
+    public int getWinningSamples() { return winningSamples; }
+    public long getNodes() { return nodes; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    public String toString() {
+        return status + " (" + winningSamples + "/" + samples + " samples won, " + moves.size() + " moves, "
+                + nodes + " nodes, " + getNodesPerSecond() + " nodes/s)";
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireLogic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Solves a whole game of Solitaire from a recognized position, to find out if it can be won and how.
+ *
+ * The cards not seen in the picture are guessed: every sample deals the unseen cards randomly into the hidden places,
+ * and the deal is searched to the end with a depth first search that never visits a position twice.
+ * Every sample gets an equal share of the budget left, so one hard deal can not use it all.
+ * If every card is known only one sample is needed, and the answer holds for the real game.
+ * Otherwise a win is only LIKELY_WINNABLE, with the part of the samples won, as the real deal may be one that was not won.
+ * The search only tries the moves CompactState.generateMoves gives, so NOT_WINNABLE means no win was found with those moves.
+ *
+ * The solver can be stopped from another thread with cancel. An instance is not thread safe otherwise, use one per search.
+ */
+public class Solver {
+    private static final int MAX_PLY = 1000;            //Longest line of moves searched
+    private static final int CHECK_INTERVAL = 1024;     //Amount of positions visited between each look at the clock
+
+    private final SolverConfig config;
+    private final int[] moveBuffer = new int[MAX_PLY * CompactState.MAX_MOVES];  //Moves of every ply, ply n starts at n * MAX_MOVES
+    private final int[] path = new int[MAX_PLY];                                 //Moves made from the start of the sample
+    private final VisitedSet visited;
+
+    private volatile boolean cancelled;
+    private long deadline;      //System.nanoTime() when the solver has to stop
+    private long nodes;         //Positions visited by the current solve
+    private boolean stopped;    //True when the budget is used or the solver is cancelled
+    private long sampleDeadline;    //System.nanoTime() when the current sample has to stop
+    private long sampleMaxNodes;    //Value of nodes when the current sample has to stop
+    private boolean sampleStopped;  //True when the current sample has used its share of the budget
+    private int winLength;      //Amount of moves in path when a win was found
+
+    /**
+     * Constructor with the default limits
+     */
+    public Solver() {
+        this(new SolverConfig());
+    }
+
+    /**
+     * Constructor for Solver
+     *
+     * @param config    Limits of the solver
+     */
+    public Solver(SolverConfig config) {
+        this.config = config;
+        this.visited = new VisitedSet(config.getMaxNodes());
+    }
+
+    /**
+     * Stops the solver as soon as possible. Can be called from any thread, and a cancelled solver stays cancelled.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Solves the game
+     *
+     * @param game  Position to solve, as made by CardTranslator.insertCards. Is not changed.
+     * @return      The outcome, with the moves to win if a win was found
+     */
+    public SolveResult solve(SolitaireLogic game) {
+        long start = System.nanoTime();
+        deadline = start + config.getTimeBudgetMillis() * 1000000L;
+        nodes = 0;
+        stopped = false;
+
+        CompactState root = CompactState.fromLogic(game);
+        int[] unseen = new int[CompactState.DECK_SIZE];
+        int unseenCount = root.findUnseenCards(unseen);
+        boolean exact = root.countUnknownCards() == 0;
+        Random random = new Random(config.getSeed());
+
+        CompactState sample = new CompactState();
+        CompactState state = new CompactState();
+        List<Move> moves = new ArrayList<>();
+        int samples = 0, winningSamples = 0;
+        int sampleCount = exact ? 1 : config.getSamples();
+        boolean undecided = false;  //True if a sample ran out of its budget
+
+        for (int i = 0; i < sampleCount && !stopped; i++) {
+            sample.copyFrom(root);
+            if (!exact) {
+                shuffle(unseen, unseenCount, random);
+                sample.fillUnknownCards(unseen, unseenCount);
+            }
+            state.copyFrom(sample);
+            visited.clear();
+            long now = System.nanoTime();
+            sampleDeadline = now + (deadline - now) / (sampleCount - i);
+            sampleMaxNodes = nodes + Math.max(1, (config.getMaxNodes() - nodes) / (sampleCount - i));
+            sampleStopped = false;
+
+            boolean won = search(state, 0);
+            if (stopped && !won) break; //A sample stopped halfway does not count
+            if (sampleStopped && !won) {
+                undecided = true;
+                continue;
+            }
+            samples++;
+            if (won) {
+                winningSamples++;
+                if (moves.isEmpty()) moves = replay(sample, winLength);
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+        SolveResult.Status status;
+        if (cancelled) status = SolveResult.Status.CANCELLED;
+        else if (winningSamples > 0) status = exact ? SolveResult.Status.WINNABLE : SolveResult.Status.LIKELY_WINNABLE;
+        else if (stopped || undecided) status = SolveResult.Status.UNKNOWN;
+        else status = SolveResult.Status.NOT_WINNABLE;
+        return new SolveResult(status, moves, exact, samples, winningSamples, nodes, elapsedMillis);
+    }
+
+    /**
+     * Searches for a win from the position
+     *
+     * @param state Position to search from, is the won position if a win is found, else the same when returned
+     * @param ply   Amount of moves made from the start of the sample
+     * @return      True if a win was found, the moves are then in path
+     */
+    private boolean search(CompactState state, int ply) {
+        if (state.isWon()) {
+            winLength = ply;
+            return true;
+        }
+        if (++nodes % CHECK_INTERVAL == 0) {
+            long now = System.nanoTime();
+            if (now > deadline || cancelled) stopped = true;
+            if (now > sampleDeadline) sampleStopped = true;
+        }
+        if (nodes >= config.getMaxNodes()) stopped = true;
+        if (nodes >= sampleMaxNodes) sampleStopped = true;
+        if (stopped || sampleStopped || ply == MAX_PLY || !visited.add(state.getHash())) return false;
+
+        int offset = ply * CompactState.MAX_MOVES;
+        int end = offset + state.generateMoves(moveBuffer, offset);
+        for (int i = offset; i < end && !stopped && !sampleStopped; i++) {
+            int move = moveBuffer[i];
+            state.apply(move);
+            path[ply] = move;
+            if (search(state, ply + 1)) return true;
+            state.undo(move);
+        }
+        return false;
+    }
+
+    /**
+     * Translates the moves in path into instances of Move, by making them again from the start of the sample
+     */
+    private List<Move> replay(CompactState sample, int length) {
+        CompactState state = sample.copy();
+        List<Move> moves = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            moves.add(state.toMove(path[i]));
+            state.apply(path[i]);
+        }
+        return moves;
+    }
+
+    /**
+     * Shuffles the first count ids of the array
+     */
+    private static void shuffle(int[] ids, int count, Random random) {
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+        }
+    }
+}
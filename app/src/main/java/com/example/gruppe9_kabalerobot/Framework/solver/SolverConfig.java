@@ -0,0 +1,47 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+/**
+ * Limits for the Solver, and how many guesses of the unseen cards it tries
+ */
+public class SolverConfig {
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 2000;
+    public static final long DEFAULT_MAX_NODES = 5000000;
+    public static final int DEFAULT_SAMPLES = 20;
+
+    private final long timeBudgetMillis;    //Time the solver is allowed to use, in milliseconds
+    private final long maxNodes;            //Maximum amount of positions visited, for all samples together
+    private final int samples;              //Amount of guesses of the unseen cards to solve
+    private final long seed;                //Seed for the guesses, the same seed gives the same guesses
+
+    /**
+     * Constructor with the default limits
+     */
+    public SolverConfig() {
+        this(DEFAULT_TIME_BUDGET_MILLIS, DEFAULT_MAX_NODES, DEFAULT_SAMPLES, 0);
+    }
+
+    /**
+     * Constructor for SolverConfig
+     *
+     * @param timeBudgetMillis  Time the solver is allowed to use, in milliseconds
+     * @param maxNodes          Maximum amount of positions visited, at least 1
+     * @param samples           Amount of guesses of the unseen cards, at least 1
+     * @param seed              Seed for the guesses
+     */
+    public SolverConfig(long timeBudgetMillis, long maxNodes, int samples, long seed) {
+        if (maxNodes < 1) throw new IllegalArgumentException("maxNodes must be at least 1");
+        if (samples < 1) throw new IllegalArgumentException("samples must be at least 1");
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.maxNodes = maxNodes;
+        this.samples = samples;
+        this.seed = seed;
+    }
+
+    /**
+     * Getters for SolverConfig class
+     */
+    public long getTimeBudgetMillis() { return timeBudgetMillis; }
+    public long getMaxNodes() { return maxNodes; }
+    public int getSamples() { return samples; }
+    public long getSeed() { return seed; }
+}
@@ -0,0 +1,130 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size table of positions the search has already scored, found by the Zobrist hash of the position.
+ * Positions reached through different orders of the same moves are then only searched once.
+ *
+ * Every entry is two longs, the hash and the packed result, kept in one array so a lookup touches a single cache line.
+ * An entry is looked for in BUCKET_SIZE places after its index. When a bucket is full the entry searched with the least depth,
+ * or one left over from an earlier search, is replaced.
+ *
+ * The table can be shared by several threads without locks. The first long of an entry holds the hash XOR the result,
+ * so an entry half written by another thread does not match its hash and is seen as a miss.
+ */
+public class TranspositionTable {
+    public static final int DEFAULT_MEGABYTES = 8;
+    public static final long MISS = 0;              //Returned by probe when the position is not in the table
+
+    private static final int ENTRY_LONGS = 2;
+    private static final int BUCKET_SIZE = 4;
+    private static final long FOUND = 1L << 62;     //Set in every stored result, so it can never be MISS
+
+    private final long[] entries;
+    private final int mask;         //Amount of entries - 1, the amount is a power of two
+    private int generation;         //Number of the current search, entries from earlier searches are replaced first
+
+    /**
+     * Constructor with the default size
+     */
+    public TranspositionTable() {
+        this(DEFAULT_MEGABYTES);
+    }
+
+    /**
+     * Constructor for TranspositionTable
+     *
+     * @param megabytes Maximum memory used by the table, at least 1
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) throw new IllegalArgumentException("megabytes must be at least 1");
+        long maxEntries = (long) megabytes * 1024 * 1024 / (ENTRY_LONGS * 8);
+        int size = Integer.highestOneBit((int) Math.min(maxEntries, 1 << 27));
+        entries = new long[size * ENTRY_LONGS];
+        mask = size - 1;
+    }
+
+    /**
+     * Marks the start of a new search, so the entries of the earlier searches are replaced before the new ones
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Removes every entry
+     */
+    public void clear() {
+        Arrays.fill(entries, 0);
+    }
+
+    /**
+     * Looks up a position
+     *
+     * @param hash  Zobrist hash of the position
+     * @return      The packed result stored for the position, MISS if it is not in the table
+     */
+    public long probe(long hash) {
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int index = (int) ((hash + i) & mask) * ENTRY_LONGS;
+            long result = entries[index + 1];
+            if (result != MISS && (entries[index] ^ result) == hash) return result;
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of a position, unless it is already stored from a deeper search
+     *
+     * @param hash  Zobrist hash of the position
+     * @param score Score found for the position
+     * @param depth Amount of moves searched from the position
+     */
+    public void store(long hash, int score, int depth) {
+        int replace = -1;
+        int replaceDepth = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int index = (int) ((hash + i) & mask) * ENTRY_LONGS;
+            long result = entries[index + 1];
+            if (result == MISS) {
+                write(index, hash, score, depth);
+                return;
+            }
+            //Entries from earlier searches count as if they had no depth
+            int entryDepth = generationOf(result) == generation ? depthOf(result) : -1;
+            if ((entries[index] ^ result) == hash) {
+                if (entryDepth <= depth) write(index, hash, score, depth);
+                return;
+            }
+            if (entryDepth < replaceDepth) {
+                replace = index;
+                replaceDepth = entryDepth;
+            }
+        }
+        if (replaceDepth <= depth) write(replace, hash, score, depth);
+    }
+
+    private void write(int index, long hash, int score, int depth) {
+        long result = FOUND | (long) generation << 40 | (long) (depth & 0xFF) << 32 | (score & 0xFFFFFFFFL);
+        entries[index] = hash ^ result;
+        entries[index + 1] = result;
+    }
+
+    /**
+     * Unpacks the score of a result from probe
+     */
+    public static int scoreOf(long result) { return (int) result; }
+
+    /**
+     * Unpacks the amount of moves searched from a result from probe
+     */
+    public static int depthOf(long result) { return (int) (result >>> 32) & 0xFF; }
+
+    private static int generationOf(long result) { return (int) (result >>> 40) & 0xFF; }
+
+    /**
+     * Returns the amount of entries the table can hold
+     */
+    public int capacity() { return mask + 1; }
+}
@@ -0,0 +1,91 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import java.util.Arrays;
+
+/**
+ * Set of Zobrist hashes of positions already visited, with open addressing in a long array.
+ * A hash is looked for in BUCKET_SIZE places after its index. The array doubles when half full or a bucket is full,
+ * up to a fixed power of two. From then on the set is lossy like the TranspositionTable: when a bucket is full
+ * one of its hashes is replaced, so a position forgotten that way is searched again instead of the set growing.
+ * The hash 0 is used to mark an empty place, so a position with the hash 0 is never remembered.
+ */
+class VisitedSet {
+    static final int MAX_CAPACITY = 1 << 21;        //Most hashes held, 16 MB
+    private static final int MIN_CAPACITY = 1 << 16;
+    private static final int BUCKET_SIZE = 16;       //Long enough that a bucket is seldom full before the array is half full
+
+    private final int maxCapacity;
+    private long[] hashes;
+    private int size;
+    private long replaced;      //Hashes forgotten to make room since the set was cleared
+
+    /**
+     * Constructor for VisitedSet
+     *
+     * @param maxPositions  Most positions that are added between two calls to clear, such as the node budget of the solver.
+     *                      The set is sized to hold them at half load, but never above MAX_CAPACITY.
+     */
+    VisitedSet(long maxPositions) {
+        int wanted = (int) Math.max(16, Math.min(maxPositions, MAX_CAPACITY / 2) * 2);
+        maxCapacity = Integer.highestOneBit(wanted * 2 - 1);
+        hashes = new long[Math.min(maxCapacity, MIN_CAPACITY)];
+    }
+
+    /**
+     * Adds a hash to the set
+     *
+     * @param hash  Hash to add
+     * @return      True if it was not in the set already, or has been forgotten
+     */
+    boolean add(long hash) {
+        if (hash == 0) return true;
+        if (size * 2 >= hashes.length && hashes.length < maxCapacity) grow();
+        while (true) {
+            int mask = hashes.length - 1;
+            int index = (int) Zobrist.mix(hash) & mask;
+            for (int i = 0; i < BUCKET_SIZE; i++) {
+                int place = (index + i) & mask;
+                if (hashes[place] == hash) return false;
+                if (hashes[place] == 0) {
+                    hashes[place] = hash;
+                    size++;
+                    return true;
+                }
+            }
+            if (hashes.length == maxCapacity) {
+                //The bucket is full, a hash in it picked by the four high bits of the new one is forgotten
+                hashes[(index + (int) (hash >>> 60)) & mask] = hash;
+                replaced++;
+                return true;
+            }
+            grow();     //Nothing is forgotten while the set can still grow
+        }
+    }
+
+    void clear() {
+        Arrays.fill(hashes, 0);
+        size = 0;
+        replaced = 0;
+    }
+
+    int size() { return size; }
+
+    /**
+     * Returns the amount of hashes forgotten to make room since the set was cleared
+     */
+    long replaced() { return replaced; }
+
+    /**
+     * Returns the most hashes the set can hold, the size of the array once it has stopped growing
+     */
+    int capacity() { return maxCapacity; }
+
+    private void grow() {
+        long[] old = hashes;
+        hashes = new long[old.length * 2];
+        size = 0;
+        for (long hash : old) {
+            if (hash != 0) add(hash);
+        }
+    }
+}
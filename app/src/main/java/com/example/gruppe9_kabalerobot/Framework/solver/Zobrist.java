@@ -0,0 +1,33 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import java.util.Random;
+
+/**
+ * Random keys for the Zobrist hash of a CompactState. The hash of a state is found by combining the keys of every card in its place.
+ * The keys come from a fixed seed, so a state has the same hash every time the app runs.
+ */
+class Zobrist {
+    private static final long SEED = 0x5EED_CAFE_F00DL;
+
+    final long[] pile = new long[CompactState.PILE_CAPACITY * CompactState.CARD_IDS];       //Card at an index in a tableau
+    final long[] hidden = new long[CompactState.PILE_CAPACITY + 1];                         //Amount of hidden cards in a tableau
+    final long[] foundation = new long[CompactState.SUITS * 14];                            //Value of the top card of a foundation
+    final long[] stock = new long[CompactState.DECK_SIZE * CompactState.CARD_IDS];          //Card at an index in the waste pile
+    final long[] waste = new long[CompactState.DECK_SIZE * CompactState.CARD_IDS];          //Card at an index in the turned waste
+
+    Zobrist() {
+        Random random = new Random(SEED);
+        for (long[] keys : new long[][]{pile, hidden, foundation, stock, waste}) {
+            for (int i = 0; i < keys.length; i++) keys[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Scrambles the hash of a tableau before it is added to the others, so two tableaus can not cancel each other out
+     */
+    static long mix(long h) {
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
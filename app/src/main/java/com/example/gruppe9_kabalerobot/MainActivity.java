@@ -9,15 +9,35 @@ import android.content.pm.PackageManager;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
+import android.widget.CompoundButton;
+import android.widget.Switch;
 
 import com.example.gruppe9_kabalerobot.CameraView.CameraViewActivity;
 import com.example.gruppe9_kabalerobot.Client.Client;
+import com.example.gruppe9_kabalerobot.Recognition.CardDetector;
+import com.example.gruppe9_kabalerobot.Recognition.CornerCardDetector;
+import com.example.gruppe9_kabalerobot.Recognition.DnnCardDetector;
+import com.example.gruppe9_kabalerobot.Recognition.LocalRecognizer;
+import com.example.gruppe9_kabalerobot.Recognition.RecognizerSelector;
+import com.example.gruppe9_kabalerobot.Recognition.TemplateAtlas;
+
+import org.opencv.core.Core;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 public class MainActivity extends AppCompatActivity implements View.OnClickListener {
 
     //region Fields
 
     private Button startCamera;
+    private Switch onDevice;
+    private static final String MODEL = "card_detector.pb";          //Network for finding the cards on the phone, in the assets
+    private static final String MODEL_CONFIG = "card_detector.pbtxt";
+    private static final String ATLAS = "card_atlas.png";            //Ranks and suits for finding the cards without the network
     private int PERMISSION_ALL = 1;
     private String[] PERMISSIONS = {android.Manifest.permission.WRITE_EXTERNAL_STORAGE, android.Manifest.permission.CAMERA};
 
@@ -35,10 +55,19 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
         }
 
         Client c = Client.getInstance();
+        c.setServer(getString(R.string.server_host), getResources().getInteger(R.integer.server_port));
+        RecognizerSelector selector = RecognizerSelector.getInstance();
+        selector.setServer(c);
 
         startCamera = findViewById(R.id.startCamera);
+        onDevice = findViewById(R.id.onDevice);
 
         startCamera.setOnClickListener(this);
+        onDevice.setChecked(selector.isOnDevice());
+        onDevice.setEnabled(selector.getDevice() != null);
+        onDevice.setOnCheckedChangeListener((CompoundButton button, boolean checked) ->
+                selector.setMode(checked ? RecognizerSelector.Mode.HYBRID : RecognizerSelector.Mode.SERVER));
+        if (selector.getDevice() == null) new Thread(this::loadDetector, "load-detector").start();
     }
 
     //endregion
@@ -57,6 +86,47 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
 
     //region Support methods
 
+    /**
+     * Loads the network for finding the cards on the phone, if it is in the assets, and lets the user choose it.
+     * Without the network the cards are found from their corners, if the atlas of ranks and suits is in the assets.
+     * OpenCV reads the files itself, so they are copied out of the assets first.
+     */
+    private void loadDetector() {
+        try {
+            System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+        } catch (UnsatisfiedLinkError e) {
+            System.out.println("No OpenCV on the phone, the server is used: " + e.getMessage());
+            return;
+        }
+        CardDetector detector;
+        try {
+            File model = copyAsset(MODEL);
+            File config = copyAsset(MODEL_CONFIG);
+            detector = new DnnCardDetector(model.getPath(), config.getPath());
+        } catch (IOException | RuntimeException e) {
+            try {
+                File atlas = copyAsset(ATLAS);
+                detector = new CornerCardDetector(TemplateAtlas.read(atlas.getPath(),
+                        TemplateAtlas.DEFAULT_CELL_WIDTH, TemplateAtlas.DEFAULT_CELL_HEIGHT));
+            } catch (IOException | RuntimeException e2) {
+                System.out.println("No card detector on the phone, the server is used: " + e2.getMessage());
+                return;
+            }
+        }
+        RecognizerSelector.getInstance().setDevice(new LocalRecognizer(detector));
+        runOnUiThread(() -> onDevice.setEnabled(true));
+    }
+
+    private File copyAsset(String name) throws IOException {
+        File file = new File(getFilesDir(), name);
+        try (InputStream in = getAssets().open(name); OutputStream out = new FileOutputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) out.write(buffer, 0, read);
+        }
+        return file;
+    }
+
     private static boolean hasPermissions(Context context, String... permissions) {
         if (context != null && permissions != null) {
             for (String permission : permissions) {
@@ -0,0 +1,87 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import com.example.gruppe9_kabalerobot.CardPlacement.CardPlacement;
+
+import java.util.Arrays;
+
+/**
+ * Waits for the board to lie still in the live video before a move is suggested for it.
+ *
+ * Every frame is reduced to the cards found and the rough place of each, a cell of a grid of COLUMNS x ROWS
+ * over the photo, so a box moving a few pixels is the same board while a card moved to another pile is not.
+ * A board is stable when the same cards lie in the same cells for the given amount of frames in a row,
+ * and it is reported once, until another board has been stable.
+ */
+public class BoardStabilizer {
+    public static final int DEFAULT_FRAMES = 3;
+    static final int COLUMNS = CardPlacement.TABLEAUS;
+    static final int ROWS = 4;
+    private static final int FACE_UP = 14 * COLUMNS * ROWS;     //Lowest number of a card turned up
+
+    private final int frames;
+    private int[] candidate = new int[0];       //Board of the latest frames
+    private int seen;                           //Frames in a row that showed the candidate
+    private int[] reported;                     //Latest board reported as stable, or null
+
+    public BoardStabilizer() {
+        this(DEFAULT_FRAMES);
+    }
+
+    /**
+     * @param frames    Frames in a row that must show the same board
+     */
+    public BoardStabilizer(int frames) {
+        if (frames < 1) throw new IllegalArgumentException("At least one frame is needed, not " + frames);
+        this.frames = frames;
+    }
+
+    /**
+     * Adds the cards of the next frame
+     *
+     * @param cards     Rows of x, y, width, height, value and suit in pixels of the photo
+     * @param width     Width of the photo
+     * @param height    Height of the photo
+     * @return          True if the board just became stable and is not the board reported last
+     */
+    public synchronized boolean offer(int[][] cards, int width, int height) {
+        int[] board = boardOf(cards, width, height);
+        if (Arrays.equals(board, candidate)) {
+            seen++;
+        } else {
+            candidate = board;
+            seen = 1;
+        }
+        if (seen != frames || board.length == 0 || Arrays.equals(board, reported)) return false;
+        reported = board;
+        return true;
+    }
+
+    /**
+     * Forgets the frames and the board reported, such as when the live video is started again
+     */
+    public synchronized void reset() {
+        candidate = new int[0];
+        seen = 0;
+        reported = null;
+    }
+
+    /**
+     * Every card as one number of its suit, value and cell, sorted. A card found twice in a cell is kept once,
+     * while every card turned down is kept, as they look the same.
+     */
+    static int[] boardOf(int[][] cards, int width, int height) {
+        int[] board = new int[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            int[] card = cards[i];
+            int column = Math.min(COLUMNS - 1, Math.max(0, (card[0] + card[2] / 2) * COLUMNS / Math.max(1, width)));
+            int row = Math.min(ROWS - 1, Math.max(0, (card[1] + card[3] / 2) * ROWS / Math.max(1, height)));
+            board[i] = ((card[5] * 14 + card[4]) * COLUMNS + column) * ROWS + row;
+        }
+        Arrays.sort(board);
+        int distinct = 0;
+        for (int i = 0; i < board.length; i++) {
+            if (i == 0 || board[i] != board[i - 1] || board[i] < FACE_UP) board[distinct++] = board[i];
+        }
+        return Arrays.copyOf(board, distinct);
+    }
+}
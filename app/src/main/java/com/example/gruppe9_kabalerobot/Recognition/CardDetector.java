@@ -0,0 +1,29 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import org.opencv.core.Mat;
+
+/**
+ * Finds the cards in a photo on the phone, without the python server
+ */
+public interface CardDetector {
+
+    /**
+     * Finds the cards in a photo
+     *
+     * @param image     The photo as 8 bit BGR, as given by Imgcodecs
+     * @return          One row of x, y, width, height, value and suit for every card, in pixels of the photo,
+     *                  followed by how sure the detector is of the card in percent, at CardObj.CONFIDENCE
+     */
+    int[][] detect(Mat image);
+
+    /**
+     * Time the latest call to detect spent in the network, in milliseconds, or -1 before the first
+     */
+    double getLastInferenceMillis();
+
+    /**
+     * True if cards lying partly under others are found, such as the cards turned up in a tableau under its top card,
+     * false if only cards with a free outline are
+     */
+    boolean findsCoveredCards();
+}
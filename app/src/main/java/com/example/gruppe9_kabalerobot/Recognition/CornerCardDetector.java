@@ -0,0 +1,247 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfPoint;
+import org.opencv.core.MatOfPoint2f;
+import org.opencv.core.Point;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the cards without a network, from the outline of every card and the rank and suit in its corner.
+ *
+ * The light cards are cut from the table with a threshold, and every outline with four corners of a sensible size is
+ * taken to be a card. The card is warped upright to CARD_WIDTH x CARD_HEIGHT, and the corner index is compared with
+ * the templates of a TemplateAtlas. The corners of every card in the frame are stacked in one strip, so every template
+ * is matched once per frame, however many cards there are. A card whose rank or suit matches worse than the
+ * minimum score is left out.
+ *
+ * Only cards whose outline is free are found, such as the top card of every tableau, the waste and the foundations,
+ * and not the cards lying under others, so it is a cheap stand-in for the network, not a replacement.
+ * Like the server, the box sent for a card is the box of its corner index, in pixels of the photo.
+ * The confidence of a card is the worse of the scores of its rank and its suit, in percent.
+ * The Mats are kept between frames, so a detector should be used from one thread.
+ */
+public class CornerCardDetector implements CardDetector {
+    public static final int CARD_WIDTH = 200;       //Size of a card warped upright, in pixels
+    public static final int CARD_HEIGHT = 300;
+    public static final double DEFAULT_MIN_SCORE = 0.5;
+    static final int INDEX_X = 4;                   //Corner of the rank on the warped card
+    static final int INDEX_Y = 6;
+    static final int SLACK = 4;                     //Pixels the index can be off in every direction
+    static final double MIN_AREA = 0.002;           //Smallest part of the photo a card can cover
+    static final double MAX_AREA = 0.2;             //Largest part of the photo a card can cover
+
+    private final TemplateAtlas atlas;
+    private final double minScore;
+    private final Rect rankArea;
+    private final Rect suitArea;
+    private final MatOfPoint2f upright;             //Corners of the warped card
+    private final MatOfPoint2f index;               //Corners of the index on the warped card
+
+    //Kept between frames
+    private final Mat gray = new Mat();
+    private final Mat binary = new Mat();
+    private final Mat hierarchy = new Mat();
+    private final Mat warped = new Mat();
+    private final Mat rankStrip = new Mat();
+    private final Mat suitStrip = new Mat();
+    private final Mat matches = new Mat();
+    private double lastMillis = -1;
+
+    public CornerCardDetector(TemplateAtlas atlas) {
+        this(atlas, DEFAULT_MIN_SCORE);
+    }
+
+    /**
+     * @param atlas         Templates of the ranks and suits
+     * @param minScore      Lowest normalized correlation, from -1 to 1, of both the rank and the suit of a card kept
+     */
+    public CornerCardDetector(TemplateAtlas atlas, double minScore) {
+        this.atlas = atlas;
+        this.minScore = minScore;
+        int width = atlas.getCellWidth() + 2 * SLACK;
+        int height = atlas.getCellHeight() + 2 * SLACK;
+        rankArea = new Rect(INDEX_X, INDEX_Y, width, height);
+        suitArea = new Rect(INDEX_X, INDEX_Y + atlas.getCellHeight(), width, height);
+        if (suitArea.x + width > CARD_WIDTH || suitArea.y + height > CARD_HEIGHT / 2) {
+            throw new IllegalArgumentException("Cells of " + atlas.getCellWidth() + " x " + atlas.getCellHeight() + " do not fit the corner of a card");
+        }
+        upright = new MatOfPoint2f(new Point(0, 0), new Point(CARD_WIDTH, 0), new Point(CARD_WIDTH, CARD_HEIGHT), new Point(0, CARD_HEIGHT));
+        index = new MatOfPoint2f(new Point(INDEX_X, INDEX_Y), new Point(INDEX_X + width, INDEX_Y),
+                new Point(INDEX_X + width, suitArea.y + height), new Point(INDEX_X, suitArea.y + height));
+    }
+
+    @Override
+    public int[][] detect(Mat image) {
+        long start = System.nanoTime();
+        Imgproc.cvtColor(image, gray, Imgproc.COLOR_BGR2GRAY);
+        List<Point[]> cards = findCards(image.total());
+        int count = cards.size();
+        if (count == 0) {
+            lastMillis = (System.nanoTime() - start) / 1e6;
+            return new int[0][];
+        }
+
+        //Warp every card upright, and stack the rank and the suit of its corner in the strips
+        int[][] boxes = new int[count][];
+        rankStrip.create(count * rankArea.height, rankArea.width, CvType.CV_8UC1);
+        suitStrip.create(count * suitArea.height, suitArea.width, CvType.CV_8UC1);
+        for (int i = 0; i < count; i++) {
+            MatOfPoint2f corners = new MatOfPoint2f(cards.get(i));
+            Mat transform = Imgproc.getPerspectiveTransform(corners, upright);
+            Imgproc.warpPerspective(gray, warped, transform, new Size(CARD_WIDTH, CARD_HEIGHT));
+            copyInto(warped.submat(rankArea), rankStrip, i);
+            copyInto(warped.submat(suitArea), suitStrip, i);
+            boxes[i] = indexBox(corners, image.cols(), image.rows());
+            transform.release();
+            corners.release();
+        }
+        Imgproc.threshold(rankStrip, rankStrip, 0, 255, Imgproc.THRESH_BINARY_INV | Imgproc.THRESH_OTSU);
+        Imgproc.threshold(suitStrip, suitStrip, 0, 255, Imgproc.THRESH_BINARY_INV | Imgproc.THRESH_OTSU);
+
+        int[] values = new int[count];
+        int[] suits = new int[count];
+        double[] rankScores = bestMatches(rankStrip, rankArea.height, true, count, values);
+        double[] suitScores = bestMatches(suitStrip, suitArea.height, false, count, suits);
+
+        List<int[]> found = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (rankScores[i] < minScore || suitScores[i] < minScore) continue;
+            int[] box = boxes[i];
+            int confidence = (int) Math.round(Math.min(rankScores[i], suitScores[i]) * 100);
+            found.add(new int[]{box[0], box[1], box[2], box[3], values[i], suits[i], confidence});
+        }
+        lastMillis = (System.nanoTime() - start) / 1e6;
+        return found.toArray(new int[0][]);
+    }
+
+    @Override
+    public double getLastInferenceMillis() { return lastMillis; }
+
+    @Override
+    public boolean findsCoveredCards() { return false; }
+
+    /**
+     * Finds the outlines of the cards in the gray photo
+     *
+     * @return  The corners of every card, ordered so the card is upright from the first corner
+     */
+    private List<Point[]> findCards(double photoArea) {
+        Imgproc.GaussianBlur(gray, binary, new Size(5, 5), 0);
+        Imgproc.threshold(binary, binary, 0, 255, Imgproc.THRESH_BINARY | Imgproc.THRESH_OTSU);
+        List<MatOfPoint> contours = new ArrayList<>();
+        Imgproc.findContours(binary, contours, hierarchy, Imgproc.RETR_EXTERNAL, Imgproc.CHAIN_APPROX_SIMPLE);
+
+        List<Point[]> cards = new ArrayList<>();
+        for (MatOfPoint contour : contours) {
+            double area = Imgproc.contourArea(contour);
+            if (area >= MIN_AREA * photoArea && area <= MAX_AREA * photoArea) {
+                Point[] corners = quadrilateral(contour);
+                if (corners != null) cards.add(corners);
+            }
+            contour.release();
+        }
+        return cards;
+    }
+
+    /**
+     * Simplifies an outline to four corners, ordered top left, top right, bottom right and bottom left of the card
+     * standing upright, or null if it does not have four corners
+     */
+    private static Point[] quadrilateral(MatOfPoint contour) {
+        MatOfPoint2f curve = new MatOfPoint2f(contour.toArray());
+        MatOfPoint2f approx = new MatOfPoint2f();
+        Imgproc.approxPolyDP(curve, approx, 0.02 * Imgproc.arcLength(curve, true), true);
+        Point[] points = approx.toArray();
+        curve.release();
+        approx.release();
+        if (points.length != 4) return null;
+        MatOfPoint polygon = new MatOfPoint(points);
+        boolean convex = Imgproc.isContourConvex(polygon);
+        polygon.release();
+        if (!convex) return null;
+
+        Point topLeft = points[0], topRight = points[0], bottomRight = points[0], bottomLeft = points[0];
+        for (Point p : points) {
+            if (p.x + p.y < topLeft.x + topLeft.y) topLeft = p;
+            if (p.x + p.y > bottomRight.x + bottomRight.y) bottomRight = p;
+            if (p.x - p.y > topRight.x - topRight.y) topRight = p;
+            if (p.x - p.y < bottomLeft.x - bottomLeft.y) bottomLeft = p;
+        }
+        //A card lying on its side is turned a quarter, which brings one of its two corner indexes to the top left
+        if (distance(topLeft, topRight) > distance(topLeft, bottomLeft)) {
+            return new Point[]{topRight, bottomRight, bottomLeft, topLeft};
+        }
+        return new Point[]{topLeft, topRight, bottomRight, bottomLeft};
+    }
+
+    /**
+     * Finds the box of the corner index in the photo, by warping the corners of the index back
+     *
+     * @return  x, y, width and height in pixels of the photo
+     */
+    private int[] indexBox(MatOfPoint2f corners, int width, int height) {
+        Mat back = Imgproc.getPerspectiveTransform(upright, corners);
+        MatOfPoint2f inPhoto = new MatOfPoint2f();
+        Core.perspectiveTransform(index, inPhoto, back);
+        double left = Double.MAX_VALUE, top = Double.MAX_VALUE, right = -Double.MAX_VALUE, bottom = -Double.MAX_VALUE;
+        for (Point p : inPhoto.toArray()) {
+            left = Math.min(left, p.x);
+            top = Math.min(top, p.y);
+            right = Math.max(right, p.x);
+            bottom = Math.max(bottom, p.y);
+        }
+        back.release();
+        inPhoto.release();
+        int x = (int) Math.max(0, Math.round(left));
+        int y = (int) Math.max(0, Math.round(top));
+        return new int[]{x, y, (int) Math.min(width, Math.round(right)) - x, (int) Math.min(height, Math.round(bottom)) - y};
+    }
+
+    /**
+     * Matches every template with the whole strip at once, and finds the best template for every card of it
+     *
+     * @param areaHeight    Rows of the strip of every card
+     * @param ranks         True to match the ranks of the atlas, false for the suits
+     * @param labels        Filled with the best rank or suit of every card
+     * @return              The score of the best template of every card
+     */
+    private double[] bestMatches(Mat strip, int areaHeight, boolean ranks, int count, int[] labels) {
+        double[] best = new double[count];
+        Arrays.fill(best, -1);
+        int templates = ranks ? TemplateAtlas.RANKS : TemplateAtlas.SUITS;
+        int positions = areaHeight - atlas.getCellHeight() + 1;     //Rows of the result where the template lies within one card
+        for (int t = 1; t <= templates; t++) {
+            Imgproc.matchTemplate(strip, ranks ? atlas.rank(t) : atlas.suit(t), matches, Imgproc.TM_CCOEFF_NORMED);
+            for (int i = 0; i < count; i++) {
+                Mat card = matches.submat(i * areaHeight, i * areaHeight + positions, 0, matches.cols());
+                double score = Core.minMaxLoc(card).maxVal;
+                card.release();
+                if (score > best[i]) {
+                    best[i] = score;
+                    labels[i] = t;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static void copyInto(Mat area, Mat strip, int i) {
+        Mat row = strip.submat(i * area.rows(), (i + 1) * area.rows(), 0, area.cols());
+        area.copyTo(row);
+        row.release();
+        area.release();
+    }
+
+    private static double distance(Point a, Point b) {
+        return Math.hypot(a.x - b.x, a.y - b.y);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+/**
+ * Turns the output of a card detection network into the rows the rest of the app reads: x, y, width, height,
+ * value and suit, in pixels of the photo, the same as the python server sends, followed by the score in percent.
+ *
+ * The network is an SSD, whose DetectionOutput layer gives ROW floats for every box: the image in the batch,
+ * the class, the score, and the left, top, right and bottom edges as parts of the image size.
+ * Class 0 is the background, classes 1 to 52 are the cards as (suit - 1) * 13 + value, and class BACK is a card
+ * turned down, sent as value and suit 0. Boxes under the score threshold are skipped, and of two boxes of the same
+ * class overlapping more than the overlap threshold only the best is kept.
+ * The same card found twice apart, such as at both of its corners, is kept twice, as the server does.
+ */
+public class DetectionDecoder {
+    public static final int ROW = 7;                //Floats for every box
+    public static final int BACK = 53;              //Class of a card turned down
+    public static final float DEFAULT_SCORE = 0.5f;
+    public static final float DEFAULT_OVERLAP = 0.45f;
+
+    private final float scoreThreshold;
+    private final float overlapThreshold;
+    private int[] order = new int[0];               //Rows kept, best score first, reused between frames
+    private boolean[] dropped = new boolean[0];
+
+    /**
+     * Constructor with the default thresholds
+     */
+    public DetectionDecoder() {
+        this(DEFAULT_SCORE, DEFAULT_OVERLAP);
+    }
+
+    /**
+     * @param scoreThreshold    Lowest score of a box that is kept, from 0 to 1
+     * @param overlapThreshold  Most a box can overlap a better box of the same class, as intersection over union
+     */
+    public DetectionDecoder(float scoreThreshold, float overlapThreshold) {
+        if (scoreThreshold < 0 || scoreThreshold > 1) throw new IllegalArgumentException("The score threshold is from 0 to 1, not " + scoreThreshold);
+        if (overlapThreshold <= 0 || overlapThreshold > 1) throw new IllegalArgumentException("The overlap threshold is above 0 and at most 1, not " + overlapThreshold);
+        this.scoreThreshold = scoreThreshold;
+        this.overlapThreshold = overlapThreshold;
+    }
+
+    /**
+     * Decodes the boxes of one image
+     *
+     * @param output    ROW floats for every box, as given by the network
+     * @param boxes     Amount of boxes in the output
+     * @param width     Width of the photo in pixels
+     * @param height    Height of the photo in pixels
+     * @return          One row of x, y, width, height, value, suit and score in percent for every card, best score first
+     */
+    public int[][] decode(float[] output, int boxes, int width, int height) {
+        if (output.length < boxes * ROW) throw new IllegalArgumentException(boxes + " boxes need " + boxes * ROW + " floats, not " + output.length);
+        if (order.length < boxes) {
+            order = new int[boxes];
+            dropped = new boolean[boxes];
+        }
+
+        //Boxes of a card with a score high enough, sorted by score. There are at most a few hundred, so insertion sort will do.
+        int count = 0;
+        for (int b = 0; b < boxes; b++) {
+            int classId = (int) output[b * ROW + 1];
+            float score = output[b * ROW + 2];
+            if (classId < 1 || classId > BACK || score < scoreThreshold) continue;
+            int k = count++;
+            while (k > 0 && output[order[k - 1] * ROW + 2] < score) {
+                order[k] = order[k - 1];
+                k--;
+            }
+            order[k] = b;
+        }
+
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            dropped[i] = false;
+            for (int j = 0; j < i && !dropped[i]; j++) {
+                if (!dropped[j] && sameClass(output, order[i], order[j]) && overlap(output, order[i], order[j]) > overlapThreshold) dropped[i] = true;
+            }
+            if (!dropped[i]) kept++;
+        }
+
+        int[][] cards = new int[kept][];
+        int c = 0;
+        for (int i = 0; i < count; i++) {
+            if (!dropped[i]) cards[c++] = toCard(output, order[i], width, height);
+        }
+        return cards;
+    }
+
+    /**
+     * Value of the card of a class, 0 for a card turned down
+     */
+    public static int valueOf(int classId) {
+        return classId == BACK ? 0 : (classId - 1) % 13 + 1;
+    }
+
+    /**
+     * Suit of the card of a class, 0 for a card turned down
+     */
+    public static int suitOf(int classId) {
+        return classId == BACK ? 0 : (classId - 1) / 13 + 1;
+    }
+
+    private static int[] toCard(float[] output, int b, int width, int height) {
+        int at = b * ROW;
+        int left = clamp(Math.round(output[at + 3] * width), width);
+        int top = clamp(Math.round(output[at + 4] * height), height);
+        int right = clamp(Math.round(output[at + 5] * width), width);
+        int bottom = clamp(Math.round(output[at + 6] * height), height);
+        int classId = (int) output[at + 1];
+        int confidence = Math.round(output[at + 2] * 100);
+        return new int[]{left, top, right - left, bottom - top, valueOf(classId), suitOf(classId), confidence};
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(max, value));
+    }
+
+    private static boolean sameClass(float[] output, int a, int b) {
+        return (int) output[a * ROW + 1] == (int) output[b * ROW + 1];
+    }
+
+    /**
+     * Intersection over union of two boxes
+     */
+    private static float overlap(float[] output, int a, int b) {
+        int i = a * ROW, j = b * ROW;
+        float width = Math.min(output[i + 5], output[j + 5]) - Math.max(output[i + 3], output[j + 3]);
+        float height = Math.min(output[i + 6], output[j + 6]) - Math.max(output[i + 4], output[j + 4]);
+        if (width <= 0 || height <= 0) return 0;
+        float intersection = width * height;
+        float areaA = (output[i + 5] - output[i + 3]) * (output[i + 6] - output[i + 4]);
+        float areaB = (output[j + 5] - output[j + 3]) * (output[j + 6] - output[j + 4]);
+        return intersection / (areaA + areaB - intersection);
+    }
+}
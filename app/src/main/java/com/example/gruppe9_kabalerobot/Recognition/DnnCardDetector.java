@@ -0,0 +1,74 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import org.opencv.core.Mat;
+import org.opencv.core.Scalar;
+import org.opencv.core.Size;
+import org.opencv.dnn.Dnn;
+import org.opencv.dnn.Net;
+
+/**
+ * Finds the cards with an SSD network trained in TensorFlow, run by the dnn module of the bundled OpenCV.
+ * OpenCV 3.4.0 can not read ONNX, so the network is a frozen TensorFlow graph with the text graph made for OpenCV.
+ *
+ * The photo is scaled to the input size of the network with the colors moved to -1 to 1, and the boxes found
+ * are read by a DetectionDecoder. The buffer the output is copied into is kept between photos.
+ * A detector is not thread safe, so it should be used from one thread, such as the one of the LocalRecognizer.
+ */
+public class DnnCardDetector implements CardDetector {
+    public static final int DEFAULT_INPUT_SIZE = 300;
+
+    private final Net net;
+    private final int inputSize;
+    private final DetectionDecoder decoder;
+    private float[] output = new float[0];
+    private double lastInferenceMillis = -1;
+
+    /**
+     * Loads the network with the default input size and thresholds
+     *
+     * @param modelPath     Path of the frozen graph, the .pb file
+     * @param configPath    Path of the text graph, the .pbtxt file
+     */
+    public DnnCardDetector(String modelPath, String configPath) {
+        this(modelPath, configPath, DEFAULT_INPUT_SIZE, new DetectionDecoder());
+    }
+
+    /**
+     * @param modelPath     Path of the frozen graph, the .pb file
+     * @param configPath    Path of the text graph, the .pbtxt file
+     * @param inputSize     Width and height of the input of the network, in pixels
+     * @param decoder       Reads the boxes found
+     */
+    public DnnCardDetector(String modelPath, String configPath, int inputSize, DetectionDecoder decoder) {
+        this.net = Dnn.readNetFromTensorflow(modelPath, configPath);
+        if (net.empty()) throw new IllegalArgumentException("Could not read the network from " + modelPath);
+        this.inputSize = inputSize;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public int[][] detect(Mat image) {
+        Mat blob = Dnn.blobFromImage(image, 1 / 127.5, new Size(inputSize, inputSize),
+                new Scalar(127.5, 127.5, 127.5), true, false);
+        long start = System.nanoTime();
+        net.setInput(blob);
+        Mat result = net.forward();
+        lastInferenceMillis = (System.nanoTime() - start) / 1e6;
+
+        //The output is 1 x 1 x boxes x ROW, read as one box on every row
+        int boxes = (int) (result.total() / DetectionDecoder.ROW);
+        if (output.length < boxes * DetectionDecoder.ROW) output = new float[boxes * DetectionDecoder.ROW];
+        Mat rows = result.reshape(1, boxes);
+        if (boxes > 0) rows.get(0, 0, output);
+        rows.release();
+        result.release();
+        blob.release();
+        return decoder.decode(output, boxes, image.cols(), image.rows());
+    }
+
+    @Override
+    public double getLastInferenceMillis() { return lastInferenceMillis; }
+
+    @Override
+    public boolean findsCoveredCards() { return true; }
+}
@@ -0,0 +1,85 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+/**
+ * Keeps the live video to one frame at a time within a fixed time.
+ *
+ * A frame arriving while another is worked on is dropped rather than queued, and a frame that took longer than
+ * the budget is late, as newer frames show the board better than a late one. What is done with a late frame is up to
+ * the caller. The times are given by the caller, so the budget can be tested without a clock.
+ */
+public class FrameBudget {
+    public static final long DEFAULT_BUDGET_MILLIS = 250;
+
+    private final long budgetMillis;
+    private boolean busy;
+    private long started;
+    private int processed;
+    private int dropped;
+    private int late;
+
+    public FrameBudget() {
+        this(DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param budgetMillis  Longest time from a frame arriving to its cards being used
+     */
+    public FrameBudget(long budgetMillis) {
+        if (budgetMillis <= 0) throw new IllegalArgumentException("The budget must be positive, not " + budgetMillis);
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * Starts work on a frame
+     *
+     * @return  False if another frame is worked on, and this one must be dropped
+     */
+    public synchronized boolean tryStart(long nowMillis) {
+        if (busy) {
+            dropped++;
+            return false;
+        }
+        busy = true;
+        started = nowMillis;
+        return true;
+    }
+
+    /**
+     * Ends the work on the frame started, so the next frame can be taken
+     *
+     * @return  True if the frame was done within the budget and its cards can be used
+     */
+    public synchronized boolean finish(long nowMillis) {
+        if (!busy) throw new IllegalStateException("No frame is worked on");
+        busy = false;
+        if (nowMillis - started > budgetMillis) {
+            late++;
+            return false;
+        }
+        processed++;
+        return true;
+    }
+
+    /**
+     * True if a frame is worked on and is still within the budget, so its cards can be used once it is finished
+     */
+    public synchronized boolean isInTime(long nowMillis) {
+        return busy && nowMillis - started <= budgetMillis;
+    }
+
+    /**
+     * Part of the frames that were dropped or late, from 0 to 1
+     */
+    public synchronized double getDropRatio() {
+        int total = processed + dropped + late;
+        return total == 0 ? 0 : (double) (dropped + late) / total;
+    }
+
+    /**
+     * Getters for FrameBudget class
+     */
+    public long getBudgetMillis() { return budgetMillis; }
+    public synchronized int getProcessed() { return processed; }
+    public synchronized int getDropped() { return dropped; }
+    public synchronized int getLate() { return late; }
+}
@@ -0,0 +1,123 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Tells whether the table has changed since the latest frame whose cards were found, so an unchanged frame
+ * can skip the detector and the server.
+ *
+ * A frame is shrunk to a gray thumbnail of GRID_WIDTH x GRID_HEIGHT cells, every cell the mean of its pixels,
+ * and compared cell by cell with the thumbnail of the latest frame let through. A cell has changed when it differs
+ * by more than the pixel threshold, after taking out the change of the whole frame, so the camera adjusting its
+ * exposure is not a change. The frame has changed when more than the area threshold of the cells have.
+ * A card is a few cells of the thumbnail, so a card moved or turned is a change, while noise is not.
+ */
+public class FrameChangeDetector {
+    public static final int GRID_WIDTH = 32;
+    public static final int GRID_HEIGHT = 24;
+    public static final int DEFAULT_PIXEL_THRESHOLD = 12;       //Gray levels a cell must change by
+    public static final double DEFAULT_AREA_THRESHOLD = 0.01;   //Part of the cells that must change
+    private static final int STEP = 2;                          //Every second pixel of every second row is read
+
+    private final int pixelThreshold;
+    private final int areaThreshold;
+    private final int[] thumbnail = new int[GRID_WIDTH * GRID_HEIGHT];
+    private final int[] sums = new int[GRID_WIDTH * GRID_HEIGHT];
+    private final int[] counts = new int[GRID_WIDTH * GRID_HEIGHT];
+    private int[] reference;                    //Thumbnail of the latest frame let through, or null
+    private int checked;
+    private int skipped;
+
+    public FrameChangeDetector() {
+        this(DEFAULT_PIXEL_THRESHOLD, DEFAULT_AREA_THRESHOLD);
+    }
+
+    /**
+     * @param pixelThreshold    Gray levels, from 0 to 255, a cell must change by to have changed
+     * @param areaThreshold     Part of the cells, from 0 to 1, that must change for the frame to have changed
+     */
+    public FrameChangeDetector(int pixelThreshold, double areaThreshold) {
+        if (pixelThreshold < 0 || pixelThreshold > 255) throw new IllegalArgumentException("The pixel threshold is from 0 to 255, not " + pixelThreshold);
+        if (areaThreshold < 0 || areaThreshold > 1) throw new IllegalArgumentException("The area threshold is from 0 to 1, not " + areaThreshold);
+        this.pixelThreshold = pixelThreshold;
+        this.areaThreshold = (int) Math.floor(areaThreshold * thumbnail.length);
+    }
+
+    /**
+     * Compares a frame with the latest frame let through. A changed frame becomes the one compared with.
+     *
+     * @param gray          8 bit gray pixels, such as the Y plane of a YUV frame, read from position 0
+     * @param width         Width of the frame in pixels
+     * @param height        Height of the frame in pixels
+     * @param rowStride     Bytes from the start of one row to the next
+     * @return              True if the cards should be found again, false if the frame can be skipped
+     */
+    public synchronized boolean hasChanged(ByteBuffer gray, int width, int height, int rowStride) {
+        if (width < GRID_WIDTH || height < GRID_HEIGHT) throw new IllegalArgumentException("A frame of " + width + " x " + height + " is smaller than the grid");
+        shrink(gray, width, height, rowStride);
+        checked++;
+
+        if (reference != null && !differs()) {
+            skipped++;
+            return false;
+        }
+        if (reference == null) reference = new int[thumbnail.length];
+        System.arraycopy(thumbnail, 0, reference, 0, thumbnail.length);
+        return true;
+    }
+
+    /**
+     * Forgets the frame compared with, so the next frame is let through, such as when its cards were not found
+     */
+    public synchronized void reset() {
+        reference = null;
+    }
+
+    /**
+     * Part of the frames checked that were skipped, from 0 to 1
+     */
+    public synchronized double getSkipRatio() {
+        return checked == 0 ? 0 : (double) skipped / checked;
+    }
+
+    /**
+     * Getters for FrameChangeDetector class
+     */
+    public synchronized int getChecked() { return checked; }
+    public synchronized int getSkipped() { return skipped; }
+
+    /**
+     * Fills the thumbnail with the mean of the pixels of every cell
+     */
+    private void shrink(ByteBuffer gray, int width, int height, int rowStride) {
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] = 0;
+            counts[i] = 0;
+        }
+        for (int y = 0; y < height; y += STEP) {
+            int rowCell = y * GRID_HEIGHT / height * GRID_WIDTH;
+            int at = y * rowStride;
+            for (int x = 0; x < width; x += STEP) {
+                int cell = rowCell + x * GRID_WIDTH / width;
+                sums[cell] += gray.get(at + x) & 0xFF;
+                counts[cell]++;
+            }
+        }
+        for (int i = 0; i < thumbnail.length; i++) thumbnail[i] = counts[i] == 0 ? 0 : sums[i] / counts[i];
+    }
+
+    /**
+     * True if more cells than the area threshold differ from the reference by more than the pixel threshold,
+     * after taking out the mean difference of the whole frame
+     */
+    private boolean differs() {
+        long total = 0;
+        for (int i = 0; i < thumbnail.length; i++) total += thumbnail[i] - reference[i];
+        int shift = (int) (total / thumbnail.length);
+        int changed = 0;
+        for (int i = 0; i < thumbnail.length; i++) {
+            if (Math.abs(thumbnail[i] - reference[i] - shift) > pixelThreshold && ++changed > areaThreshold) return true;
+        }
+        return false;
+    }
+}
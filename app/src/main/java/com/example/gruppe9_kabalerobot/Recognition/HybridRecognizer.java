@@ -0,0 +1,166 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import com.example.gruppe9_kabalerobot.CardPlacement.CardObj;
+import com.example.gruppe9_kabalerobot.CardPlacement.CardPlacement;
+import com.example.gruppe9_kabalerobot.Client.CapturedFrame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Finds the cards on the phone first, and asks the server only when the phone is not sure.
+ *
+ * The cards of the phone are kept if the phone can find the cards lying under others, every card is at least
+ * as confident as the threshold, and there are between the least and the most cards a board can show.
+ * Otherwise the photo is sent to the server, and the cards of both are merged: every card of the server, and the
+ * confident cards of the phone lying where the server found none. The cards are only handed to onCard once it is
+ * known which are kept. A phone finding only the cards with a free outline, such as the CornerCardDetector, misses
+ * the cards turned up under the top card of a tableau however sure it is, so the server is always asked then,
+ * at the same time as the phone instead of after it, and the cards of the phone are merged in when both are done.
+ */
+public class HybridRecognizer implements Recognizer {
+    public static final int DEFAULT_MIN_CONFIDENCE = 60;
+    public static final int DEFAULT_MIN_CARDS = CardPlacement.TABLEAUS;     //A top card on every tableau
+    public static final int DEFAULT_MAX_CARDS = 52;
+
+    private final Recognizer device;
+    private final Recognizer server;
+    private final boolean coveredCards;         //True if the phone finds the cards lying under others
+    private final int minConfidence;
+    private final int minCards;
+    private final int maxCards;
+    private final AtomicInteger onDevice = new AtomicInteger();
+    private final AtomicInteger onServer = new AtomicInteger();
+
+    /**
+     * Tries the phone alone only if it is a LocalRecognizer whose detector finds the cards lying under others
+     */
+    public HybridRecognizer(Recognizer device, Recognizer server) {
+        this(device, server, device instanceof LocalRecognizer && ((LocalRecognizer) device).getDetector().findsCoveredCards(),
+                DEFAULT_MIN_CONFIDENCE, DEFAULT_MIN_CARDS, DEFAULT_MAX_CARDS);
+    }
+
+    /**
+     * @param device            Finds the cards on the phone, with a confidence for every card
+     * @param server            Asked when the phone is not sure
+     * @param coveredCards      True if the phone finds the cards lying under others, false if the server must always be asked
+     * @param minConfidence     Lowest confidence in percent of a card from the phone that is trusted
+     * @param minCards          Fewest cards the phone can find on a board
+     * @param maxCards          Most cards the phone can find on a board
+     */
+    public HybridRecognizer(Recognizer device, Recognizer server, boolean coveredCards, int minConfidence, int minCards, int maxCards) {
+        if (minConfidence < 0 || minConfidence > CardObj.CERTAIN) throw new IllegalArgumentException("The confidence is from 0 to 100, not " + minConfidence);
+        if (minCards < 0 || maxCards < minCards) throw new IllegalArgumentException("No board has from " + minCards + " to " + maxCards + " cards");
+        this.device = device;
+        this.server = server;
+        this.coveredCards = coveredCards;
+        this.minConfidence = minConfidence;
+        this.minCards = minCards;
+        this.maxCards = maxCards;
+    }
+
+    @Override
+    public CompletableFuture<int[][]> recognize(CapturedFrame frame, Consumer<int[]> onCard) {
+        if (!coveredCards) {
+            //The server is asked anyway, so it is not kept waiting for the phone
+            onServer.incrementAndGet();
+            CompletableFuture<int[][]> local = device.recognize(frame, null)
+                    .handle((cards, error) -> error == null ? cards : new int[0][]);
+            return server.recognize(frame, onCard)
+                    .thenCombine(local, (serverCards, cards) -> mergeAndHand(serverCards, cards, onCard));
+        }
+        frame.retain();         //Held until it is known whether the server needs it
+        return device.recognize(frame, null)
+                .handle((cards, error) -> error == null ? cards : new int[0][])
+                .thenCompose(cards -> {
+                    if (isPlausible(cards)) {
+                        onDevice.incrementAndGet();
+                        frame.release();
+                        if (onCard != null) {
+                            for (int[] card : cards) onCard.accept(card);
+                        }
+                        return CompletableFuture.completedFuture(cards);
+                    }
+                    onServer.incrementAndGet();
+                    CompletableFuture<int[][]> remote;
+                    try {
+                        remote = server.recognize(frame, onCard);
+                    } finally {
+                        frame.release();
+                    }
+                    return remote.thenApply(serverCards -> mergeAndHand(serverCards, cards, onCard));
+                });
+    }
+
+    /**
+     * Merges the cards of the phone into those of the server, and hands on the cards of the phone that were added,
+     * as the cards of the server were handed on while they were received
+     */
+    private int[][] mergeAndHand(int[][] serverCards, int[][] deviceCards, Consumer<int[]> onCard) {
+        int[][] merged = merge(serverCards, deviceCards);
+        for (int i = serverCards.length; i < merged.length && onCard != null; i++) onCard.accept(merged[i]);
+        return merged;
+    }
+
+    /**
+     * True if the cards of the phone can be used without the server.
+     * A card found at both of its corners is counted once.
+     */
+    boolean isPlausible(int[][] cards) {
+        if (!coveredCards) return false;       //The board is missing the cards under the top cards
+        boolean[] seen = new boolean[53];
+        int count = 0;
+        for (int[] card : cards) {
+            if (confidence(card) < minConfidence) return false;
+            int value = card[4], suit = card[5];
+            if (value == 0 && suit == 0) {
+                count++;        //Cards turned down look the same
+                continue;
+            }
+            if (value < 1 || value > 13 || suit < 1 || suit > 4) return false;
+            int id = (suit - 1) * 13 + value;
+            if (!seen[id]) count++;
+            seen[id] = true;
+        }
+        return count >= minCards && count <= maxCards;
+    }
+
+    /**
+     * Every card of the server, followed by the confident cards of the phone that overlap none of the server
+     */
+    int[][] merge(int[][] serverCards, int[][] deviceCards) {
+        List<int[]> merged = new ArrayList<>();
+        for (int[] card : serverCards) merged.add(card);
+        for (int[] card : deviceCards) {
+            if (confidence(card) < minConfidence) continue;
+            boolean found = false;
+            for (int[] other : serverCards) {
+                if (overlaps(card, other)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) merged.add(card);
+        }
+        return merged.toArray(new int[0][]);
+    }
+
+    private static int confidence(int[] card) {
+        return card.length > CardObj.CONFIDENCE ? card[CardObj.CONFIDENCE] : CardObj.CERTAIN;
+    }
+
+    private static boolean overlaps(int[] a, int[] b) {
+        return a[0] < b[0] + b[2] && b[0] < a[0] + a[2] && a[1] < b[1] + b[3] && b[1] < a[1] + a[3];
+    }
+
+    /**
+     * Getters for HybridRecognizer class, counting the photos answered by the phone alone and with the server
+     */
+    public int getOnDevice() { return onDevice.get(); }
+    public int getOnServer() { return onServer.get(); }
+    public Recognizer getDevice() { return device; }
+    public Recognizer getServer() { return server; }
+}
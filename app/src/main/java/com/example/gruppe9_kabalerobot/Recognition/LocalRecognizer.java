@@ -0,0 +1,59 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import com.example.gruppe9_kabalerobot.Client.CapturedFrame;
+
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfByte;
+import org.opencv.imgcodecs.Imgcodecs;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Finds the cards on the phone with a CardDetector, one photo at a time on its own thread,
+ * so the cards are found without the network and without the python server.
+ */
+public class LocalRecognizer implements Recognizer {
+    private final CardDetector detector;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "card-detector");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LocalRecognizer(CardDetector detector) {
+        this.detector = detector;
+    }
+
+    @Override
+    public CompletableFuture<int[][]> recognize(CapturedFrame frame, Consumer<int[]> onCard) {
+        frame.retain();
+        return CompletableFuture.supplyAsync(() -> {
+            Mat image;
+            MatOfByte jpeg = new MatOfByte(frame.toByteArray());
+            try {
+                image = Imgcodecs.imdecode(jpeg, Imgcodecs.IMREAD_COLOR);
+            } finally {
+                jpeg.release();
+                frame.release();
+            }
+            try {
+                if (image.empty()) throw new IllegalArgumentException("The photo could not be decoded");
+                int[][] cards = detector.detect(image);
+                if (onCard != null) {
+                    for (int[] card : cards) onCard.accept(card);
+                }
+                return cards;
+            } finally {
+                image.release();
+            }
+        }, worker);
+    }
+
+    /**
+     * Getters for LocalRecognizer class
+     */
+    public CardDetector getDetector() { return detector; }
+}
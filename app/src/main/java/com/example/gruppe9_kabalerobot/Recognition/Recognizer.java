@@ -0,0 +1,22 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import com.example.gruppe9_kabalerobot.Client.CapturedFrame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Finds the cards in a photo taken, on the python server or on the phone
+ */
+public interface Recognizer {
+
+    /**
+     * Starts finding the cards in a photo. The frame is retained while it is used, and released after that.
+     *
+     * @param frame     The JPEG from the camera
+     * @param onCard    Run for every card as soon as it is found, or null. The array is reused for the next card.
+     * @return          Future of every card found, as x, y, width, height, value and suit in pixels of the photo.
+     *                  Rows of a detector on the phone also hold the confidence, rows of the server do not.
+     */
+    CompletableFuture<int[][]> recognize(CapturedFrame frame, Consumer<int[]> onCard);
+}
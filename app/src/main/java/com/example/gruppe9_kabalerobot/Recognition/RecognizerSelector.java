@@ -0,0 +1,66 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+/**
+ * This class is a singleton which chooses where the cards of a photo are found, and can be changed while the app runs.
+ * The server is used until a recognizer on the phone is set and chosen, and again if it is taken away.
+ * In HYBRID the phone is tried first and the server asked when the phone is not sure, through a HybridRecognizer.
+ */
+public class RecognizerSelector {
+
+    /**
+     * Where the cards are found
+     */
+    public enum Mode { SERVER, DEVICE, HYBRID }
+
+    private static RecognizerSelector instance;
+    private Recognizer server;
+    private Recognizer device;
+    private HybridRecognizer hybrid;        //Of the server and the device set, made when first chosen
+    private Mode mode = Mode.SERVER;
+
+    private RecognizerSelector() {
+    }
+
+    /**
+     * Singleton pattern, getInstance, which ensures there only exists one RecognizerSelector object
+     * @return instance
+     */
+    public static synchronized RecognizerSelector getInstance() {
+        if (instance == null) {
+            instance = new RecognizerSelector();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the recognizer of the mode chosen, or the server if there is no recognizer on the phone
+     */
+    public synchronized Recognizer current() {
+        if (device == null || mode == Mode.SERVER) return server;
+        if (mode == Mode.DEVICE) return device;
+        if (hybrid == null) hybrid = new HybridRecognizer(device, server);
+        return hybrid;
+    }
+
+    /**
+     * True if the cards are found on the phone, alone or before the server
+     */
+    public synchronized boolean isOnDevice() {
+        return current() != server;
+    }
+
+    /**
+     * Getters and setters for RecognizerSelector class
+     */
+    public synchronized Mode getMode() { return mode; }
+    public synchronized void setMode(Mode mode) { this.mode = mode; }
+    public synchronized void setServer(Recognizer server) {
+        this.server = server;
+        hybrid = null;
+    }
+    public synchronized Recognizer getDevice() { return device; }
+    public synchronized void setDevice(Recognizer device) {
+        this.device = device;
+        hybrid = null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+
+/**
+ * The ranks and suits of the corner index of a card, as templates for the CornerCardDetector.
+ *
+ * The atlas is one gray image of cells of the same size: the first row holds the ranks from ace to king,
+ * the second the suits in the order of the app, hearts, spades, diamonds and clubs. The cells are cut from cards
+ * warped to CornerCardDetector.CARD_WIDTH x CARD_HEIGHT, so they have the size of the index on the warped cards.
+ * The atlas is read and turned black and white once, and every template is a view into it, so the native
+ * memory is shared and reused for every frame.
+ */
+public class TemplateAtlas {
+    public static final int RANKS = 13;
+    public static final int SUITS = 4;
+    public static final int DEFAULT_CELL_WIDTH = 24;     //Size of the cells of the atlas in the assets
+    public static final int DEFAULT_CELL_HEIGHT = 36;
+
+    private final Mat atlas;            //Black and white, with the symbols white
+    private final Mat[] ranks = new Mat[RANKS];
+    private final Mat[] suits = new Mat[SUITS];
+    private final int cellWidth;
+    private final int cellHeight;
+
+    /**
+     * @param gray          The atlas as an 8 bit gray image, dark symbols on a light card
+     * @param cellWidth     Width of every cell in pixels
+     * @param cellHeight    Height of every cell in pixels
+     */
+    public TemplateAtlas(Mat gray, int cellWidth, int cellHeight) {
+        if (gray.empty()) throw new IllegalArgumentException("The atlas is empty");
+        if (gray.cols() < RANKS * cellWidth || gray.rows() < 2 * cellHeight) {
+            throw new IllegalArgumentException("An atlas of " + cellWidth + " x " + cellHeight + " cells must be at least "
+                    + RANKS * cellWidth + " x " + 2 * cellHeight + ", not " + gray.cols() + " x " + gray.rows());
+        }
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        atlas = new Mat();
+        Imgproc.threshold(gray, atlas, 0, 255, Imgproc.THRESH_BINARY_INV | Imgproc.THRESH_OTSU);
+        for (int r = 0; r < RANKS; r++) ranks[r] = atlas.submat(new Rect(r * cellWidth, 0, cellWidth, cellHeight));
+        for (int s = 0; s < SUITS; s++) suits[s] = atlas.submat(new Rect(s * cellWidth, cellHeight, cellWidth, cellHeight));
+    }
+
+    /**
+     * Reads an atlas from a PNG or JPEG file
+     */
+    public static TemplateAtlas read(String path, int cellWidth, int cellHeight) {
+        Mat gray = Imgcodecs.imread(path, Imgcodecs.IMREAD_GRAYSCALE);
+        if (gray.empty()) throw new IllegalArgumentException("Could not read the atlas " + path);
+        TemplateAtlas atlas = new TemplateAtlas(gray, cellWidth, cellHeight);
+        gray.release();
+        return atlas;
+    }
+
+    /**
+     * Template of a rank, from 1 for the ace to 13 for the king
+     */
+    public Mat rank(int value) { return ranks[value - 1]; }
+
+    /**
+     * Template of a suit, from 1 for hearts to 4 for clubs
+     */
+    public Mat suit(int suit) { return suits[suit - 1]; }
+
+    /**
+     * Getters for TemplateAtlas class
+     */
+    public int getCellWidth() { return cellWidth; }
+    public int getCellHeight() { return cellHeight; }
+}
@@ -0,0 +1,200 @@
+package com.example.gruppe9_kabalerobot.CardPlacement;
+
+import org.junit.Test;
+
+import static com.example.gruppe9_kabalerobot.CardPlacement.PlacementFixtures.HEIGHT;
+import static com.example.gruppe9_kabalerobot.CardPlacement.PlacementFixtures.WIDTH;
+import static org.junit.Assert.*;
+
+public class CardPlacementTest {
+
+    /**
+     * A straight photo of the game is placed as it lies, whatever order the cards are recognized in
+     */
+    @Test
+    public void testStraightPhoto() {
+        PlacementFixtures fixture = PlacementFixtures.midGame();
+        for (long seed = 0; seed < 5; seed++) {
+            CardPlacement placement = new CardPlacement();
+            placement.sortCards(fixture.photo(0, 0, 1, seed), WIDTH, HEIGHT);
+            fixture.assertPlaced(placement);
+        }
+    }
+
+    /**
+     * A turned photo is straightened before the cards are placed
+     */
+    @Test
+    public void testTurnedPhoto() {
+        PlacementFixtures fixture = PlacementFixtures.midGame();
+        for (double degrees : new double[]{-10, -6, 4, 8, 10}) {
+            CardPlacement placement = new CardPlacement();
+            placement.sortCards(fixture.photo(degrees, 0, 0.9, 1), WIDTH, HEIGHT);
+            fixture.assertPlaced(placement);
+        }
+    }
+
+    /**
+     * A photo taken at an angle, where the layout narrows towards the top
+     */
+    @Test
+    public void testPerspective() {
+        PlacementFixtures fixture = PlacementFixtures.midGame();
+        CardPlacement placement = new CardPlacement();
+        placement.sortCards(fixture.photo(3, 0.25, 0.95, 2), WIDTH, HEIGHT);
+        fixture.assertPlaced(placement);
+    }
+
+    /**
+     * Empty tableaus and a layout not filling the photo do not move the other columns
+     */
+    @Test
+    public void testEmptyColumnsSmallLayout() {
+        PlacementFixtures fixture = PlacementFixtures.emptyColumns();
+        CardPlacement placement = new CardPlacement();
+        placement.sortCards(fixture.photo(0, 0, 0.75, 3), WIDTH, HEIGHT);
+        fixture.assertPlaced(placement);
+
+        placement = new CardPlacement();
+        placement.sortCards(fixture.photo(-7, 0.1, 0.8, 4), WIDTH, HEIGHT);
+        fixture.assertPlaced(placement);
+    }
+
+    /**
+     * Without cards in the upper row every card is in a tableau
+     */
+    @Test
+    public void testNoUpperRow() {
+        PlacementFixtures fixture = PlacementFixtures.noUpperRow();
+        CardPlacement placement = new CardPlacement();
+        placement.sortCards(fixture.photo(5, 0, 1, 5), WIDTH, HEIGHT);
+        fixture.assertPlaced(placement);
+        assertTrue(placement.getFoundations().isEmpty());
+    }
+
+    /**
+     * A placement used for a new photo forgets the cards of the earlier one
+     */
+    @Test
+    public void testReuse() {
+        CardPlacement placement = new CardPlacement();
+        placement.sortCards(PlacementFixtures.midGame().photo(4, 0, 1, 7), WIDTH, HEIGHT);
+        PlacementFixtures fixture = PlacementFixtures.emptyColumns();
+        placement.sortCards(fixture.photo(-3, 0, 0.9, 8), WIDTH, HEIGHT);
+
+        fixture.assertPlaced(placement);
+    }
+
+    /**
+     * Hidden cards changed through the list are kept in the placement
+     */
+    @Test
+    public void testHiddenCardsList() {
+        CardPlacement placement = new CardPlacement();
+        assertEquals(7, placement.getHiddenCards().size());
+
+        placement.getHiddenCards().set(3, 4);
+
+        assertEquals(4, (int) placement.getHiddenCards().get(3));
+        assertEquals(0, (int) placement.getHiddenCards().get(2));
+    }
+
+    /**
+     * After a move only the moved card and the card turned up are placed again
+     */
+    @Test
+    public void testUpdateAfterMove() {
+        CardPlacement placement = new CardPlacement();
+        placement.sortCards(PlacementFixtures.midGame().photo(4, 0, 1, 9), WIDTH, HEIGHT);
+        PlacementFixtures fixture = PlacementFixtures.midGameAfterMove();
+
+        assertTrue(placement.updateCards(fixture.photo(4, 0, 1, 10), WIDTH, HEIGHT));
+        fixture.assertPlaced(placement);
+    }
+
+    /**
+     * Cards handed over one at a time while they are received are placed as by updateCards
+     */
+    @Test
+    public void testUpdateCardByCard() {
+        CardPlacement placement = new CardPlacement();
+        placement.sortCards(PlacementFixtures.midGame().photo(4, 0, 1, 9), WIDTH, HEIGHT);
+        PlacementFixtures fixture = PlacementFixtures.midGameAfterMove();
+
+        placement.beginUpdate(WIDTH, HEIGHT);
+        for (CardObj obj : fixture.photo(4, 0, 1, 10)) placement.addCard(obj);
+        assertTrue(placement.finishUpdate());
+        fixture.assertPlaced(placement);
+
+        CardPlacement fresh = new CardPlacement();
+        fresh.beginUpdate(WIDTH, HEIGHT);
+        for (CardObj obj : fixture.photo(0, 0, 1, 11)) fresh.addCard(obj);
+        assertFalse(fresh.finishUpdate());
+        fixture.assertPlaced(fresh);
+    }
+
+    /**
+     * A new placement started from the board of the latest photo places only the changed cards,
+     * and photos placed later by the old placement do not change the board handed on
+     */
+    @Test
+    public void testUpdateFromBoard() {
+        CardPlacement latest = new CardPlacement();
+        assertNull(latest.getBoard());
+        latest.sortCards(PlacementFixtures.midGame().photo(4, 0, 1, 9), WIDTH, HEIGHT);
+        CardPlacement.Board board = latest.getBoard();
+        latest.sortCards(PlacementFixtures.midGame().photo(-8, 0, 0.9, 12), WIDTH, HEIGHT);
+        PlacementFixtures fixture = PlacementFixtures.midGameAfterMove();
+
+        for (int seed = 10; seed < 12; seed++) {
+            CardPlacement next = new CardPlacement(board);
+            assertTrue(next.updateCards(fixture.photo(4, 0, 1, seed), WIDTH, HEIGHT));
+            fixture.assertPlaced(next);
+        }
+        assertFalse(new CardPlacement(null).updateCards(fixture.photo(4, 0, 1, 10), WIDTH, HEIGHT));
+    }
+
+    /**
+     * Without an earlier photo, or when the camera has moved, the photo is sorted from scratch
+     */
+    @Test
+    public void testUpdateFromScratch() {
+        PlacementFixtures fixture = PlacementFixtures.midGame();
+        CardPlacement placement = new CardPlacement();
+
+        assertFalse(placement.updateCards(fixture.photo(0, 0, 1, 11), WIDTH, HEIGHT));
+        fixture.assertPlaced(placement);
+        assertFalse(placement.updateCards(fixture.photo(-8, 0, 0.9, 12), WIDTH, HEIGHT));
+        fixture.assertPlaced(placement);
+        assertTrue(placement.updateCards(fixture.photo(-8, 0, 0.9, 13), WIDTH, HEIGHT));
+        fixture.assertPlaced(placement);
+    }
+
+    /**
+     * A camera turning a little between every photo is found before the layout is too far off
+     */
+    @Test
+    public void testUpdateSlowTurn() {
+        PlacementFixtures fixture = PlacementFixtures.midGame();
+        CardPlacement placement = new CardPlacement();
+        placement.sortCards(fixture.photo(0, 0, 1, 14), WIDTH, HEIGHT);
+
+        int fromScratch = 0;
+        for (int degrees = 1; degrees <= 10; degrees++) {
+            if (!placement.updateCards(fixture.photo(degrees, 0, 1, 14 + degrees), WIDTH, HEIGHT)) fromScratch++;
+            fixture.assertPlaced(placement);
+        }
+        assertTrue(fromScratch > 0);
+    }
+
+    /**
+     * The skew found is the turn of the photo
+     */
+    @Test
+    public void testSlope() {
+        LayoutEngine layout = new LayoutEngine();
+        layout.classify(PlacementFixtures.midGame().photo(8, 0, 0.9, 6), WIDTH, HEIGHT);
+
+        assertEquals(-Math.tan(Math.toRadians(8)), layout.getSlope(), 0.02);
+    }
+}
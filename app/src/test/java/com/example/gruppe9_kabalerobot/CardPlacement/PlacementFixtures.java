@@ -0,0 +1,150 @@
+package com.example.gruppe9_kabalerobot.CardPlacement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Known game layouts, and photos of them taken straight, turned, in perspective or not filling the screen
+ */
+class PlacementFixtures {
+    static final double WIDTH = 1400;
+    static final double HEIGHT = 1000;
+
+    private static final double UPPER_Y = 0.15 * HEIGHT;
+    private static final double TABLEAU_Y = 0.4 * HEIGHT;
+    private static final double HIDDEN_STEP = 0.02 * HEIGHT;
+    private static final double VISIBLE_STEP = 0.05 * HEIGHT;
+
+    final boolean wastePile;
+    final int[][] waste;            //{value, suit} from the bottom card to the top card
+    final int[][] foundations;      //{value, suit} of the top card of every foundation in use
+    final int[] hidden = new int[7];
+    final int[][][] tableaus = new int[7][][];  //{value, suit} from the back of the tableau to its top
+
+    private PlacementFixtures(boolean wastePile, int[][] waste, int[][] foundations) {
+        this.wastePile = wastePile;
+        this.waste = waste;
+        this.foundations = foundations;
+        for (int i = 0; i < 7; i++) tableaus[i] = new int[0][];
+    }
+
+    /**
+     * Game in the middle, with a waste pile, two cards in the waste, three foundations and every tableau in use
+     */
+    static PlacementFixtures midGame() {
+        PlacementFixtures fixture = new PlacementFixtures(true, new int[][]{{4, 3}, {12, 1}}, new int[][]{{2, 1}, {1, 2}, {3, 4}});
+        fixture.tableau(0, 0, new int[][]{{13, 2}, {12, 1}});
+        fixture.tableau(1, 1, new int[][]{{9, 3}});
+        fixture.tableau(2, 2, new int[][]{{11, 4}, {10, 3}, {9, 2}});
+        fixture.tableau(3, 3, new int[][]{{6, 1}});
+        fixture.tableau(4, 4, new int[][]{{8, 2}, {7, 4}});
+        fixture.tableau(5, 5, new int[][]{{5, 3}});
+        fixture.tableau(6, 6, new int[][]{{10, 1}, {9, 4}, {8, 1}, {7, 2}});
+        return fixture;
+    }
+
+    /**
+     * The game in the middle after the five of tableau 6 is moved to tableau 4, turning up a queen in tableau 6
+     */
+    static PlacementFixtures midGameAfterMove() {
+        PlacementFixtures fixture = midGame();
+        fixture.tableau(3, 3, new int[][]{{6, 1}, {5, 3}});
+        fixture.tableau(5, 4, new int[][]{{12, 4}});
+        return fixture;
+    }
+
+    /**
+     * Game with two empty tableaus, no waste pile and a single foundation
+     */
+    static PlacementFixtures emptyColumns() {
+        PlacementFixtures fixture = new PlacementFixtures(false, new int[][]{{6, 2}}, new int[][]{{1, 4}});
+        fixture.tableau(0, 0, new int[][]{{13, 1}, {12, 3}});
+        fixture.tableau(1, 2, new int[][]{{7, 1}});
+        fixture.tableau(3, 4, new int[][]{{9, 1}, {8, 3}});
+        fixture.tableau(4, 1, new int[][]{{4, 2}});
+        fixture.tableau(6, 5, new int[][]{{11, 3}});
+        return fixture;
+    }
+
+    /**
+     * Game where nothing lies in the upper row
+     */
+    static PlacementFixtures noUpperRow() {
+        PlacementFixtures fixture = new PlacementFixtures(false, new int[0][], new int[0][]);
+        for (int i = 0; i < 7; i++) fixture.tableau(i, i, new int[][]{{7 + i % 6, 1 + i % 4}});
+        return fixture;
+    }
+
+    private void tableau(int index, int hiddenCards, int[][] cards) {
+        hidden[index] = hiddenCards;
+        tableaus[index] = cards;
+    }
+
+    /**
+     * Takes a photo of the layout
+     *
+     * @param degrees   Turn of the photo, clockwise
+     * @param keystone  Narrowing of the layout towards the top of the photo, 0 for none
+     * @param scale     Size of the layout compared to the photo
+     * @param seed      Seed for the order the cards are recognized in
+     * @return          The recognized cards
+     */
+    List<CardObj> photo(double degrees, double keystone, double scale, long seed) {
+        List<CardObj> cards = new ArrayList<>();
+        if (wastePile) add(cards, 0, UPPER_Y, 0, 0, degrees, keystone, scale);
+        for (int i = 0; i < waste.length; i++) add(cards, 1 + i * 0.12, UPPER_Y, waste[i][0], waste[i][1], degrees, keystone, scale);
+        for (int i = 0; i < foundations.length; i++) add(cards, 3 + i, UPPER_Y, foundations[i][0], foundations[i][1], degrees, keystone, scale);
+        for (int t = 0; t < 7; t++) {
+            double y = TABLEAU_Y;
+            for (int h = 0; h < hidden[t]; h++, y += HIDDEN_STEP) add(cards, t, y, 0, 0, degrees, keystone, scale);
+            for (int[] card : tableaus[t]) {
+                add(cards, t, y, card[0], card[1], degrees, keystone, scale);
+                y += VISIBLE_STEP;
+            }
+        }
+        Collections.shuffle(cards, new Random(seed));
+        return cards;
+    }
+
+    private void add(List<CardObj> cards, double column, double y, int value, int suit, double degrees, double keystone, double scale) {
+        double x = (column + 0.5) * WIDTH / 7;
+        //Narrow the layout towards the top, then scale it around the middle and turn it
+        x = WIDTH / 2 + (x - WIDTH / 2) * (1 - keystone * (1 - y / HEIGHT));
+        x = WIDTH / 2 + (x - WIDTH / 2) * scale;
+        y = HEIGHT / 2 + (y - HEIGHT / 2) * scale;
+        double angle = Math.toRadians(degrees);
+        double dx = x - WIDTH / 2, dy = y - HEIGHT / 2;
+        double turnedX = WIDTH / 2 + dx * Math.cos(angle) - dy * Math.sin(angle);
+        double turnedY = HEIGHT / 2 + dx * Math.sin(angle) + dy * Math.cos(angle);
+        cards.add(new CardObj((int) Math.round(turnedX), (int) Math.round(turnedY), value, suit));
+    }
+
+    /**
+     * Checks that the placement found is the layout
+     */
+    void assertPlaced(CardPlacement placement) {
+        assertEquals(wastePile, placement.isWastePile());
+        assertEquals(describe(waste), describe(placement.getWaste()));
+        assertEquals(foundations.length, placement.getFoundations().size());
+        for (int t = 0; t < 7; t++) {
+            assertEquals("Hidden cards of tableau " + (t + 1), hidden[t], (int) placement.getHiddenCards().get(t));
+            assertEquals("Tableau " + (t + 1), describe(tableaus[t]), describe(placement.getTableaus().get(t)));
+        }
+    }
+
+    static String describe(int[][] cards) {
+        StringBuilder builder = new StringBuilder();
+        for (int[] card : cards) builder.append(card[0]).append('/').append(card[1]).append(' ');
+        return builder.toString();
+    }
+
+    static String describe(List<CardObj> cards) {
+        StringBuilder builder = new StringBuilder();
+        for (CardObj card : cards) builder.append(card.getValue()).append('/').append(card.getSuit()).append(' ');
+        return builder.toString();
+    }
+}
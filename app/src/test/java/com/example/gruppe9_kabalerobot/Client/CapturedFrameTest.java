@@ -0,0 +1,73 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CapturedFrameTest {
+    private AtomicInteger closed;
+    private CapturedFrame frame;
+
+    @Before
+    public void setup() {
+        closed = new AtomicInteger();
+        ByteBuffer camera = ByteBuffer.allocateDirect(8);
+        camera.put(new byte[]{9, 9, 1, 2, 3, 9, 9, 9});
+        camera.position(2).limit(5);
+        frame = new CapturedFrame(camera, closed::incrementAndGet);
+    }
+
+    /**
+     * The camera image is closed once, when the last user releases the frame
+     */
+    @Test
+    public void testReleasedByLastUser() {
+        frame.retain();
+        frame.release();
+        assertEquals(0, closed.get());
+        assertFalse(frame.isReleased());
+
+        frame.release();
+        assertEquals(1, closed.get());
+        assertTrue(frame.isReleased());
+    }
+
+    /**
+     * A released frame can not be held or read again
+     */
+    @Test
+    public void testUseAfterRelease() {
+        frame.release();
+
+        try {
+            frame.retain();
+            fail("A released frame can not be retained");
+        } catch (IllegalStateException e) {
+            //Expected
+        }
+        try {
+            frame.release();
+            fail("A released frame can not be released again");
+        } catch (IllegalStateException e) {
+            //Expected
+        }
+        assertEquals(1, closed.get());
+    }
+
+    /**
+     * Every user reads the JPEG from its start, without moving the others
+     */
+    @Test
+    public void testViews() {
+        ByteBuffer first = frame.getJpeg();
+        first.get();
+
+        assertEquals(3, frame.size());
+        assertEquals(3, frame.getJpeg().remaining());
+        assertArrayEquals(new byte[]{1, 2, 3}, frame.toByteArray());
+    }
+}
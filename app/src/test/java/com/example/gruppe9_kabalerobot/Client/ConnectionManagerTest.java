@@ -0,0 +1,203 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+public class ConnectionManagerTest {
+    private static final String HOST = InetAddress.getLoopbackAddress().getHostAddress();
+    private static final StandInServer.Recognizer ONE_CARD = jpeg -> new int[][]{{10, 20, 30, 40, jpeg.length, 1}};
+
+    private int port;
+    private StandInServer server;
+    private ConnectionManager manager;
+
+    @Before
+    public void setup() throws IOException {
+        try (ServerSocket free = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = free.getLocalPort();
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (manager != null) manager.close();
+        if (server != null) server.close();
+    }
+
+    private ConnectionManager start(long timeoutMillis, long healthCheckMillis, int queueCapacity) {
+        manager = new ConnectionManager(new ConnectionConfig(HOST, port, timeoutMillis, 20, 200, healthCheckMillis, queueCapacity));
+        manager.start();
+        return manager;
+    }
+
+    /**
+     * An image taken before the server is up is kept, and sent once a later try to connect gets through
+     */
+    @Test
+    public void testQueuedUntilServerUp() throws Exception {
+        start(2000, 0, 4);
+        CompletableFuture<int[][]> reply = manager.send(ByteBuffer.wrap(new byte[5]));
+        waitFor(() -> manager.getMetrics().getFailedAttempts() >= 2);
+        assertEquals(1, manager.getMetrics().getQueued());
+
+        server = new StandInServer(port, ONE_CARD);
+        assertEquals(5, reply.get(5, TimeUnit.SECONDS)[0][4]);
+        ConnectionMetrics metrics = manager.getMetrics();
+        assertTrue(metrics.isConnected());
+        assertEquals(1, metrics.getConnects());
+        assertEquals(0, metrics.getReconnects());
+        assertEquals(0, metrics.getQueued());
+        assertTrue(metrics.getLastConnectMillis() >= 0);
+    }
+
+    /**
+     * When the connection drops, a new one is made, and the images sent while it is down arrive on it
+     */
+    @Test
+    public void testReconnectAfterLoss() throws Exception {
+        server = new StandInServer(port, ONE_CARD);
+        start(2000, 0, 4);
+        manager.getConnected().get(5, TimeUnit.SECONDS);
+        assertEquals(3, manager.send(ByteBuffer.wrap(new byte[3])).get(5, TimeUnit.SECONDS)[0][4]);
+
+        server.close();
+        waitFor(() -> !manager.isConnected());
+        CompletableFuture<int[][]> reply = manager.send(ByteBuffer.wrap(new byte[7]));
+        waitFor(() -> manager.getMetrics().getFailedAttempts() >= 1);
+        assertFalse(reply.isDone());
+
+        server = new StandInServer(port, ONE_CARD);
+        assertEquals(7, reply.get(5, TimeUnit.SECONDS)[0][4]);
+        ConnectionMetrics metrics = manager.getMetrics();
+        assertEquals(2, metrics.getConnects());
+        assertEquals(1, metrics.getReconnects());
+        assertEquals(1, metrics.getLostConnections());
+        assertTrue(metrics.getDownMillis() > 0);
+    }
+
+    /**
+     * A full queue drops the oldest image, telling its sender the buffer is free
+     */
+    @Test
+    public void testQueueDropsOldest() throws Exception {
+        start(2000, 0, 2);
+        AtomicInteger written = new AtomicInteger();
+        CompletableFuture<int[][]> first = manager.send(ByteBuffer.wrap(new byte[1]), written::incrementAndGet);
+        CompletableFuture<int[][]> second = manager.send(ByteBuffer.wrap(new byte[2]), written::incrementAndGet);
+        CompletableFuture<int[][]> third = manager.send(ByteBuffer.wrap(new byte[3]), written::incrementAndGet);
+
+        assertTrue(first.isCompletedExceptionally());
+        assertEquals(1, written.get());
+        assertEquals(2, manager.getMetrics().getQueued());
+        assertEquals(1, manager.getMetrics().getDropped());
+
+        server = new StandInServer(port, ONE_CARD);
+        assertEquals(2, second.get(5, TimeUnit.SECONDS)[0][4]);
+        assertEquals(3, third.get(5, TimeUnit.SECONDS)[0][4]);
+        waitFor(() -> written.get() == 3);
+    }
+
+    /**
+     * A queued image that is cancelled is taken out of the queue and never sent
+     */
+    @Test
+    public void testCancelQueued() throws Exception {
+        start(2000, 0, 4);
+        AtomicInteger written = new AtomicInteger();
+        CompletableFuture<int[][]> cancelled = manager.send(ByteBuffer.wrap(new byte[1]), written::incrementAndGet);
+        cancelled.cancel(false);
+        assertEquals(1, written.get());
+        assertEquals(0, manager.getMetrics().getQueued());
+
+        server = new StandInServer(port, ONE_CARD);
+        assertEquals(4, manager.send(ByteBuffer.wrap(new byte[4])).get(5, TimeUnit.SECONDS)[0][4]);
+        assertEquals(1, server.answered.get());
+    }
+
+    /**
+     * A server that stops answering is found by the health check, and the connection is made again
+     */
+    @Test
+    public void testHealthCheck() throws Exception {
+        server = new StandInServer(port, ONE_CARD);
+        start(300, 100, 4);
+        manager.getConnected().get(5, TimeUnit.SECONDS);
+        waitFor(() -> manager.getMetrics().getHealthChecks() >= 2);
+        assertEquals(0, manager.getMetrics().getFailedHealthChecks());
+        assertEquals(1, manager.getMetrics().getConnects());
+
+        server.answerHealthChecks = false;
+        waitFor(() -> manager.getMetrics().getFailedHealthChecks() >= 1 && manager.getMetrics().getConnects() >= 2);
+        assertTrue(manager.getMetrics().getLostConnections() >= 1);
+        server.answerHealthChecks = true;
+        assertEquals(9, manager.send(ByteBuffer.wrap(new byte[9])).get(5, TimeUnit.SECONDS)[0][4]);
+    }
+
+    /**
+     * Moving to another server closes the old connection and sends the next images to the new one
+     */
+    @Test
+    public void testSetConfig() throws Exception {
+        server = new StandInServer(port, ONE_CARD);
+        start(2000, 0, 4);
+        manager.getConnected().get(5, TimeUnit.SECONDS);
+
+        try (StandInServer other = new StandInServer(jpeg -> new int[][]{{0, 0, 0, 0, 13, 4}})) {
+            manager.setConfig(new ConnectionConfig(HOST, other.getPort()));
+            manager.getConnected().get(5, TimeUnit.SECONDS);
+            assertEquals(13, manager.send(ByteBuffer.wrap(new byte[2])).get(5, TimeUnit.SECONDS)[0][4]);
+            assertEquals(0, server.answered.get());
+        }
+    }
+
+    /**
+     * The wait between tries doubles from the minimum up to the maximum
+     */
+    @Test
+    public void testBackoff() {
+        ConnectionConfig config = new ConnectionConfig(HOST, port, 1000, 250, 30000, 0, 4);
+        assertEquals(250, config.backoffMillis(0));
+        assertEquals(500, config.backoffMillis(1));
+        assertEquals(16000, config.backoffMillis(6));
+        assertEquals(30000, config.backoffMillis(7));
+        assertEquals(30000, config.backoffMillis(1000));
+    }
+
+    /**
+     * Images sent after the manager is closed fail at once
+     */
+    @Test
+    public void testClosed() throws Exception {
+        start(2000, 0, 4);
+        CompletableFuture<int[][]> queued = manager.send(ByteBuffer.wrap(new byte[1]));
+        manager.close();
+        assertTrue(queued.isCompletedExceptionally());
+        try {
+            manager.send(ByteBuffer.wrap(new byte[1])).get(1, TimeUnit.SECONDS);
+            fail("A closed manager sent an image");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) fail("Timed out waiting");
+            Thread.sleep(10);
+        }
+    }
+}
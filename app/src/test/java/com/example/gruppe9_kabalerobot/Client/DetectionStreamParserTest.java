@@ -0,0 +1,121 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DetectionStreamParserTest {
+    private static final int[][] CARDS = {{10, 20, 30, 40, 12, 1}, {-1, 0, 5, 5, 1, 4}, {1 << 20, -(1 << 20), 7, 8, 13, 2}};
+
+    private final List<String> events = new ArrayList<>();
+    private DetectionStreamParser parser;
+
+    @Before
+    public void setup() {
+        parser = new DetectionStreamParser(new DetectionStreamParser.Listener() {
+            @Override
+            public void onReply(int id, int count) { events.add("reply " + id + " " + count); }
+
+            @Override
+            public void onDetection(int id, int index, int[] card) { events.add(id + ":" + index + " " + Arrays.toString(card)); }
+
+            @Override
+            public void onReplyEnd(int id) { events.add("end " + id); }
+        });
+    }
+
+    /**
+     * A reply fed as a whole tells every card in order, then the end
+     */
+    @Test
+    public void testWholeReply() throws IOException {
+        parser.feed(ByteBuffer.wrap(reply(7, CARDS)));
+
+        assertEquals(expected(7, CARDS), events);
+        assertTrue(parser.isIdle());
+    }
+
+    /**
+     * A reply fed in pieces split at every byte gives the same cards, each told as soon as its last byte is in
+     */
+    @Test
+    public void testSplitAnywhere() throws IOException {
+        byte[] bytes = reply(3, CARDS);
+        for (int split = 1; split < bytes.length; split++) {
+            events.clear();
+            parser.feed(ByteBuffer.wrap(bytes, 0, split));
+            int cardsIn = Math.max(0, (split - Protocol.HEADER) / (Protocol.FIELDS * 4));
+            assertEquals("Split at " + split, (split >= Protocol.HEADER ? 1 : 0) + cardsIn, events.size());
+            parser.feed(ByteBuffer.wrap(bytes, split, bytes.length - split));
+            assertEquals("Split at " + split, expected(3, CARDS), events);
+        }
+
+        events.clear();
+        for (byte b : bytes) parser.feed(ByteBuffer.wrap(new byte[]{b}));
+        assertEquals(expected(3, CARDS), events);
+    }
+
+    /**
+     * Several replies in one piece, one of them without cards, are all read
+     */
+    @Test
+    public void testSeveralReplies() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(reply(1, CARDS));
+        bytes.write(reply(2, new int[0][]));
+        bytes.write(reply(3, new int[][]{CARDS[1]}));
+        parser.feed(ByteBuffer.wrap(bytes.toByteArray()));
+
+        List<String> expected = expected(1, CARDS);
+        expected.addAll(expected(2, new int[0][]));
+        expected.addAll(expected(3, new int[][]{CARDS[1]}));
+        assertEquals(expected, events);
+    }
+
+    /**
+     * A reply of another protocol version, or with too many cards, is refused
+     */
+    @Test
+    public void testRefused() throws IOException {
+        byte[] bytes = reply(1, CARDS);
+        bytes[0] = 2;
+        assertRefused(bytes);
+
+        bytes = reply(1, CARDS);
+        bytes[5] = 0x7f;
+        assertRefused(bytes);
+    }
+
+    private void assertRefused(byte[] bytes) {
+        setup();
+        try {
+            parser.feed(ByteBuffer.wrap(bytes));
+            fail("The reply should be refused");
+        } catch (IOException e) {
+            //Expected
+        }
+    }
+
+    private static List<String> expected(int id, int[][] cards) {
+        List<String> events = new ArrayList<>();
+        events.add("reply " + id + " " + cards.length);
+        for (int i = 0; i < cards.length; i++) events.add(id + ":" + i + " " + Arrays.toString(cards[i]));
+        events.add("end " + id);
+        return events;
+    }
+
+    private static byte[] reply(int id, int[][] cards) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ServerProtocol.writeDetections(new DataOutputStream(bytes), id, cards);
+        return bytes.toByteArray();
+    }
+}
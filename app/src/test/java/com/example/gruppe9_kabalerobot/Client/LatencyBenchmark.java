@@ -0,0 +1,100 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import com.example.gruppe9_kabalerobot.Timings;
+
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends images through a NioClient to a stand-in server, measuring the time from sending every image to having its cards.
+ * At most a given amount of images are in flight at once, as when photos are taken faster than they are answered.
+ * Run main for a report, or LatencyBenchmarkTest for a short check of the networking path.
+ */
+class LatencyBenchmark {
+
+    /**
+     * The latencies of one run, with the throughput
+     */
+    static class Result {
+        final Timings latency;      //One for every image answered
+        final long totalNanos;
+        final int failed;
+
+        Result(long[] latencyNanos, long totalNanos, int failed) {
+            this.latency = Timings.ofNanos(latencyNanos);
+            this.totalNanos = totalNanos;
+            this.failed = failed;
+        }
+
+        double imagesPerSecond() {
+            return latency.count() / (totalNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d images, %d failed: %s, %.1f images/s", latency.count(), failed, latency, imagesPerSecond());
+        }
+    }
+
+    /**
+     * Sends the images and waits for every reply
+     *
+     * @param client        Connected client
+     * @param images        Amount of images to send
+     * @param inFlight      Most images sent and not answered at once
+     * @param imageBytes    Size of every image
+     */
+    static Result run(NioClient client, int images, int inFlight, int imageBytes) throws InterruptedException {
+        byte[] jpeg = new byte[imageBytes];
+        new Random(1).nextBytes(jpeg);
+        long[] latencies = new long[images];
+        AtomicInteger answered = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Semaphore window = new Semaphore(inFlight);
+        CountDownLatch done = new CountDownLatch(images);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < images; i++) {
+            window.acquire();
+            long sent = System.nanoTime();
+            CompletableFuture<int[][]> reply = client.send(ByteBuffer.wrap(jpeg));
+            reply.whenComplete((cards, error) -> {
+                long latency = System.nanoTime() - sent;
+                if (error == null) latencies[answered.getAndIncrement()] = latency;
+                else failed.incrementAndGet();
+                window.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        long total = System.nanoTime() - start;
+        return new Result(Arrays.copyOf(latencies, answered.get()), total, failed.get());
+    }
+
+    /**
+     * Runs the benchmark against a stand-in server replying with the midgame fixture
+     *
+     * @param args  Amount of images, images in flight, bytes of every image and the time the server spends on an image
+     */
+    public static void main(String[] args) throws Exception {
+        int images = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int inFlight = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int imageBytes = args.length > 2 ? Integer.parseInt(args[2]) : 300 << 10;
+        long delayMillis = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+        try (StandInServer server = StandInServer.replaying(delayMillis, "midgame.txt", "midgame-turned.txt")) {
+            NioClient client = new NioClient(InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), 30000);
+            client.connect().get(5, TimeUnit.SECONDS);
+            run(client, Math.min(images, 100), inFlight, imageBytes);     //Warm up
+            System.out.println(run(client, images, inFlight, imageBytes));
+            client.close();
+        }
+    }
+}
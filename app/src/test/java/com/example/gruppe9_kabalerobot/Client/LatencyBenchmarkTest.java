@@ -0,0 +1,61 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LatencyBenchmarkTest {
+    private StandInServer server;
+    private NioClient client;
+
+    @Before
+    public void setup() throws Exception {
+        server = StandInServer.replaying(0, "midgame.txt", "empty.txt", "midgame-turned.txt");
+        client = new NioClient(InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), 10000);
+        client.connect().get(5, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    /**
+     * The fixtures are read as one card on every line, and the replies are the fixtures in turn
+     */
+    @Test
+    public void testFixtures() throws Exception {
+        int[][] midGame = StandInServer.fixture("midgame.txt");
+        assertEquals(41, midGame.length);
+        assertEquals(0, StandInServer.fixture("empty.txt").length);
+
+        int[][] first = client.send(ByteBuffer.wrap(new byte[10])).get(5, TimeUnit.SECONDS);
+        int[][] second = client.send(ByteBuffer.wrap(new byte[10])).get(5, TimeUnit.SECONDS);
+        int[][] third = client.send(ByteBuffer.wrap(new byte[10])).get(5, TimeUnit.SECONDS);
+        assertArrayEquals(midGame, first);
+        assertEquals(0, second.length);
+        assertArrayEquals(StandInServer.fixture("midgame-turned.txt"), third);
+    }
+
+    /**
+     * A short run answers every image, and the percentiles come in order
+     */
+    @Test
+    public void testShortRun() throws Exception {
+        LatencyBenchmark.Result result = LatencyBenchmark.run(client, 150, 4, 64 << 10);
+
+        assertEquals(150, result.latency.count());
+        assertEquals(0, result.failed);
+        assertEquals(150, server.answered.get());
+        assertTrue(result.latency.percentileMillis(50) <= result.latency.percentileMillis(95));
+        assertTrue(result.latency.percentileMillis(95) <= result.latency.percentileMillis(99));
+        assertTrue(result.imagesPerSecond() > 0);
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+public class NioClientTest {
+    private StandInServer server;
+    private StandInServer.Recognizer recognizer;
+    private NioClient client;
+    private volatile long delayMillis = 0;
+
+    @Before
+    public void setup() throws IOException {
+        //The server finds one card for every byte of the image, up to the most of a reply, with the byte as its value
+        recognizer = jpeg -> {
+            if (delayMillis > 0) sleep(delayMillis);
+            int[][] cards = new int[Math.min(jpeg.length, Protocol.MAX_CARDS)][];
+            for (int i = 0; i < cards.length; i++) cards[i] = new int[]{i * 100, -i, 30, 40, jpeg[i], i % 5};
+            return cards;
+        };
+        server = new StandInServer(recognizer);
+        client = new NioClient(InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), 2000);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    /**
+     * An image sent before the connection is up is sent when it is, and the cards come back as they were found
+     */
+    @Test
+    public void testRoundTrip() throws Exception {
+        CompletableFuture<int[][]> reply = client.send(ByteBuffer.wrap(new byte[]{7, 12, -3}));
+        client.connect();
+
+        int[][] cards = reply.get(5, TimeUnit.SECONDS);
+        assertArrayEquals(new byte[]{7, 12, -3}, server.received.get(0));
+        assertEquals(3, cards.length);
+        assertArrayEquals(new int[]{200, -2, 30, 40, -3, 2}, cards[2]);
+    }
+
+    /**
+     * Many images in flight at once each get their own cards, also when a reply is larger than the read buffer
+     */
+    @Test
+    public void testPipelined() throws Exception {
+        client.connect().get(5, TimeUnit.SECONDS);
+        List<CompletableFuture<int[][]>> replies = new ArrayList<>();
+        for (int size = 0; size < 300; size += 7) replies.add(client.send(ByteBuffer.wrap(image(size))));
+
+        for (int k = 0, size = 0; size < 300; k++, size += 7) {
+            int[][] cards = replies.get(k).get(5, TimeUnit.SECONDS);
+            assertEquals(size, cards.length);
+            if (size > 0) assertEquals((byte) (2 * size - 1), cards[size - 1][4]);
+        }
+    }
+
+    /**
+     * A request without a reply in time fails, and a cancelled request does not hold up the next one
+     */
+    @Test
+    public void testTimeoutAndCancel() throws Exception {
+        client.close();
+        client = new NioClient(InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), 200);
+        client.connect().get(5, TimeUnit.SECONDS);
+        delayMillis = 600;
+        try {
+            client.send(ByteBuffer.wrap(image(4))).get(5, TimeUnit.SECONDS);
+            fail("The request should time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+
+        //Let the server finish the slow image, so the next ones are answered in time
+        sleep(600);
+        delayMillis = 0;
+        CompletableFuture<int[][]> cancelled = client.send(ByteBuffer.wrap(image(5)));
+        cancelled.cancel(true);
+        assertEquals(6, client.send(ByteBuffer.wrap(image(6))).get(5, TimeUnit.SECONDS).length);
+    }
+
+    /**
+     * The buffer of an image is let go when it is written, before the reply is back, and when the client is closed
+     */
+    @Test
+    public void testWritten() throws Exception {
+        client.connect().get(5, TimeUnit.SECONDS);
+        delayMillis = 300;
+        CountDownLatch written = new CountDownLatch(1);
+        CompletableFuture<int[][]> reply = client.send(ByteBuffer.wrap(image(3)), written::countDown);
+
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        assertFalse(reply.isDone());
+        assertEquals(3, reply.get(5, TimeUnit.SECONDS).length);
+
+        client.close();
+        CountDownLatch notSent = new CountDownLatch(1);
+        client.send(ByteBuffer.wrap(image(3)), notSent::countDown);
+        assertTrue(notSent.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Every card is handed over as it is read, before the reply is done, also when the reply spans many reads
+     */
+    @Test
+    public void testStreamedCards() throws Exception {
+        client.connect().get(5, TimeUnit.SECONDS);
+        List<int[]> streamed = new ArrayList<>();
+        CompletableFuture<int[][]> reply = client.send(ByteBuffer.wrap(image(1000)), null, card -> streamed.add(card.clone()));
+        CompletableFuture<Integer> streamedWhenDone = reply.thenApply(cards -> streamed.size());
+
+        int[][] cards = reply.get(5, TimeUnit.SECONDS);
+        assertEquals(1000, cards.length);
+        assertEquals(1000, (int) streamedWhenDone.get(5, TimeUnit.SECONDS));
+        for (int i = 0; i < cards.length; i++) assertArrayEquals(cards[i], streamed.get(i));
+    }
+
+    /**
+     * Empty images written behind a large one while the server reads slowly each get their whole header on the wire,
+     * so the server keeps up with the stream and answers every one of them
+     */
+    @Test
+    public void testEmptyImagesBehindLarge() throws Exception {
+        client.close();
+        server.close();
+        server = StandInServer.slowReading(recognizer);
+        client = new NioClient(InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), 20000);
+        client.sendBufferSize = 4 << 10;        //Filled by the empty images, so one of them is cut off in its header
+        client.connect().get(5, TimeUnit.SECONDS);
+        CompletableFuture<int[][]> large = client.send(ByteBuffer.wrap(new byte[256 << 10]));
+        List<CompletableFuture<int[][]>> empty = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) empty.add(client.send(ByteBuffer.allocate(0)));
+
+        assertEquals(Protocol.MAX_CARDS, large.get(20, TimeUnit.SECONDS).length);
+        assertEquals(256 << 10, server.received.get(0).length);
+        for (CompletableFuture<int[][]> reply : empty) assertEquals(0, reply.get(20, TimeUnit.SECONDS).length);
+    }
+
+    /**
+     * Without a server the connection and the requests waiting for it fail
+     */
+    @Test
+    public void testNoServer() throws Exception {
+        int port;
+        try (ServerSocket unused = new ServerSocket(0)) {
+            port = unused.getLocalPort();
+        }
+        client.close();
+        client = new NioClient(InetAddress.getLoopbackAddress().getHostAddress(), port, 2000);
+        CompletableFuture<int[][]> reply = client.send(ByteBuffer.wrap(image(3)));
+        client.connect();
+
+        assertFailed(client.getConnected());
+        assertFailed(reply);
+        assertTrue(client.isClosed());
+        assertTrue(client.send(ByteBuffer.wrap(image(3))).isCompletedExceptionally());
+    }
+
+    /**
+     * Closing the client fails the requests not answered
+     */
+    @Test
+    public void testClose() throws Exception {
+        client.connect().get(5, TimeUnit.SECONDS);
+        delayMillis = 500;
+        CompletableFuture<int[][]> reply = client.send(ByteBuffer.wrap(image(3)));
+        client.close();
+
+        assertFailed(reply);
+    }
+
+    private static byte[] image(int size) {
+        byte[] image = new byte[size];
+        for (int i = 0; i < size; i++) image[i] = (byte) (size + i);
+        return image;
+    }
+
+    private static void assertFailed(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("The future should fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class ProtocolTest {
+
+    /**
+     * The server reads the image with the id and length of its header
+     */
+    @Test
+    public void testImage() throws IOException {
+        ByteBuffer message = ByteBuffer.allocate(Protocol.HEADER + 3);
+        Protocol.putImageHeader(message, 42, 3);
+        message.put(new byte[]{7, 12, -3});
+
+        ServerProtocol.Image image = ServerProtocol.readImage(new DataInputStream(new ByteArrayInputStream(message.array())));
+
+        assertEquals(42, image.id);
+        assertArrayEquals(new byte[]{7, 12, -3}, image.jpeg);
+    }
+
+    /**
+     * A reply is the header with the id and the amount of cards, and the fields of every card
+     */
+    @Test
+    public void testReply() throws IOException {
+        int[][] cards = {{10, 20, 30, 40, 12, 1}, {-1, 0, 5, 5, 1, 4}};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ServerProtocol.writeDetections(new DataOutputStream(bytes), 7, cards);
+        ByteBuffer reply = ByteBuffer.wrap(bytes.toByteArray());
+
+        assertEquals(Protocol.HEADER + 2 * Protocol.FIELDS * 4, reply.remaining());
+        assertEquals(Protocol.VERSION, reply.get());
+        assertEquals(7, reply.getInt());
+        assertEquals(2, reply.getInt());
+        for (int[] card : cards) {
+            for (int field : card) assertEquals(field, reply.getInt());
+        }
+
+        try {
+            ServerProtocol.writeDetections(new DataOutputStream(bytes), 8, new int[][]{{1, 2, 3}});
+            fail("A card of the wrong size should be refused");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+
+    /**
+     * An image of another version or with an invalid length is refused
+     */
+    @Test
+    public void testInvalidMessages() {
+        assertRefused(new byte[]{2, 0, 0, 0, 1, 0, 0, 0, 0});
+        assertRefused(new byte[]{Protocol.VERSION, 0, 0, 0, 1, -1, -1, -1, -1});
+        assertRefused(new byte[]{Protocol.VERSION, 0, 0, 0, 1, 4, 0, 0, 0});
+    }
+
+    private static void assertRefused(byte[] message) {
+        try {
+            ServerProtocol.readImage(new DataInputStream(new ByteArrayInputStream(message)));
+            fail("The message should be refused");
+        } catch (IOException e) {
+            //Expected
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The side of the python server of the Protocol, used by the StandInServer and to write replies in the tests
+ */
+final class ServerProtocol {
+    static final int MAX_IMAGE = 32 << 20;      //Largest image accepted, in bytes
+
+    private ServerProtocol() {
+        //Only static methods
+    }
+
+    /**
+     * An image read by the server, with the id to answer it with
+     */
+    static class Image {
+        final int id;
+        final byte[] jpeg;
+
+        Image(int id, byte[] jpeg) {
+            this.id = id;
+            this.jpeg = jpeg;
+        }
+    }
+
+    /**
+     * Reads an image with its header
+     */
+    static Image readImage(DataInputStream in) throws IOException {
+        Protocol.readVersion(in.readByte());
+        int id = in.readInt();
+        int length = Protocol.checkLength(in.readInt(), MAX_IMAGE);
+        byte[] jpeg = new byte[length];
+        in.readFully(jpeg);
+        return new Image(id, jpeg);
+    }
+
+    /**
+     * Writes the cards found
+     *
+     * @param id        Id of the image the cards were found in
+     * @param cards     One array of Protocol.FIELDS ints for every card
+     */
+    static void writeDetections(DataOutputStream out, int id, int[][] cards) throws IOException {
+        out.writeByte(Protocol.VERSION);
+        out.writeInt(id);
+        out.writeInt(cards.length);
+        for (int[] card : cards) {
+            if (card.length != Protocol.FIELDS) throw new IllegalArgumentException("A card is sent as " + Protocol.FIELDS + " ints, not " + card.length);
+            for (int field : card) out.writeInt(field);
+        }
+        out.flush();
+    }
+}
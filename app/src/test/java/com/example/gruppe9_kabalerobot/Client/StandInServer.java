@@ -0,0 +1,191 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A stand-in for the python server, answering every image on a local port with cards chosen by the test,
+ * or with canned cards from the fixture files in the detections folder of the test resources.
+ * It speaks the Protocol through ServerProtocol, so a new version of the protocol is tested as soon as it is in Protocol.
+ * Health checks are answered without asking the recognizer, unless the test wants the server to hang.
+ */
+class StandInServer implements AutoCloseable {
+
+    /**
+     * The cards the server finds in an image
+     */
+    interface Recognizer {
+        int[][] recognize(byte[] jpeg);
+    }
+
+    private final ServerSocket serverSocket;
+    private final Recognizer recognizer;
+    private final Thread thread;
+    private volatile Socket socket;             //The connection being answered
+    volatile boolean answerHealthChecks = true;
+    volatile long readPauseMillis = 0;          //Pause after every read, so the socket fills up as on a slow network
+    final List<byte[]> received = Collections.synchronizedList(new ArrayList<>());  //The first KEPT images
+    final AtomicInteger answered = new AtomicInteger();
+    static final int KEPT = 16;
+
+    StandInServer(Recognizer recognizer) throws IOException {
+        this(0, recognizer);
+    }
+
+    /**
+     * A server on a chosen port, such as the port of a server closed before, 0 for any free port
+     */
+    StandInServer(int port, Recognizer recognizer) throws IOException {
+        this(port, recognizer, 0);
+    }
+
+    private StandInServer(int port, Recognizer recognizer, int receiveBufferSize) throws IOException {
+        this.recognizer = recognizer;
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        if (receiveBufferSize > 0) serverSocket.setReceiveBufferSize(receiveBufferSize);
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1);
+        thread = new Thread(this::serve, "stand-in-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    int getPort() { return serverSocket.getLocalPort(); }
+
+    /**
+     * A server on a slow network: it takes in little at a time and pauses between reads, so the socket of the client
+     * fills up and the client can only write a few bytes at a time
+     */
+    static StandInServer slowReading(Recognizer recognizer) throws IOException {
+        StandInServer server = new StandInServer(0, recognizer, 4 << 10);
+        server.readPauseMillis = 5;
+        return server;
+    }
+
+    /**
+     * A server answering the images with the cards of the fixtures in turn, after the time the python server would think
+     *
+     * @param delayMillis   Time spent on every image
+     * @param fixtures      Names of the fixture files
+     */
+    static StandInServer replaying(long delayMillis, String... fixtures) throws IOException {
+        int[][][] replies = new int[fixtures.length][][];
+        for (int i = 0; i < fixtures.length; i++) replies[i] = fixture(fixtures[i]);
+        AtomicInteger next = new AtomicInteger();
+        return new StandInServer(jpeg -> {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return replies[next.getAndIncrement() % replies.length];
+        });
+    }
+
+    /**
+     * Reads the cards of a fixture file: one card on every line as x, y, width, height, value and suit,
+     * split by spaces. Empty lines and lines starting with # are skipped.
+     */
+    static int[][] fixture(String name) throws IOException {
+        InputStream stream = StandInServer.class.getResourceAsStream("/detections/" + name);
+        if (stream == null) throw new FileNotFoundException("No fixture " + name);
+        List<int[]> cards = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split("\\s+");
+                if (fields.length != Protocol.FIELDS) throw new IOException(name + ": a card has " + Protocol.FIELDS + " fields: " + line);
+                int[] card = new int[Protocol.FIELDS];
+                for (int k = 0; k < Protocol.FIELDS; k++) card[k] = Integer.parseInt(fields[k]);
+                cards.add(card);
+            }
+        }
+        return cards.toArray(new int[0][]);
+    }
+
+    /**
+     * Answers the images of one connection at a time until the server is closed
+     */
+    private void serve() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                this.socket = socket;
+                DataInputStream in = new DataInputStream(new BufferedInputStream(new SlowInputStream(socket.getInputStream())));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                while (true) {
+                    ServerProtocol.Image image = ServerProtocol.readImage(in);
+                    if (image.jpeg.length == 0) {
+                        if (answerHealthChecks) ServerProtocol.writeDetections(out, image.id, new int[0][]);
+                        continue;
+                    }
+                    if (received.size() < KEPT) received.add(image.jpeg);
+                    int[][] cards = recognizer.recognize(image.jpeg);
+                    answered.incrementAndGet();
+                    ServerProtocol.writeDetections(out, image.id, cards);
+                }
+            } catch (EOFException e) {
+                //The client closed the connection
+            } catch (IOException e) {
+                if (!serverSocket.isClosed() && (socket == null || !socket.isClosed())) System.out.println("Stand-in server: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads a little at a time, pausing after every read while readPauseMillis is set
+     */
+    private class SlowInputStream extends FilterInputStream {
+        SlowInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            long pause = readPauseMillis;
+            if (pause == 0) return super.read(buffer, offset, length);
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.read(buffer, offset, Math.min(length, 4 << 10));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        Socket current = socket;
+        if (current != null) current.close();
+    }
+
+    /**
+     * Closes the connection being answered, as a network that drops would, and goes on accepting new ones
+     */
+    void dropConnection() throws IOException {
+        Socket current = socket;
+        if (current != null) current.close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.gruppe9_kabalerobot.Client;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class UploadPolicyTest {
+    private static final long TARGET = 1000;
+    private UploadPolicy policy;
+
+    @Before
+    public void setup() {
+        policy = new UploadPolicy(UploadProfile.LEVELS, TARGET, 0);
+    }
+
+    /**
+     * A photo larger than the profile is scaled to its long edge, and the cards found are mapped back to the photo taken
+     */
+    @Test
+    public void testScale() {
+        UploadProfile profile = new UploadProfile(1000, 80, false);
+        double scale = profile.scaleFor(4000, 3000);
+        assertEquals(0.25, scale, 1e-9);
+        assertEquals(1, profile.scaleFor(800, 600), 1e-9);
+        assertEquals(1, UploadProfile.ORIGINAL.scaleFor(4000, 3000), 1e-9);
+
+        int[][] cards = UploadProfile.toFullResolution(new int[][]{{100, 50, 20, 30, 12, 3}}, scale);
+        assertArrayEquals(new int[]{400, 200, 80, 120, 12, 3}, cards[0]);
+    }
+
+    /**
+     * Slow uploads move to smaller photos one level at a time, and fast uploads back to larger ones
+     */
+    @Test
+    public void testRoundTrip() {
+        for (int i = 0; i < 3; i++) policy.record(policy.current(), 3 * TARGET, 20);
+        assertEquals(3, policy.getLevel());
+
+        policy.record(policy.current(), TARGET / 4, 20);
+        assertEquals(2, policy.getLevel());
+        policy.record(policy.current(), (long) (0.7 * TARGET), 20);
+        assertEquals(2, policy.getLevel());
+    }
+
+    /**
+     * A smaller photo finding fewer cards moves back to the larger one, until the smaller profiles are tried again
+     */
+    @Test
+    public void testCardsLost() {
+        policy.record(policy.current(), 2 * TARGET, 20);
+        assertEquals(1, policy.getLevel());
+
+        policy.record(policy.current(), 2 * TARGET, 12);
+        assertEquals(0, policy.getLevel());
+        for (int i = 2; i < UploadPolicy.REFRESH - 1; i++) {
+            policy.record(policy.current(), 2 * TARGET, 20);
+            assertEquals(0, policy.getLevel());
+        }
+
+        policy.record(policy.current(), 2 * TARGET, 20);
+        assertEquals(1, policy.getLevel());
+    }
+
+    /**
+     * A failed upload only counts for the time it took, and uploads with other profiles are not counted
+     */
+    @Test
+    public void testFailedAndUnknown() {
+        policy.record(new UploadProfile(1000, 80, false), 10 * TARGET, 0);
+        assertEquals(0, policy.getLevel());
+
+        policy.record(policy.current(), 10 * TARGET, -1);
+        assertEquals(1, policy.getLevel());
+        policy.record(policy.current(), 10 * TARGET, -1);
+        assertEquals(2, policy.getLevel());
+    }
+
+    /**
+     * A fixed policy never changes profile
+     */
+    @Test
+    public void testFixed() {
+        UploadProfile profile = new UploadProfile(1280, 70, true);
+        UploadPolicy fixed = UploadPolicy.fixed(profile);
+        fixed.record(profile, 100000, 0);
+        fixed.record(profile, 1, 50);
+
+        assertSame(profile, fixed.current());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.gruppe9_kabalerobot.Framework.controller;
+
+import com.example.gruppe9_kabalerobot.Framework.model.Card;
+import com.example.gruppe9_kabalerobot.Framework.model.Foundation;
+import com.example.gruppe9_kabalerobot.Framework.model.Tableau;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BoardIndexTest {
+    private List<Tableau> tableaus;
+    private List<Foundation> foundations;
+
+    @Before
+    public void setup() {
+        tableaus = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            tableaus.add(new Tableau(0, null));
+        }
+        foundations = Arrays.asList(new Foundation(Card.of(0, 4)), new Foundation(), new Foundation(), new Foundation());
+
+        tableaus.set(0, new Tableau(2, Arrays.asList(Card.of(1, 9), Card.of(0, 8))));
+        tableaus.set(2, new Tableau(0, Arrays.asList(Card.of(3, 9))));
+        tableaus.set(4, new Tableau(1, Arrays.asList(Card.of(2, 13), Card.of(3, 12), Card.of(0, 11))));
+    }
+
+    /**
+     * The tableaus a card is visible in, and the tableaus it is the top card of, are found
+     */
+    @Test
+    public void testWhereCardsLie() {
+        BoardIndex board = new BoardIndex(tableaus, foundations);
+
+        assertEquals(1, board.pilesHolding(1, 9));
+        assertEquals(1 << 4, board.pilesHolding(3, 12));
+        assertEquals(0, board.pilesHolding(2, 12));
+        assertEquals(1 | 1 << 2, board.pilesHoldingValue(9));
+        assertEquals(1 << 4, board.topsWithValue(11));
+        assertEquals(1 | 1 << 4, board.getHiddenMask());
+        assertTrue(board.isFoundationTop(0, 4));
+        assertFalse(board.isFoundationTop(0, 5));
+    }
+
+    /**
+     * The tableaus that can take a card are found from the color and value of their top card
+     */
+    @Test
+    public void testAccepting() {
+        BoardIndex board = new BoardIndex(tableaus, foundations);
+
+        //Hjerter 8 takes the black sevens and Klør 9 takes the red eights
+        assertEquals(1, board.topsAccepting(Card.of(1, 7)));
+        assertEquals(1 << 2, board.topsAccepting(Card.of(0, 8)));
+        assertEquals(0, board.topsAccepting(Card.of(1, 8)));
+        assertEquals(0, BoardIndex.first(board.topsAccepting(Card.of(3, 7))));
+        assertEquals(1 << 4, board.pilesHoldingAcceptedBy(Card.of(1, 12)));
+        assertEquals(1 << 4, board.pilesWithSecondSuit(3));
+        assertEquals(Card.of(3, 9).toString(), board.topCard(2).toString());
+    }
+}
@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class CardTranslatorTest {
     private CardPlacement placement;
@@ -36,7 +37,7 @@ public class CardTranslatorTest {
         wasteList.add(new CardObj(0,0,10,1)); //10 of hearts
 
         List<Card> wasteListExpected = new ArrayList<>();
-        wasteListExpected.add(new Card(0,10)); //10 of hearts
+        wasteListExpected.add(Card.of(0,10)); //10 of hearts
 
         //Insert cards into CardPlacement
         placement.setWaste(wasteList);
@@ -63,10 +64,10 @@ public class CardTranslatorTest {
         foundationList.add(new CardObj(0,0,7,4)); //7 of clubs
 
         List<Card> foundationListExpected = new ArrayList<>();
-        foundationListExpected.add(new Card(0,10)); //10 of hearts
-        foundationListExpected.add(new Card(1,9)); //9 of spades
-        foundationListExpected.add(new Card(2,8)); //8 of diamonds
-        foundationListExpected.add(new Card(3,7)); //7 of clubs
+        foundationListExpected.add(Card.of(0,10)); //10 of hearts
+        foundationListExpected.add(Card.of(1,9)); //9 of spades
+        foundationListExpected.add(Card.of(2,8)); //8 of diamonds
+        foundationListExpected.add(Card.of(3,7)); //7 of clubs
 
         //Insert cards into CardPlacement
         placement.setFoundations(foundationList);
@@ -102,10 +103,10 @@ public class CardTranslatorTest {
 
         //Setup expected Lists
         List<Card> tab1Exp = new ArrayList<>();
-        tab1Exp.add(new Card(0, 10)); //10 of Hearts
+        tab1Exp.add(Card.of(0, 10)); //10 of Hearts
         List<Card> tab2Exp = new ArrayList<>();
-        tab2Exp.add(new Card(0, 11)); //Jack of Hearts
-        tab2Exp.add(new Card(1, 10)); //10 of Spades
+        tab2Exp.add(Card.of(0, 11)); //Jack of Hearts
+        tab2Exp.add(Card.of(1, 10)); //10 of Spades
         List<Card> tab3Exp = new ArrayList<>();
 
         //Translate cards
@@ -150,19 +151,19 @@ public class CardTranslatorTest {
 
         //Setup expected Lists
         List<Card> wasteListExpected = new ArrayList<>();
-        wasteListExpected.add(new Card(0,10)); //10 of hearts
+        wasteListExpected.add(Card.of(0,10)); //10 of hearts
 
         List<Card> foundationListExpected = new ArrayList<>();
-        foundationListExpected.add(new Card(0,10)); //10 of hearts
-        foundationListExpected.add(new Card(1,9)); //9 of spades
-        foundationListExpected.add(new Card(2,8)); //8 of diamonds
-        foundationListExpected.add(new Card(3,7)); //7 of clubs
+        foundationListExpected.add(Card.of(0,10)); //10 of hearts
+        foundationListExpected.add(Card.of(1,9)); //9 of spades
+        foundationListExpected.add(Card.of(2,8)); //8 of diamonds
+        foundationListExpected.add(Card.of(3,7)); //7 of clubs
 
         List<Card> tab1Exp = new ArrayList<>();
-        tab1Exp.add(new Card(0, 10)); //10 of Hearts
+        tab1Exp.add(Card.of(0, 10)); //10 of Hearts
         List<Card> tab2Exp = new ArrayList<>();
-        tab2Exp.add(new Card(0, 11)); //Jack of Hearts
-        tab2Exp.add(new Card(1, 10)); //10 of Spades
+        tab2Exp.add(Card.of(0, 11)); //Jack of Hearts
+        tab2Exp.add(Card.of(1, 10)); //10 of Spades
         List<Card> tab3Exp = new ArrayList<>();
 
         //Translate cards
@@ -182,4 +183,19 @@ public class CardTranslatorTest {
 
 
     }
-}
\ No newline at end of file
+
+    /**
+     * The translated cards are the shared instances, and a recognized card that is not in the deck is left out
+     */
+    @Test
+    public void insertCardsInterned() {
+        List<CardObj> wasteList = new ArrayList<>();
+        wasteList.add(new CardObj(0,0,10,1)); //10 of hearts
+        wasteList.add(new CardObj(0,0,0,2)); //Not a card
+        placement.setWaste(wasteList);
+
+        translator.insertCards(game);
+
+        assertSame(Card.of(0, 10), game.getWaste().lookAtTop());
+    }
+}
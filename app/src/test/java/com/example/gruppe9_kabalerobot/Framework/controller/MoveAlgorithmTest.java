@@ -45,39 +45,39 @@ public class MoveAlgorithmTest {
 
         PreviousStatesContainer previousStatesContainer = PreviousStatesContainer.getInstance();
 
-        Card tableauCard = new Card(0,1); //ace of hearts
+        Card tableauCard = Card.of(0,1); //ace of hearts
 
         tableaus[0] = new Tableau(3, null);
-        tableaus[0].addCardToStack(new Card(1, 3)); //random card
+        tableaus[0].addCardToStack(Card.of(1, 3)); //random card
 
-        tableaus[1].addCardToStack(new Card(3, 4)); //random card
-        tableaus[1].addCardToStack(new Card(2, 3)); //random card
-        tableaus[1].addCardToStack(new Card(1, 2)); //random card
+        tableaus[1].addCardToStack(Card.of(3, 4)); //random card
+        tableaus[1].addCardToStack(Card.of(2, 3)); //random card
+        tableaus[1].addCardToStack(Card.of(1, 2)); //random card
         tableaus[1].addCardToStack(tableauCard);
 
-        tableaus[2].addCardToStack(new Card(0, 3));
-        tableaus[3].addCardToStack(new Card(1, 4)); //random card
-        tableaus[4].addCardToStack(new Card(1, 6)); //random card
+        tableaus[2].addCardToStack(Card.of(0, 3));
+        tableaus[3].addCardToStack(Card.of(1, 4)); //random card
+        tableaus[4].addCardToStack(Card.of(1, 6)); //random card
 
-        tableaus[5].addCardToStack(new Card(1, 3)); //random card
-        tableaus[5].addCardToStack(new Card(0, 2)); //random card
+        tableaus[5].addCardToStack(Card.of(1, 3)); //random card
+        tableaus[5].addCardToStack(Card.of(0, 2)); //random card
 
-        tableaus[6].addCardToStack(new Card(1, 7)); //random card
+        tableaus[6].addCardToStack(Card.of(1, 7)); //random card
 
         //Create a wastepile with 8 of Hearts on top
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
 
         game.setFoundation(foundations);
         game.setWaste(waste);
 
-        previousStatesContainer.addPreviousMove(new PreviousState(game.getGameState(), 3)); //Have moved an ace from this position before
+        previousStatesContainer.addPreviousMove(new PreviousState(game.getStateKey(), 3)); //Have moved an ace from this position before
 
         algoritmCtrl = new MoveAlgorithm(game);
 
         assertEquals( "Tag Hjerter 3, og placer den på Spar 4",
-                algoritmCtrl.getBestMove(previousStatesContainer.getLatestSolutionToState(game.getGameState())));
+                algoritmCtrl.getBestMove(previousStatesContainer.getLatestSolutionToState(game.getStateKey())));
     }
 
     /**
@@ -88,36 +88,36 @@ public class MoveAlgorithmTest {
 
         PreviousStatesContainer previousStatesContainer = PreviousStatesContainer.getInstance();
 
-        Card tableauCard = new Card(0,1); //ace of hearts
+        Card tableauCard = Card.of(0,1); //ace of hearts
 
-        tableaus[0].addCardToStack(new Card(1, 3)); //random card
+        tableaus[0].addCardToStack(Card.of(1, 3)); //random card
 
-        tableaus[1].addCardToStack(new Card(1, 2)); //random card
+        tableaus[1].addCardToStack(Card.of(1, 2)); //random card
         tableaus[1].addCardToStack(tableauCard);
 
-        tableaus[2].addCardToStack(new Card(0, 3));
-        tableaus[3].addCardToStack(new Card(1, 4)); //random card
-        tableaus[4].addCardToStack(new Card(1, 6)); //random card
+        tableaus[2].addCardToStack(Card.of(0, 3));
+        tableaus[3].addCardToStack(Card.of(1, 4)); //random card
+        tableaus[4].addCardToStack(Card.of(1, 6)); //random card
 
-        tableaus[5].addCardToStack(new Card(1, 3)); //random card
+        tableaus[5].addCardToStack(Card.of(1, 3)); //random card
 
-        tableaus[6].addCardToStack(new Card(1, 7)); //random card
+        tableaus[6].addCardToStack(Card.of(1, 7)); //random card
 
 
         //Create a wastepile with 8 of Hearts on top
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
 
         game.setFoundation(foundations);
         game.setWaste(waste);
 
         //add seven repeats of same outsome to ensure that every other possible move is skipped
-        previousStatesContainer.addPreviousMove(new PreviousState(game.getGameState(), 10)); //Last possible move is the last possible suggested move
+        previousStatesContainer.addPreviousMove(new PreviousState(game.getStateKey(), 10)); //Last possible move is the last possible suggested move
 
         algoritmCtrl = new MoveAlgorithm(game);
 
-        assertEquals("Der kunne ikke findes noget nyt træk for denne position af spillet", algoritmCtrl.getBestMove(previousStatesContainer.getLatestSolutionToState(game.getGameState())));
+        assertEquals("Der kunne ikke findes noget nyt træk for denne position af spillet", algoritmCtrl.getBestMove(previousStatesContainer.getLatestSolutionToState(game.getStateKey())));
     }
 
     /**
@@ -127,36 +127,36 @@ public class MoveAlgorithmTest {
     public void testGetBestMove103() {
         PreviousStatesContainer previousStatesContainer = PreviousStatesContainer.getInstance();
 
-        Card tableauCard = new Card(0,1); //ace of hearts
+        Card tableauCard = Card.of(0,1); //ace of hearts
 
-        tableaus[0].addCardToStack(new Card(1, 4)); //random card
-        tableaus[0].addCardToStack(new Card(2, 3)); //random card
+        tableaus[0].addCardToStack(Card.of(1, 4)); //random card
+        tableaus[0].addCardToStack(Card.of(2, 3)); //random card
 
-        tableaus[1].addCardToStack(new Card(1, 2)); //random card
+        tableaus[1].addCardToStack(Card.of(1, 2)); //random card
         tableaus[1].addCardToStack(tableauCard);
 
-        tableaus[2].addCardToStack(new Card(1, 9));
+        tableaus[2].addCardToStack(Card.of(1, 9));
 
-        tableaus[3].addCardToStack(new Card(1, 11));
+        tableaus[3].addCardToStack(Card.of(1, 11));
 
-        tableaus[4].addCardToStack(new Card(0, 10));
+        tableaus[4].addCardToStack(Card.of(0, 10));
 
         //Create a wastepile with 8 of Hearts on top
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 12));
-        wasteCards.add(new Card(0, 11));
+        wasteCards.add(Card.of(0, 12));
+        wasteCards.add(Card.of(0, 11));
         Waste waste = new Waste(true, wasteCards);
 
         game.setFoundation(foundations);
         game.setWaste(waste);
 
-        previousStatesContainer.addPreviousMove(new PreviousState(game.getGameState(), 3)); //Have moved an ace from this position before
-        previousStatesContainer.addPreviousMove(new PreviousState(game.getGameState(), 8)); //Previously moved a 10 to 11
+        previousStatesContainer.addPreviousMove(new PreviousState(game.getStateKey(), 3)); //Have moved an ace from this position before
+        previousStatesContainer.addPreviousMove(new PreviousState(game.getStateKey(), 8)); //Previously moved a 10 to 11
 
         algoritmCtrl = new MoveAlgorithm(game);
 
         assertEquals( "Vend et kort fra bunken"
-                , algoritmCtrl.getBestMove(previousStatesContainer.getLatestSolutionToState(game.getGameState())));
+                , algoritmCtrl.getBestMove(previousStatesContainer.getLatestSolutionToState(game.getStateKey())));
     }
 
     /**
@@ -165,10 +165,10 @@ public class MoveAlgorithmTest {
 
     @Test
     public void testCheckWin101(){
-        Card kingOfHearts = new Card(0,13);
-        Card kingOfSpades = new Card(1,13);
-        Card kingOfDiamonds = new Card(2,13);
-        Card kingOfClubs = new Card(3,13);
+        Card kingOfHearts = Card.of(0,13);
+        Card kingOfSpades = Card.of(1,13);
+        Card kingOfDiamonds = Card.of(2,13);
+        Card kingOfClubs = Card.of(3,13);
 
         foundations[0].setForcedCard(kingOfHearts);
         foundations[1].setForcedCard(kingOfSpades);
@@ -189,10 +189,10 @@ public class MoveAlgorithmTest {
     @Test
     public void testCheckWin102(){
 
-        Card kingOfHearts = new Card(0,13);
-        Card kingOfSpades = new Card(1,13);
-        Card kingOfDiamonds = new Card(2,13);
-        Card aceOfClubs = new Card(3,1);
+        Card kingOfHearts = Card.of(0,13);
+        Card kingOfSpades = Card.of(1,13);
+        Card kingOfDiamonds = Card.of(2,13);
+        Card aceOfClubs = Card.of(3,1);
 
         foundations[0].setForcedCard(kingOfHearts);
         foundations[1].setForcedCard(kingOfSpades);
@@ -213,10 +213,10 @@ public class MoveAlgorithmTest {
     @Test
     public void testCheckWin103(){
 
-        Card aceOfHearts = new Card(0,1);
-        Card aceOfSpades = new Card(1,1);
-        Card aceOfDiamonds = new Card(2,1);
-        Card aceOfClubs = new Card(3,1);
+        Card aceOfHearts = Card.of(0,1);
+        Card aceOfSpades = Card.of(1,1);
+        Card aceOfDiamonds = Card.of(2,1);
+        Card aceOfClubs = Card.of(3,1);
 
         foundations[0].addCard(aceOfHearts);
         foundations[1].addCard(aceOfSpades);
@@ -250,10 +250,10 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testAutoFinish101(){
-        Card aceOfHearts = new Card(0,1);
-        Card aceOfSpades = new Card(1,1);
-        Card aceOfDiamonds = new Card(2,1);
-        Card aceOfClubs = new Card(3,1);
+        Card aceOfHearts = Card.of(0,1);
+        Card aceOfSpades = Card.of(1,1);
+        Card aceOfDiamonds = Card.of(2,1);
+        Card aceOfClubs = Card.of(3,1);
 
         foundations[0].addCard(aceOfHearts);
         foundations[1].addCard(aceOfSpades);
@@ -274,10 +274,10 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testAutoFinish102(){
-        Card aceOfHearts = new Card(0,1);
-        Card aceOfSpades = new Card(1,1);
-        Card aceOfDiamonds = new Card(2,1);
-        Card aceOfClubs = new Card(3,1);
+        Card aceOfHearts = Card.of(0,1);
+        Card aceOfSpades = Card.of(1,1);
+        Card aceOfDiamonds = Card.of(2,1);
+        Card aceOfClubs = Card.of(3,1);
 
         foundations[0].addCard(aceOfHearts);
         foundations[1].addCard(aceOfSpades);
@@ -301,10 +301,10 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testAutoFinish103(){
-        Card aceOfHearts = new Card(0,1);
-        Card aceOfSpades = new Card(1,1);
-        Card aceOfDiamonds = new Card(2,1);
-        Card aceOfClubs = new Card(3,1);
+        Card aceOfHearts = Card.of(0,1);
+        Card aceOfSpades = Card.of(1,1);
+        Card aceOfDiamonds = Card.of(2,1);
+        Card aceOfClubs = Card.of(3,1);
 
         foundations[0].addCard(aceOfHearts);
         foundations[1].addCard(aceOfSpades);
@@ -313,7 +313,7 @@ public class MoveAlgorithmTest {
 
         //Create a wastepile with 8 of Hearts on top
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -331,30 +331,30 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testCheckAce101(){
-        Card distractionCard = new Card(0,1); //ace of hearts
-        Card wantedCard = new Card(1,1); //ace of spades
+        Card distractionCard = Card.of(0,1); //ace of hearts
+        Card wantedCard = Card.of(1,1); //ace of spades
 
-        tableaus[0].addCardToStack(new Card(1, 3)); //random card
+        tableaus[0].addCardToStack(Card.of(1, 3)); //random card
 
         tableaus[1] = new Tableau(2, null);
-        tableaus[1].addCardToStack(new Card(1, 2)); //random card
+        tableaus[1].addCardToStack(Card.of(1, 2)); //random card
         tableaus[1].addCardToStack(distractionCard);
 
-        tableaus[2].addCardToStack(new Card(0, 3));
-        tableaus[3].addCardToStack(new Card(1, 4)); //random card
-        tableaus[4].addCardToStack(new Card(1, 6)); //random card
+        tableaus[2].addCardToStack(Card.of(0, 3));
+        tableaus[3].addCardToStack(Card.of(1, 4)); //random card
+        tableaus[4].addCardToStack(Card.of(1, 6)); //random card
 
         tableaus[5] = new Tableau(3, null);
-        tableaus[5].addCardToStack(new Card(1, 3)); //random card
-        tableaus[5].addCardToStack(new Card(0, 2)); //random card
+        tableaus[5].addCardToStack(Card.of(1, 3)); //random card
+        tableaus[5].addCardToStack(Card.of(0, 2)); //random card
         tableaus[5].addCardToStack(wantedCard);
 
-        tableaus[6].addCardToStack(new Card(1, 7)); //random card
+        tableaus[6].addCardToStack(Card.of(1, 7)); //random card
 
 
         //Create a wastepile with 8 of Hearts on top
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -368,28 +368,28 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testCheckAce102(){
-        Card tableauCard = new Card(0,1); //ace of hearts
-        Card tableauCard2 = new Card(1,1); //ace of spades
+        Card tableauCard = Card.of(0,1); //ace of hearts
+        Card tableauCard2 = Card.of(1,1); //ace of spades
 
-        tableaus[0].addCardToStack(new Card(1, 3)); //random card
+        tableaus[0].addCardToStack(Card.of(1, 3)); //random card
 
-        tableaus[1].addCardToStack(new Card(0, 3)); //random card
-        tableaus[1].addCardToStack(new Card(1, 2)); //random card
+        tableaus[1].addCardToStack(Card.of(0, 3)); //random card
+        tableaus[1].addCardToStack(Card.of(1, 2)); //random card
         tableaus[1].addCardToStack(tableauCard);
 
-        tableaus[2].addCardToStack(new Card(0, 4));
-        tableaus[3].addCardToStack(new Card(1, 6)); //random card
-        tableaus[4].addCardToStack(new Card(1, 7)); //random card
+        tableaus[2].addCardToStack(Card.of(0, 4));
+        tableaus[3].addCardToStack(Card.of(1, 6)); //random card
+        tableaus[4].addCardToStack(Card.of(1, 7)); //random card
 
-        tableaus[5].addCardToStack(new Card(0, 2)); //random card
+        tableaus[5].addCardToStack(Card.of(0, 2)); //random card
         tableaus[5].addCardToStack(tableauCard2);
 
-        tableaus[6].addCardToStack(new Card(1, 9)); //random card
+        tableaus[6].addCardToStack(Card.of(1, 9)); //random card
 
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -403,11 +403,11 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testCheckAce103() {
-        tableaus[0].addCardToStack(new Card(0, 6));
-        tableaus[2].addCardToStack(new Card(0, 3));
+        tableaus[0].addCardToStack(Card.of(0, 6));
+        tableaus[2].addCardToStack(Card.of(0, 3));
 
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -421,17 +421,17 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck101() {
-        tableaus[0].addCardToStack(new Card(0, 13));
-        tableaus[1].addCardToStack(new Card(0, 13));
-        tableaus[2].addCardToStack(new Card(0, 13));
-        tableaus[3].addCardToStack(new Card(0, 13));
-        tableaus[4].addCardToStack(new Card(0, 13));
-        tableaus[5].addCardToStack(new Card(0, 13));
-        tableaus[6].addCardToStack(new Card(0, 13));
+        tableaus[0].addCardToStack(Card.of(0, 13));
+        tableaus[1].addCardToStack(Card.of(0, 13));
+        tableaus[2].addCardToStack(Card.of(0, 13));
+        tableaus[3].addCardToStack(Card.of(0, 13));
+        tableaus[4].addCardToStack(Card.of(0, 13));
+        tableaus[5].addCardToStack(Card.of(0, 13));
+        tableaus[6].addCardToStack(Card.of(0, 13));
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -446,7 +446,7 @@ public class MoveAlgorithmTest {
     @Test
     public void testKingCheck102() {
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -460,14 +460,14 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck103() {
-        tableaus[0].addCardToStack(new Card(0, 12));
-        tableaus[1].addCardToStack(new Card(0, 12));
-        tableaus[2].addCardToStack(new Card(0, 12));
-        tableaus[3].addCardToStack(new Card(0, 12));
+        tableaus[0].addCardToStack(Card.of(0, 12));
+        tableaus[1].addCardToStack(Card.of(0, 12));
+        tableaus[2].addCardToStack(Card.of(0, 12));
+        tableaus[3].addCardToStack(Card.of(0, 12));
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -481,15 +481,15 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck104() {
-        tableaus[0].addCardToStack(new Card(1, 5));
-        tableaus[1].addCardToStack(new Card(1, 7));
-        tableaus[2].addCardToStack(new Card(0, 8));
-        tableaus[3].addCardToStack(new Card(0, 7));
-        tableaus[4].addCardToStack(new Card(0, 6));
+        tableaus[0].addCardToStack(Card.of(1, 5));
+        tableaus[1].addCardToStack(Card.of(1, 7));
+        tableaus[2].addCardToStack(Card.of(0, 8));
+        tableaus[3].addCardToStack(Card.of(0, 7));
+        tableaus[4].addCardToStack(Card.of(0, 6));
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -503,17 +503,17 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck105() {
-        tableaus[0] = new Tableau(2, Arrays.asList(new Card(0, 13)));
-        tableaus[1] = new Tableau(2, Arrays.asList(new Card(1, 13)));
-        tableaus[2].addCardToStack(new Card(1, 5));
-        tableaus[3].addCardToStack(new Card(1, 7));
-        tableaus[4].addCardToStack(new Card(0, 8));
-        tableaus[5].addCardToStack(new Card(0, 7));
-        tableaus[6].addCardToStack(new Card(0, 6));
+        tableaus[0] = new Tableau(2, Arrays.asList(Card.of(0, 13)));
+        tableaus[1] = new Tableau(2, Arrays.asList(Card.of(1, 13)));
+        tableaus[2].addCardToStack(Card.of(1, 5));
+        tableaus[3].addCardToStack(Card.of(1, 7));
+        tableaus[4].addCardToStack(Card.of(0, 8));
+        tableaus[5].addCardToStack(Card.of(0, 7));
+        tableaus[6].addCardToStack(Card.of(0, 6));
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -527,19 +527,19 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck110() {
-        Card[] wantedCard = {new Card(0,13)}; //King of hearts
+        Card[] wantedCard = {Card.of(0,13)}; //King of hearts
 
-        tableaus[0].addCardToStack(new Card(1, 3)); //random card
+        tableaus[0].addCardToStack(Card.of(1, 3)); //random card
 
         tableaus[1] = new Tableau(2, Arrays.asList(wantedCard));
 
-        tableaus[2].addCardToStack(new Card(0, 4));
-        tableaus[3].addCardToStack(new Card(1, 6)); //random card
-        tableaus[4].addCardToStack(new Card(1, 7)); //random card
+        tableaus[2].addCardToStack(Card.of(0, 4));
+        tableaus[3].addCardToStack(Card.of(1, 6)); //random card
+        tableaus[4].addCardToStack(Card.of(1, 7)); //random card
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -553,15 +553,15 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck111() {
-        Card[] wantedCard = {new Card(0,13)};
-        Card[] distractionCard = {new Card(2,13)};
+        Card[] wantedCard = {Card.of(0,13)};
+        Card[] distractionCard = {Card.of(2,13)};
 
         tableaus[0] = new Tableau(1, Arrays.asList(wantedCard));
         tableaus[1] = new Tableau(1, Arrays.asList(distractionCard));
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -575,15 +575,15 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck112() {
-        Card[] wantedCard = {new Card(0,13)};
-        Card[] distractionCard = {new Card(1,13)};
+        Card[] wantedCard = {Card.of(0,13)};
+        Card[] distractionCard = {Card.of(1,13)};
 
         tableaus[0] = new Tableau(1, Arrays.asList(wantedCard));
         tableaus[1] = new Tableau(1, Arrays.asList(distractionCard));
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -597,15 +597,15 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck113() {
-        Card[] wantedCard = {new Card(0,13)};
-        Card[] distractionCard = {new Card(2,13)};
+        Card[] wantedCard = {Card.of(0,13)};
+        Card[] distractionCard = {Card.of(2,13)};
 
         tableaus[0] = new Tableau(0, Arrays.asList(wantedCard));
         tableaus[1] = new Tableau(0, Arrays.asList(distractionCard));
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -619,18 +619,18 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck114() {
-        Card[] wantedCard = {new Card(0,13)}; //King of hearts
-        Card[] distractionCard = {new Card(1,13)}; //King of spades
+        Card[] wantedCard = {Card.of(0,13)}; //King of hearts
+        Card[] distractionCard = {Card.of(1,13)}; //King of spades
 
         tableaus[0] = new Tableau(2, Arrays.asList(wantedCard));
-        tableaus[1].addCardToStack(new Card(0, 10)); //10 of hearts
+        tableaus[1].addCardToStack(Card.of(0, 10)); //10 of hearts
         tableaus[2] = new Tableau(1, Arrays.asList(distractionCard));
-        tableaus[3].addCardToStack(new Card(0, 5)); //5 of hearts
-        tableaus[4].addCardToStack(new Card(1, 10)); //10 of spades
+        tableaus[3].addCardToStack(Card.of(0, 5)); //5 of hearts
+        tableaus[4].addCardToStack(Card.of(1, 10)); //10 of spades
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -644,18 +644,18 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck115() {
-        Card[] wantedCard = {new Card(0,13)}; //King of hearts
-        Card[] distractionCard = {new Card(1,13)}; //King of spades
+        Card[] wantedCard = {Card.of(0,13)}; //King of hearts
+        Card[] distractionCard = {Card.of(1,13)}; //King of spades
 
         tableaus[1] = new Tableau(1, Arrays.asList(distractionCard));
-        tableaus[1].addCardToStack(new Card(0, 10)); //10 of hearts
+        tableaus[1].addCardToStack(Card.of(0, 10)); //10 of hearts
         tableaus[2] = new Tableau(2, Arrays.asList(wantedCard));
-        tableaus[3].addCardToStack(new Card(0, 5)); //5 of hearts
-        tableaus[4].addCardToStack(new Card(1, 10)); //10 of spades
+        tableaus[3].addCardToStack(Card.of(0, 5)); //5 of hearts
+        tableaus[4].addCardToStack(Card.of(1, 10)); //10 of spades
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -669,18 +669,18 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck116() {
-        Card[] wantedCard = {new Card(0,13)}; //King of hearts
-        Card[] distractionCard = {new Card(1,13)}; //King of spades
+        Card[] wantedCard = {Card.of(0,13)}; //King of hearts
+        Card[] distractionCard = {Card.of(1,13)}; //King of spades
 
-        tableaus[0].addCardToStack(new Card(0, 12)); //Queen of hearts
+        tableaus[0].addCardToStack(Card.of(0, 12)); //Queen of hearts
         tableaus[1] = new Tableau(2, Arrays.asList(wantedCard));
-        tableaus[2].addCardToStack(new Card(0, 11)); //jack of hearts
-        tableaus[3].addCardToStack(new Card(1, 12)); //Queen of spades
+        tableaus[2].addCardToStack(Card.of(0, 11)); //jack of hearts
+        tableaus[3].addCardToStack(Card.of(1, 12)); //Queen of spades
         tableaus[4] = new Tableau(2, Arrays.asList(distractionCard));
 
         //Create a dummy wastepile
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -694,18 +694,18 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck117() {
-        Card[] wantedCard = {new Card(0,13)}; //King of hearts
-        Card[] distractionCard = {new Card(1,13)}; //King of spades
+        Card[] wantedCard = {Card.of(0,13)}; //King of hearts
+        Card[] distractionCard = {Card.of(1,13)}; //King of spades
 
-        tableaus[0].addCardToStack(new Card(0, 12)); //Queen of hearts
+        tableaus[0].addCardToStack(Card.of(0, 12)); //Queen of hearts
         tableaus[1] = new Tableau(2, Arrays.asList(distractionCard));
-        tableaus[2].addCardToStack(new Card(0, 11)); //jack of hearts
-        tableaus[3].addCardToStack(new Card(1, 12)); //Queen of spades
+        tableaus[2].addCardToStack(Card.of(0, 11)); //jack of hearts
+        tableaus[3].addCardToStack(Card.of(1, 12)); //Queen of spades
         tableaus[4] = new Tableau(2, Arrays.asList(wantedCard));
 
         //Create a dummy wastepile
         List<Card> knownWasteCards = new ArrayList<>();
-        knownWasteCards.add(new Card(0, 8));
+        knownWasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, knownWasteCards);
         game.setWaste(waste);
 
@@ -719,18 +719,18 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck118() {
-        Card[] wantedCard = {new Card(0,13)}; //King of Hearts
-        Card[] distractionCard = {new Card(1,13)}; //King of Spades
-        Card[] cardOfInterest = {new Card(1, 12)}; //Queen of Spades
+        Card[] wantedCard = {Card.of(0,13)}; //King of Hearts
+        Card[] distractionCard = {Card.of(1,13)}; //King of Spades
+        Card[] cardOfInterest = {Card.of(1, 12)}; //Queen of Spades
 
         tableaus[0] = new Tableau(2, Arrays.asList(cardOfInterest)); //Queen of Spades
         tableaus[1] = new Tableau(2, Arrays.asList(distractionCard)); //King of Spades
-        tableaus[3].addCardToStack(new Card(0, 12)); //Queen of Hearts
+        tableaus[3].addCardToStack(Card.of(0, 12)); //Queen of Hearts
         tableaus[4] = new Tableau(2, Arrays.asList(wantedCard));//King of Hearts
 
         //Create a dummy wastepile
         List<Card> knownWasteCards = new ArrayList<>();
-        knownWasteCards.add(new Card(0, 8));
+        knownWasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, knownWasteCards);
         game.setWaste(waste);
 
@@ -744,18 +744,18 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testKingCheck119() {
-        Card[] wantedCard = {new Card(0,13)}; //King of Hearts
-        Card[] distractionCard = {new Card(1,13)}; //King of Spades
-        Card[] cardOfInterest = {new Card(1, 12)}; //Queen of Spades
+        Card[] wantedCard = {Card.of(0,13)}; //King of Hearts
+        Card[] distractionCard = {Card.of(1,13)}; //King of Spades
+        Card[] cardOfInterest = {Card.of(1, 12)}; //Queen of Spades
 
-        tableaus[0].addCardToStack(new Card(0, 12)); //Queen of Hearts
+        tableaus[0].addCardToStack(Card.of(0, 12)); //Queen of Hearts
         tableaus[1] = new Tableau(2, Arrays.asList(distractionCard)); //King of Spades
         tableaus[3] = new Tableau(2, Arrays.asList(cardOfInterest)); //Queen of Spades
         tableaus[4] = new Tableau(2, Arrays.asList(wantedCard));//King of Hearts
 
         //Create a dummy wastepile
         List<Card> knownWasteCards = new ArrayList<>();
-        knownWasteCards.add(new Card(0, 8));
+        knownWasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, knownWasteCards);
         game.setWaste(waste);
 
@@ -770,24 +770,24 @@ public class MoveAlgorithmTest {
     @Test
     public void testFoundationToTableau101() {
         //Create a tableau with 10 of Hearts
-        Card tableauCard = new Card(0, 10);
+        Card tableauCard = Card.of(0, 10);
         tableaus[1].addCardToStack(tableauCard);
 
         //Create a foundation with 9 of Spades at the top
-        foundations[2].addCard(new Card(1, 1));
-        foundations[2].addCard(new Card(1, 2));
-        foundations[2].addCard(new Card(1, 3));
-        foundations[2].addCard(new Card(1, 4));
-        foundations[2].addCard(new Card(1, 5));
-        foundations[2].addCard(new Card(1, 6));
-        foundations[2].addCard(new Card(1, 7));
-        foundations[2].addCard(new Card(1, 8));
-        Card foundationCard = new Card(1, 9);
+        foundations[2].addCard(Card.of(1, 1));
+        foundations[2].addCard(Card.of(1, 2));
+        foundations[2].addCard(Card.of(1, 3));
+        foundations[2].addCard(Card.of(1, 4));
+        foundations[2].addCard(Card.of(1, 5));
+        foundations[2].addCard(Card.of(1, 6));
+        foundations[2].addCard(Card.of(1, 7));
+        foundations[2].addCard(Card.of(1, 8));
+        Card foundationCard = Card.of(1, 9);
         foundations[2].addCard(foundationCard);
 
         //Create a wastepile with 8 of Hearts on top
         List<Card> wasteCards = new ArrayList<>();
-        wasteCards.add(new Card(0, 8));
+        wasteCards.add(Card.of(0, 8));
         Waste waste = new Waste(true, wasteCards);
         game.setWaste(waste);
 
@@ -804,22 +804,22 @@ public class MoveAlgorithmTest {
     @Test
     public void testFoundationToTableau102() {
         //Create tableaus, one with 10 of Hearts and one with 8 of Hearts, with some cards on it.
-        Card tableauDestinationCard = new Card(0, 10);
+        Card tableauDestinationCard = Card.of(0, 10);
         tableaus[1].addCardToStack(tableauDestinationCard);
-        tableaus[2].addCardToStack(new Card(0, 8));
-        tableaus[2].addCardToStack(new Card(1, 7));
-        tableaus[2].addCardToStack(new Card(0, 6));
+        tableaus[2].addCardToStack(Card.of(0, 8));
+        tableaus[2].addCardToStack(Card.of(1, 7));
+        tableaus[2].addCardToStack(Card.of(0, 6));
 
         //Create a foundation with 9 of Spades at the top
-        foundations[2].addCard(new Card(1, 1));
-        foundations[2].addCard(new Card(1, 2));
-        foundations[2].addCard(new Card(1, 3));
-        foundations[2].addCard(new Card(1, 4));
-        foundations[2].addCard(new Card(1, 5));
-        foundations[2].addCard(new Card(1, 6));
-        foundations[2].addCard(new Card(1, 7));
-        foundations[2].addCard(new Card(1, 8));
-        Card foundationCard = new Card(1, 9);
+        foundations[2].addCard(Card.of(1, 1));
+        foundations[2].addCard(Card.of(1, 2));
+        foundations[2].addCard(Card.of(1, 3));
+        foundations[2].addCard(Card.of(1, 4));
+        foundations[2].addCard(Card.of(1, 5));
+        foundations[2].addCard(Card.of(1, 6));
+        foundations[2].addCard(Card.of(1, 7));
+        foundations[2].addCard(Card.of(1, 8));
+        Card foundationCard = Card.of(1, 9);
         foundations[2].addCard(foundationCard);
 
         //Create a wastepile placeholder
@@ -838,14 +838,14 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testMoveToFoundation101() {
-        tableaus[1].addCardToStack(new Card(1, 12));
-        Card tableauCard = new Card(0,11);
+        tableaus[1].addCardToStack(Card.of(1, 12));
+        Card tableauCard = Card.of(0,11);
         tableaus[1].addCardToStack(tableauCard);
 
         for(int i = 1 ; i < 10 ; i++) {
-            foundations[1].addCard(new Card(0,i));
+            foundations[1].addCard(Card.of(0,i));
         }
-        Card foundationCard = new Card(0,10);
+        Card foundationCard = Card.of(0,10);
         foundations[1].addCard(foundationCard);
 
         Waste waste = new Waste(true, null);
@@ -861,13 +861,13 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testMoveToFoundation102() {
-        Card tableauCard = new Card(0,11);
+        Card tableauCard = Card.of(0,11);
         tableaus[1].addCardToStack(tableauCard);
 
         for(int i = 1 ; i < 10 ; i++) {
-            foundations[1].addCard(new Card(0,i));
+            foundations[1].addCard(Card.of(0,i));
         }
-        Card foundationCard = new Card(0,10);
+        Card foundationCard = Card.of(0,10);
         foundations[1].addCard(foundationCard);
 
         Waste waste = new Waste(true, null);
@@ -883,15 +883,15 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testMoveToFoundation103() {
-        Card tableauCard = new Card(0,11);
+        Card tableauCard = Card.of(0,11);
         tableaus[1].addCardToStack(tableauCard);
         tableaus[2] = new Tableau(3, null);
-        tableaus[2].addCardToStack(new Card(3, 13));
+        tableaus[2].addCardToStack(Card.of(3, 13));
 
         for(int i = 1 ; i < 10 ; i++) {
-            foundations[1].addCard(new Card(0,i));
+            foundations[1].addCard(Card.of(0,i));
         }
-        Card foundationCard = new Card(0,10);
+        Card foundationCard = Card.of(0,10);
         foundations[1].addCard(foundationCard);
 
         Waste waste = new Waste(true, null);
@@ -907,14 +907,14 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testMoveToFoundation104() {
-        Card tableauCard = new Card(0,11);
+        Card tableauCard = Card.of(0,11);
         tableaus[1].addCardToStack(tableauCard);
-        tableaus[2].addCardToStack(new Card(3, 13));
+        tableaus[2].addCardToStack(Card.of(3, 13));
 
         for(int i = 1 ; i < 10 ; i++) {
-            foundations[1].addCard(new Card(0,i));
+            foundations[1].addCard(Card.of(0,i));
         }
-        Card foundationCard = new Card(0,10);
+        Card foundationCard = Card.of(0,10);
         foundations[1].addCard(foundationCard);
 
         Waste waste = new Waste(true, null);
@@ -930,14 +930,14 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void testMoveToFoundation105() {
-        Card tableauCard = new Card(0, 11);
+        Card tableauCard = Card.of(0, 11);
         tableaus[1].addCardToStack(tableauCard);
-        tableaus[2].addCardToStack(new Card(0, 12));
+        tableaus[2].addCardToStack(Card.of(0, 12));
 
         for(int i = 1 ; i < 10 ; i++) {
-            foundations[1].addCard(new Card(0,i));
+            foundations[1].addCard(Card.of(0,i));
         }
-        Card foundationCard = new Card(0,10);
+        Card foundationCard = Card.of(0,10);
         foundations[1].addCard(foundationCard);
 
         Waste waste = new Waste(true, null);
@@ -954,12 +954,12 @@ public class MoveAlgorithmTest {
     @Test
     public void testMoveToFoundation106() {
         for(int i = 1 ; i < 10 ; i++) {
-            foundations[1].addCard(new Card(0,i));
+            foundations[1].addCard(Card.of(0,i));
         }
-        Card foundationCard = new Card(0,10);
+        Card foundationCard = Card.of(0,10);
         foundations[1].addCard(foundationCard);
         List<Card> wastePile = new ArrayList<>();
-        Card wasteCard = new Card(0,11);
+        Card wasteCard = Card.of(0,11);
         wastePile.add(wasteCard);
         Waste waste = new Waste(true, wastePile);
         game.setWaste(waste);
@@ -974,12 +974,12 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void moveTableau1(){
-        Card expected1 = new Card(0, 8);
-        Card expected2 = new Card(1, 7);
-        tableaus[1].addCardToStack(new Card(1, 9));
+        Card expected1 = Card.of(0, 8);
+        Card expected2 = Card.of(1, 7);
+        tableaus[1].addCardToStack(Card.of(1, 9));
         tableaus[1].addCardToStack(expected1);
         tableaus[2].addCardToStack(expected2);
-        tableaus[2].addCardToStack(new Card(0, 6));
+        tableaus[2].addCardToStack(Card.of(0, 6));
 
         //Create a wastepile with 3 of Clubs on top
         List<Card> wasteCards = new ArrayList<>();
@@ -998,14 +998,14 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void moveTableau2(){
-        Card expected1 = new Card(0, 8);
-        Card expected2 = new Card(1, 7);
-        tableaus[1].addCardToStack(new Card(1, 9));
+        Card expected1 = Card.of(0, 8);
+        Card expected2 = Card.of(1, 7);
+        tableaus[1].addCardToStack(Card.of(1, 9));
         tableaus[1].addCardToStack(expected1);
         tableaus[2].addCardToStack(expected2);
-        tableaus[2].addCardToStack(new Card(0, 6));
-        tableaus[3].addCardToStack(new Card(3, 9));
-        tableaus[3].addCardToStack(new Card(2, 8));
+        tableaus[2].addCardToStack(Card.of(0, 6));
+        tableaus[3].addCardToStack(Card.of(3, 9));
+        tableaus[3].addCardToStack(Card.of(2, 8));
 
         Waste waste = new Waste(true, null);
         game.setWaste(waste);
@@ -1022,14 +1022,14 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void typeStreak1(){
-        Card expected1 = new Card(0, 6);
-        Card expected2 = new Card(1, 7);
-        tableaus[1].addCardToStack(new Card(1, 4));
-        tableaus[2].addCardToStack(new Card(3, 11));
-        tableaus[2].addCardToStack(new Card(0, 10));
+        Card expected1 = Card.of(0, 6);
+        Card expected2 = Card.of(1, 7);
+        tableaus[1].addCardToStack(Card.of(1, 4));
+        tableaus[2].addCardToStack(Card.of(3, 11));
+        tableaus[2].addCardToStack(Card.of(0, 10));
         tableaus[3].addCardToStack(expected1);// 0       6
-        tableaus[4].addCardToStack(new Card(3, 12));
-        tableaus[5].addCardToStack(new Card(0, 8));
+        tableaus[4].addCardToStack(Card.of(3, 12));
+        tableaus[5].addCardToStack(Card.of(0, 8));
         tableaus[5].addCardToStack(expected2);// 1       7    // Possible move for expected 1
 
         //Create a wastepile placeholder
@@ -1048,14 +1048,14 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void typeStreak2(){
-        Card expected1 = new Card(0, 6);
-        Card expected2 = new Card(1, 7);
-        tableaus[1].addCardToStack(new Card(1, 4));
-        tableaus[2].addCardToStack(new Card(2, 8));
-        tableaus[2].addCardToStack(new Card(3, 7)); // Possible move for expected 1
+        Card expected1 = Card.of(0, 6);
+        Card expected2 = Card.of(1, 7);
+        tableaus[1].addCardToStack(Card.of(1, 4));
+        tableaus[2].addCardToStack(Card.of(2, 8));
+        tableaus[2].addCardToStack(Card.of(3, 7)); // Possible move for expected 1
         tableaus[3].addCardToStack(expected1);// 0       6
-        tableaus[4].addCardToStack(new Card(2, 9));
-        tableaus[5].addCardToStack(new Card(0, 8));
+        tableaus[4].addCardToStack(Card.of(2, 9));
+        tableaus[5].addCardToStack(Card.of(0, 8));
         tableaus[5].addCardToStack(expected2);// 1       7    // Possible move for expected 1 (has matching suit)
 
         //Create a wastepile placeholder
@@ -1074,12 +1074,12 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void typeStreak3(){
-        Card expected1 = new Card(0, 3);
-        Card expected2 = new Card(3, 2);
-        tableaus[1].addCardToStack(new Card(1, 9));
-        tableaus[2].addCardToStack(new Card(1, 4));
-        tableaus[2].addCardToStack(new Card(2, 3));
-        tableaus[3].addCardToStack(new Card(3, 4));
+        Card expected1 = Card.of(0, 3);
+        Card expected2 = Card.of(3, 2);
+        tableaus[1].addCardToStack(Card.of(1, 9));
+        tableaus[2].addCardToStack(Card.of(1, 4));
+        tableaus[2].addCardToStack(Card.of(2, 3));
+        tableaus[3].addCardToStack(Card.of(3, 4));
         tableaus[3].addCardToStack(expected1);// 0       3    // Possible move for expected 1
 
         //Create a wastepile with 3 of Clubs on top
@@ -1100,15 +1100,15 @@ public class MoveAlgorithmTest {
      */
     @Test
     public void typeStreak4(){
-        Card expected1 = new Card(0, 3);
-        Card expected2 = new Card(3, 2);
-        tableaus[1].addCardToStack(new Card(1, 9));  // Possible move for card in tableaus 5
-        tableaus[2].addCardToStack(new Card(3, 11));
-        tableaus[2].addCardToStack(new Card(0, 10)); // Possible move for card in tableaus 1
-        tableaus[3].addCardToStack(new Card(3, 4));
+        Card expected1 = Card.of(0, 3);
+        Card expected2 = Card.of(3, 2);
+        tableaus[1].addCardToStack(Card.of(1, 9));  // Possible move for card in tableaus 5
+        tableaus[2].addCardToStack(Card.of(3, 11));
+        tableaus[2].addCardToStack(Card.of(0, 10)); // Possible move for card in tableaus 1
+        tableaus[3].addCardToStack(Card.of(3, 4));
         tableaus[3].addCardToStack(expected1);// 0       3     // Possible move for expected 2. This has matching suit which is why we prioritize the waste in this case
-        tableaus[4].addCardToStack(new Card(2, 9));
-        tableaus[5].addCardToStack(new Card(0, 8));
+        tableaus[4].addCardToStack(Card.of(2, 9));
+        tableaus[5].addCardToStack(Card.of(0, 8));
 
         //Create a wastepile with 3 of Clubs on top
         List<Card> knownWasteCards = new ArrayList<>();
@@ -1126,7 +1126,7 @@ public class MoveAlgorithmTest {
     @Test
     public void testRevealHiddenCard101() {
         tableaus[1] = new Tableau(3, null);
-        tableaus[1].addCardToStack(new Card(0, 4));
+        tableaus[1].addCardToStack(Card.of(0, 4));
         tableaus[2] = new Tableau(2, null);
 
         game.setWaste(new Waste(true, null));
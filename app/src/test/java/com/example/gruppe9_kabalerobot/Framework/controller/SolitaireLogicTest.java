@@ -0,0 +1,70 @@
+package com.example.gruppe9_kabalerobot.Framework.controller;
+
+import com.example.gruppe9_kabalerobot.Framework.model.Card;
+import com.example.gruppe9_kabalerobot.Framework.model.Foundation;
+import com.example.gruppe9_kabalerobot.Framework.model.Tableau;
+import com.example.gruppe9_kabalerobot.Framework.model.Waste;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SolitaireLogicTest {
+    private SolitaireLogic game;
+    private Tableau[] tableaus;
+
+    @Before
+    public void setup() {
+        game = new SolitaireLogic();
+        tableaus = game.getTableau();
+        game.setFoundation(new Foundation[]{new Foundation(), new Foundation(), new Foundation(), new Foundation()});
+        game.setWaste(new Waste(true, new ArrayList<>()));
+
+        tableaus[0] = new Tableau(2, null);
+        tableaus[0].addCardToStack(Card.of(1, 9));
+        tableaus[3].addCardToStack(Card.of(0, 1));
+    }
+
+    @Test
+    public void testGetGameState() {
+        assertEquals(" 2   0   0   0   0   0   0  \n09S Emp Emp AcH Emp Emp Emp ", game.getGameState());
+    }
+
+    /**
+     * The text and key are only made again when the game has changed
+     */
+    @Test
+    public void testCache() {
+        String state = game.getGameState();
+        long key = game.getStateKey();
+
+        assertSame(state, game.getGameState());
+        assertEquals(key, game.getStateKey());
+
+        //Changed through a tableau
+        tableaus[0].addCardToStack(Card.of(0, 8));
+        assertNotSame(state, game.getGameState());
+        assertNotEquals(key, game.getStateKey());
+        state = game.getGameState();
+        key = game.getStateKey();
+
+        //Changed by replacing a tableau
+        tableaus[1] = new Tableau(1, null);
+        assertNotEquals(state, game.getGameState());
+        assertNotEquals(key, game.getStateKey());
+        key = game.getStateKey();
+
+        //Changed through the foundation and the waste
+        game.getFoundation()[0].addCard(Card.of(0, 1));
+        assertNotEquals(key, game.getStateKey());
+        key = game.getStateKey();
+        List<Card> known = new ArrayList<>();
+        known.add(Card.of(3, 5));
+        game.getWaste().addListToKnown(known);
+        assertNotEquals(key, game.getStateKey());
+    }
+}
@@ -7,40 +7,73 @@ import static org.junit.Assert.*;
 
 public class CardTest {
 
-    private Card testCard = new Card(0, 1);
-
     @Test
     public void testReadSuit() {
-        testCard.setSuit(0);
+        assertEquals("Hjerter", Card.of(0, 1).readSuit());
 
-        assertEquals("Hjerter", testCard.readSuit());
+        assertEquals("Spar", Card.of(1, 1).readSuit());
 
-        testCard.setSuit(1);
+        assertEquals("Ruder", Card.of(2, 1).readSuit());
 
-        assertEquals("Spar", testCard.readSuit());
+        assertEquals("Klør", Card.of(3, 1).readSuit());
+    }
 
-        testCard.setSuit(2);
+    @Test
+    public void testToString() {
+        assertEquals("Hjerter Es", Card.of(0, 1).toString());
+        assertEquals("Hjerter Knægt", Card.of(0, 11).toString());
+        assertEquals("Hjerter Dronning", Card.of(0, 12).toString());
+        assertEquals("Hjerter Konge", Card.of(0, 13).toString());
+        assertEquals("Hjerter 4", Card.of(0, 4).toString());
+    }
 
-        assertEquals("Ruder", testCard.readSuit());
+    @Test
+    public void testShortString() {
+        assertEquals("AcH", Card.of(0, 1).shortString());
+        assertEquals("09S", Card.of(1, 9).shortString());
+        assertEquals("10R", Card.of(2, 10).shortString());
+        assertEquals("KiK", Card.of(3, 13).shortString());
+    }
 
-        testCard.setSuit(3);
+    /**
+     * There is one instance of every card, and its id finds it again
+     */
+    @Test
+    public void testInterned() {
+        assertSame(Card.of(2, 7), Card.of(2, 7));
+        assertNotSame(Card.of(2, 7), Card.of(0, 7));
 
-        assertEquals("Klør", testCard.readSuit());
+        for (int id = 0; id < Card.DECK_SIZE; id++) {
+            Card card = Card.byId(id);
+            assertEquals(id, card.getId());
+            assertSame(card, Card.of(card.getSuit(), card.getValue()));
+        }
+        assertEquals(0, Card.of(0, 1).getId());
+        assertEquals(51, Card.of(3, 13).getId());
     }
 
+    /**
+     * Only the 52 cards of the deck can be made
+     */
     @Test
-    public void testToString() {
-        testCard.setSuit(0);
-        testCard.setValue(1);
-        assertEquals("Hjerter Es", testCard.toString());
-        testCard.setValue(11);
-        assertEquals("Hjerter Knægt", testCard.toString());
-        testCard.setValue(12);
-        assertEquals("Hjerter Dronning", testCard.toString());
-        testCard.setValue(13);
-        assertEquals("Hjerter Konge", testCard.toString());
-        testCard.setValue(4);
-        assertEquals("Hjerter 4", testCard.toString());
+    public void testInvalidCards() {
+        assertFalse(Card.isValid(4, 1));
+        assertFalse(Card.isValid(0, 0));
+        assertFalse(Card.isValid(0, 14));
+        assertTrue(Card.isValid(3, 13));
+
+        try {
+            Card.of(-1, 5);
+            fail("A card without a suit was made");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+        try {
+            Card.byId(52);
+            fail("A card outside the deck was made");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -11,10 +11,10 @@ public class FoundationTest {
     @Test
     public void testAddCard() {
         Foundation testFoundation = new Foundation();
-        Card testCard1 = new Card(0, 1);
-        Card testCard2 = new Card(0, 2);
-        Card testCard3 = new Card(1, 2);
-        Card testCard4 = new Card(0, 3);
+        Card testCard1 = Card.of(0, 1);
+        Card testCard2 = Card.of(0, 2);
+        Card testCard3 = Card.of(1, 2);
+        Card testCard4 = Card.of(0, 3);
         testFoundation.addCard(testCard2);
         assertEquals(0, testFoundation.countCards());
         testFoundation.addCard(testCard1);
@@ -38,7 +38,7 @@ public class FoundationTest {
     @Test
     public void testTakeCard() {
         Foundation testFoundation = new Foundation();
-        Card testCard1 = new Card(0, 1);
+        Card testCard1 = Card.of(0, 1);
         testFoundation.addCard(testCard1);
         assertEquals(testCard1.toString(), testFoundation.takeCard().toString());
     }
@@ -48,7 +48,7 @@ public class FoundationTest {
         Foundation testFoundation = new Foundation();
         Card[] cards = new Card[13];
         for( int i = 0; i < 13; i++)
-            cards[i] = new Card(0, i+1);
+            cards[i] = Card.of(0, i+1);
         for( Card c : cards )
             testFoundation.addCard(c);
         assertTrue(testFoundation.isComplete());
@@ -0,0 +1,72 @@
+package com.example.gruppe9_kabalerobot.Framework.model;
+
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireLogic;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PreviousStatesContainerTest {
+    private PreviousStatesContainer container;
+
+    @Before
+    public void setup() {
+        container = PreviousStatesContainer.getInstance();
+        container.resetMemory(); // Needs to reset the memory of gamestates, since it is a singleton
+    }
+
+    /**
+     * The latest move saved for a state is found
+     */
+    @Test
+    public void testLatestMove() {
+        container.addPreviousMove(new PreviousState(1, 3));
+        container.addPreviousMove(new PreviousState(2, 5));
+        container.addPreviousMove(new PreviousState(1, 8));
+
+        assertEquals(8, container.getLatestSolutionToState(1).getMove());
+        assertEquals(5, container.getLatestSolutionToState(2).getMove());
+        assertNull(container.getLatestSolutionToState(3));
+        assertEquals(2, container.size());
+    }
+
+    /**
+     * When full, the state used the longest time ago is forgotten
+     */
+    @Test
+    public void testEviction() {
+        for (int i = 0; i < PreviousStatesContainer.MAX_STATES; i++) {
+            container.addPreviousMove(new PreviousState(i, 1));
+        }
+        container.getLatestSolutionToState(0); //State 0 is used, so state 1 is now the oldest
+        container.addPreviousMove(new PreviousState(-1, 1));
+
+        assertEquals(PreviousStatesContainer.MAX_STATES, container.size());
+        assertNotNull(container.getLatestSolutionToState(0));
+        assertNull(container.getLatestSolutionToState(1));
+        assertNotNull(container.getLatestSolutionToState(-1));
+    }
+
+    /**
+     * The same game has the same key, also after the tableaus have been moved around
+     */
+    @Test
+    public void testStateKey() {
+        SolitaireLogic game = new SolitaireLogic();
+        Tableau[] tableaus = game.getTableau();
+        tableaus[0] = new Tableau(2, null);
+        tableaus[0].addCardToStack(Card.of(1, 9));
+        tableaus[3].addCardToStack(Card.of(0, 1));
+        long key = game.getStateKey();
+
+        container.addPreviousMove(new PreviousState(key, 4));
+        Tableau first = tableaus[0];
+        tableaus[0] = tableaus[3];
+        tableaus[3] = first;
+
+        assertEquals(4, container.getLatestSolutionToState(game.getStateKey()).getMove());
+        tableaus[3].addCardToStack(Card.of(0, 8));
+        assertNull(container.getLatestSolutionToState(game.getStateKey()));
+    }
+}
@@ -9,8 +9,8 @@ public class TableauTest {
     @Test
     public void testGetVisibleCards() {
         Tableau stack = new Tableau(6, null);
-        stack.addCardToStack(new Card(0,1));
-        Card[] expected = {new Card(0,1)};
+        stack.addCardToStack(Card.of(0,1));
+        Card[] expected = {Card.of(0,1)};
         assertEquals(expected[0].toString(), stack.getVisibleCards().get(0).toString());
     }
 
@@ -23,10 +23,10 @@ public class TableauTest {
     @Test
     public void testAddCardToStack() {
         Tableau stack = new Tableau(3, null);
-        Card testcard1 = new Card(1, 2);
-        Card testcard2 = new Card(0, 1);
-        Card testcard3 = new Card(0, 3);
-        Card testcard4 = new Card(1, 1);
+        Card testcard1 = Card.of(1, 2);
+        Card testcard2 = Card.of(0, 1);
+        Card testcard3 = Card.of(0, 3);
+        Card testcard4 = Card.of(1, 1);
         stack.addCardToStack(testcard1);
         assertEquals("Spar 2", stack.getVisibleCards().get(0).toString());
         stack.addCardToStack(testcard3);
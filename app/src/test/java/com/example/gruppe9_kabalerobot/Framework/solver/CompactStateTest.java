@@ -0,0 +1,217 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireLogic;
+import com.example.gruppe9_kabalerobot.Framework.model.Card;
+import com.example.gruppe9_kabalerobot.Framework.model.Foundation;
+import com.example.gruppe9_kabalerobot.Framework.model.Tableau;
+import com.example.gruppe9_kabalerobot.Framework.model.Waste;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CompactStateTest {
+    private SolitaireLogic game;
+    private Tableau[] tableaus;
+    private Foundation[] foundations;
+
+    @Before
+    public void setup() {
+        game = new SolitaireLogic();
+        tableaus = game.getTableau();
+        foundations = new Foundation[4];
+        for (int i = 0; i < 4; i++) {
+            foundations[i] = new Foundation();
+        }
+        foundations[0] = new Foundation(Card.of(0, 2));
+        game.setFoundation(foundations);
+
+        tableaus[0] = new Tableau(2, null);
+        tableaus[0].addCardToStack(Card.of(1, 9));
+        tableaus[0].addCardToStack(Card.of(0, 8));
+        tableaus[1] = new Tableau(1, null);
+        tableaus[1].addCardToStack(Card.of(3, 9));
+        tableaus[2].addCardToStack(Card.of(0, 3));
+        tableaus[3] = new Tableau(4, null);
+        tableaus[3].addCardToStack(Card.of(2, 10));
+
+        List<Card> waste = new ArrayList<>();
+        waste.add(Card.of(3, 7));
+        game.setWaste(new Waste(true, waste));
+    }
+
+    /**
+     * The cards of the game are found in the state, and the cards not seen are put in the waste pile
+     */
+    @Test
+    public void testFromLogic() {
+        CompactState state = CompactState.fromLogic(game);
+
+        assertEquals(4, state.pileLength(0));
+        assertEquals(2, state.pileHidden(0));
+        assertEquals(CompactState.UNKNOWN, state.pileCard(0, 0));
+        assertEquals(CompactState.cardId(1, 9), state.pileCard(0, 2));
+        assertEquals(CompactState.cardId(0, 8), state.pileCard(0, 3));
+        assertEquals(0, state.pileLength(4));
+        assertEquals(2, state.foundationValue(0));
+        assertEquals(CompactState.cardId(3, 7), state.wasteTop());
+        assertEquals(7, state.countHiddenCards());
+        assertEquals(2, state.countFoundationCards());
+        assertEquals(3, state.countEmptySpaces());
+
+        //52 cards, minus 12 in the tableaus, 2 in the foundation and 1 in the waste
+        assertEquals(37, state.stockLength());
+    }
+
+    /**
+     * Going from the game to a state and back gives the same game
+     */
+    @Test
+    public void testToLogic() {
+        SolitaireLogic copy = CompactState.fromLogic(game).toLogic();
+
+        assertEquals(game.getGameState(), copy.getGameState());
+    }
+
+    /**
+     * Every move can be taken back, leaving the state as it was
+     */
+    @Test
+    public void testApplyUndo() {
+        CompactState state = CompactState.fromLogic(game);
+        CompactState original = state.copy();
+        int[] moves = new int[CompactState.MAX_MOVES];
+        int count = state.generateMoves(moves, 0);
+
+        assertTrue(count > 0);
+        for (int i = 0; i < count; i++) {
+            state.apply(moves[i]);
+            assertNotEquals(original, state);
+            state.undo(moves[i]);
+            assertEquals(original, state);
+            assertEquals(original.countHiddenCards(), state.countHiddenCards());
+            assertEquals(original.countFoundationCards(), state.countFoundationCards());
+        }
+    }
+
+    /**
+     * The moves found are the legal moves of the position
+     */
+    @Test
+    public void testGenerateMoves() {
+        CompactState state = CompactState.fromLogic(game);
+        int[] moves = new int[CompactState.MAX_MOVES];
+        int count = state.generateMoves(moves, 0);
+
+        List<String> instructions = new ArrayList<>();
+        for (int i = 0; i < count; i++) instructions.add(state.toMove(moves[i]).toInstruction());
+
+        assertEquals(Arrays.asList(
+                "Flyt Hjerter 3 til grundbunken med dens kulør",
+                "Tag Klør 7 og placer kortet på Hjerter 8",
+                "Tag Spar 9 og kortene der ligger på den, og placer dem på Ruder 10",
+                "Tag Klør 9, og placer den på Ruder 10",
+                "Vend et kort fra bunken"), instructions);
+    }
+
+    /**
+     * A turned card that has not been seen can not be moved, and a new card in the waste can not be played
+     */
+    @Test
+    public void testUnknownCards() {
+        tableaus[4] = new Tableau(1, null);
+        game.setWaste(new Waste(true, new ArrayList<>()));
+        CompactState state = CompactState.fromLogic(game);
+        int[] moves = new int[CompactState.MAX_MOVES];
+        int count = state.generateMoves(moves, 0);
+        assertEquals(Move.Type.FLIP, state.toMove(moves[0]).getType());
+
+        state.apply(moves[0]);
+        assertEquals(0, state.pileHidden(4));
+        int draw = moves[count - 1];
+        assertEquals(Move.Type.DRAW, state.toMove(draw).getType());
+        state.apply(draw);
+        assertTrue(state.isWasteUnknown());
+
+        //Neither the turned card nor the waste card can be moved, and drawing again shows nothing new
+        count = state.generateMoves(moves, 0);
+        for (int i = 0; i < count; i++) {
+            Move move = state.toMove(moves[i]);
+            assertNotEquals(Move.Type.FLIP, move.getType());
+            assertNotEquals(Move.Type.WASTE_TO_TABLEAU, move.getType());
+            assertNotEquals(Move.Type.DRAW, move.getType());
+        }
+    }
+
+    /**
+     * When the waste pile is empty the waste can be turned over and drawn again
+     */
+    @Test
+    public void testRedeal() {
+        List<Card> waste = new ArrayList<>();
+        waste.add(Card.of(3, 7));
+        game.setWaste(new Waste(false, waste));
+        CompactState state = CompactState.fromLogic(game);
+        int[] moves = new int[CompactState.MAX_MOVES];
+        int count = state.generateMoves(moves, 0);
+
+        //The cards under Klør 7 have not been seen, so turning the waste over is not suggested
+        assertEquals(38, state.wasteLength());
+        assertNotEquals(Move.Type.REDEAL, state.toMove(moves[count - 1]).getType());
+
+        for (int i = 0; i < 37; i++) state.setUnknownCard(-2, i, CompactState.cardId(1, 1));
+        count = state.generateMoves(moves, 0);
+        int redeal = moves[count - 1];
+        assertEquals(Move.Type.REDEAL, state.toMove(redeal).getType());
+        state.apply(redeal);
+        assertEquals(0, state.wasteLength());
+        assertEquals(38, state.stockLength());
+        state.undo(redeal);
+        assertEquals(CompactState.cardId(3, 7), state.wasteTop());
+        assertEquals(38, state.wasteLength());
+    }
+
+    /**
+     * The hash kept up to date by the moves is the same as the hash calculated from scratch
+     */
+    @Test
+    public void testHashUpdate() {
+        CompactState state = CompactState.fromLogic(game);
+        long start = state.getHash();
+        int[] moves = new int[CompactState.MAX_MOVES];
+        int[] made = new int[20];
+
+        //Play the first move of every position, and take them all back again
+        int depth = 0;
+        while (depth < made.length && state.generateMoves(moves, 0) > 0) {
+            made[depth++] = moves[0];
+            state.apply(moves[0]);
+            assertEquals(state.computeHash(), state.getHash());
+        }
+        assertTrue(depth > 3);
+        while (depth > 0) state.undo(made[--depth]);
+        assertEquals(start, state.getHash());
+        assertEquals(start, state.computeHash());
+    }
+
+    /**
+     * The same position has the same hash, even with the tableaus in another order
+     */
+    @Test
+    public void testHashTableauOrder() {
+        long hash = CompactState.fromLogic(game).getHash();
+
+        Tableau first = tableaus[0];
+        tableaus[0] = tableaus[5];
+        tableaus[5] = first;
+
+        assertEquals(hash, CompactState.fromLogic(game).getHash());
+        tableaus[5].addCardToStack(Card.of(3, 7));
+        assertNotEquals(hash, CompactState.fromLogic(game).getHash());
+    }
+}
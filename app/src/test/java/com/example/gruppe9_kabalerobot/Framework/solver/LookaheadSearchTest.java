@@ -0,0 +1,169 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import com.example.gruppe9_kabalerobot.Framework.controller.MoveAlgorithm;
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireLogic;
+import com.example.gruppe9_kabalerobot.Framework.model.Card;
+import com.example.gruppe9_kabalerobot.Framework.model.Foundation;
+import com.example.gruppe9_kabalerobot.Framework.model.PreviousState;
+import com.example.gruppe9_kabalerobot.Framework.model.Tableau;
+import com.example.gruppe9_kabalerobot.Framework.model.Waste;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LookaheadSearchTest {
+    private SolitaireLogic game;
+    private Tableau[] tableaus;
+    private Foundation[] foundations;
+
+    @Before
+    public void setup() {
+        game = new SolitaireLogic();
+        tableaus = game.getTableau();
+        foundations = new Foundation[4];
+        for (int i = 0; i < 4; i++) {
+            foundations[i] = new Foundation();
+        }
+        game.setFoundation(foundations);
+        game.setWaste(new Waste(false, new ArrayList<>()));
+    }
+
+    /**
+     * Moving Hjerter 5 to the foundation looks best one move ahead, but leaves Spar 4 with nowhere to go.
+     * Looking ahead should instead free the hidden cards under Spar 4.
+     */
+    @Test
+    public void testAvoidsDeadEnd() {
+        foundations[0] = new Foundation(Card.of(0, 4));
+
+        tableaus[0] = new Tableau(3, null);
+        tableaus[0].addCardToStack(Card.of(1, 4));
+        tableaus[1].addCardToStack(Card.of(0, 5));
+        game.setFoundation(foundations);
+
+        List<Move> moves = new LookaheadSearch().rankMoves(game);
+
+        assertEquals(2, moves.size());
+        assertEquals("Tag Spar 4, og placer den på Hjerter 5", moves.get(0).toInstruction());
+        assertEquals("Flyt Hjerter 5 til grundbunken med dens kulør", moves.get(1).toInstruction());
+    }
+
+    /**
+     * Finds the winning move
+     */
+    @Test
+    public void testFindsWin() {
+        foundations[0] = new Foundation(Card.of(0, 13));
+        foundations[1] = new Foundation(Card.of(1, 13));
+        foundations[2] = new Foundation(Card.of(2, 13));
+        foundations[3] = new Foundation(Card.of(3, 12));
+        game.setFoundation(foundations);
+
+        tableaus[0].addCardToStack(Card.of(2, 13));
+        tableaus[1].addCardToStack(Card.of(3, 13));
+
+        List<Move> moves = new LookaheadSearch().rankMoves(game);
+
+        assertEquals("Flyt Klør Konge til grundbunken med dens kulør", moves.get(0).toInstruction());
+    }
+
+    /**
+     * Stops when the time budget is used, even if the depth allows more
+     */
+    @Test
+    public void testTimeBudget() {
+        fillBusyPosition();
+        LookaheadSearch search = new LookaheadSearch(new SearchConfig(60, 20), new HeuristicEvaluator());
+
+        long start = System.nanoTime();
+        List<Move> moves = search.rankMoves(game);
+        long millis = (System.nanoTime() - start) / 1000000;
+
+        assertFalse(moves.isEmpty());
+        assertTrue("Search took " + millis + " ms", millis < 200);
+        assertTrue(search.getCompletedDepth() >= 1);
+    }
+
+    /**
+     * The search is done on a copy, the game is not changed
+     */
+    @Test
+    public void testGameUnchanged() {
+        fillBusyPosition();
+        String before = game.getGameState();
+
+        new LookaheadSearch().rankMoves(game);
+
+        assertEquals(before, game.getGameState());
+        assertEquals(2, tableaus[0].getVisibleCards().size());
+    }
+
+    /**
+     * MoveAlgorithm with a search engine gives the next best move, for a position it has seen before
+     */
+    @Test
+    public void testMoveAlgorithmSkipsPreviousMove() {
+        foundations[0] = new Foundation(Card.of(0, 4));
+
+        tableaus[0] = new Tableau(3, null);
+        tableaus[0].addCardToStack(Card.of(1, 4));
+        tableaus[1].addCardToStack(Card.of(0, 5));
+        game.setFoundation(foundations);
+
+        MoveAlgorithm algorithm = new MoveAlgorithm(game, new LookaheadSearch());
+        assertEquals("Tag Spar 4, og placer den på Hjerter 5", algorithm.getBestMove(null));
+        assertEquals(1, algorithm.getMoveChosen());
+
+        PreviousState seen = new PreviousState(game.getStateKey(), algorithm.getMoveChosen());
+        assertEquals("Flyt Hjerter 5 til grundbunken med dens kulør", algorithm.getBestMove(seen));
+        assertEquals(2, algorithm.getMoveChosen());
+
+        seen = new PreviousState(game.getStateKey(), algorithm.getMoveChosen());
+        assertEquals("Der kunne ikke findes noget nyt træk for denne position af spillet", algorithm.getBestMove(seen));
+    }
+
+    /**
+     * MoveAlgorithm with a search engine tells the player when there are no moves
+     */
+    @Test
+    public void testMoveAlgorithmNoMoves() {
+        tableaus[0] = new Tableau(2, null);
+        tableaus[0].addCardToStack(Card.of(1, 4));
+
+        MoveAlgorithm algorithm = new MoveAlgorithm(game, new LookaheadSearch());
+
+        assertEquals("Der kunne ikke findes noget muligt træk for denne position", algorithm.getBestMove(null));
+    }
+
+    /**
+     * Position with many possible moves
+     */
+    private void fillBusyPosition() {
+        tableaus[0] = new Tableau(6, null);
+        tableaus[0].addCardToStack(Card.of(1, 9));
+        tableaus[0].addCardToStack(Card.of(0, 8));
+        tableaus[1] = new Tableau(5, null);
+        tableaus[1].addCardToStack(Card.of(3, 9));
+        tableaus[2] = new Tableau(4, null);
+        tableaus[2].addCardToStack(Card.of(2, 8));
+        tableaus[3] = new Tableau(3, null);
+        tableaus[3].addCardToStack(Card.of(1, 7));
+        tableaus[4] = new Tableau(2, null);
+        tableaus[4].addCardToStack(Card.of(0, 6));
+        tableaus[5] = new Tableau(1, null);
+        tableaus[5].addCardToStack(Card.of(3, 7));
+        tableaus[6].addCardToStack(Card.of(2, 13));
+
+        foundations[1] = new Foundation(Card.of(1, 2));
+        game.setFoundation(foundations);
+
+        List<Card> wasteCards = new ArrayList<>();
+        wasteCards.add(Card.of(2, 6));
+        game.setWaste(new Waste(true, wasteCards));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import com.example.gruppe9_kabalerobot.Framework.controller.MoveAlgorithm;
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireLogic;
+import com.example.gruppe9_kabalerobot.Framework.model.Card;
+import com.example.gruppe9_kabalerobot.Framework.model.Foundation;
+import com.example.gruppe9_kabalerobot.Framework.model.Tableau;
+import com.example.gruppe9_kabalerobot.Framework.model.Waste;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MonteCarloEvaluatorTest {
+    private SolitaireLogic game;
+    private Tableau[] tableaus;
+    private Foundation[] foundations;
+
+    @Before
+    public void setup() {
+        game = new SolitaireLogic();
+        tableaus = game.getTableau();
+        foundations = new Foundation[4];
+        for (int i = 0; i < 4; i++) {
+            foundations[i] = new Foundation();
+        }
+        game.setFoundation(foundations);
+        game.setWaste(new Waste(false, new ArrayList<>()));
+    }
+
+    /**
+     * The same seed gives the same ranking and win rates, with one thread or many
+     */
+    @Test
+    public void testDeterministic() {
+        dealFreshGame();
+        MonteCarloEvaluator single = new MonteCarloEvaluator(new MonteCarloConfig(24, 11, 1, 400));
+        MonteCarloEvaluator parallel = new MonteCarloEvaluator(new MonteCarloConfig(24, 11, 4, 400));
+
+        List<Move> first = single.rankMoves(game);
+        List<Move> second = parallel.rankMoves(game);
+        parallel.shutdown();
+
+        assertFalse(first.isEmpty());
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).toInstruction(), second.get(i).toInstruction());
+        }
+        assertArrayEquals(single.getWinRates(), parallel.getWinRates(), 0);
+    }
+
+    /**
+     * A move that wins the game every time is ranked first
+     */
+    @Test
+    public void testFindsWin() {
+        foundations[0] = new Foundation(Card.of(0, 13));
+        foundations[1] = new Foundation(Card.of(1, 13));
+        foundations[2] = new Foundation(Card.of(2, 12));
+        foundations[3] = new Foundation(Card.of(3, 12));
+        game.setFoundation(foundations);
+        tableaus[0].addCardToStack(Card.of(3, 13));
+        tableaus[1].addCardToStack(Card.of(2, 13));
+
+        MonteCarloEvaluator evaluator = new MonteCarloEvaluator(new MonteCarloConfig(8, 1, 2, 50));
+        List<Move> moves = evaluator.rankMoves(game);
+        evaluator.shutdown();
+
+        assertEquals(Move.Type.TABLEAU_TO_FOUNDATION, moves.get(0).getType());
+        assertEquals(1.0, evaluator.getWinRates()[0], 0);
+    }
+
+    /**
+     * Works as the search engine of MoveAlgorithm
+     */
+    @Test
+    public void testMoveAlgorithm() {
+        tableaus[0] = new Tableau(2, null);
+        tableaus[0].addCardToStack(Card.of(1, 4));
+
+        MoveAlgorithm algorithm = new MoveAlgorithm(game, new MonteCarloEvaluator(new MonteCarloConfig(4, 1, 1, 50)));
+
+        assertEquals("Der kunne ikke findes noget muligt træk for denne position", algorithm.getBestMove(null));
+    }
+
+    /**
+     * Position at the start of a game, with 7 cards turned and the rest unknown
+     */
+    private void dealFreshGame() {
+        int[][] tops = {{1, 9}, {0, 8}, {3, 9}, {2, 8}, {1, 7}, {0, 6}, {2, 13}};
+        for (int i = 0; i < 7; i++) {
+            tableaus[i] = new Tableau(i, null);
+            tableaus[i].addCardToStack(Card.of(tops[i][0], tops[i][1]));
+        }
+        game.setWaste(new Waste(true, new ArrayList<>()));
+    }
+}
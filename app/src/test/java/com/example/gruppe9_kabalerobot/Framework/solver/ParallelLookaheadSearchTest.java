@@ -0,0 +1,126 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireLogic;
+import com.example.gruppe9_kabalerobot.Framework.model.Card;
+import com.example.gruppe9_kabalerobot.Framework.model.Foundation;
+import com.example.gruppe9_kabalerobot.Framework.model.Tableau;
+import com.example.gruppe9_kabalerobot.Framework.model.Waste;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ParallelLookaheadSearchTest {
+    private SolitaireLogic game;
+    private Tableau[] tableaus;
+    private Foundation[] foundations;
+
+    @Before
+    public void setup() {
+        game = new SolitaireLogic();
+        tableaus = game.getTableau();
+        foundations = new Foundation[4];
+        for (int i = 0; i < 4; i++) {
+            foundations[i] = new Foundation();
+        }
+        game.setFoundation(foundations);
+        game.setWaste(new Waste(false, new ArrayList<>()));
+    }
+
+    /**
+     * In deterministic mode the parallel search ranks the moves exactly like the serial search, for any amount of threads
+     */
+    @Test
+    public void testSameAsSerial() {
+        fillBusyPosition();
+        SearchConfig config = new SearchConfig(6, 0, 4, true);
+        List<String> serial = instructions(new LookaheadSearch(config, new HeuristicEvaluator()).rankMoves(game));
+        List<String> noTable = instructions(new LookaheadSearch(new SearchConfig(6, 0, 0, true), new HeuristicEvaluator()).rankMoves(game));
+
+        assertTrue(serial.size() > 3);
+        assertEquals(noTable, serial);
+        for (int threads = 1; threads <= 4; threads++) {
+            ParallelLookaheadSearch search = new ParallelLookaheadSearch(config, new HeuristicEvaluator(), threads);
+            assertEquals(serial, instructions(search.rankMoves(game)));
+            assertEquals(serial, instructions(search.rankMoves(game)));
+            assertEquals(6, search.getCompletedDepth());
+            search.shutdown();
+        }
+    }
+
+    /**
+     * Looking ahead on several threads still avoids the dead end
+     */
+    @Test
+    public void testAvoidsDeadEnd() {
+        foundations[0] = new Foundation(Card.of(0, 4));
+
+        tableaus[0] = new Tableau(3, null);
+        tableaus[0].addCardToStack(Card.of(1, 4));
+        tableaus[1].addCardToStack(Card.of(0, 5));
+        game.setFoundation(foundations);
+
+        ParallelLookaheadSearch search = new ParallelLookaheadSearch(new SearchConfig(), new HeuristicEvaluator(), 2);
+        List<Move> moves = search.rankMoves(game);
+        search.shutdown();
+
+        assertEquals(2, moves.size());
+        assertEquals("Tag Spar 4, og placer den på Hjerter 5", moves.get(0).toInstruction());
+        assertEquals(2, search.getParallelism());
+    }
+
+    /**
+     * Stops when the time budget is used, even if the depth allows more
+     */
+    @Test
+    public void testTimeBudget() {
+        fillBusyPosition();
+        ParallelLookaheadSearch search = new ParallelLookaheadSearch(new SearchConfig(60, 20), new HeuristicEvaluator(), 2);
+
+        long start = System.nanoTime();
+        List<Move> moves = search.rankMoves(game);
+        long millis = (System.nanoTime() - start) / 1000000;
+        search.shutdown();
+
+        assertFalse(moves.isEmpty());
+        assertTrue("Search took " + millis + " ms", millis < 200);
+        assertTrue(search.getCompletedDepth() >= 1);
+    }
+
+    private List<String> instructions(List<Move> moves) {
+        List<String> instructions = new ArrayList<>();
+        for (Move move : moves) instructions.add(move.toInstruction());
+        return instructions;
+    }
+
+    /**
+     * Position with many possible moves
+     */
+    private void fillBusyPosition() {
+        tableaus[0] = new Tableau(6, null);
+        tableaus[0].addCardToStack(Card.of(1, 9));
+        tableaus[0].addCardToStack(Card.of(0, 8));
+        tableaus[1] = new Tableau(5, null);
+        tableaus[1].addCardToStack(Card.of(3, 9));
+        tableaus[2] = new Tableau(4, null);
+        tableaus[2].addCardToStack(Card.of(2, 8));
+        tableaus[3] = new Tableau(3, null);
+        tableaus[3].addCardToStack(Card.of(1, 7));
+        tableaus[4] = new Tableau(2, null);
+        tableaus[4].addCardToStack(Card.of(0, 6));
+        tableaus[5] = new Tableau(1, null);
+        tableaus[5].addCardToStack(Card.of(3, 7));
+        tableaus[6].addCardToStack(Card.of(2, 13));
+
+        foundations[1] = new Foundation(Card.of(1, 2));
+        game.setFoundation(foundations);
+
+        List<Card> wasteCards = new ArrayList<>();
+        wasteCards.add(Card.of(2, 6));
+        game.setWaste(new Waste(true, wasteCards));
+    }
+}
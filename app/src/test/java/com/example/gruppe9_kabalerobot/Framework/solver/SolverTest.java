@@ -0,0 +1,162 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import com.example.gruppe9_kabalerobot.Framework.controller.SolitaireLogic;
+import com.example.gruppe9_kabalerobot.Framework.model.Card;
+import com.example.gruppe9_kabalerobot.Framework.model.Foundation;
+import com.example.gruppe9_kabalerobot.Framework.model.Tableau;
+import com.example.gruppe9_kabalerobot.Framework.model.Waste;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SolverTest {
+    private SolitaireLogic game;
+    private Tableau[] tableaus;
+    private Foundation[] foundations;
+
+    @Before
+    public void setup() {
+        game = new SolitaireLogic();
+        tableaus = game.getTableau();
+        foundations = new Foundation[4];
+        for (int i = 0; i < 4; i++) {
+            foundations[i] = new Foundation();
+        }
+        game.setFoundation(foundations);
+        game.setWaste(new Waste(false, new ArrayList<>()));
+    }
+
+    /**
+     * Every card is known and the game can be won, the answer is exact and the moves win the game
+     */
+    @Test
+    public void testWinnable() {
+        foundations[0] = new Foundation(Card.of(0, 11));
+        foundations[1] = new Foundation(Card.of(1, 12));
+        foundations[2] = new Foundation(Card.of(2, 13));
+        foundations[3] = new Foundation(Card.of(3, 11));
+        game.setFoundation(foundations);
+
+        tableaus[0].addCardToStack(Card.of(1, 13));
+        tableaus[0].addCardToStack(Card.of(0, 12));
+        tableaus[1].addCardToStack(Card.of(0, 13));
+        tableaus[1].addCardToStack(Card.of(3, 12));
+        List<Card> waste = new ArrayList<>();
+        waste.add(Card.of(3, 13));
+        game.setWaste(new Waste(false, waste));
+
+        SolveResult result = new Solver().solve(game);
+
+        assertEquals(SolveResult.Status.WINNABLE, result.getStatus());
+        assertTrue(result.isExact());
+        assertEquals(1, result.getSamples());
+        assertEquals(5, result.getMoves().size());
+
+        for (Move move : result.getMoves()) {
+            assertTrue(move.getType() == Move.Type.TABLEAU_TO_FOUNDATION || move.getType() == Move.Type.WASTE_TO_FOUNDATION);
+        }
+    }
+
+    /**
+     * Every card is known, and the cards block each other
+     */
+    @Test
+    public void testNotWinnable() {
+        for (int suit = 0; suit < 4; suit++) foundations[suit] = new Foundation(Card.of(suit, 9));
+        game.setFoundation(foundations);
+
+        //Every ten lies under a King, and no card can be moved
+        int[][][] piles = {
+                {{0, 10}, {0, 13}},
+                {{1, 10}, {1, 13}},
+                {{2, 10}, {2, 13}},
+                {{3, 10}, {3, 13}},
+                {{1, 12}, {0, 12}, {0, 11}},
+                {{3, 12}, {1, 11}},
+                {{2, 12}, {3, 11}, {2, 11}}};
+        for (int i = 0; i < 7; i++) {
+            tableaus[i] = new Tableau(0, null);
+            for (int[] card : piles[i]) tableaus[i].getVisibleCards().add(Card.of(card[0], card[1]));
+        }
+
+        SolveResult result = new Solver().solve(game);
+
+        assertTrue(result.isExact());
+        assertEquals(SolveResult.Status.NOT_WINNABLE, result.getStatus());
+        assertTrue(result.getMoves().isEmpty());
+    }
+
+    /**
+     * A fresh game has unknown cards, which are guessed. The same seed gives the same result,
+     * and a win found for a guess is only likely.
+     */
+    @Test
+    public void testSamples() {
+        dealFreshGame();
+        SolverConfig config = new SolverConfig(10000, 2000000, 3, 7);
+
+        SolveResult first = new Solver(config).solve(game);
+        SolveResult second = new Solver(config).solve(game);
+
+        assertFalse(first.isExact());
+        assertEquals(first.getStatus(), second.getStatus());
+        assertEquals(first.getNodes(), second.getNodes());
+        assertEquals(first.getMoves().size(), second.getMoves().size());
+        assertTrue(first.getNodesPerSecond() > 0);
+        assertNotEquals(SolveResult.Status.WINNABLE, first.getStatus());
+        if (first.getStatus() == SolveResult.Status.LIKELY_WINNABLE) {
+            assertFalse(first.getMoves().isEmpty());
+            assertTrue(first.getWinRate() > 0);
+            assertEquals((double) first.getWinningSamples() / first.getSamples(), first.getWinRate(), 1e-9);
+        }
+    }
+
+    /**
+     * The solver stops when the node budget is used
+     */
+    @Test
+    public void testNodeBudget() {
+        dealFreshGame();
+
+        SolveResult result = new Solver(new SolverConfig(10000, 40, 1, 3)).solve(game);
+
+        assertEquals(SolveResult.Status.UNKNOWN, result.getStatus());
+        assertEquals(40, result.getNodes());
+    }
+
+    /**
+     * The solver can be stopped from another thread
+     */
+    @Test
+    public void testCancel() throws InterruptedException {
+        dealFreshGame();
+        Solver solver = new Solver(new SolverConfig(60000, Long.MAX_VALUE, 100000, 5));
+        SolveResult[] result = new SolveResult[1];
+
+        Thread thread = new Thread(() -> result[0] = solver.solve(game));
+        thread.start();
+        Thread.sleep(50);
+        solver.cancel();
+        thread.join(5000);
+
+        assertFalse(thread.isAlive());
+        assertEquals(SolveResult.Status.CANCELLED, result[0].getStatus());
+    }
+
+    /**
+     * Position at the start of a game, with 7 cards turned and the rest unknown
+     */
+    private void dealFreshGame() {
+        int[][] tops = {{1, 9}, {0, 8}, {3, 9}, {2, 8}, {1, 7}, {0, 6}, {2, 13}};
+        for (int i = 0; i < 7; i++) {
+            tableaus[i] = new Tableau(i, null);
+            tableaus[i].addCardToStack(Card.of(tops[i][0], tops[i][1]));
+        }
+        game.setWaste(new Waste(true, new ArrayList<>()));
+    }
+}
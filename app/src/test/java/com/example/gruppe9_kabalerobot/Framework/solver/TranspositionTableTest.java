@@ -0,0 +1,83 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TranspositionTableTest {
+    private TranspositionTable table;
+
+    @Before
+    public void setup() {
+        table = new TranspositionTable(1);
+    }
+
+    /**
+     * The size is a power of two within the memory given
+     */
+    @Test
+    public void testCapacity() {
+        assertEquals(65536, table.capacity());
+        assertEquals(4 * 65536, new TranspositionTable(5).capacity());
+    }
+
+    @Test
+    public void testStoreProbe() {
+        assertEquals(TranspositionTable.MISS, table.probe(42));
+
+        table.store(42, -120, 3);
+        long result = table.probe(42);
+
+        assertNotEquals(TranspositionTable.MISS, result);
+        assertEquals(-120, TranspositionTable.scoreOf(result));
+        assertEquals(3, TranspositionTable.depthOf(result));
+        assertEquals(TranspositionTable.MISS, table.probe(43));
+    }
+
+    /**
+     * A result from a deeper search is not replaced by one from a shallower search, unless it is from an earlier search
+     */
+    @Test
+    public void testDepthPreferred() {
+        table.store(42, 10, 5);
+        table.store(42, 20, 2);
+        assertEquals(10, TranspositionTable.scoreOf(table.probe(42)));
+
+        table.store(42, 30, 6);
+        assertEquals(30, TranspositionTable.scoreOf(table.probe(42)));
+
+        table.newSearch();
+        table.store(42, 40, 1);
+        assertEquals(40, TranspositionTable.scoreOf(table.probe(42)));
+    }
+
+    /**
+     * When every place for a hash is taken, the shallowest entry is replaced
+     */
+    @Test
+    public void testFullBucket() {
+        int size = table.capacity();
+        table.store(7, 1, 4);
+        table.store(7 + size, 2, 2);
+        table.store(7 + 2L * size, 3, 5);
+        table.store(7 + 3L * size, 4, 6);
+
+        table.store(7 + 4L * size, 5, 3);
+
+        assertEquals(TranspositionTable.MISS, table.probe(7 + size));
+        assertEquals(5, TranspositionTable.scoreOf(table.probe(7 + 4L * size)));
+        assertEquals(1, TranspositionTable.scoreOf(table.probe(7)));
+
+        //Too shallow to replace anything
+        table.store(7 + 5L * size, 6, 1);
+        assertEquals(TranspositionTable.MISS, table.probe(7 + 5L * size));
+    }
+
+    @Test
+    public void testClear() {
+        table.store(42, 10, 5);
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(42));
+    }
+}
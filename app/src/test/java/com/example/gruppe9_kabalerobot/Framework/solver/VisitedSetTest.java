@@ -0,0 +1,54 @@
+package com.example.gruppe9_kabalerobot.Framework.solver;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VisitedSetTest {
+
+    /**
+     * The size is a power of two holding the positions at half load, and never above the cap
+     */
+    @Test
+    public void testCapacity() {
+        assertEquals(16, new VisitedSet(1).capacity());
+        assertEquals(2048, new VisitedSet(1000).capacity());
+        assertEquals(VisitedSet.MAX_CAPACITY, new VisitedSet(SolverConfig.DEFAULT_MAX_NODES).capacity());
+        assertEquals(VisitedSet.MAX_CAPACITY, new VisitedSet(Long.MAX_VALUE).capacity());
+    }
+
+    /**
+     * While the set can still grow every hash is remembered, and clear forgets them
+     */
+    @Test
+    public void testAdd() {
+        VisitedSet set = new VisitedSet(SolverConfig.DEFAULT_MAX_NODES);
+        for (long hash = 1; hash <= 100000; hash++) assertTrue(set.add(hash * 0x9E3779B97F4A7C15L));
+        for (long hash = 1; hash <= 100000; hash++) assertFalse(set.add(hash * 0x9E3779B97F4A7C15L));
+        assertEquals(100000, set.size());
+        assertEquals(0, set.replaced());
+
+        set.clear();
+        assertEquals(0, set.size());
+        assertTrue(set.add(0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * More hashes than the capacity replace older ones instead of growing the set,
+     * and the hash added last is always remembered
+     */
+    @Test
+    public void testLossy() {
+        VisitedSet set = new VisitedSet(100);
+        Random random = new Random(1);
+        for (int i = 0; i < 10 * set.capacity(); i++) {
+            long hash = random.nextLong() | 1;
+            assertTrue(set.add(hash));
+            assertFalse(set.add(hash));
+        }
+        assertTrue(set.size() <= set.capacity());
+        assertTrue(set.replaced() > 0);
+    }
+}
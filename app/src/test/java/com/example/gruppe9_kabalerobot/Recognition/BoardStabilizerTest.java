@@ -0,0 +1,77 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BoardStabilizerTest {
+    private static final int WIDTH = 700;
+    private static final int HEIGHT = 400;
+
+    private BoardStabilizer stabilizer;
+
+    @Before
+    public void setup() {
+        stabilizer = new BoardStabilizer(3);
+    }
+
+    /**
+     * A board is reported once it has been seen in three frames in a row, and only once
+     */
+    @Test
+    public void testStable() {
+        int[][] board = {{10, 150, 40, 60, 1, 1}, {110, 150, 40, 60, 13, 3}};
+
+        assertFalse(stabilizer.offer(board, WIDTH, HEIGHT));
+        assertFalse(stabilizer.offer(board, WIDTH, HEIGHT));
+        assertTrue(stabilizer.offer(board, WIDTH, HEIGHT));
+        assertFalse(stabilizer.offer(board, WIDTH, HEIGHT));
+        assertFalse(stabilizer.offer(board, WIDTH, HEIGHT));
+    }
+
+    /**
+     * Boxes moving a few pixels or found in another order are the same board, and the same card found twice counts once
+     */
+    @Test
+    public void testJitter() {
+        assertFalse(stabilizer.offer(new int[][]{{10, 150, 40, 60, 1, 1}, {110, 150, 40, 60, 13, 3}}, WIDTH, HEIGHT));
+        assertFalse(stabilizer.offer(new int[][]{{113, 148, 40, 60, 13, 3}, {12, 152, 40, 60, 1, 1}}, WIDTH, HEIGHT));
+        assertTrue(stabilizer.offer(new int[][]{{8, 151, 40, 60, 1, 1}, {12, 160, 40, 60, 1, 1}, {109, 150, 40, 60, 13, 3}}, WIDTH, HEIGHT));
+    }
+
+    /**
+     * A changing board is waited for, and a card moved to another pile or a card turned up is a new board
+     */
+    @Test
+    public void testChanges() {
+        int[][] board = {{10, 150, 40, 60, 1, 1}, {110, 150, 40, 60, 0, 0}};
+        int[][] moved = {{210, 150, 40, 60, 1, 1}, {110, 150, 40, 60, 0, 0}};
+        int[][] turned = {{210, 150, 40, 60, 1, 1}, {110, 150, 40, 60, 5, 2}};
+
+        assertFalse(stabilizer.offer(board, WIDTH, HEIGHT));
+        assertFalse(stabilizer.offer(board, WIDTH, HEIGHT));
+        assertFalse(stabilizer.offer(moved, WIDTH, HEIGHT));
+        assertFalse(stabilizer.offer(moved, WIDTH, HEIGHT));
+        assertTrue(stabilizer.offer(moved, WIDTH, HEIGHT));
+        for (int i = 0; i < 2; i++) assertFalse(stabilizer.offer(turned, WIDTH, HEIGHT));
+        assertTrue(stabilizer.offer(turned, WIDTH, HEIGHT));
+    }
+
+    /**
+     * A hand in front of the camera and back does not report the same board again, unless it is reset,
+     * and an empty table is never reported
+     */
+    @Test
+    public void testSameBoardAgain() {
+        int[][] board = {{10, 150, 40, 60, 1, 1}};
+        for (int i = 0; i < 3; i++) stabilizer.offer(board, WIDTH, HEIGHT);
+        for (int i = 0; i < 3; i++) assertFalse(stabilizer.offer(new int[0][], WIDTH, HEIGHT));
+        for (int i = 0; i < 3; i++) assertFalse(stabilizer.offer(board, WIDTH, HEIGHT));
+
+        stabilizer.reset();
+        assertFalse(stabilizer.offer(board, WIDTH, HEIGHT));
+        assertFalse(stabilizer.offer(board, WIDTH, HEIGHT));
+        assertTrue(stabilizer.offer(board, WIDTH, HEIGHT));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Point;
+import org.opencv.core.Rect;
+import org.opencv.core.Scalar;
+import org.opencv.imgproc.Imgproc;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Finds cards drawn with the glyphs of a drawn atlas. It is skipped unless the native OpenCV library is installed.
+ */
+public class CornerCardDetectorTest {
+    private static final String[] RANKS = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "T", "J", "Q", "K"};
+    private static final String[] SUITS = {"H", "S", "D", "C"};
+    private static final int CELL_WIDTH = TemplateAtlas.DEFAULT_CELL_WIDTH;
+    private static final int CELL_HEIGHT = TemplateAtlas.DEFAULT_CELL_HEIGHT;
+
+    private Mat glyphs;
+    private CornerCardDetector detector;
+
+    @BeforeClass
+    public static void loadNative() {
+        assumeTrue("No native OpenCV library", DetectorBenchmark.loadNative());
+    }
+
+    @Before
+    public void setup() {
+        glyphs = new Mat(2 * CELL_HEIGHT, TemplateAtlas.RANKS * CELL_WIDTH, CvType.CV_8UC1, new Scalar(255));
+        for (int r = 0; r < TemplateAtlas.RANKS; r++) drawGlyph(glyphs, RANKS[r], r * CELL_WIDTH, 0);
+        for (int s = 0; s < TemplateAtlas.SUITS; s++) drawGlyph(glyphs, SUITS[s], s * CELL_WIDTH, CELL_HEIGHT);
+        detector = new CornerCardDetector(new TemplateAtlas(glyphs, CELL_WIDTH, CELL_HEIGHT));
+    }
+
+    /**
+     * Every card lying free is found with its rank and suit, and the box of its corner
+     */
+    @Test
+    public void testCards() {
+        Mat photo = table();
+        drawCard(photo, 100, 200, 1, 1);
+        drawCard(photo, 400, 150, 10, 2);
+        drawCard(photo, 700, 250, 13, 4);
+
+        int[][] cards = detector.detect(photo);
+
+        assertEquals(3, cards.length);
+        assertEquals(2, findValue(cards, 10)[5]);
+        assertEquals(4, findValue(cards, 13)[5]);
+        int[] ace = findValue(cards, 1);
+        assertEquals(1, ace[5]);
+        assertEquals(100 + CornerCardDetector.INDEX_X, ace[0], 2);
+        assertEquals(200 + CornerCardDetector.INDEX_Y, ace[1], 2);
+        assertTrue(detector.getLastInferenceMillis() >= 0);
+    }
+
+    /**
+     * A card lying on its side is read from the corner that comes to the top left
+     */
+    @Test
+    public void testSideways() {
+        Mat card = new Mat(CornerCardDetector.CARD_HEIGHT, CornerCardDetector.CARD_WIDTH, CvType.CV_8UC3, new Scalar(250, 250, 250));
+        drawIndex(card, 0, 0, 7, 3);
+        Mat turned = new Mat();
+        Core.rotate(card, turned, Core.ROTATE_90_CLOCKWISE);
+        Mat photo = table();
+        turned.copyTo(photo.submat(new Rect(300, 200, turned.cols(), turned.rows())));
+
+        int[][] cards = detector.detect(photo);
+
+        assertEquals(1, cards.length);
+        assertEquals(7, cards[0][4]);
+        assertEquals(3, cards[0][5]);
+    }
+
+    /**
+     * A table without cards and a card without an index give no cards
+     */
+    @Test
+    public void testNothing() {
+        Mat photo = table();
+        assertEquals(0, detector.detect(photo).length);
+
+        Imgproc.rectangle(photo, new Point(300, 200), new Point(300 + CornerCardDetector.CARD_WIDTH - 1, 200 + CornerCardDetector.CARD_HEIGHT - 1),
+                new Scalar(250, 250, 250), -1);
+        assertEquals(0, detector.detect(photo).length);
+    }
+
+    private static Mat table() {
+        return new Mat(720, 1280, CvType.CV_8UC3, new Scalar(40, 110, 30));
+    }
+
+    /**
+     * Draws a white card upright at the given corner of the photo, with its index where the detector reads it
+     */
+    private void drawCard(Mat photo, int x, int y, int value, int suit) {
+        Imgproc.rectangle(photo, new Point(x, y), new Point(x + CornerCardDetector.CARD_WIDTH - 1, y + CornerCardDetector.CARD_HEIGHT - 1),
+                new Scalar(250, 250, 250), -1);
+        drawIndex(photo, x, y, value, suit);
+    }
+
+    private void drawIndex(Mat image, int x, int y, int value, int suit) {
+        int left = x + CornerCardDetector.INDEX_X + CornerCardDetector.SLACK;
+        int top = y + CornerCardDetector.INDEX_Y + CornerCardDetector.SLACK;
+        copyCell(image, (value - 1) * CELL_WIDTH, 0, left, top);
+        copyCell(image, (suit - 1) * CELL_WIDTH, CELL_HEIGHT, left, top + CELL_HEIGHT);
+    }
+
+    private void copyCell(Mat image, int cellX, int cellY, int x, int y) {
+        Mat color = new Mat();
+        Imgproc.cvtColor(glyphs.submat(new Rect(cellX, cellY, CELL_WIDTH, CELL_HEIGHT)), color, Imgproc.COLOR_GRAY2BGR);
+        color.copyTo(image.submat(new Rect(x, y, CELL_WIDTH, CELL_HEIGHT)));
+    }
+
+    private static void drawGlyph(Mat atlas, String glyph, int x, int y) {
+        Imgproc.putText(atlas, glyph, new Point(x + 3, y + CELL_HEIGHT - 8), Core.FONT_HERSHEY_SIMPLEX, 0.9, new Scalar(0), 2);
+    }
+
+    private static int[] findValue(int[][] cards, int value) {
+        for (int[] card : cards) if (card[4] == value) return card;
+        fail("No card of value " + value);
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DetectionDecoderTest {
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 500;
+
+    private DetectionDecoder decoder;
+
+    @Before
+    public void setup() {
+        decoder = new DetectionDecoder(0.5f, 0.45f);
+    }
+
+    /**
+     * A box is sent as the server sends a card: the corner and size in pixels of the photo, the value and the suit,
+     * followed by the score in percent
+     */
+    @Test
+    public void testRow() {
+        float[] output = {0, classOf(12, 3), 0.9f, 0.1f, 0.2f, 0.15f, 0.3f};
+
+        int[][] cards = decoder.decode(output, 1, WIDTH, HEIGHT);
+
+        assertEquals(1, cards.length);
+        assertArrayEquals(new int[]{100, 100, 50, 50, 12, 3, 90}, cards[0]);
+    }
+
+    /**
+     * Every class maps to one card of the deck, and the last class to a card turned down
+     */
+    @Test
+    public void testClasses() {
+        boolean[] seen = new boolean[52];
+        for (int classId = 1; classId <= 52; classId++) {
+            int value = DetectionDecoder.valueOf(classId);
+            int suit = DetectionDecoder.suitOf(classId);
+            assertTrue(value >= 1 && value <= 13);
+            assertTrue(suit >= 1 && suit <= 4);
+            assertEquals(classId, classOf(value, suit));
+            assertFalse(seen[classId - 1]);
+            seen[classId - 1] = true;
+        }
+        assertEquals(0, DetectionDecoder.valueOf(DetectionDecoder.BACK));
+        assertEquals(0, DetectionDecoder.suitOf(DetectionDecoder.BACK));
+    }
+
+    /**
+     * Boxes under the score threshold and the background are skipped, and the rest come best score first
+     */
+    @Test
+    public void testScores() {
+        float[] output = {
+                0, classOf(1, 1), 0.6f, 0.0f, 0.0f, 0.1f, 0.1f,
+                0, classOf(2, 1), 0.4f, 0.2f, 0.0f, 0.3f, 0.1f,
+                0, 0, 0.99f, 0.4f, 0.0f, 0.5f, 0.1f,
+                0, classOf(3, 1), 0.95f, 0.6f, 0.0f, 0.7f, 0.1f
+        };
+
+        int[][] cards = decoder.decode(output, 4, WIDTH, HEIGHT);
+
+        assertEquals(2, cards.length);
+        assertEquals(3, cards[0][4]);
+        assertEquals(1, cards[1][4]);
+    }
+
+    /**
+     * Of two overlapping boxes of the same card only the best is kept, while the same card found apart is kept twice,
+     * and an overlapping box of another card is kept
+     */
+    @Test
+    public void testOverlap() {
+        float[] output = {
+                0, classOf(7, 2), 0.7f, 0.10f, 0.10f, 0.20f, 0.20f,
+                0, classOf(7, 2), 0.9f, 0.11f, 0.11f, 0.21f, 0.21f,
+                0, classOf(7, 2), 0.8f, 0.50f, 0.50f, 0.60f, 0.60f,
+                0, classOf(8, 2), 0.6f, 0.11f, 0.10f, 0.21f, 0.20f
+        };
+
+        int[][] cards = decoder.decode(output, 4, WIDTH, HEIGHT);
+
+        assertEquals(3, cards.length);
+        assertArrayEquals(new int[]{110, 55, 100, 50, 7, 2, 90}, cards[0]);
+        assertArrayEquals(new int[]{500, 250, 100, 50, 7, 2, 80}, cards[1]);
+        assertEquals(8, cards[2][4]);
+    }
+
+    /**
+     * Boxes reaching out of the photo are cut at its edges
+     */
+    @Test
+    public void testClamped() {
+        float[] output = {0, DetectionDecoder.BACK, 0.8f, -0.1f, 0.9f, 0.1f, 1.2f};
+
+        int[][] cards = decoder.decode(output, 1, WIDTH, HEIGHT);
+
+        assertArrayEquals(new int[]{0, 450, 100, 50, 0, 0, 80}, cards[0]);
+    }
+
+    private static int classOf(int value, int suit) {
+        return (suit - 1) * 13 + value;
+    }
+}
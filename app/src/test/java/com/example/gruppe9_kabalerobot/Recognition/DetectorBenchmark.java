@@ -0,0 +1,123 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import com.example.gruppe9_kabalerobot.Timings;
+
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Point;
+import org.opencv.core.Scalar;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs a CardDetector on the JVM against photos on disk, measuring the time the network spends on every photo.
+ * It needs the native OpenCV library of the computer, found through java.library.path.
+ * Run main for a report, or DnnCardDetectorTest for a short check when a network is given.
+ */
+class DetectorBenchmark {
+
+    /**
+     * The inference times of one run, with the cards found
+     */
+    static class Result {
+        final Timings inference;            //One for every photo
+        final int[] cardsFound;             //Cards found in every photo, in the order of the photos
+
+        Result(double[] inferenceMillis, int[] cardsFound) {
+            this.inference = new Timings(inferenceMillis);
+            this.cardsFound = cardsFound;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d photos: %s", inference.count(), inference);
+        }
+    }
+
+    /**
+     * Loads the native OpenCV library
+     *
+     * @return  False if it is not installed on this computer
+     */
+    static boolean loadNative() {
+        try {
+            System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+            return true;
+        } catch (UnsatisfiedLinkError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Runs the detector on every photo, printing the time of every photo if verbose
+     */
+    static Result run(CardDetector detector, List<Mat> photos, boolean verbose) {
+        double[] millis = new double[photos.size()];
+        int[] found = new int[photos.size()];
+        for (int i = 0; i < photos.size(); i++) {
+            found[i] = detector.detect(photos.get(i)).length;
+            millis[i] = detector.getLastInferenceMillis();
+            if (verbose) System.out.printf("Photo %d: %d cards in %.1f ms%n", i, found[i], millis[i]);
+        }
+        return new Result(millis, found);
+    }
+
+    /**
+     * Reads the JPEG and PNG photos of a folder, sorted by name
+     */
+    static List<Mat> readPhotos(File folder) {
+        List<Mat> photos = new ArrayList<>();
+        File[] files = folder.listFiles((dir, name) -> name.matches("(?i).*\\.(jpe?g|png)"));
+        if (files == null) return photos;
+        Arrays.sort(files);
+        for (File file : files) {
+            Mat photo = Imgcodecs.imread(file.getPath(), Imgcodecs.IMREAD_COLOR);
+            if (!photo.empty()) photos.add(photo);
+        }
+        return photos;
+    }
+
+    /**
+     * Draws photos of white cards on a green table, for when there are no photos on disk.
+     * Nothing is found in them by a real network, but the time it spends is the same.
+     */
+    static List<Mat> drawPhotos(int count, int width, int height) {
+        List<Mat> photos = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Mat photo = new Mat(height, width, CvType.CV_8UC3, new Scalar(40, 110, 30));
+            for (int column = 0; column < 7; column++) {
+                int x = width * column / 7 + width / 40;
+                int y = height / 3 + (i + column) % 5 * height / 40;
+                Imgproc.rectangle(photo, new Point(x, y), new Point(x + width / 9, y + height / 4), new Scalar(245, 245, 245), -1);
+            }
+            photos.add(photo);
+        }
+        return photos;
+    }
+
+    /**
+     * Runs the benchmark
+     *
+     * @param args  Path of the .pb file, path of the .pbtxt file, and a folder of photos, or none to draw them
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: DetectorBenchmark model.pb model.pbtxt [photo folder]");
+            return;
+        }
+        if (!loadNative()) {
+            System.out.println("The native OpenCV library " + Core.NATIVE_LIBRARY_NAME + " is not on java.library.path");
+            return;
+        }
+        List<Mat> photos = args.length > 2 ? readPhotos(new File(args[2])) : drawPhotos(20, 1920, 1080);
+        DnnCardDetector detector = new DnnCardDetector(args[0], args[1]);
+        run(detector, photos.subList(0, Math.min(3, photos.size())), false);     //Warm up
+        System.out.println(run(detector, photos, true));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opencv.core.Mat;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Runs the network on the JVM. It is skipped unless the native OpenCV library is installed and the network is given
+ * with -Ddetector.model=card_detector.pb and -Ddetector.config=card_detector.pbtxt, and -Ddetector.photos=folder
+ * for photos to run it on.
+ */
+public class DnnCardDetectorTest {
+    private static String model;
+    private static String config;
+
+    @BeforeClass
+    public static void setup() {
+        model = System.getProperty("detector.model");
+        config = System.getProperty("detector.config");
+        assumeTrue("No network given", model != null && config != null);
+        assumeTrue("No native OpenCV library", DetectorBenchmark.loadNative());
+    }
+
+    /**
+     * Every photo gives cards inside the photo, and the time spent in the network is measured for every photo
+     */
+    @Test
+    public void testPhotos() {
+        String folder = System.getProperty("detector.photos");
+        List<Mat> photos = folder != null ? DetectorBenchmark.readPhotos(new File(folder)) : DetectorBenchmark.drawPhotos(5, 1280, 720);
+        assertFalse(photos.isEmpty());
+        DnnCardDetector detector = new DnnCardDetector(model, config);
+
+        for (Mat photo : photos) {
+            for (int[] card : detector.detect(photo)) {
+                assertEquals(7, card.length);
+                assertTrue(card[0] >= 0 && card[0] + card[2] <= photo.cols());
+                assertTrue(card[1] >= 0 && card[1] + card[3] <= photo.rows());
+            }
+            assertTrue(detector.getLastInferenceMillis() >= 0);
+        }
+
+        DetectorBenchmark.Result result = DetectorBenchmark.run(detector, photos, false);
+        assertEquals(photos.size(), result.cardsFound.length);
+        assertEquals(photos.size(), result.inference.count());
+        assertTrue(result.inference.percentileMillis(0) >= 0);
+        assertTrue(result.inference.percentileMillis(50) <= result.inference.percentileMillis(95));
+        assertTrue(result.inference.percentileMillis(95) <= result.inference.percentileMillis(100));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrameBudgetTest {
+    private FrameBudget budget;
+
+    @Before
+    public void setup() {
+        budget = new FrameBudget(100);
+    }
+
+    /**
+     * Frames arriving while one is worked on are dropped, and the next frame is taken once it is done
+     */
+    @Test
+    public void testDropsWhileBusy() {
+        assertTrue(budget.tryStart(0));
+        assertFalse(budget.tryStart(30));
+        assertFalse(budget.tryStart(60));
+        assertTrue(budget.finish(80));
+        assertTrue(budget.tryStart(90));
+
+        assertEquals(1, budget.getProcessed());
+        assertEquals(2, budget.getDropped());
+    }
+
+    /**
+     * A frame done after the budget is late, and its cards are not used
+     */
+    @Test
+    public void testLate() {
+        assertTrue(budget.tryStart(1000));
+        assertTrue(budget.isInTime(1100));
+        assertFalse(budget.isInTime(1101));
+        assertFalse(budget.finish(1101));
+        assertFalse(budget.isInTime(1101));
+        assertTrue(budget.tryStart(1200));
+        assertTrue(budget.finish(1300));
+
+        assertEquals(1, budget.getLate());
+        assertEquals(1, budget.getProcessed());
+        assertEquals(0.5, budget.getDropRatio(), 1e-9);
+    }
+
+    /**
+     * Finishing without a frame started is a mistake of the caller
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testFinishWithoutStart() {
+        budget.finish(0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FrameChangeDetectorTest {
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 480;
+    private static final int STRIDE = 672;      //Rows padded, as a camera may give them
+
+    private FrameChangeDetector detector;
+    private byte[] table;
+
+    @Before
+    public void setup() {
+        detector = new FrameChangeDetector();
+        table = new byte[STRIDE * HEIGHT];
+        fill(table, 0, 0, WIDTH, HEIGHT, 60);
+        fill(table, 100, 200, 60, 90, 230);
+        fill(table, 300, 200, 60, 90, 230);
+    }
+
+    /**
+     * The first frame is let through, the same table again is skipped, and the skip ratio counts it
+     */
+    @Test
+    public void testSameTable() {
+        assertTrue(detector.hasChanged(ByteBuffer.wrap(table), WIDTH, HEIGHT, STRIDE));
+        assertFalse(detector.hasChanged(ByteBuffer.wrap(table), WIDTH, HEIGHT, STRIDE));
+        assertFalse(detector.hasChanged(ByteBuffer.wrap(table), WIDTH, HEIGHT, STRIDE));
+
+        assertEquals(3, detector.getChecked());
+        assertEquals(2, detector.getSkipped());
+        assertEquals(2.0 / 3, detector.getSkipRatio(), 1e-9);
+    }
+
+    /**
+     * Noise and the whole frame getting brighter are not changes, while a card moved is
+     */
+    @Test
+    public void testChanges() {
+        detector.hasChanged(ByteBuffer.wrap(table), WIDTH, HEIGHT, STRIDE);
+
+        byte[] noisy = table.clone();
+        Random random = new Random(7);
+        for (int i = 0; i < noisy.length; i++) noisy[i] = (byte) Math.max(0, Math.min(255, (noisy[i] & 0xFF) + random.nextInt(9) - 4));
+        assertFalse(detector.hasChanged(ByteBuffer.wrap(noisy), WIDTH, HEIGHT, STRIDE));
+
+        byte[] brighter = table.clone();
+        for (int i = 0; i < brighter.length; i++) brighter[i] = (byte) Math.min(255, (brighter[i] & 0xFF) + 20);
+        assertFalse(detector.hasChanged(ByteBuffer.wrap(brighter), WIDTH, HEIGHT, STRIDE));
+
+        byte[] moved = table.clone();
+        fill(moved, 300, 200, 60, 90, 60);
+        fill(moved, 500, 200, 60, 90, 230);
+        assertTrue(detector.hasChanged(ByteBuffer.wrap(moved), WIDTH, HEIGHT, STRIDE));
+        assertFalse(detector.hasChanged(ByteBuffer.wrap(moved), WIDTH, HEIGHT, STRIDE));
+    }
+
+    /**
+     * After a reset the next frame is let through, such as when the cards of the frame before were not found
+     */
+    @Test
+    public void testReset() {
+        detector.hasChanged(ByteBuffer.wrap(table), WIDTH, HEIGHT, STRIDE);
+        detector.reset();
+        assertTrue(detector.hasChanged(ByteBuffer.wrap(table), WIDTH, HEIGHT, STRIDE));
+    }
+
+    private static void fill(byte[] image, int x, int y, int width, int height, int gray) {
+        for (int row = y; row < y + height; row++) {
+            for (int column = x; column < x + width; column++) image[row * STRIDE + column] = (byte) gray;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.gruppe9_kabalerobot.Recognition;
+
+import com.example.gruppe9_kabalerobot.CardPlacement.CardObj;
+import com.example.gruppe9_kabalerobot.Client.CapturedFrame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class HybridRecognizerTest {
+    private static final int[] SERVER_CARD = {500, 500, 40, 60, 13, 2};
+
+    private int[][] deviceCards;
+    private CompletableFuture<int[][]> deviceResult;
+    private int serverCalls;
+    private AtomicBoolean closed;
+    private CapturedFrame frame;
+    private List<int[]> handed;
+    private HybridRecognizer hybrid;
+
+    @Before
+    public void setup() {
+        deviceCards = board(90);
+        deviceResult = null;
+        serverCalls = 0;
+        closed = new AtomicBoolean();
+        frame = new CapturedFrame(ByteBuffer.wrap(new byte[]{1, 2, 3}), () -> closed.set(true));
+        handed = new ArrayList<>();
+        Recognizer device = (photo, onCard) -> {
+            assertFalse(photo.isReleased());
+            return deviceResult != null ? deviceResult : CompletableFuture.completedFuture(deviceCards);
+        };
+        Recognizer server = (photo, onCard) -> {
+            assertFalse(photo.isReleased());
+            serverCalls++;
+            if (onCard != null) onCard.accept(SERVER_CARD);
+            return CompletableFuture.completedFuture(new int[][]{SERVER_CARD});
+        };
+        hybrid = new HybridRecognizer(device, server, true, 60, 7, 52);
+    }
+
+    /**
+     * A confident board from the phone is used without the server, and its cards are handed on
+     */
+    @Test
+    public void testOnDevice() throws Exception {
+        int[][] cards = hybrid.recognize(frame, handed::add).get();
+
+        assertSame(deviceCards, cards);
+        assertEquals(0, serverCalls);
+        assertEquals(deviceCards.length, handed.size());
+        assertEquals(1, hybrid.getOnDevice());
+        assertEquals(0, hybrid.getOnServer());
+        assertFalse(closed.get());
+        frame.release();
+        assertTrue(closed.get());
+    }
+
+    /**
+     * A card under the confidence threshold sends the photo to the server, and the confident cards of the phone
+     * lying where the server found none are added after the cards of the server
+     */
+    @Test
+    public void testUnsure() throws Exception {
+        deviceCards[0][CardObj.CONFIDENCE] = 30;
+        deviceCards[1] = new int[]{505, 505, 40, 60, 12, 2, 95};       //Overlaps the card of the server
+
+        int[][] cards = hybrid.recognize(frame, handed::add).get();
+
+        assertEquals(1, serverCalls);
+        assertEquals(1, hybrid.getOnServer());
+        assertArrayEquals(SERVER_CARD, cards[0]);
+        assertEquals(1 + deviceCards.length - 2, cards.length);
+        for (int i = 1; i < cards.length; i++) assertTrue(cards[i][CardObj.CONFIDENCE] >= 60);
+        assertEquals(cards.length, handed.size());
+        frame.release();
+        assertTrue(closed.get());
+    }
+
+    /**
+     * Too few cards, or the phone failing, sends the photo to the server
+     */
+    @Test
+    public void testImplausible() throws Exception {
+        deviceCards = new int[][]{{0, 0, 10, 10, 1, 1, 99}};
+        hybrid.recognize(frame, null).get();
+        assertEquals(1, serverCalls);
+
+        deviceResult = new CompletableFuture<>();
+        deviceResult.completeExceptionally(new IllegalArgumentException("No photo"));
+        int[][] cards = hybrid.recognize(frame, null).get();
+        assertEquals(2, serverCalls);
+        assertArrayEquals(new int[][]{SERVER_CARD}, cards);
+    }
+
+    /**
+     * A phone that only finds the cards with a free outline always asks the server, however sure it is,
+     * without waiting for the phone, and its cards are merged in once the phone is done
+     */
+    @Test
+    public void testOnlyFreeCards() throws Exception {
+        CompletableFuture<int[][]> local = new CompletableFuture<>();
+        Recognizer device = (photo, onCard) -> local;
+        Recognizer server = (photo, onCard) -> {
+            serverCalls++;
+            if (onCard != null) onCard.accept(SERVER_CARD);
+            return CompletableFuture.completedFuture(new int[][]{SERVER_CARD});
+        };
+        HybridRecognizer freeOnly = new HybridRecognizer(device, server, false, 60, 7, 52);
+
+        assertFalse(freeOnly.isPlausible(deviceCards));
+        CompletableFuture<int[][]> result = freeOnly.recognize(frame, handed::add);
+        assertEquals(1, serverCalls);
+        assertFalse(result.isDone());
+
+        local.complete(deviceCards);
+        int[][] cards = result.get();
+        assertEquals(0, freeOnly.getOnDevice());
+        assertEquals(1, freeOnly.getOnServer());
+        assertArrayEquals(SERVER_CARD, cards[0]);
+        assertEquals(1 + deviceCards.length, cards.length);
+        assertEquals(cards.length, handed.size());
+    }
+
+    /**
+     * The phone failing while the server is asked at the same time gives the cards of the server
+     */
+    @Test
+    public void testOnlyFreeCardsFailing() throws Exception {
+        CompletableFuture<int[][]> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalArgumentException("No photo"));
+        Recognizer server = (photo, onCard) -> CompletableFuture.completedFuture(new int[][]{SERVER_CARD});
+        HybridRecognizer freeOnly = new HybridRecognizer((photo, onCard) -> failed, server, false, 60, 7, 52);
+
+        assertArrayEquals(new int[][]{SERVER_CARD}, freeOnly.recognize(frame, null).get());
+    }
+
+    /**
+     * A card found at both of its corners is one card of the board, and cards turned down count each
+     */
+    @Test
+    public void testPlausible() {
+        int[][] cards = board(80);
+        assertTrue(hybrid.isPlausible(cards));
+
+        int[][] twice = new int[][]{cards[0], cards[1], cards[2], cards[3], cards[4], cards[5], cards[5].clone()};
+        assertFalse(hybrid.isPlausible(twice));
+
+        int[][] down = new int[][]{cards[0], cards[1], cards[2], cards[3], cards[4], cards[5], {0, 0, 10, 10, 0, 0, 70}};
+        assertTrue(hybrid.isPlausible(down));
+
+        cards[3][4] = 14;
+        assertFalse(hybrid.isPlausible(cards));
+    }
+
+    /**
+     * The confidence of a row is kept on the card, and a card of the server is certain
+     */
+    @Test
+    public void testCardConfidence() {
+        assertEquals(42, CardObj.fromRow(new int[]{1, 2, 3, 4, 5, 1, 42}).getConfidence());
+        CardObj fromServer = CardObj.fromRow(SERVER_CARD);
+        assertEquals(CardObj.CERTAIN, fromServer.getConfidence());
+        assertEquals(13, fromServer.getValue());
+        assertEquals(2, fromServer.getSuit());
+    }
+
+    /**
+     * A top card on each of the seven tableaus, from the ace of hearts to the seven of hearts
+     */
+    private static int[][] board(int confidence) {
+        int[][] cards = new int[7][];
+        for (int i = 0; i < cards.length; i++) cards[i] = new int[]{i * 100, 100, 40, 60, i + 1, 1, confidence};
+        return cards;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.gruppe9_kabalerobot;
+
+import java.util.Arrays;
+
+/**
+ * The times of one run of a benchmark, sorted, with the percentiles found by the nearest rank.
+ * Used by the benchmarks of the networking path and of the detectors on the phone.
+ */
+public class Timings {
+    private final double[] millis;      //Sorted, one for every image
+
+    /**
+     * @param millis    Time of every image in milliseconds, in any order. The array is not changed.
+     */
+    public Timings(double[] millis) {
+        this.millis = millis.clone();
+        Arrays.sort(this.millis);
+    }
+
+    /**
+     * @param nanos     Time of every image in nanoseconds, in any order
+     */
+    public static Timings ofNanos(long[] nanos) {
+        double[] millis = new double[nanos.length];
+        for (int i = 0; i < nanos.length; i++) millis[i] = nanos[i] / 1e6;
+        return new Timings(millis);
+    }
+
+    /**
+     * Finds the time below which the given part of the images were done, by the nearest rank
+     *
+     * @param percent   From 0 to 100, where 100 is the longest time
+     * @return          The time in milliseconds, or NaN if there are no times
+     */
+    public double percentileMillis(double percent) {
+        if (millis.length == 0) return Double.NaN;
+        int rank = (int) Math.ceil(percent / 100 * millis.length);
+        return millis[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Amount of times
+     */
+    public int count() { return millis.length; }
+
+    @Override
+    public String toString() {
+        return String.format("p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms",
+                percentileMillis(50), percentileMillis(95), percentileMillis(99), percentileMillis(100));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.gruppe9_kabalerobot;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TimingsTest {
+
+    /**
+     * The percentiles are the times at the nearest rank, whatever order the times are given in
+     */
+    @Test
+    public void testPercentiles() {
+        double[] millis = {5, 1, 4, 2, 3, 10, 9, 8, 7, 6};
+        Timings timings = new Timings(millis);
+
+        assertEquals(10, timings.count());
+        assertEquals(1, timings.percentileMillis(0), 0);
+        assertEquals(5, timings.percentileMillis(50), 0);
+        assertEquals(10, timings.percentileMillis(95), 0);
+        assertEquals(10, timings.percentileMillis(100), 0);
+        assertEquals(5, millis[0], 0);
+        assertTrue(Double.isNaN(new Timings(new double[0]).percentileMillis(50)));
+        assertEquals(2.5, Timings.ofNanos(new long[]{2500000}).percentileMillis(50), 1e-9);
+    }
+}